@@ -151,6 +151,9 @@ public class ApplicationInitializer {
         String kubernetesOrHzCloud = properties.getProperty(MyConstants.USE_HZ_CLOUD);
         boolean useHzCloud = MyUtils.useHzCloud(kubernetesOrHzCloud);
         LOGGER.debug("useHzCloud='{}'", useHzCloud);
+        String transactionFormat = properties.getProperty(MyConstants.TRANSACTION_FORMAT_KEY);
+        boolean useCompactTransactions = MyUtils.useCompactTransactions(transactionFormat);
+        LOGGER.debug("useCompactTransactions='{}'", useCompactTransactions);
         if (useHzCloud) {
             String message = String.format("useHzCloud=%b but running Hazelcast node! (property '%s'=='%s')",
                     useHzCloud, MyConstants.USE_HZ_CLOUD, kubernetesOrHzCloud);
@@ -170,7 +173,7 @@ public class ApplicationInitializer {
         addListeners(hazelcastInstance, bootstrapServers, pulsarAddress, usePulsar, projectName, clusterName,
                 transactionMonitorFlavor, kubernetes);
         TransactionMonitorIdempotentInitialization.loadNeededData(hazelcastInstance, bootstrapServers, pulsarAddress, usePulsar,
-                useHzCloud, transactionMonitorFlavor);
+                useHzCloud, useCompactTransactions, transactionMonitorFlavor);
         TransactionMonitorIdempotentInitialization.defineQueryableObjects(hazelcastInstance,
                 bootstrapServers, properties, transactionMonitorFlavor,
                 localhost, kubernetes, useHzCloud);
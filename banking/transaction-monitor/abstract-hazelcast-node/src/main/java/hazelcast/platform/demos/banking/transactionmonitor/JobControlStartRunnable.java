@@ -90,6 +90,8 @@ public class JobControlStartRunnable implements Runnable {
             JobConfig jobConfigIngestTransactions = new JobConfig();
             jobConfigIngestTransactions.setProcessingGuarantee(ProcessingGuarantee.EXACTLY_ONCE);
             jobConfigIngestTransactions.setName(IngestTransactions.class.getSimpleName() + "@" + now);
+            jobConfigIngestTransactions.addClass(ObservabilityStage.class);
+            jobConfigIngestTransactions.addClass(PaymentsJsonSplitter.class);
 
             StreamStage<Entry<String, HazelcastJsonValue>> inputSource1 = null;
             if (usePulsar) {
@@ -99,7 +101,7 @@ public class JobControlStartRunnable implements Runnable {
             }
 
             Pipeline pipelineIngestTransactions = IngestTransactions.buildPipeline(bootstrapServers,
-                    inputSource1, transactionMonitorFlavor);
+                    inputSource1, transactionMonitorFlavor, MyUtils.useCompactTransactions(hazelcastInstance));
 
             try {
                 hazelcastInstance.getJet().newJob(pipelineIngestTransactions, jobConfigIngestTransactions);
@@ -113,6 +115,14 @@ public class JobControlStartRunnable implements Runnable {
                 jobConfigAggregateQuery.setProcessingGuarantee(ProcessingGuarantee.EXACTLY_ONCE);
                 jobConfigAggregateQuery.setName(AggregateQuery.class.getSimpleName() + "@" + now);
                 jobConfigAggregateQuery.addClass(MaxAggregator.class);
+                jobConfigAggregateQuery.addClass(FixedPointAverage.class);
+                jobConfigAggregateQuery.addClass(ObservabilityStage.class);
+                jobConfigAggregateQuery.addClass(SymbolStatusCache.class);
+                jobConfigAggregateQuery.addClass(CPAtomicLongSink.class);
+                jobConfigAggregateQuery.addClass(CPMapSink.class);
+                jobConfigAggregateQuery.addClass(CPSinkMetrics.class);
+                jobConfigAggregateQuery.addClass(CPSinkProcessor.class);
+                jobConfigAggregateQuery.addClass(CPSinkWrites.class);
 
                 StreamStage<?> inputSource2 = null;
                 if (usePulsar) {
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package hazelcast.platform.demos.banking.transactionmonitor;
+
+/**
+ * <p>Transactions in the format "{@code transaction-producer}" writes to Kafka,
+ * so benchmarks parse what production parses.
+ * </p>
+ */
+@SuppressWarnings("checkstyle:MagicNumber")
+public class BenchmarkData {
+    static final String[] SYMBOLS = { "AAL", "AAPL", "MSFT", "ZVZZT", "GOOGL", "NVDA", "TSLA", "AMZN" };
+    static final String[] BICS = { "BANKGB2L", "BANKFRPP", "BANKDEFF", "BANKUS33" };
+
+    /**
+     * <p>A trade, varied by index.
+     * </p>
+     *
+     * @param i Index
+     * @return JSON
+     */
+    static String trade(int i) {
+        return "{\"id\": \"trade" + i + "\",\"timestamp\": " + (1_700_000_000_000L + i)
+            + ",\"symbol\": \"" + SYMBOLS[i % SYMBOLS.length] + "\",\"price\": " + (2500 + i % 100) + ".25"
+            + ",\"quantity\": " + (1 + i % 5_000) + "}";
+    }
+
+    /**
+     * <p>A payment, with "{@code xml}" as an array of lines as
+     * "{@code MyUtils.xmlSafeForJson}" produces.
+     * </p>
+     *
+     * @param i Index
+     * @param xmlLines Lines in the XML, at least 2
+     * @return JSON
+     */
+    static String payment(int i, int xmlLines) {
+        StringBuilder stringBuilder = new StringBuilder();
+        stringBuilder.append("{\"id\": \"payment").append(i).append("\",\"timestamp\": ").append(1_700_000_000_000L + i)
+            .append(",\"kind\": \"pain.001.001\"")
+            .append(",\"bicCreditor\": \"").append(BICS[i % BICS.length]).append('"')
+            .append(",\"bicDebitor\": \"").append(BICS[(i + 1) % BICS.length]).append('"')
+            .append(",\"ccy\": \"GBP\",\"amtFloor\": ").append(100 + i % 1_000).append(".00")
+            .append(",\"xml\": [\"<pain.001.001>\"");
+        for (int j = 0; j < xmlLines - 2; j++) {
+            stringBuilder.append(", \"   <InstdAmt Ccy=\\\"GBP\\\">").append(100 + j).append(".45</InstdAmt>\"");
+        }
+        stringBuilder.append(", \"</pain.001.001>\"]}");
+        return stringBuilder.toString();
+    }
+}
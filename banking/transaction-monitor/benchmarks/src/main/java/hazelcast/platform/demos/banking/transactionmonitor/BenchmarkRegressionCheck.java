@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package hazelcast.platform.demos.banking.transactionmonitor;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * <p>Compare a JMH JSON result with a stored baseline, and fail if
+ * any benchmark is slower, or allocates more per operation, beyond a tolerance.
+ * </p>
+ * <p>Run by the "{@code benchmarks}" profile after the benchmarks. If there is no
+ * baseline this fails too, so a missing baseline does not pass unnoticed, unless
+ * the baseline is not required. Copy the result there to make it the baseline.
+ * Baselines are only comparable on the same hardware and JVM.
+ * </p>
+ */
+@SuppressWarnings("checkstyle:MagicNumber")
+public class BenchmarkRegressionCheck {
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+    // Allocation is near exact, allow for alignment
+    private static final double ALLOCATION_SLACK_BYTES = 16d;
+    private static final double ONE_HUNDRED = 100d;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * <p>Score and bytes per operation for one benchmark and parameters.
+     * </p>
+     */
+    private static final class Score {
+        private final boolean higherIsBetter;
+        private final double score;
+        private final String unit;
+        private final double bytesPerOperation;
+
+        Score(boolean arg0, double arg1, String arg2, double arg3) {
+            this.higherIsBetter = arg0;
+            this.score = arg1;
+            this.unit = arg2;
+            this.bytesPerOperation = arg3;
+        }
+    }
+
+    /**
+     * @param args Baseline file, result file, time tolerance %, allocation tolerance %
+     *             and whether the baseline is required
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 5) {
+            System.err.println("Usage: BenchmarkRegressionCheck baseline.json result.json timeTolerance% allocTolerance%"
+                    + " baselineRequired");
+            System.exit(1);
+        }
+        File baselineFile = new File(args[0]);
+        File resultFile = new File(args[1]);
+        double timeTolerance = Double.parseDouble(args[2]) / ONE_HUNDRED;
+        double allocationTolerance = Double.parseDouble(args[3]) / ONE_HUNDRED;
+        boolean baselineRequired = Boolean.parseBoolean(args[4]);
+
+        if (!baselineFile.exists()) {
+            if (baselineRequired) {
+                System.err.printf("No baseline '%s'. Copy '%s' there to make it the baseline,"
+                        + " or use -Dmy.benchmarks.baseline.required=false to skip the comparison.%n",
+                        baselineFile, resultFile);
+                System.exit(1);
+            }
+            System.out.printf("No baseline '%s', nothing to compare. Copy '%s' there to make it the baseline.%n",
+                    baselineFile, resultFile);
+            return;
+        }
+
+        Map<String, Score> baseline = load(baselineFile);
+        Map<String, Score> result = load(resultFile);
+
+        int regressions = 0;
+        for (Entry<String, Score> entry : result.entrySet()) {
+            Score before = baseline.get(entry.getKey());
+            Score after = entry.getValue();
+            if (before == null) {
+                System.out.printf("NEW   %s %.1f %s%n", entry.getKey(), after.score, after.unit);
+                continue;
+            }
+
+            double change = (after.score - before.score) / before.score;
+            boolean slower = after.higherIsBetter ? change < -timeTolerance : change > timeTolerance;
+            boolean allocates = !Double.isNaN(before.bytesPerOperation) && !Double.isNaN(after.bytesPerOperation)
+                    && after.bytesPerOperation
+                        > before.bytesPerOperation * (1 + allocationTolerance) + ALLOCATION_SLACK_BYTES;
+
+            String verdict = (slower || allocates) ? "WORSE" : "OK";
+            if (slower || allocates) {
+                regressions++;
+            }
+            System.out.printf("%-5s %s %.1f -> %.1f %s (%+.1f%%), %.0f -> %.0f B/op%n",
+                    verdict, entry.getKey(), before.score, after.score, after.unit, change * ONE_HUNDRED,
+                    before.bytesPerOperation, after.bytesPerOperation);
+        }
+
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) worse than baseline '%s'%n", regressions, baselineFile);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * <p>Read JMH's "{@code -rf json}" format, keyed by benchmark and parameters.
+     * </p>
+     */
+    private static Map<String, Score> load(File file) throws IOException {
+        Map<String, Score> scores = new TreeMap<>();
+        JsonNode root = OBJECT_MAPPER.readTree(file);
+        for (JsonNode benchmark : root) {
+            StringBuilder key = new StringBuilder(benchmark.path("benchmark").asText());
+            Map<String, String> params = new TreeMap<>();
+            Iterator<Entry<String, JsonNode>> paramsIterator = benchmark.path("params").fields();
+            while (paramsIterator.hasNext()) {
+                Entry<String, JsonNode> param = paramsIterator.next();
+                params.put(param.getKey(), param.getValue().asText());
+            }
+            if (!params.isEmpty()) {
+                key.append(params);
+            }
+
+            JsonNode primaryMetric = benchmark.path("primaryMetric");
+            boolean higherIsBetter = "thrpt".equals(benchmark.path("mode").asText());
+
+            double bytesPerOperation = Double.NaN;
+            Iterator<Entry<String, JsonNode>> secondaryMetrics = benchmark.path("secondaryMetrics").fields();
+            while (secondaryMetrics.hasNext()) {
+                Entry<String, JsonNode> secondaryMetric = secondaryMetrics.next();
+                if (secondaryMetric.getKey().endsWith(ALLOCATION_METRIC)) {
+                    bytesPerOperation = secondaryMetric.getValue().path("score").asDouble();
+                }
+            }
+
+            scores.put(key.toString(), new Score(higherIsBetter, primaryMetric.path("score").asDouble(),
+                    primaryMetric.path("scoreUnit").asText(), bytesPerOperation));
+        }
+        return scores;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package hazelcast.platform.demos.banking.transactionmonitor;
+
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.hazelcast.function.BiConsumerEx;
+import com.hazelcast.function.FunctionEx;
+import com.hazelcast.jet.aggregate.AggregateOperation1;
+import com.hazelcast.jet.aggregate.AggregateOperations;
+import com.hazelcast.jet.datamodel.Tuple2;
+import com.hazelcast.jet.datamodel.Tuple3;
+
+/**
+ * <p>Per-event cost of the e-commerce rolling average. As for "{@code rollingAggregate()}"
+ * each event is accumulated then the result exported. "{@code counting()}" and
+ * "{@code summingDouble()}" then "{@code String.format}" rounding is the version
+ * {@link FixedPointAverage} replaced.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+@SuppressWarnings("checkstyle:MagicNumber")
+public class FixedPointAverageBenchmark {
+    private static final int DISTINCT = 1024;
+
+    private TransactionEcommerce[] events;
+    private int next;
+    private Rolling<?, Tuple2<Long, Double>> format;
+    private Rolling<?, Tuple3<Long, Double, Double>> fixedPoint;
+
+    @Setup
+    public void setup() {
+        this.events = new TransactionEcommerce[DISTINCT];
+        for (int i = 0; i < this.events.length; i++) {
+            this.events[i] = new TransactionEcommerce();
+            this.events[i].setItemCode("A" + (i % 100));
+            // Not in ascending order, prices to 2 decimal places
+            this.events[i].setPrice(((i * 7_919L) % 100_000) / 100d);
+            this.events[i].setQuantity(1 + i % 9);
+        }
+
+        this.format = new Rolling<>(AggregateOperations.allOf(
+                AggregateOperations.counting(),
+                AggregateOperations.summingDouble(transaction -> transaction.getPrice() * transaction.getQuantity())));
+        this.fixedPoint = new Rolling<>(
+                FixedPointAverage.fixedPointAverage(transaction -> transaction.getPrice() * transaction.getQuantity()));
+    }
+
+    private TransactionEcommerce nextEvent() {
+        TransactionEcommerce event = this.events[this.next];
+        this.next = (this.next + 1) % this.events.length;
+        return event;
+    }
+
+    @Benchmark
+    public Entry<String, Tuple3<Long, Double, Double>> stringFormat() {
+        TransactionEcommerce event = this.nextEvent();
+        Tuple2<Long, Double> tuple2 = this.format.apply(event);
+        return Tuple2.tuple2(event.getItemCode(),
+                Tuple3.tuple3(tuple2.f0(), tuple2.f1(),
+                        Double.parseDouble(String.format("%.2f", tuple2.f1() / tuple2.f0()))));
+    }
+
+    @Benchmark
+    public Entry<String, Tuple3<Long, Double, Double>> fixedPointAverage() {
+        TransactionEcommerce event = this.nextEvent();
+        return Tuple2.tuple2(event.getItemCode(), this.fixedPoint.apply(event));
+    }
+
+    /**
+     * <p>One accumulator, as for one key in "{@code rollingAggregate()}".
+     * </p>
+     */
+    private static class Rolling<A, R> {
+        private final A accumulator;
+        private final BiConsumerEx<? super A, ? super TransactionEcommerce> accumulateFn;
+        private final FunctionEx<? super A, ? extends R> exportFn;
+
+        Rolling(AggregateOperation1<TransactionEcommerce, A, R> arg0) {
+            this.accumulator = arg0.createFn().get();
+            this.accumulateFn = arg0.accumulateFn();
+            this.exportFn = arg0.exportFn();
+        }
+
+        R apply(TransactionEcommerce event) {
+            this.accumulateFn.accept(this.accumulator, event);
+            return this.exportFn.apply(this.accumulator);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package hazelcast.platform.demos.banking.transactionmonitor;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.hazelcast.core.HazelcastJsonValue;
+
+/**
+ * <p>{@link HazelcastJsonValue} to Kafka bytes, for a small trade and
+ * a larger payment with XML.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+@SuppressWarnings("checkstyle:MagicNumber")
+public class HazelcastJsonValueSerializerBenchmark {
+    private static final int DISTINCT = 1024;
+    private static final int PAYMENT_XML_LINES = 30;
+
+    @Param({ "trade", "payment" })
+    public String kind;
+
+    private HazelcastJsonValue[] values;
+    private int next;
+    private HazelcastJsonValueSerializer hazelcastJsonValueSerializer;
+
+    @Setup
+    public void setup() {
+        this.values = new HazelcastJsonValue[DISTINCT];
+        for (int i = 0; i < this.values.length; i++) {
+            String json = "trade".equals(this.kind) ? BenchmarkData.trade(i) : BenchmarkData.payment(i, PAYMENT_XML_LINES);
+            this.values[i] = new HazelcastJsonValue(json);
+        }
+        this.hazelcastJsonValueSerializer = new HazelcastJsonValueSerializer();
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        HazelcastJsonValue value = this.values[this.next];
+        this.next = (this.next + 1) % this.values.length;
+        return this.hazelcastJsonValueSerializer.serialize(MyConstants.KAFKA_TOPIC_NAME_TRANSACTIONS, value);
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package hazelcast.platform.demos.banking.transactionmonitor;
+
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.hazelcast.core.HazelcastJsonValue;
+import com.hazelcast.jet.datamodel.Tuple2;
+import com.hazelcast.jet.datamodel.Tuple3;
+
+/**
+ * <p>Per-payment work in {@link IngestTransactions}. The pipeline uses
+ * {@link PaymentsJsonSplitter}, "{@code depleteEntry}" and "{@code makeEntryXML}"
+ * are kept as the reference it replaced, so all three are here to compare.
+ * </p>
+ * <p>The XML is most of the payment, so the line count is varied.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+@SuppressWarnings("checkstyle:MagicNumber")
+public class IngestTransactionsBenchmark {
+    private static final int DISTINCT = 1024;
+
+    @Param({ "3", "30" })
+    public int xmlLines;
+
+    private Entry<String, HazelcastJsonValue>[] payments;
+    private int next;
+    private PaymentsJsonSplitter paymentsJsonSplitter;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        this.payments = new Entry[DISTINCT];
+        for (int i = 0; i < this.payments.length; i++) {
+            this.payments[i] = Tuple2.tuple2("payment" + i,
+                    new HazelcastJsonValue(BenchmarkData.payment(i, this.xmlLines)));
+        }
+        this.paymentsJsonSplitter = new PaymentsJsonSplitter();
+    }
+
+    private Entry<String, HazelcastJsonValue> nextPayment() {
+        Entry<String, HazelcastJsonValue> payment = this.payments[this.next];
+        this.next = (this.next + 1) % this.payments.length;
+        return payment;
+    }
+
+    @Benchmark
+    public Entry<String, HazelcastJsonValue> depleteEntry() {
+        return IngestTransactions.depleteEntry(this.nextPayment());
+    }
+
+    @Benchmark
+    public Entry<String, String> makeEntryXML() {
+        return IngestTransactions.makeEntryXML(this.nextPayment());
+    }
+
+    @Benchmark
+    public Tuple3<String, HazelcastJsonValue, String> paymentsJsonSplitter() {
+        return this.paymentsJsonSplitter.split(this.nextPayment());
+    }
+}
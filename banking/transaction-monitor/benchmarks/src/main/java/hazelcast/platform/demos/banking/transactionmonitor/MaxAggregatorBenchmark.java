@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package hazelcast.platform.demos.banking.transactionmonitor;
+
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.hazelcast.core.HazelcastJsonValue;
+
+/**
+ * <p>{@link MaxAggregator} over one window, for a symbol count as in the
+ * trades (about 3000) and a smaller one. Accumulate is per symbol, combine per
+ * processor, export once per window.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+@SuppressWarnings("checkstyle:MagicNumber")
+public class MaxAggregatorBenchmark {
+    private static final String PROJECT = "transaction-monitor";
+    private static final String CLUSTER = "live";
+    private static final String JOB = "AggregateQuery";
+
+    @Param({ "100", "3000" })
+    public int symbols;
+
+    private String[] symbolNames;
+    private double[] volumes;
+    private MaxAggregator[] perProcessor;
+
+    @Setup
+    public void setup() {
+        this.symbolNames = new String[this.symbols];
+        this.volumes = new double[this.symbols];
+        for (int i = 0; i < this.symbols; i++) {
+            this.symbolNames[i] = "SYM" + i;
+            // Not in ascending order, so the max changes sometimes but not always
+            this.volumes[i] = (i * 7_919L) % 10_007;
+        }
+        this.perProcessor = new MaxAggregator[8];
+        for (int i = 0; i < this.perProcessor.length; i++) {
+            this.perProcessor[i] = new MaxAggregator(PROJECT, CLUSTER, JOB)
+                    .accumulate(this.symbolNames[i % this.symbols], this.volumes[i % this.symbols]);
+        }
+    }
+
+    @Benchmark
+    public MaxAggregator accumulate() {
+        MaxAggregator maxAggregator = new MaxAggregator(PROJECT, CLUSTER, JOB);
+        for (int i = 0; i < this.symbols; i++) {
+            maxAggregator.accumulate(this.symbolNames[i], this.volumes[i]);
+        }
+        return maxAggregator;
+    }
+
+    @Benchmark
+    public MaxAggregator combine() {
+        MaxAggregator maxAggregator = new MaxAggregator(PROJECT, CLUSTER, JOB);
+        for (MaxAggregator other : this.perProcessor) {
+            maxAggregator.combine(other);
+        }
+        return maxAggregator;
+    }
+
+    @Benchmark
+    public Entry<Long, HazelcastJsonValue> exportFinish() {
+        return this.perProcessor[0].exportFinish();
+    }
+}
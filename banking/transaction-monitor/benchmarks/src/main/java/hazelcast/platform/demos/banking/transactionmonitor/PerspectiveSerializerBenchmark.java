@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package hazelcast.platform.demos.banking.transactionmonitor;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.hazelcast.config.CompactSerializationConfig;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.SerializationServiceSupport;
+
+/**
+ * <p>Compact serialization with {@link PerspectiveTradeSerializer},
+ * {@link PerspectivePaymentsSerializer} and {@link PerspectiveEcommerceSerializer},
+ * as for each write of the Perspective maps.
+ * </p>
+ * <p>Uses a standalone member's serialization service, so the schema
+ * is registered as it would be in the cluster.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+@SuppressWarnings("checkstyle:MagicNumber")
+public class PerspectiveSerializerBenchmark {
+
+    @Param({ "trade", "payments", "ecommerce" })
+    public String kind;
+
+    private HazelcastInstance hazelcastInstance;
+    private InternalSerializationService serializationService;
+    private Object object;
+    private Data data;
+
+    @Setup
+    public void setup() {
+        Config config = new Config();
+        config.setClusterName(PerspectiveSerializerBenchmark.class.getSimpleName());
+        JoinConfig joinConfig = config.getNetworkConfig().getJoin();
+        joinConfig.getAutoDetectionConfig().setEnabled(false);
+        joinConfig.getMulticastConfig().setEnabled(false);
+        CompactSerializationConfig compactSerializationConfig =
+                config.getSerializationConfig().getCompactSerializationConfig();
+        compactSerializationConfig.addSerializer(new PerspectiveTradeSerializer());
+        compactSerializationConfig.addSerializer(new PerspectivePaymentsSerializer());
+        compactSerializationConfig.addSerializer(new PerspectiveEcommerceSerializer());
+
+        this.hazelcastInstance = Hazelcast.newHazelcastInstance(config);
+        this.serializationService =
+                ((SerializationServiceSupport) this.hazelcastInstance).getSerializationService();
+
+        switch (this.kind) {
+        case "trade":
+            PerspectiveTrade perspectiveTrade = new PerspectiveTrade();
+            perspectiveTrade.setSymbol("AAL");
+            perspectiveTrade.setCount(12_345L);
+            perspectiveTrade.setSum(30_864_197.5d);
+            perspectiveTrade.setLatest(2_500.25d);
+            perspectiveTrade.setSeconds(1_700_000_000);
+            perspectiveTrade.setRandom(42);
+            this.object = perspectiveTrade;
+            break;
+        case "payments":
+            PerspectivePayments perspectivePayments = new PerspectivePayments();
+            perspectivePayments.setBic("BANKGB2L");
+            perspectivePayments.setCount(12_345L);
+            perspectivePayments.setSum(1_518_435.0d);
+            perspectivePayments.setAverage(123.0d);
+            perspectivePayments.setSeconds(1_700_000_000);
+            perspectivePayments.setRandom(42);
+            this.object = perspectivePayments;
+            break;
+        default:
+            PerspectiveEcommerce perspectiveEcommerce = new PerspectiveEcommerce();
+            perspectiveEcommerce.setCode("ITEM0042");
+            perspectiveEcommerce.setCount(12_345L);
+            perspectiveEcommerce.setSum(246_900.0d);
+            perspectiveEcommerce.setAverage(20.0d);
+            perspectiveEcommerce.setSeconds(1_700_000_000);
+            perspectiveEcommerce.setRandom(42);
+            this.object = perspectiveEcommerce;
+            break;
+        }
+        this.data = this.serializationService.toData(this.object);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.hazelcastInstance.shutdown();
+    }
+
+    @Benchmark
+    public Data write() {
+        return this.serializationService.toData(this.object);
+    }
+
+    @Benchmark
+    public Object read() {
+        return this.serializationService.toObject(this.data);
+    }
+}
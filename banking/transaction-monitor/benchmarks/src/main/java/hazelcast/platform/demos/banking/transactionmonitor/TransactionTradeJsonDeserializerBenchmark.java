@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package hazelcast.platform.demos.banking.transactionmonitor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>Kafka bytes to {@link TransactionTrade}, once per trade in {@link AggregateQuery}.
+ * </p>
+ * <p>"{@code distinct}" of 1 is the same trade repeatedly, the best case. More
+ * distinct trades is closer to the real stream.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+@SuppressWarnings("checkstyle:MagicNumber")
+public class TransactionTradeJsonDeserializerBenchmark {
+
+    @Param({ "1", "1024" })
+    public int distinct;
+
+    private byte[][] trades;
+    private int next;
+    private TransactionTradeJsonDeserializer transactionTradeJsonDeserializer;
+
+    @Setup
+    public void setup() {
+        this.trades = new byte[this.distinct][];
+        for (int i = 0; i < this.trades.length; i++) {
+            this.trades[i] = BenchmarkData.trade(i).getBytes(StandardCharsets.UTF_8);
+        }
+        this.transactionTradeJsonDeserializer = new TransactionTradeJsonDeserializer();
+    }
+
+    @Benchmark
+    public TransactionTrade deserialize() {
+        byte[] trade = this.trades[this.next];
+        this.next = (this.next + 1) % this.trades.length;
+        return this.transactionTradeJsonDeserializer.deserialize(MyConstants.KAFKA_TOPIC_NAME_TRANSACTIONS, trade);
+    }
+}
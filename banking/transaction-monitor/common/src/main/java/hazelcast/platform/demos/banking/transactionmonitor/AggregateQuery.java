@@ -16,7 +16,6 @@
 
 package hazelcast.platform.demos.banking.transactionmonitor;
 
-import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.Map.Entry;
 import java.util.Properties;
 
@@ -27,17 +26,14 @@ import com.hazelcast.core.HazelcastJsonValue;
 import com.hazelcast.function.Functions;
 import com.hazelcast.function.ToDoubleFunctionEx;
 import com.hazelcast.function.ToLongFunctionEx;
-import com.hazelcast.jet.accumulator.LongAccumulator;
 import com.hazelcast.jet.accumulator.MutableReference;
 import com.hazelcast.jet.aggregate.AggregateOperation;
 import com.hazelcast.jet.aggregate.AggregateOperation1;
 import com.hazelcast.jet.aggregate.AggregateOperations;
-import com.hazelcast.jet.datamodel.Tuple2;
 import com.hazelcast.jet.datamodel.Tuple3;
-import com.hazelcast.jet.datamodel.Tuple4;
+import com.hazelcast.jet.datamodel.WindowResult;
 import com.hazelcast.jet.kafka.KafkaSources;
 import com.hazelcast.jet.pipeline.Pipeline;
-import com.hazelcast.jet.pipeline.ServiceFactories;
 import com.hazelcast.jet.pipeline.Sinks;
 import com.hazelcast.jet.pipeline.StreamStage;
 import com.hazelcast.jet.pipeline.WindowDefinition;
@@ -65,9 +61,7 @@ import com.hazelcast.jet.pipeline.WindowDefinition;
  */
 public class AggregateQuery {
 
-    private static final int CONSTANT_KEY = Integer.valueOf(0);
     private static final long FIVE_MINUTES_IN_MS = 5 * 60 * 1_000L;
-    private static final long LOG_THRESHOLD = 100_000L;
 
     private static ToLongFunctionEx<Object> nowTimestampFn = __ -> System.currentTimeMillis();
 
@@ -117,23 +111,11 @@ public class AggregateQuery {
             break;
         }
 
-        aggregated
-        .writeTo(Sinks.map(MyConstants.IMAP_NAME_AGGREGATE_QUERY_RESULTS));
+        // To help with diagnostics, counts and periodic samples, see ObservabilityStage
+        aggregated = aggregated.apply(ObservabilityStage.observe(AggregateQuery.class.getSimpleName()));
 
-        /* To help with diagnostics, allow every 100,0000th item through
-         * on each node. Nulls are filtered out.
-         */
         aggregated
-        .mapUsingService(ServiceFactories.sharedService(__ -> new LongAccumulator()),
-            (counter, item) -> {
-                counter.subtract(1);
-                if (counter.get() <= 0) {
-                    counter.set(LOG_THRESHOLD);
-                    return item;
-                }
-                return null;
-        }).setName("filter_every_" + LOG_THRESHOLD)
-        .writeTo(Sinks.logger());
+        .writeTo(Sinks.map(MyConstants.IMAP_NAME_AGGREGATE_QUERY_RESULTS));
 
         // Extra stages for alert generation
         AggregateQuery.addMaxAlert(aggregated, projectName, clusterName, jobName);
@@ -179,17 +161,8 @@ public class AggregateQuery {
 
         return inputSource
                 .groupingKey(TransactionEcommerce::getItemCode)
-                .rollingAggregate(AggregateOperations.allOf(
-                    AggregateOperations.counting(),
-                    AggregateOperations.summingDouble(transaction -> transaction.getPrice() * transaction.getQuantity())
-                   ))
-                .map((Entry<String, Tuple2<Long, Double>> entry) -> {
-                    return (Entry<String, Tuple3<Long, Double, Double>>)
-                            new SimpleImmutableEntry<>(entry.getKey(),
-                            Tuple3.tuple3(entry.getValue().f0(),
-                                    entry.getValue().f1(),
-                                    Double.parseDouble(String.format("%.2f", entry.getValue().f1() / entry.getValue().f0()))));
-                })
+                .rollingAggregate(FixedPointAverage.<TransactionEcommerce>fixedPointAverage(
+                        transaction -> transaction.getPrice() * transaction.getQuantity()))
                 .setName("aggregate by item code");
     }
 
@@ -225,24 +198,18 @@ public class AggregateQuery {
 
         return inputSource
                 .groupingKey(TransactionPayments::getBicCreditor)
-                .rollingAggregate(AggregateOperations.allOf(
-                    AggregateOperations.counting(),
-                    AggregateOperations.summingDouble(transaction -> transaction.getAmtFloor())
-                   ))
-                .map((Entry<String, Tuple2<Long, Double>> entry) -> {
-                    return (Entry<String, Tuple3<Long, Double, Double>>)
-                            new SimpleImmutableEntry<>(entry.getKey(),
-                            Tuple3.tuple3(entry.getValue().f0(),
-                                    entry.getValue().f1(),
-                                    Double.parseDouble(String.format("%.2f", entry.getValue().f1() / entry.getValue().f0()))));
-                })
+                .rollingAggregate(FixedPointAverage.<TransactionPayments>fixedPointAverage(
+                        transaction -> transaction.getAmtFloor()))
                 .setName("aggregate by BIC creditor");
     }
 
     /**
      * <p>Trades are aggregated by stock symbol, "{@code AAL}", etc.
      * Stocks with specific status other than normal are filtered out,
-     * we do not see "{@code DELINQUENT}" or "{@code DEFICIENT}".
+     * we do not see "{@code DELINQUENT}" or "{@code DEFICIENT}". Status is
+     * looked up in a {@link SymbolStatusCache} local to each processor, rather
+     * than from the "{@code symbols}" map for each trade. The rare miss is
+     * loaded asynchronously, so the filter is asynchronous.
      * </p>
      * <p>See also {@link PerspectiveTrade}.
      * </p>
@@ -270,10 +237,9 @@ public class AggregateQuery {
         }
 
         return inputSource
-                .mapUsingIMap(MyConstants.IMAP_NAME_SYMBOLS,
-                        TransactionTrade::getSymbol,
-                        (TransactionTrade transaction, SymbolInfo symbolInfo)
-                        -> (symbolInfo.getFinancialStatus() == NasdaqFinancialStatus.NORMAL ? transaction : null))
+                .filterUsingServiceAsync(SymbolStatusCache.serviceFactory(),
+                        (symbolStatusCache, transaction) -> symbolStatusCache.isNormal(transaction.getSymbol()))
+                .setName("filter normal symbols")
                 .groupingKey(TransactionTrade::getSymbol)
                 .rollingAggregate(AggregateOperations.allOf(
                     AggregateOperations.counting(),
@@ -311,6 +277,11 @@ public class AggregateQuery {
      * <p>This is the largest since the start, not in that
      * time period.
      * </p>
+     * <p>The window is not keyed, so Jet aggregates in two stages. Each processor
+     * on each member finds a local maximum in parallel, and only these
+     * are sent to one place to combine into the global maximum. So the amount sent
+     * to the combining stage depends on the cluster size, not on the event rate.
+     * </p>
      *
      * @param aggregated
      */
@@ -318,36 +289,35 @@ public class AggregateQuery {
             StreamStage<Entry<String, Tuple3<Long, Double, Double>>> aggregated,
             String projectName, String jobName, String clusterName) {
         AggregateOperation1<
-            Entry<Integer, Tuple4<String, Long, Double, Double>>,
+            Entry<String, Tuple3<Long, Double, Double>>,
             MaxAggregator,
             Entry<Long, HazelcastJsonValue>>
                 maxAggregator =
                     MaxAggregator.buildMaxAggregation(projectName, clusterName, jobName);
 
         aggregated
-        .map(entry -> {
-            Tuple4<String, Long, Double, Double> tuple4 =
-                    Tuple4.tuple4(entry.getKey(), entry.getValue().f0(),
-                            entry.getValue().f1(), entry.getValue().f2());
-            return new SimpleImmutableEntry<>(CONSTANT_KEY, tuple4);
-        })
         .addTimestamps(nowTimestampFn, 0)
-        .groupingKey(Functions.entryKey())
         .window(WindowDefinition.tumbling(FIVE_MINUTES_IN_MS))
         .aggregate(maxAggregator)
-        .map(result -> result.getValue())
+        .map(WindowResult::result)
         .writeTo(Sinks.map(MyConstants.IMAP_NAME_ALERTS_LOG));
     }
 
     /** <p>Count each update to each key. Keep the full key.
+     * </p>
+     * <p>CP writes are coalesced per key for up to "{@code my.cp.hold.millis}",
+     * and up to "{@code my.cp.max.in.flight}" are outstanding at once, as Raft
+     * round trips are the limit on throughput.
      * </p>
      */
     private static void addCPTallying(
             StreamStage<Entry<String, Tuple3<Long, Double, Double>>> aggregated, String cpMapName) {
+        int maxInFlight = Integer.getInteger(MyConstants.CP_MAX_IN_FLIGHT_KEY, MyConstants.CP_MAX_IN_FLIGHT_DEFAULT);
+        long holdMillis = Long.getLong(MyConstants.CP_HOLD_MILLIS_KEY, MyConstants.CP_HOLD_MILLIS_DEFAULT);
         aggregated
         .map(Functions.entryKey())
-        .writeTo(CPAtomicLongSink.cpAtomicLongSink());
+        .writeTo(CPAtomicLongSink.cpAtomicLongSink(maxInFlight, holdMillis));
         aggregated
-        .writeTo(CPMapSink.cpMapSink(cpMapName));
+        .writeTo(CPMapSink.cpMapSink(cpMapName, maxInFlight, holdMillis));
     }
 }
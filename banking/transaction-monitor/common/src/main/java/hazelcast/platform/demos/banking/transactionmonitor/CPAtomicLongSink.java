@@ -14,58 +14,81 @@
  * limitations under the License.
  */
 
+
 package hazelcast.platform.demos.banking.transactionmonitor;
 
 import com.hazelcast.cp.CPSubsystem;
+import com.hazelcast.cp.IAtomicLong;
+import com.hazelcast.jet.accumulator.LongAccumulator;
+import com.hazelcast.jet.core.ProcessorMetaSupplier;
 import com.hazelcast.jet.pipeline.Sink;
-import com.hazelcast.jet.pipeline.SinkBuilder;
-
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import com.hazelcast.jet.pipeline.Sinks;
 
 /**
  * <p>Use a CP {@link com.hazelcast.cp.IAtomicLong IAtomicLong} as a sink.
  * </p>
+ * <p>Each write is a Raft round trip, so increments are coalesced per key for up
+ * to "{@code my.cp.hold.millis}" and applied with one "{@code addAndGetAsync()}"
+ * per key, with up to "{@code my.cp.max.in.flight}" at once. Increments not yet
+ * applied are saved in the snapshot, see {@link CPSinkProcessor}.
+ * </p>
  */
-public class CPAtomicLongSink {
-    private final CPSubsystem cpSubsystem;
+public class CPAtomicLongSink extends CPSinkProcessor<LongAccumulator> {
+    private CPSubsystem cpSubsystem;
 
-    @SuppressFBWarnings(value = "EI_EXPOSE_REP2", justification = "Object is thread-safe")
-    public CPAtomicLongSink(CPSubsystem cpSubsystem) {
-        this.cpSubsystem = cpSubsystem;
+    CPAtomicLongSink(int arg0, long arg1) {
+        super(arg0, arg1);
     }
 
     /**
-     * <p>Build the sink, mainly {@link #receiveFn(String)}.
+     * <p>Build the sink, one processor per member.
      * </p>
      *
+     * @param maxInFlight How many writes to have outstanding at once
+     * @param holdMillis How long to coalesce increments, zero to write each input batch
      * @return
      */
-    public static Sink<String> cpAtomicLongSink() {
-        return SinkBuilder.sinkBuilder(
-                    "atomicLongSink-",
-                    context -> new CPAtomicLongSink(context.hazelcastInstance().getCPSubsystem())
-                )
-                .receiveFn(
-                        (CPAtomicLongSink cpAtomicLongSink, String key) -> cpAtomicLongSink.receiveFn(key)
-                        )
-                .build();
+    public static Sink<String> cpAtomicLongSink(int maxInFlight, long holdMillis) {
+        return Sinks.fromProcessor("atomicLongSink",
+                ProcessorMetaSupplier.of(1, () -> new CPAtomicLongSink(maxInFlight, holdMillis)));
+    }
+
+    @Override
+    void initCP(CPSubsystem cpSubsystem) {
+        this.cpSubsystem = cpSubsystem;
     }
 
     /**
-     * <p>Increment the counter for the key.
+     * <p>Count another increment for the key.
+     * </p>
+     */
+    @Override
+    void receive(Object item) {
+        this.pending.computeIfAbsent((String) item, __ -> new LongAccumulator()).add(1);
+    }
+
+    /**
+     * <p>One write per key, to one of two CP groups.
      * </p>
-     *
-     * @param keu
-     * @return
      */
-    public Object receiveFn(String key) {
+    @Override
+    void write(CPSinkWrites cpSinkWrites, String key, LongAccumulator value) throws InterruptedException {
         int groupSelector = Math.abs(key.hashCode() % 2);
 
         String group = (groupSelector == 1) ? MyConstants.CP_GROUP_A : MyConstants.CP_GROUP_B;
 
-        this.cpSubsystem.getAtomicLong(key + "@ " + group).incrementAndGet();
+        IAtomicLong iAtomicLong = this.cpSubsystem.getAtomicLong(key + "@ " + group);
+        long delta = value.get();
+        cpSinkWrites.submit(() -> iAtomicLong.addAndGetAsync(delta));
+    }
 
-        return this;
+    @Override
+    Object toSnapshot(LongAccumulator value) {
+        return value.get();
     }
 
+    @Override
+    void restore(String key, Object value) {
+        this.pending.computeIfAbsent(key, __ -> new LongAccumulator()).add((Long) value);
+    }
 }
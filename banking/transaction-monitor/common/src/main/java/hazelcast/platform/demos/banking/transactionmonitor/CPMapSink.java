@@ -14,59 +14,106 @@
  * limitations under the License.
  */
 
+
 package hazelcast.platform.demos.banking.transactionmonitor;
 
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import com.hazelcast.cp.CPMap;
 import com.hazelcast.cp.CPSubsystem;
+import com.hazelcast.jet.core.ProcessorMetaSupplier;
 import com.hazelcast.jet.datamodel.Tuple3;
 import com.hazelcast.jet.pipeline.Sink;
-import com.hazelcast.jet.pipeline.SinkBuilder;
-
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import com.hazelcast.jet.pipeline.Sinks;
 
 /**
  * <p>Use a CP {@link com.hazelcast.cp.CPMap CPMap} as a sink.
  * </p>
+ * <p>Each write is a Raft round trip. Input is a rolling aggregate, so
+ * only the latest value per key matters, and one "{@code set()}" per key
+ * is made when the oldest is "{@code my.cp.hold.millis}" old. {@link CPMap}
+ * has no asynchronous methods, so the writes run on a pool of
+ * "{@code my.cp.max.in.flight}" threads to overlap them. As for
+ * {@link CPAtomicLongSink}, values not yet written are saved in the snapshot.
+ * </p>
  */
-public class CPMapSink {
-    private final CPSubsystem cpSubsystem;
+public class CPMapSink extends CPSinkProcessor<Tuple3<Long, Double, Double>> {
     private final String cpMapName;
+    private final int maxInFlight;
+    private CPMap<String, Tuple3<Long, Double, Double>> cpMap;
+    private ExecutorService executorService;
 
-    @SuppressFBWarnings(value = "EI_EXPOSE_REP2", justification = "Object is thread-safe")
-    public CPMapSink(CPSubsystem cpSubsystem, String cpMapName) {
-        this.cpSubsystem = cpSubsystem;
-        this.cpMapName = cpMapName;
+    CPMapSink(String arg0, int arg1, long arg2) {
+        super(arg1, arg2);
+        this.cpMapName = arg0;
+        this.maxInFlight = arg1;
     }
 
     /**
-     * <p>Build the sink, mainly {@link #receiveFn(Entry<String, Tuple3<Long, Double, Double>>)}.
+     * <p>Build the sink, one processor per member.
      * </p>
      *
+     * @param cpMapName
+     * @param maxInFlight How many writes to have outstanding at once
+     * @param holdMillis How long to coalesce values, zero to write each input batch
      * @return
      */
-    public static Sink<Entry<String, Tuple3<Long, Double, Double>>> cpMapSink(String cpMapName) {
-        return SinkBuilder.sinkBuilder(
-                    "cpMapSink-",
-                    context -> new CPMapSink(context.hazelcastInstance().getCPSubsystem(), cpMapName)
-                )
-                .receiveFn(
-                        (CPMapSink cpMapSink, Entry<String, Tuple3<Long, Double, Double>> entry) -> cpMapSink.receiveFn(entry)
-                        )
-                .build();
+    public static Sink<Entry<String, Tuple3<Long, Double, Double>>> cpMapSink(String cpMapName,
+            int maxInFlight, long holdMillis) {
+        return Sinks.fromProcessor("cpMapSink",
+                ProcessorMetaSupplier.of(1, () -> new CPMapSink(cpMapName, maxInFlight, holdMillis)));
+    }
+
+    @Override
+    void initCP(CPSubsystem cpSubsystem) {
+        this.cpMap = cpSubsystem.getMap(this.cpMapName);
+        this.executorService = Executors.newFixedThreadPool(Math.max(1, this.maxInFlight));
     }
 
     /**
-     * <p>Replace the entry in the CP Map.
+     * <p>Keep the latest value for the key.
      * </p>
-     *
-     * @param key/value pair
-     * @return
      */
-    public Object receiveFn(Entry<String, Tuple3<Long, Double, Double>> entry) {
-        this.cpSubsystem.getMap(this.cpMapName).set(entry.getKey(), entry.getValue());
+    @Override
+    @SuppressWarnings("unchecked")
+    void receive(Object item) {
+        Entry<String, Tuple3<Long, Double, Double>> entry = (Entry<String, Tuple3<Long, Double, Double>>) item;
+        this.pending.put(entry.getKey(), entry.getValue());
+    }
 
-        return this;
+    @Override
+    void write(CPSinkWrites cpSinkWrites, String key, Tuple3<Long, Double, Double> value)
+            throws InterruptedException {
+        cpSinkWrites.submit(() ->
+            CompletableFuture.runAsync(() -> this.cpMap.set(key, value), this.executorService));
     }
 
+    @Override
+    Object toSnapshot(Tuple3<Long, Double, Double> value) {
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    void restore(String key, Object value) {
+        this.pending.put(key, (Tuple3<Long, Double, Double>) value);
+    }
+
+    /**
+     * <p>Write what's pending, if not in a snapshot, then stop the threads.
+     * </p>
+     */
+    @Override
+    public void close() throws Exception {
+        try {
+            super.close();
+        } finally {
+            if (this.executorService != null) {
+                this.executorService.shutdown();
+            }
+        }
+    }
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hazelcast.platform.demos.banking.transactionmonitor;
+
+import java.util.concurrent.TimeUnit;
+
+import com.hazelcast.jet.core.metrics.Metric;
+import com.hazelcast.jet.core.metrics.Metrics;
+import com.hazelcast.jet.core.metrics.Unit;
+
+/**
+ * <p>Job metrics for the CP sinks, {@link CPAtomicLongSink} and {@link CPMapSink},
+ * showing how many Raft writes coalescing saves and how long they take.
+ * </p>
+ * <p>Must be created in the sink processor's "{@code init()}", so the metrics are
+ * registered against the sink processor.
+ * </p>
+ */
+class CPSinkMetrics {
+    private final Metric itemsReceived;
+    private final Metric raftWrites;
+    private final Metric raftWritesSaved;
+    private final Metric flushTimeMs;
+    private final Metric writeLatencyMaxMs;
+
+    CPSinkMetrics() {
+        this.itemsReceived = Metrics.metric("cpItemsReceived", Unit.COUNT);
+        this.raftWrites = Metrics.metric("cpRaftWrites", Unit.COUNT);
+        this.raftWritesSaved = Metrics.metric("cpRaftWritesSaved", Unit.COUNT);
+        this.flushTimeMs = Metrics.metric("cpFlushTimeMs", Unit.MS);
+        this.writeLatencyMaxMs = Metrics.metric("cpWriteLatencyMaxMs", Unit.MS);
+    }
+
+    /**
+     * <p>Record the outcome of one flush.
+     * </p>
+     *
+     * @param items Items received since the last flush
+     * @param writes Raft writes made to apply them
+     * @param flushNanos Time for all writes
+     * @param writeMaxNanos Slowest single write
+     */
+    void flushed(long items, long writes, long flushNanos, long writeMaxNanos) {
+        this.itemsReceived.increment(items);
+        this.raftWrites.increment(writes);
+        this.raftWritesSaved.increment(items - writes);
+        this.flushTimeMs.set(TimeUnit.NANOSECONDS.toMillis(flushNanos));
+        this.writeLatencyMaxMs.set(TimeUnit.NANOSECONDS.toMillis(writeMaxNanos));
+    }
+}
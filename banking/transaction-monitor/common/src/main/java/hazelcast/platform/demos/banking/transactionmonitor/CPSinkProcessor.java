@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package hazelcast.platform.demos.banking.transactionmonitor;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.hazelcast.cp.CPSubsystem;
+import com.hazelcast.jet.JetException;
+import com.hazelcast.jet.Traverser;
+import com.hazelcast.jet.Traversers;
+import com.hazelcast.jet.Util;
+import com.hazelcast.jet.config.ProcessingGuarantee;
+import com.hazelcast.jet.core.AbstractProcessor;
+
+/**
+ * <p>Common logic for the CP sinks, {@link CPAtomicLongSink} and {@link CPMapSink}.
+ * Input is coalesced per key, and written when the oldest pending is
+ * "{@code my.cp.hold.millis}" old, or when many keys are pending.
+ * </p>
+ * <p>Pending input is saved in each snapshot, so anything held back when the
+ * snapshot is taken is restored and written if the job restarts from it. A hold
+ * of zero writes after each batch of input.
+ * </p>
+ * <p>Writes wait for the Raft round trip, so the processor is not cooperative.
+ * </p>
+ *
+ * @param <V> The pending value for each key
+ */
+abstract class CPSinkProcessor<V> extends AbstractProcessor {
+    private static final int MAX_PENDING_KEYS = 10_000;
+
+    protected final Map<String, V> pending = new HashMap<>();
+    private final int maxInFlight;
+    private final long holdMillis;
+    private long pendingItems;
+    private long pendingSinceMillis;
+    private boolean flushOnClose;
+    private CPSinkWrites cpSinkWrites;
+    private CPSinkMetrics cpSinkMetrics;
+    private Traverser<Entry<String, Object>> snapshotTraverser;
+
+    CPSinkProcessor(int arg0, long arg1) {
+        this.maxInFlight = arg0;
+        this.holdMillis = arg1;
+    }
+
+    /**
+     * <p>Metrics are created here, so are registered against this processor.
+     * </p>
+     */
+    @Override
+    protected void init(Context context) throws Exception {
+        this.cpSinkWrites = new CPSinkWrites(this.maxInFlight);
+        this.cpSinkMetrics = new CPSinkMetrics();
+        // With a processing guarantee, what's pending at the end is in the last snapshot
+        this.flushOnClose = context.processingGuarantee() == ProcessingGuarantee.NONE;
+        this.initCP(context.hazelcastInstance().getCPSubsystem());
+    }
+
+    @Override
+    public boolean isCooperative() {
+        return false;
+    }
+
+    @Override
+    protected boolean tryProcess(int ordinal, Object item) {
+        this.markPending();
+        this.receive(item);
+        this.pendingItems++;
+        if (this.pending.size() >= MAX_PENDING_KEYS) {
+            this.flush();
+        }
+        return true;
+    }
+
+    /**
+     * <p>Called between batches of input, and when there is none, so pending
+     * input is written within the hold time even if input stops.
+     * </p>
+     */
+    @Override
+    public boolean tryProcess() {
+        if (!this.pending.isEmpty() && System.currentTimeMillis() - this.pendingSinceMillis >= this.holdMillis) {
+            this.flush();
+        }
+        return true;
+    }
+
+    /**
+     * <p>Save what is pending, keyed by the CP object's key. Pending is not cleared,
+     * it is still written when the hold time is reached.
+     * </p>
+     */
+    @Override
+    public boolean saveToSnapshot() {
+        if (this.snapshotTraverser == null) {
+            this.snapshotTraverser = Traversers.traverseIterable(this.pending.entrySet())
+                    .map(entry -> Util.<String, Object>entry(entry.getKey(), this.toSnapshot(entry.getValue())))
+                    .onFirstNull(() -> this.snapshotTraverser = null);
+        }
+        return this.emitFromTraverserToSnapshot(this.snapshotTraverser);
+    }
+
+    @Override
+    protected void restoreFromSnapshot(Object key, Object value) {
+        this.markPending();
+        this.restore((String) key, value);
+    }
+
+    @Override
+    public boolean complete() {
+        this.flush();
+        return true;
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (this.flushOnClose && this.cpSinkWrites != null) {
+            this.flush();
+        }
+    }
+
+    private void markPending() {
+        if (this.pending.isEmpty()) {
+            this.pendingSinceMillis = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * <p>Write everything pending, then wait for all.
+     * </p>
+     */
+    private void flush() {
+        if (this.pending.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        long writeMaxNanos;
+        try {
+            for (Entry<String, V> entry : this.pending.entrySet()) {
+                this.write(this.cpSinkWrites, entry.getKey(), entry.getValue());
+            }
+            writeMaxNanos = this.cpSinkWrites.awaitAll();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JetException("flush()", e);
+        }
+
+        this.cpSinkMetrics.flushed(this.pendingItems, this.pending.size(), System.nanoTime() - start, writeMaxNanos);
+        this.pending.clear();
+        this.pendingItems = 0;
+    }
+
+    /**
+     * <p>Find the CP objects.
+     * </p>
+     *
+     * @param cpSubsystem From the processor's context
+     */
+    abstract void initCP(CPSubsystem cpSubsystem);
+
+    /**
+     * <p>Coalesce an input item into {@link #pending}.
+     * </p>
+     *
+     * @param item From the input
+     */
+    abstract void receive(Object item);
+
+    /**
+     * <p>Issue the write for one key with {@link CPSinkWrites#submit}.
+     * </p>
+     *
+     * @param cpSinkWrites Limits the writes outstanding
+     * @param key CP object key
+     * @param value Pending for the key
+     * @throws InterruptedException If the job is cancelled while waiting
+     */
+    abstract void write(CPSinkWrites cpSinkWrites, String key, V value) throws InterruptedException;
+
+    /**
+     * <p>A serializable form of the pending value.
+     * </p>
+     *
+     * @param value Pending for a key
+     * @return For the snapshot
+     */
+    abstract Object toSnapshot(V value);
+
+    /**
+     * <p>Coalesce a value from the snapshot into {@link #pending}.
+     * </p>
+     *
+     * @param key CP object key
+     * @param value From {@link #toSnapshot}
+     */
+    abstract void restore(String key, Object value);
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hazelcast.platform.demos.banking.transactionmonitor;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * <p>Asynchronous writes for the CP sinks, {@link CPAtomicLongSink} and {@link CPMapSink},
+ * with at most "{@code my.cp.max.in.flight}" outstanding, so the Raft round trips
+ * overlap rather than being made one at a time.
+ * </p>
+ * <p>{@link #awaitAll()} waits for every write issued, so when the sink's flush returns
+ * the writes have committed, and a snapshot after the flush does not lose them.
+ * </p>
+ */
+class CPSinkWrites {
+    private final int maxInFlight;
+    private final Semaphore semaphore;
+    private final AtomicLong writeMaxNanos = new AtomicLong();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    CPSinkWrites(int maxInFlight) {
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.semaphore = new Semaphore(this.maxInFlight);
+    }
+
+    /**
+     * <p>Issue a write, once fewer than the maximum are outstanding.
+     * </p>
+     *
+     * @param writeFn Starts the write
+     * @throws InterruptedException If the job is cancelled while waiting
+     */
+    void submit(Supplier<CompletionStage<?>> writeFn) throws InterruptedException {
+        this.semaphore.acquire();
+        long before = System.nanoTime();
+        try {
+            writeFn.get().whenComplete((result, throwable) -> {
+                if (throwable != null) {
+                    this.failure.compareAndSet(null, throwable);
+                }
+                long elapsed = System.nanoTime() - before;
+                this.writeMaxNanos.accumulateAndGet(elapsed, Math::max);
+                this.semaphore.release();
+            });
+        } catch (RuntimeException e) {
+            this.semaphore.release();
+            throw e;
+        }
+    }
+
+    /**
+     * <p>Wait for all outstanding writes. A failed write fails the sink, so
+     * the job restarts from the last snapshot rather than lose it.
+     * </p>
+     *
+     * @return The slowest single write since the last call
+     * @throws InterruptedException If the job is cancelled while waiting
+     */
+    long awaitAll() throws InterruptedException {
+        this.semaphore.acquire(this.maxInFlight);
+        this.semaphore.release(this.maxInFlight);
+        Throwable throwable = this.failure.getAndSet(null);
+        if (throwable != null) {
+            throw new CompletionException("CP write failed", throwable);
+        }
+        return this.writeMaxNanos.getAndSet(0L);
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hazelcast.platform.demos.banking.transactionmonitor;
+
+import java.io.Serializable;
+
+import com.hazelcast.function.ToDoubleFunctionEx;
+import com.hazelcast.jet.aggregate.AggregateOperation;
+import com.hazelcast.jet.aggregate.AggregateOperation1;
+import com.hazelcast.jet.datamodel.Tuple3;
+
+/**
+ * <p>Accumulate count and sum of monetary values, as fixed-point
+ * "{@code long}" values in minor units (ie. cents), and output
+ * count, sum and average rounded to two decimal places.
+ * </p>
+ * <p>Replaces a "{@code String.format("%.2f")}" and parse per event,
+ * the average is only computed as arithmetic on export.
+ * </p>
+ */
+public class FixedPointAverage implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private static final int MINOR_UNITS = 100;
+    private static final double MINOR_UNITS_DOUBLE = 100d;
+
+    private long count;
+    private long sumMinorUnits;
+
+    /**
+     * <p>Count, sum and average of a value taken from each item.
+     * </p>
+     *
+     * @param <T> Type of item
+     * @param getDoubleValueFn How to get the monetary value from the item
+     * @return A trio of count, sum and average
+     */
+    public static <T> AggregateOperation1<T, FixedPointAverage, Tuple3<Long, Double, Double>> fixedPointAverage(
+                ToDoubleFunctionEx<? super T> getDoubleValueFn) {
+        return AggregateOperation
+                .withCreate(FixedPointAverage::new)
+                .<T>andAccumulate((FixedPointAverage fixedPointAverage, T item)
+                        -> fixedPointAverage.accumulate(getDoubleValueFn.applyAsDouble(item)))
+                .andCombine(FixedPointAverage::combine)
+                .andDeduct(FixedPointAverage::deduct)
+                .andExportFinish(FixedPointAverage::exportFinish);
+    }
+
+    /**
+     * <p>Add one value, rounded to the nearest minor unit.
+     * </p>
+     *
+     * @param value
+     * @return The current accumulator
+     */
+    public FixedPointAverage accumulate(double value) {
+        this.count++;
+        this.sumMinorUnits += Math.round(value * MINOR_UNITS);
+        return this;
+    }
+
+    /**
+     * <p>Merge another accumulator into this.
+     * </p>
+     */
+    public FixedPointAverage combine(FixedPointAverage that) {
+        this.count += that.getCount();
+        this.sumMinorUnits += that.getSumMinorUnits();
+        return this;
+    }
+
+    /**
+     * <p>Reverse of {@link #combine(FixedPointAverage)}, for sliding windows.
+     * </p>
+     */
+    public FixedPointAverage deduct(FixedPointAverage that) {
+        this.count -= that.getCount();
+        this.sumMinorUnits -= that.getSumMinorUnits();
+        return this;
+    }
+
+    public long getCount() {
+        return this.count;
+    }
+    public long getSumMinorUnits() {
+        return this.sumMinorUnits;
+    }
+
+    /**
+     * <p>Average in minor units, rounded half up, as "{@code %.2f}" would.
+     * </p>
+     *
+     * @return Zero if nothing accumulated
+     */
+    public long getAverageMinorUnits() {
+        if (this.count == 0) {
+            return 0L;
+        }
+        return Math.floorDiv(2 * this.sumMinorUnits + this.count, 2 * this.count);
+    }
+
+    /**
+     * <p>Same shape of output as the previous "{@code counting()}" and
+     * "{@code summingDouble()}" pair followed by an average.
+     * </p>
+     */
+    public Tuple3<Long, Double, Double> exportFinish() {
+        return Tuple3.tuple3(this.count,
+                this.sumMinorUnits / MINOR_UNITS_DOUBLE,
+                this.getAverageMinorUnits() / MINOR_UNITS_DOUBLE);
+    }
+
+}
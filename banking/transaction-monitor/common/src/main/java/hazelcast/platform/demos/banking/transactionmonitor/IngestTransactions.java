@@ -16,16 +16,18 @@
 
 package hazelcast.platform.demos.banking.transactionmonitor;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Map.Entry;
 import java.util.Properties;
 
+import org.apache.kafka.common.serialization.Deserializer;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
 import com.hazelcast.core.HazelcastJsonValue;
 import com.hazelcast.jet.Util;
-import com.hazelcast.jet.accumulator.LongAccumulator;
 import com.hazelcast.jet.datamodel.Tuple2;
+import com.hazelcast.jet.datamodel.Tuple3;
 import com.hazelcast.jet.kafka.KafkaSources;
 import com.hazelcast.jet.pipeline.Pipeline;
 import com.hazelcast.jet.pipeline.ServiceFactories;
@@ -40,8 +42,6 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
  */
 public class IngestTransactions {
 
-    private static final long LOG_THRESHOLD = 100_000L;
-
     /**
      * <p>A simple ingest pipeline.
      * </p>
@@ -55,16 +55,20 @@ public class IngestTransactions {
      * JSON so the projection function converts it to JSON so that fast searching on
      * the JSON attributes is possible.
      * </p>
+     * <p>Optionally, the JSON is parsed once here and stored as Compact objects
+     * instead, so later stages and queries read fields without parsing JSON.
+     * </p>
      *
      * @param bootstrapServers Kafka brokers list
      * @param pulsarInputSource Ready made source to use for Pulsar instead of Kafka
      * @param transactionMonitorFlavor
+     * @param useCompactTransactions Store as Compact rather than JSON
      * @return A pipeline to run
      * @return
      */
     public static Pipeline buildPipeline(String bootstrapServers,
             StreamStage<Entry<String, HazelcastJsonValue>> pulsarInputSource,
-            TransactionMonitorFlavor transactionMonitorFlavor) {
+            TransactionMonitorFlavor transactionMonitorFlavor, boolean useCompactTransactions) {
 
         Properties properties = InitializerConfig.kafkaSourceProperties(bootstrapServers);
 
@@ -85,39 +89,95 @@ public class IngestTransactions {
                  .withoutTimestamps();
         }
 
+        // To help with diagnostics, counts and periodic samples, see ObservabilityStage
+        inputSource = inputSource.apply(ObservabilityStage.observe(IngestTransactions.class.getSimpleName()));
+
         if (transactionMonitorFlavor == TransactionMonitorFlavor.PAYMENTS) {
-            inputSource
-            .map(IngestTransactions::depleteEntry).setName("deplete-entry")
-            .writeTo(Sinks.map(MyConstants.IMAP_NAME_TRANSACTIONS));
+            // One parse for both the transaction, simplified JSON or Compact, and the XML
+            if (useCompactTransactions) {
+                writeSplit(inputSource
+                        .mapUsingService(ServiceFactories.nonSharedService(__ -> new PaymentsJsonSplitter()),
+                            PaymentsJsonSplitter::splitCompact).setName("split-payment"));
+            } else {
+                writeSplit(inputSource
+                        .mapUsingService(ServiceFactories.nonSharedService(__ -> new PaymentsJsonSplitter()),
+                            PaymentsJsonSplitter::split).setName("split-payment"));
+            }
+        } else if (useCompactTransactions) {
+            writeCompact(inputSource, transactionMonitorFlavor);
         } else {
             inputSource
             .writeTo(Sinks.map(MyConstants.IMAP_NAME_TRANSACTIONS));
         }
 
-        /* To help with diagnostics, allow every 100,0000th item through
-         * on each node. Nulls are filtered out.
-         */
-        inputSource
-        .mapUsingService(ServiceFactories.sharedService(__ -> new LongAccumulator()),
-            (counter, item) -> {
-                counter.subtract(1);
-                if (counter.get() <= 0) {
-                    counter.set(LOG_THRESHOLD);
-                    return item;
-                }
-                return null;
-        }).setName("filter_every_" + LOG_THRESHOLD)
-        .writeTo(Sinks.logger());
+        return pipeline;
+    }
 
-        /* Bonus output fork depending on flavor
-         */
-        if (transactionMonitorFlavor == TransactionMonitorFlavor.PAYMENTS) {
+    /**
+     * <p>Write a split payment, the transaction to its map unless unparseable,
+     * and the XML to the XML map.
+     * </p>
+     *
+     * @param <T> Simplified JSON or Compact object
+     * @param split Key, transaction and XML from {@link PaymentsJsonSplitter}
+     */
+    private static <T> void writeSplit(StreamStage<Tuple3<String, T, String>> split) {
+        split
+        .map(tuple3 -> tuple3.f1() == null ? null : Tuple2.tuple2(tuple3.f0(), tuple3.f1())).setName("deplete-entry")
+        .writeTo(Sinks.map(MyConstants.IMAP_NAME_TRANSACTIONS));
+        split
+        .map(tuple3 -> Tuple2.tuple2(tuple3.f0(), tuple3.f2())).setName("extract-xml")
+        .writeTo(Sinks.map(MyConstants.IMAP_NAME_TRANSACTIONS_XML));
+    }
+
+    /**
+     * <p>Convert from JSON to the Java object for the flavor, stored as Compact. Payments
+     * are converted by {@link PaymentsJsonSplitter#splitCompact(Entry)} instead, so the
+     * XML is split from the same parse.
+     * </p>
+     *
+     * @param inputSource
+     * @param transactionMonitorFlavor
+     */
+    private static void writeCompact(StreamStage<Entry<String, HazelcastJsonValue>> inputSource,
+            TransactionMonitorFlavor transactionMonitorFlavor) {
+        switch (transactionMonitorFlavor) {
+        case ECOMMERCE:
+            inputSource
+            .mapUsingService(ServiceFactories.sharedService(__ -> new TransactionEcommerceJsonDeserializer()),
+                    IngestTransactions::toCompact).setName("to-compact")
+            .writeTo(Sinks.map(MyConstants.IMAP_NAME_TRANSACTIONS));
+            break;
+        case TRADE:
+        default:
             inputSource
-            .map(IngestTransactions::makeEntryXML).setName("extract-xml")
-            .writeTo(Sinks.map(MyConstants.IMAP_NAME_TRANSACTIONS_XML));
+            .mapUsingService(ServiceFactories.sharedService(__ -> new TransactionTradeJsonDeserializer()),
+                    IngestTransactions::toCompact).setName("to-compact")
+            .writeTo(Sinks.map(MyConstants.IMAP_NAME_TRANSACTIONS));
+            break;
         }
+    }
 
-        return pipeline;
+    /**
+     * <p>Parse the JSON into the Java object, using the same deserializer
+     * as the Kafka source for aggregation.
+     * </p>
+     *
+     * @param <T> Transaction type for the flavor
+     * @param deserializer Thread-safe, shared
+     * @param input
+     * @return
+     */
+    @SuppressFBWarnings(value = "", justification = "JSON access can throw exception")
+    private static <T> Entry<String, T> toCompact(Deserializer<T> deserializer, Entry<String, HazelcastJsonValue> input) {
+        try {
+            T transaction = deserializer.deserialize(MyConstants.KAFKA_TOPIC_NAME_TRANSACTIONS,
+                    input.getValue().toString().getBytes(StandardCharsets.UTF_8));
+            return Tuple2.tuple2(input.getKey(), transaction);
+        } catch (Exception e) {
+            // Don't log, if running in Hz Cloud user may not bother to download logs. Nulls are filtered out by next stage.
+            return null;
+        }
     }
 
     /**
@@ -125,11 +185,14 @@ public class IngestTransactions {
      * See {@link #makeEntryXML(Entry)} that does capture the XML part for storage
      * elsewhere.
      * </p>
+     * <p>Replaced in the pipeline by {@link PaymentsJsonSplitter}, kept as the
+     * reference for its tests and benchmark.
+     * </p>
      * @param input
      * @return
      */
     @SuppressFBWarnings(value = "", justification = "JSON access can throw exception")
-    private static Entry<String, HazelcastJsonValue> depleteEntry(Entry<String, HazelcastJsonValue> input) {
+    static Entry<String, HazelcastJsonValue> depleteEntry(Entry<String, HazelcastJsonValue> input) {
         StringBuilder stringBuilder = new StringBuilder();
         stringBuilder.append("{");
         try {
@@ -153,12 +216,15 @@ public class IngestTransactions {
      * <p>The payment is passed as JSON, but XML is multi-line. Turn XML back
      * from an array of strings into a single multi-line string.
      * </p>
+     * <p>Replaced in the pipeline by {@link PaymentsJsonSplitter}, kept as the
+     * reference for its tests and benchmark.
+     * </p>
      *
      * @param input
      * @return
      */
     @SuppressFBWarnings(value = "", justification = "JSON access can throw exception")
-    private static Entry<String, String> makeEntryXML(Entry<String, HazelcastJsonValue> input) {
+    static Entry<String, String> makeEntryXML(Entry<String, HazelcastJsonValue> input) {
         String xml;
         try {
             StringBuilder stringBuilder = new StringBuilder();
@@ -23,12 +23,16 @@ import java.util.Map.Entry;
 import com.hazelcast.core.HazelcastJsonValue;
 import com.hazelcast.jet.aggregate.AggregateOperation;
 import com.hazelcast.jet.aggregate.AggregateOperation1;
-import com.hazelcast.jet.datamodel.Tuple4;
+import com.hazelcast.jet.datamodel.Tuple3;
 import com.hazelcast.platform.demos.utils.UtilsFormatter;
 
 /**
  * <p>Accumulate and output a maximum value.
  * </p>
+ * <p>Accumulators can be combined, so Jet can find the maximum in each
+ * processor in parallel and only combine these local maxima to find
+ * the global one.
+ * </p>
  */
 public class MaxAggregator implements Serializable {
     private static final long serialVersionUID = 1L;
@@ -43,15 +47,15 @@ public class MaxAggregator implements Serializable {
         this.provenance = arg0 + ":" + arg1 + ":" + arg2;
     }
 
-    public static AggregateOperation1<Entry<Integer, Tuple4<String, Long, Double, Double>>,
+    public static AggregateOperation1<Entry<String, Tuple3<Long, Double, Double>>,
         MaxAggregator, Entry<Long, HazelcastJsonValue>> buildMaxAggregation(
                 String projectName, String clusterName, String jobName
                 ) {
         return AggregateOperation
                 .withCreate(() -> new MaxAggregator(projectName, clusterName, jobName))
                 .andAccumulate((MaxAggregator maxVolumeAggregator,
-                        Entry<Integer, Tuple4<String, Long, Double, Double>> entry)
-                        -> maxVolumeAggregator.accumulate(entry.getValue()))
+                        Entry<String, Tuple3<Long, Double, Double>> entry)
+                        -> maxVolumeAggregator.accumulate(entry.getKey(), entry.getValue().f1()))
                 .andCombine(MaxAggregator::combine)
                 .andExportFinish(MaxAggregator::exportFinish);
     }
@@ -60,17 +64,18 @@ public class MaxAggregator implements Serializable {
      * <p>Update the max if necessary.
      * </p>
      *
-     * @param entry
+     * @param symbol Stock symbol, item code or BIC
+     * @param volume Aggregated volume for it
      * @return The current accumulator
      */
-    public MaxAggregator accumulate(Tuple4<String, Long, Double, Double> tuple4) {
+    public MaxAggregator accumulate(String symbol, double volume) {
         if (this.maxSymbol == null) {
-            this.maxSymbol = tuple4.f0();
-            this.maxVolume = tuple4.f2();
+            this.maxSymbol = symbol;
+            this.maxVolume = volume;
         } else {
-            if (this.maxVolume < tuple4.f2()) {
-                this.maxSymbol = tuple4.f0();
-                this.maxVolume = tuple4.f2();
+            if (this.maxVolume < volume) {
+                this.maxSymbol = symbol;
+                this.maxVolume = volume;
             }
         }
         return this;
@@ -16,20 +16,39 @@
 
 package hazelcast.platform.demos.banking.transactionmonitor;
 
-import java.nio.charset.StandardCharsets;
 import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map.Entry;
 import java.util.concurrent.TimeUnit;
 
+import javax.annotation.Nonnull;
+
+import org.apache.pulsar.client.api.BatchReceivePolicy;
+import org.apache.pulsar.client.api.Consumer;
 import org.apache.pulsar.client.api.Message;
+import org.apache.pulsar.client.api.MessageId;
+import org.apache.pulsar.client.api.Messages;
 import org.apache.pulsar.client.api.PulsarClient;
+import org.apache.pulsar.client.api.PulsarClientException;
 import org.apache.pulsar.client.api.Schema;
+import org.apache.pulsar.client.api.SubscriptionInitialPosition;
+import org.apache.pulsar.client.api.SubscriptionType;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.hazelcast.core.HazelcastJsonValue;
 import com.hazelcast.function.FunctionEx;
 import com.hazelcast.function.SupplierEx;
-import com.hazelcast.jet.contrib.pulsar.PulsarSources;
+import com.hazelcast.jet.JetException;
+import com.hazelcast.jet.Traverser;
+import com.hazelcast.jet.Traversers;
+import com.hazelcast.jet.config.ProcessingGuarantee;
+import com.hazelcast.jet.core.AbstractProcessor;
+import com.hazelcast.jet.core.ProcessorMetaSupplier;
+import com.hazelcast.jet.core.ProcessorSupplier;
 import com.hazelcast.jet.pipeline.Pipeline;
+import com.hazelcast.jet.pipeline.Sources;
 import com.hazelcast.jet.pipeline.StreamSource;
 import com.hazelcast.jet.pipeline.StreamStage;
 import com.hazelcast.platform.demos.utils.UtilsUrls;
@@ -38,6 +57,23 @@ import com.hazelcast.platform.demos.utils.UtilsUrls;
  * <p>Provides input sources (the start of a pipeline) using Pulsar as the
  * source.
  * </p>
+ * <p>Each processor is a consumer on a "{@code Key_Shared}" subscription, so Pulsar
+ * spreads messages across all processors on all members. The key is the transaction
+ * id, which is unique, so there is no per-key order to keep. The producer batches
+ * regardless of key, and Pulsar routes each batch by the key of its first message,
+ * so a per-key order would need a business field such as the symbol as the key.
+ * Messages are taken with "{@code batchReceive()}", up to "{@code my.pulsar.batch.max}"
+ * or "{@code my.pulsar.batch.timeout.millis}" whichever is first, and
+ * "{@code my.pulsar.local.parallelism}" sets the processors per member.
+ * </p>
+ * <p>If the job has a processing guarantee, messages are acknowledged only once a
+ * snapshot that follows their emission has committed, in the second phase of the
+ * snapshot. Nothing is saved in the snapshot, as on restart Pulsar redelivers
+ * everything not acknowledged, which is what was received after the snapshot
+ * restored. Redelivered messages are processed again, so downstream effects outside
+ * Jet's state, such as sink writes, are at-least-once. Without a processing
+ * guarantee, messages are acknowledged as soon as received.
+ * </p>
  */
 public class MyPulsarSource {
 
@@ -48,20 +84,14 @@ public class MyPulsarSource {
      * @param pulsarAddress Connection endpoint(s)
      * @return
      */
-    @SuppressWarnings("unchecked")
     public static StreamStage<Entry<String, HazelcastJsonValue>> inputSourceKeyAndJson(String pulsarAddress) {
-        FunctionEx<Message<String>, Entry<String, HazelcastJsonValue>> pulsarProjectionFunction =
-                message -> {
-                    String key = message.getKey();
-                    String transaction = message.getValue();
-                    HazelcastJsonValue value = new HazelcastJsonValue(transaction);
-                    return new SimpleImmutableEntry<>(key, value);
-                };
+        SupplierEx<FunctionEx<Message<String>, Entry<String, HazelcastJsonValue>>> projectionFnSupplier =
+                () -> message -> new SimpleImmutableEntry<>(message.getKey(), new HazelcastJsonValue(message.getValue()));
 
         Pipeline pipeline = Pipeline.create();
 
         return pipeline
-                .readFrom(MyPulsarSource.pulsarSource(pulsarAddress, pulsarProjectionFunction))
+                .readFrom(MyPulsarSource.pulsarSource(pulsarAddress, projectionFnSupplier))
                .withoutTimestamps();
     }
 
@@ -80,14 +110,14 @@ public class MyPulsarSource {
         StreamSource<?> pulsarSource;
         switch (transactionMonitorFlavor) {
         case ECOMMERCE:
-            pulsarSource = pulsarSourceEcommerce(pulsarAddress);
+            pulsarSource = pulsarSource(pulsarAddress, objectReaderFnSupplier(TransactionEcommerce.class));
             break;
         case PAYMENTS:
-            pulsarSource = pulsarSourcePayments(pulsarAddress);
+            pulsarSource = pulsarSource(pulsarAddress, objectReaderFnSupplier(TransactionPayments.class));
             break;
         case TRADE:
         default:
-            pulsarSource = pulsarSourceTrade(pulsarAddress);
+            pulsarSource = pulsarSource(pulsarAddress, objectReaderFnSupplier(TransactionTrade.class));
             break;
         }
 
@@ -97,99 +127,209 @@ public class MyPulsarSource {
     }
 
     /**
-     * <p>This is similar to {@link IngestTransactions#IngestTransactions()} but
-     * returns a different type.
+     * <p>Deserialize JSON to the given type, as the Kafka deserializers such as
+     * {@link TransactionTradeJsonDeserializer} do. The supplier runs once per
+     * processor, so each has one {@link ObjectReader}, which is thread-safe and
+     * reused for every message.
      * </p>
      *
-     * @param pulsarAddress
+     * @param <T> Transaction type
+     * @param klass Transaction class
      * @return
      */
-    @SuppressWarnings("unchecked")
-    private static StreamSource<TransactionEcommerce> pulsarSourceEcommerce(String pulsarAddress) {
-        FunctionEx<Message<String>, TransactionEcommerce> pulsarProjectionFunction =
-                message -> {
-                    // A new deserializer for each message, could optimize with shared if thread-safe
-                    try (TransactionEcommerceJsonDeserializer transactionJsonDeserializer =
-                            new TransactionEcommerceJsonDeserializer()) {
-                        byte[] bytes = message.getValue().getBytes(StandardCharsets.UTF_8);
-                        return transactionJsonDeserializer.deserialize("", bytes);
-                    }
-                };
-
-        return pulsarSource(pulsarAddress, pulsarProjectionFunction);
+    private static <T> SupplierEx<FunctionEx<Message<String>, T>> objectReaderFnSupplier(Class<T> klass) {
+        return () -> {
+            ObjectReader objectReader = new ObjectMapper().readerFor(klass);
+            return message -> objectReader.readValue(message.getValue());
+        };
     }
 
     /**
-     * <p>This is similar to {@link IngestTransactions#IngestTransactions()} but
-     * returns a different type.
+     * <p>Builds a source for Pulsar
      * </p>
      *
+     * @param <T> Output type
      * @param pulsarAddress
+     * @param projectionFnSupplier - Creates the function that extracts the data, once per processor
      * @return
      */
-    @SuppressWarnings("unchecked")
-    private static StreamSource<TransactionPayments> pulsarSourcePayments(String pulsarAddress) {
-        FunctionEx<Message<String>, TransactionPayments> pulsarProjectionFunction =
-                message -> {
-                    // A new deserializer for each message, could optimize with shared if thread-safe
-                    try (TransactionPaymentsJsonDeserializer transactionJsonDeserializer =
-                            new TransactionPaymentsJsonDeserializer()) {
-                        byte[] bytes = message.getValue().getBytes(StandardCharsets.UTF_8);
-                        return transactionJsonDeserializer.deserialize("", bytes);
-                    }
-                };
-
-        return pulsarSource(pulsarAddress, pulsarProjectionFunction);
-    }
+    private static <T> StreamSource<T> pulsarSource(String pulsarAddress,
+            SupplierEx<FunctionEx<Message<String>, T>> projectionFnSupplier) {
+        String serviceUrl = UtilsUrls.getPulsarServiceUrl(pulsarAddress);
+        int batchMax = Integer.getInteger(MyConstants.PULSAR_BATCH_MAX_KEY, MyConstants.PULSAR_BATCH_MAX_DEFAULT);
+        int batchTimeoutMillis = Integer.getInteger(MyConstants.PULSAR_BATCH_TIMEOUT_MILLIS_KEY,
+                MyConstants.PULSAR_BATCH_TIMEOUT_MILLIS_DEFAULT);
+        int localParallelism = Integer.getInteger(MyConstants.PULSAR_LOCAL_PARALLELISM_KEY,
+                MyConstants.PULSAR_LOCAL_PARALLELISM_DEFAULT);
 
-    /**
-     * <p>This is similar to {@link IngestTransactions#IngestTransactions()} but
-     * returns a different type.
-     * </p>
-     *
-     * @param pulsarAddress
-     * @return
-     */
-    @SuppressWarnings("unchecked")
-    private static StreamSource<TransactionTrade> pulsarSourceTrade(String pulsarAddress) {
-        FunctionEx<Message<String>, TransactionTrade> pulsarProjectionFunction =
-                message -> {
-                    // A new deserializer for each message, could optimize with shared if thread-safe
-                    try (TransactionTradeJsonDeserializer transactionJsonDeserializer = new TransactionTradeJsonDeserializer()) {
-                        byte[] bytes = message.getValue().getBytes(StandardCharsets.UTF_8);
-                        return transactionJsonDeserializer.deserialize("", bytes);
-                    }
-                };
-
-        return pulsarSource(pulsarAddress, pulsarProjectionFunction);
+        return Sources.streamFromProcessor(MyConstants.PULSAR_TOPIC_NAME_TRANSACTIONS,
+                ProcessorMetaSupplier.of(localParallelism,
+                        ProcessorSupplier.of(() -> new PulsarSourceP<T>(serviceUrl, batchMax, batchTimeoutMillis,
+                                projectionFnSupplier))));
     }
 
     /**
-     * <p>Builds a source for Pulsar
+     * <p>Per processor Pulsar consumer. Not cooperative, as "{@code batchReceive()}" blocks
+     * for up to the batch timeout.
      * </p>
      *
-     * @param pulsarAddress
-     * @param pulsarProjectionFunction - Extracts the data
-     * @return
+     * @param <T> Output type
      */
-    @SuppressWarnings({ "rawtypes", "unchecked" })
-    private static StreamSource pulsarSource(String pulsarAddress, FunctionEx pulsarProjectionFunction) {
-        String serviceUrl = UtilsUrls.getPulsarServiceUrl(pulsarAddress);
+    static final class PulsarSourceP<T> extends AbstractProcessor {
+        private final String serviceUrl;
+        private final int batchMax;
+        private final int batchTimeoutMillis;
+        private final SupplierEx<FunctionEx<Message<String>, T>> projectionFnSupplier;
+        // Emitted since the last snapshot, then awaiting its commit
+        private final List<MessageId> emitted = new ArrayList<>();
+        private final List<MessageId> awaitingCommit = new ArrayList<>();
+        private final List<MessageId> batchMessageIds = new ArrayList<>();
+        private PulsarClient pulsarClient;
+        private Consumer<String> consumer;
+        private FunctionEx<Message<String>, T> projectionFn;
+        private boolean acknowledgeOnSnapshot;
+        private Traverser<T> traverser = Traversers.empty();
 
-        SupplierEx<PulsarClient> pulsarConnectionSupplier =
-                () -> PulsarClient.builder()
-                .connectionTimeout(1, TimeUnit.SECONDS)
-                .serviceUrl(serviceUrl)
-                .build();
+        PulsarSourceP(String serviceUrl, int batchMax, int batchTimeoutMillis,
+                SupplierEx<FunctionEx<Message<String>, T>> projectionFnSupplier) {
+            this.serviceUrl = serviceUrl;
+            this.batchMax = batchMax;
+            this.batchTimeoutMillis = batchTimeoutMillis;
+            this.projectionFnSupplier = projectionFnSupplier;
+        }
 
-        SupplierEx<Schema<String>> pulsarSchemaSupplier =
-                () -> Schema.STRING;
+        @Override
+        public boolean isCooperative() {
+            return false;
+        }
+
+        @Override
+        protected void init(@Nonnull Context context) throws PulsarClientException {
+            this.projectionFn = this.projectionFnSupplier.get();
+            this.acknowledgeOnSnapshot = context.processingGuarantee() != ProcessingGuarantee.NONE;
+
+            // Same subscription for all processors of a job, without any "@timestamp" suffix so it survives restarts
+            String jobName = context.jobConfig().getName();
+            String subscriptionName = jobName == null ? Long.toHexString(context.jobId()) : jobName.split("@")[0];
+
+            this.pulsarClient = PulsarClient.builder()
+                    .connectionTimeout(1, TimeUnit.SECONDS)
+                    .serviceUrl(this.serviceUrl)
+                    .build();
+            this.consumer = this.pulsarClient.newConsumer(Schema.STRING)
+                    .topic(MyConstants.PULSAR_TOPIC_NAME_TRANSACTIONS)
+                    .subscriptionName(subscriptionName)
+                    .subscriptionType(SubscriptionType.Key_Shared)
+                    .subscriptionInitialPosition(SubscriptionInitialPosition.Earliest)
+                    .batchReceivePolicy(BatchReceivePolicy.builder()
+                            .maxNumMessages(this.batchMax)
+                            .timeout(this.batchTimeoutMillis, TimeUnit.MILLISECONDS)
+                            .build())
+                    .subscribe();
+        }
 
-        return PulsarSources.pulsarReaderBuilder(
-                        MyConstants.PULSAR_TOPIC_NAME_TRANSACTIONS,
-                        pulsarConnectionSupplier,
-                        pulsarSchemaSupplier,
-                        pulsarProjectionFunction).build();
+        /**
+         * <p>Finish emitting the current batch, then take the next. A batch's messages
+         * only count as emitted once all of its items are in the outbox.
+         * </p>
+         */
+        @Override
+        public boolean complete() {
+            if (!this.emitFromTraverser(this.traverser)) {
+                return false;
+            }
+            this.emitted.addAll(this.batchMessageIds);
+            this.batchMessageIds.clear();
+
+            try {
+                this.traverser = Traversers.traverseIterable(this.receive());
+            } catch (PulsarClientException e) {
+                throw new JetException("complete(): batchReceive()", e);
+            }
+            return false;
+        }
+
+        /**
+         * <p>Take the next batch. Messages that don't deserialize are skipped, as for
+         * {@link IngestTransactions} nulls.
+         * </p>
+         *
+         * @return Items to emit
+         * @throws PulsarClientException
+         */
+        private List<T> receive() throws PulsarClientException {
+            Messages<String> messages = this.consumer.batchReceive();
+            List<T> items = new ArrayList<>(messages.size());
+            for (Message<String> message : messages) {
+                T item = this.project(message);
+                if (item != null) {
+                    items.add(item);
+                }
+                if (this.acknowledgeOnSnapshot) {
+                    this.batchMessageIds.add(message.getMessageId());
+                }
+            }
+            if (!this.acknowledgeOnSnapshot) {
+                this.consumer.acknowledge(messages);
+            }
+            return items;
+        }
+
+        private T project(Message<String> message) {
+            try {
+                return this.projectionFn.applyEx(message);
+            } catch (Exception e) {
+                // Don't log, if running in Hz Cloud user may not bother to download logs.
+                return null;
+            }
+        }
+
+        /**
+         * <p>Everything emitted so far precedes this snapshot's barrier, but can't be
+         * acknowledged until the snapshot commits.
+         * </p>
+         *
+         * @return Always done, nothing is saved
+         */
+        @Override
+        public boolean saveToSnapshot() {
+            this.awaitingCommit.addAll(this.emitted);
+            this.emitted.clear();
+            return true;
+        }
+
+        /**
+         * <p>Acknowledge once the snapshot is committed on all members. If it failed,
+         * keep them for the next, or for redelivery if the job restarts.
+         * </p>
+         *
+         * @param success If the snapshot committed
+         */
+        @Override
+        public void snapshotCommitFinish(boolean success) {
+            if (success && !this.awaitingCommit.isEmpty()) {
+                try {
+                    this.consumer.acknowledge(this.awaitingCommit);
+                } catch (PulsarClientException e) {
+                    // Redelivered if the job restarts, so a duplicate rather than a loss
+                    this.getLogger().warning("snapshotCommitFinish(): " + e.getMessage());
+                }
+                this.awaitingCommit.clear();
+            }
+        }
+
+        @Override
+        public void close() throws PulsarClientException {
+            try {
+                if (this.consumer != null) {
+                    this.consumer.close();
+                }
+            } finally {
+                if (this.pulsarClient != null) {
+                    this.pulsarClient.close();
+                }
+            }
+        }
     }
 
 }
@@ -44,6 +44,8 @@ import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
 import com.hazelcast.core.DistributedObject;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.jet.config.JobConfig;
@@ -399,6 +401,70 @@ public class MyUtils {
         }
     }
 
+    /**
+     * <p>Determine storage format for transactions, assume JSON
+     * </p>
+     * @param s
+     * @return
+     */
+    public static boolean useCompactTransactions(String s) {
+        if (s == null || s.isBlank()) {
+            return false;
+        } else {
+            return s.toLowerCase(Locale.ROOT).equals("compact");
+        }
+    }
+
+    /**
+     * <p>Storage format for transactions, as recorded in the job config map
+     * by the first member to start.
+     * </p>
+     * @param hazelcastInstance
+     * @return
+     */
+    public static boolean useCompactTransactions(HazelcastInstance hazelcastInstance) {
+        Object transactionFormat = hazelcastInstance
+                .getMap(MyConstants.IMAP_NAME_JOB_CONFIG).get(MyConstants.TRANSACTION_FORMAT_KEY);
+        return useCompactTransactions(Objects.toString(transactionFormat, ""));
+    }
+
+    /**
+     * <p>Parse index definitions, such as
+     * "{@code HASH:symbol;SORTED:timestamp;SORTED:symbol,timestamp}". Each is
+     * an {@link IndexType}, a colon, and one or more comma separated attributes,
+     * with definitions separated by semi-colons. Names are derived from the map
+     * name, type and attributes.
+     * </p>
+     *
+     * @param mapName
+     * @param definitions
+     * @return In the order given
+     * @throws IllegalArgumentException If a definition can't be parsed
+     */
+    public static List<IndexConfig> indexConfigs(String mapName, String definitions) {
+        List<IndexConfig> result = new ArrayList<>();
+        for (String definition : definitions.split(";")) {
+            if (definition.isBlank()) {
+                continue;
+            }
+            String[] typeAttributes = definition.split(":");
+            if (typeAttributes.length != 2 || typeAttributes[1].isBlank()) {
+                throw new IllegalArgumentException("Expected 'TYPE:attribute,...', not '" + definition + "'");
+            }
+            IndexType indexType = IndexType.valueOf(typeAttributes[0].trim().toUpperCase(Locale.ROOT));
+
+            IndexConfig indexConfig = new IndexConfig(indexType);
+            StringBuilder name = new StringBuilder(mapName).append('_').append(indexType.name().toLowerCase(Locale.ROOT));
+            for (String attribute : typeAttributes[1].split(",")) {
+                indexConfig.addAttribute(attribute.trim());
+                name.append('_').append(attribute.trim());
+            }
+            indexConfig.setName(name.toString());
+            result.add(indexConfig);
+        }
+        return result;
+    }
+
     /**
      * <p>Determine target, assume Hazelcast Cloud
      * </p>
@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hazelcast.platform.demos.banking.transactionmonitor;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.hazelcast.function.FunctionEx;
+import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.core.metrics.Metric;
+import com.hazelcast.jet.core.metrics.Metrics;
+import com.hazelcast.jet.core.metrics.Unit;
+import com.hazelcast.jet.pipeline.ServiceFactories;
+import com.hazelcast.jet.pipeline.StreamStage;
+
+/**
+ * <p>A pass-through stage to see what flows through a pipeline, without
+ * logging on the processing threads.
+ * </p>
+ * <p>Each processor counts items and exports as Jet metrics "{@code observedItems}",
+ * "{@code observedItemsPerSecond}" and "{@code observedSamples}", visible in Management
+ * Center. Once per interval, rather than once per so many items, the current item is kept as
+ * a sample in a small ring buffer on the member. Samples can be read with {@link #getSamples(String)}
+ * on the member, or from all members by submitting {@link SamplesCallable} to an executor,
+ * while the job runs. They are removed when the job stops.
+ * </p>
+ * <p>Use with "{@code stage.apply(ObservabilityStage.observe("name"))}".
+ * </p>
+ */
+public class ObservabilityStage {
+    private static final long DEFAULT_SAMPLE_INTERVAL_MILLIS = 10_000L;
+    private static final int DEFAULT_RESERVOIR_SIZE = 100;
+    private static final int MAX_SAMPLE_LENGTH = 1_000;
+    private static final long ONE_SECOND_MILLIS = 1_000L;
+
+    // Per member, by stage name then global processor index
+    private static final Map<String, Map<Integer, Observer<?>>> OBSERVERS = new ConcurrentHashMap<>();
+
+    /**
+     * <p>Observe with a sample every 10 seconds, keeping the last 100 per processor.
+     * </p>
+     *
+     * @param <T> Item type, unchanged
+     * @param name Stage name and key for samples
+     * @return A function for "{@code apply()}"
+     */
+    public static <T> FunctionEx<StreamStage<T>, StreamStage<T>> observe(String name) {
+        return observe(name, DEFAULT_SAMPLE_INTERVAL_MILLIS, DEFAULT_RESERVOIR_SIZE);
+    }
+
+    /**
+     * <p>Observe, with the given sample interval and samples kept per processor.
+     * </p>
+     *
+     * @param <T> Item type, unchanged
+     * @param name Stage name and key for samples
+     * @param sampleIntervalMillis Time between samples
+     * @param reservoirSize Samples kept, older are overwritten
+     * @return A function for "{@code apply()}"
+     */
+    public static <T> FunctionEx<StreamStage<T>, StreamStage<T>> observe(String name, long sampleIntervalMillis,
+            int reservoirSize) {
+        return stage -> stage
+                .mapUsingService(ServiceFactories.nonSharedService(
+                        context -> register(name, new Observer<T>(context, sampleIntervalMillis, reservoirSize)),
+                        observer -> deregister(name, observer)),
+                        Observer::observe)
+                .setName("observe-" + name);
+    }
+
+    private static <T> Observer<T> register(String name, Observer<T> observer) {
+        OBSERVERS.computeIfAbsent(name, k -> new ConcurrentHashMap<>()).put(observer.processorIndex, observer);
+        return observer;
+    }
+
+    /**
+     * <p>When the job stops, so a restarted or resubmitted job does not leave
+     * observers behind on the member.
+     * </p>
+     *
+     * @param name Stage name
+     * @param observer To remove, unless already replaced by a newer one
+     */
+    private static void deregister(String name, Observer<?> observer) {
+        OBSERVERS.computeIfPresent(name, (k, observers) -> {
+            observers.remove(observer.processorIndex, observer);
+            return observers.isEmpty() ? null : observers;
+        });
+    }
+
+    /**
+     * <p>Samples on this member for all processors of the named stage, oldest first.
+     * </p>
+     *
+     * @param name As given to {@link #observe(String)}
+     * @return "{@code time [processor] item}" strings, empty if none
+     */
+    public static List<String> getSamples(String name) {
+        List<Sample> samples = new ArrayList<>();
+        for (Observer<?> observer : OBSERVERS.getOrDefault(name, Map.of()).values()) {
+            observer.addSamplesTo(samples);
+        }
+        samples.sort(Comparator.comparingLong(Sample::getTimestamp).thenComparingLong(Sample::getSequence));
+
+        List<String> result = new ArrayList<>(samples.size());
+        for (Sample sample : samples) {
+            result.add(sample.toString());
+        }
+        return result;
+    }
+
+    /**
+     * <p>A sample, the item as a string so holds no reference to the item.
+     * </p>
+     */
+    static final class Sample {
+        private final long timestamp;
+        private final long sequence;
+        private final int processorIndex;
+        private final String text;
+
+        Sample(long arg0, long arg1, int arg2, String arg3) {
+            this.timestamp = arg0;
+            this.sequence = arg1;
+            this.processorIndex = arg2;
+            this.text = arg3;
+        }
+
+        long getTimestamp() {
+            return this.timestamp;
+        }
+
+        long getSequence() {
+            return this.sequence;
+        }
+
+        @Override
+        public String toString() {
+            return Instant.ofEpochMilli(this.timestamp) + " [" + this.processorIndex + "] " + this.text;
+        }
+    }
+
+    /**
+     * <p>One per processor, so counters need no synchronization. The ring buffer
+     * has one writer and is read by {@link #getSamples(String)} without locking.
+     * </p>
+     *
+     * @param <T> Item type
+     */
+    static final class Observer<T> {
+        private final int processorIndex;
+        private final long sampleIntervalMillis;
+        private final AtomicReferenceArray<Sample> reservoir;
+        private final Metric observedItems;
+        private final Metric observedItemsPerSecond;
+        private final Metric observedSamples;
+        private long nextSample;
+        private long rateWindowStart;
+        private long rateWindowCount;
+        private long sequence;
+
+        Observer(Processor.Context context, long sampleIntervalMillis, int reservoirSize) {
+            this.processorIndex = context.globalProcessorIndex();
+            this.sampleIntervalMillis = sampleIntervalMillis;
+            this.reservoir = new AtomicReferenceArray<>(reservoirSize);
+            this.observedItems = Metrics.metric("observedItems", Unit.COUNT);
+            this.observedItemsPerSecond = Metrics.metric("observedItemsPerSecond", Unit.COUNT);
+            this.observedSamples = Metrics.metric("observedSamples", Unit.COUNT);
+            this.rateWindowStart = System.currentTimeMillis();
+        }
+
+        /**
+         * <p>Count, and sample if time to.
+         * </p>
+         *
+         * @param item Passed through unchanged
+         * @return The item
+         */
+        T observe(T item) {
+            this.observedItems.increment();
+            this.rateWindowCount++;
+
+            long now = System.currentTimeMillis();
+            // Rate is updated as items arrive, so holds its last value if they stop
+            long elapsed = now - this.rateWindowStart;
+            if (elapsed >= ONE_SECOND_MILLIS) {
+                this.observedItemsPerSecond.set(this.rateWindowCount * ONE_SECOND_MILLIS / elapsed);
+                this.rateWindowStart = now;
+                this.rateWindowCount = 0;
+            }
+
+            if (now >= this.nextSample) {
+                this.nextSample = now + this.sampleIntervalMillis;
+                String text = Objects.toString(item);
+                if (text.length() > MAX_SAMPLE_LENGTH) {
+                    text = text.substring(0, MAX_SAMPLE_LENGTH) + "...";
+                }
+                this.reservoir.set((int) (this.sequence % this.reservoir.length()),
+                        new Sample(now, this.sequence, this.processorIndex, text));
+                this.sequence++;
+                this.observedSamples.increment();
+            }
+            return item;
+        }
+
+        void addSamplesTo(List<Sample> samples) {
+            for (int i = 0; i < this.reservoir.length(); i++) {
+                Sample sample = this.reservoir.get(i);
+                if (sample != null) {
+                    samples.add(sample);
+                }
+            }
+        }
+    }
+
+    /**
+     * <p>For "{@code IExecutorService.submitToAllMembers()}", to collect samples
+     * from the whole cluster.
+     * </p>
+     */
+    public static class SamplesCallable implements Callable<List<String>>, Serializable {
+        private static final long serialVersionUID = 1L;
+        private final String name;
+
+        public SamplesCallable(String arg0) {
+            this.name = arg0;
+        }
+
+        @Override
+        public List<String> call() {
+            return ObservabilityStage.getSamples(this.name);
+        }
+    }
+}
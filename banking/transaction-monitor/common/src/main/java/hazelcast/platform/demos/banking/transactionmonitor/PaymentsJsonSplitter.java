@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hazelcast.platform.demos.banking.transactionmonitor;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Map.Entry;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.hazelcast.core.HazelcastJsonValue;
+import com.hazelcast.jet.datamodel.Tuple3;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+/**
+ * <p>Split a payment into the simplified JSON for the transactions map and
+ * the multi-line XML for the XML map, in one pass of a Jackson streaming parser.
+ * If transactions are stored as Compact, {@link #splitCompact(Entry)} gives
+ * a {@link TransactionPayments} instead of the JSON, from the same pass.
+ * </p>
+ * <p>Produces the same as "{@code IngestTransactions.depleteEntry()}" and
+ * "{@code IngestTransactions.makeEntryXML()}", which each parse the full payment
+ * with "{@code org.json}" including the XML array only one of them needs.
+ * </p>
+ * <p>Not thread-safe, the output buffers are reused. Create one per processor,
+ * with "{@code ServiceFactories.nonSharedService()}".
+ * </p>
+ */
+public class PaymentsJsonSplitter {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final int ALL_FIELDS = (1 << Field.values().length) - 1;
+
+    private final StringWriter jsonWriter = new StringWriter();
+    private final StringBuilder xmlBuilder = new StringBuilder();
+
+    // Fields kept, in output order, and bitmask of those found
+    private String id;
+    private long timestamp;
+    private String kind;
+    private String bicCreditor;
+    private String bicDebitor;
+    private String ccy;
+    private double amtFloor;
+    private int found;
+
+    /**
+     * <p>Split the payment.
+     * </p>
+     *
+     * @param input Key and payment JSON
+     * @return Key, simplified JSON or null if unparseable, and XML or the
+     * original input if unparseable
+     */
+    @SuppressFBWarnings(value = "", justification = "JSON access can throw exception")
+    public Tuple3<String, HazelcastJsonValue, String> split(Entry<String, HazelcastJsonValue> input) {
+        String payment = input.getValue().toString();
+
+        boolean hasXml;
+        try {
+            hasXml = this.parse(payment);
+        } catch (Exception e) {
+            // Don't log, if running in Hz Cloud user may not bother to download logs. Nulls are filtered out by next stage.
+            return Tuple3.tuple3(input.getKey(), null, payment);
+        }
+
+        HazelcastJsonValue depleted = null;
+        if (this.found == ALL_FIELDS) {
+            try {
+                depleted = new HazelcastJsonValue(this.generate());
+            } catch (IOException e) {
+                // Not expected for a StringWriter
+                depleted = null;
+            }
+        }
+
+        String xml = hasXml ? this.xmlBuilder.toString() : payment;
+        return Tuple3.tuple3(input.getKey(), depleted, xml);
+    }
+
+    /**
+     * <p>Split the payment, as {@link #split(Entry)} but the transaction as the Java
+     * object stored as Compact, without the XML as that is stored separately.
+     * </p>
+     *
+     * @param input Key and payment JSON
+     * @return Key, transaction or null if unparseable or a field is missing, and XML
+     * or the original input if unparseable
+     */
+    @SuppressFBWarnings(value = "", justification = "JSON access can throw exception")
+    public Tuple3<String, TransactionPayments, String> splitCompact(Entry<String, HazelcastJsonValue> input) {
+        String payment = input.getValue().toString();
+
+        boolean hasXml;
+        try {
+            hasXml = this.parse(payment);
+        } catch (Exception e) {
+            // Don't log, if running in Hz Cloud user may not bother to download logs. Nulls are filtered out by next stage.
+            return Tuple3.tuple3(input.getKey(), null, payment);
+        }
+
+        TransactionPayments transactionPayments = null;
+        if (this.found == ALL_FIELDS) {
+            transactionPayments = new TransactionPayments();
+            transactionPayments.setId(this.id);
+            transactionPayments.setTimestamp(this.timestamp);
+            transactionPayments.setKind(this.kind);
+            transactionPayments.setBicCreditor(this.bicCreditor);
+            transactionPayments.setBicDebitor(this.bicDebitor);
+            transactionPayments.setCcy(this.ccy);
+            transactionPayments.setAmtFloor(this.amtFloor);
+        }
+
+        String xml = hasXml ? this.xmlBuilder.toString() : payment;
+        return Tuple3.tuple3(input.getKey(), transactionPayments, xml);
+    }
+
+    /**
+     * <p>Reset and parse.
+     * </p>
+     *
+     * @param payment JSON
+     * @return If the XML array was present
+     * @throws IOException For malformed JSON or unexpected types
+     */
+    private boolean parse(String payment) throws IOException {
+        this.found = 0;
+        this.xmlBuilder.setLength(0);
+        try (JsonParser jsonParser = JSON_FACTORY.createParser(payment)) {
+            return this.parse(jsonParser);
+        }
+    }
+
+    /**
+     * <p>Collect the fields and XML. Unknown fields are skipped.
+     * </p>
+     *
+     * @param jsonParser
+     * @return If the XML array was present
+     * @throws IOException For malformed JSON or unexpected types
+     */
+    private boolean parse(JsonParser jsonParser) throws IOException {
+        if (jsonParser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Not a JSON object");
+        }
+        boolean hasXml = false;
+        while (jsonParser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = jsonParser.currentName();
+            JsonToken jsonToken = jsonParser.nextToken();
+            switch (fieldName) {
+            case "id":
+                this.id = text(jsonParser, jsonToken);
+                this.found |= Field.ID.bit();
+                break;
+            case "timestamp":
+                requireNumber(jsonParser, jsonToken);
+                this.timestamp = jsonParser.getLongValue();
+                this.found |= Field.TIMESTAMP.bit();
+                break;
+            case "kind":
+                this.kind = text(jsonParser, jsonToken);
+                this.found |= Field.KIND.bit();
+                break;
+            case "bicCreditor":
+                this.bicCreditor = text(jsonParser, jsonToken);
+                this.found |= Field.BIC_CREDITOR.bit();
+                break;
+            case "bicDebitor":
+                this.bicDebitor = text(jsonParser, jsonToken);
+                this.found |= Field.BIC_DEBITOR.bit();
+                break;
+            case "ccy":
+                this.ccy = text(jsonParser, jsonToken);
+                this.found |= Field.CCY.bit();
+                break;
+            case "amtFloor":
+                requireNumber(jsonParser, jsonToken);
+                this.amtFloor = jsonParser.getDoubleValue();
+                this.found |= Field.AMT_FLOOR.bit();
+                break;
+            case "xml":
+                hasXml = this.xml(jsonParser, jsonToken);
+                break;
+            default:
+                jsonParser.skipChildren();
+                break;
+            }
+        }
+        if (jsonParser.currentToken() != JsonToken.END_OBJECT) {
+            throw new IOException("Truncated JSON object");
+        }
+        return hasXml;
+    }
+
+    /**
+     * <p>Join the XML lines with the line separator, if an array of strings.
+     * </p>
+     */
+    private boolean xml(JsonParser jsonParser, JsonToken jsonToken) throws IOException {
+        if (jsonToken != JsonToken.START_ARRAY) {
+            jsonParser.skipChildren();
+            return false;
+        }
+        boolean first = true;
+        boolean valid = true;
+        for (JsonToken token = jsonParser.nextToken(); token != JsonToken.END_ARRAY; token = jsonParser.nextToken()) {
+            if (token == null) {
+                throw new IOException("Truncated XML array");
+            }
+            if (token != JsonToken.VALUE_STRING) {
+                jsonParser.skipChildren();
+                valid = false;
+            } else if (valid) {
+                if (!first) {
+                    this.xmlBuilder.append(System.lineSeparator());
+                }
+                this.xmlBuilder.append(jsonParser.getText());
+                first = false;
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * <p>Write the kept fields, reusing the buffer.
+     * </p>
+     */
+    private String generate() throws IOException {
+        this.jsonWriter.getBuffer().setLength(0);
+        try (JsonGenerator jsonGenerator = JSON_FACTORY.createGenerator(this.jsonWriter)) {
+            jsonGenerator.writeStartObject();
+            jsonGenerator.writeStringField("id", this.id);
+            jsonGenerator.writeNumberField("timestamp", this.timestamp);
+            jsonGenerator.writeStringField("kind", this.kind);
+            jsonGenerator.writeStringField("bicCreditor", this.bicCreditor);
+            jsonGenerator.writeStringField("bicDebitor", this.bicDebitor);
+            jsonGenerator.writeStringField("ccy", this.ccy);
+            jsonGenerator.writeNumberField("amtFloor", this.amtFloor);
+            jsonGenerator.writeEndObject();
+        }
+        return this.jsonWriter.toString();
+    }
+
+    private static String text(JsonParser jsonParser, JsonToken jsonToken) throws IOException {
+        if (jsonToken != JsonToken.VALUE_STRING) {
+            throw new IOException("Expected string for '" + jsonParser.currentName() + "'");
+        }
+        return jsonParser.getText();
+    }
+
+    private static void requireNumber(JsonParser jsonParser, JsonToken jsonToken) throws IOException {
+        if (jsonToken != JsonToken.VALUE_NUMBER_INT && jsonToken != JsonToken.VALUE_NUMBER_FLOAT) {
+            throw new IOException("Expected number for '" + jsonParser.currentName() + "'");
+        }
+    }
+
+    /**
+     * <p>Fields that must all be present for the simplified JSON.
+     * </p>
+     */
+    private enum Field {
+        ID, TIMESTAMP, KIND, BIC_CREDITOR, BIC_DEBITOR, CCY, AMT_FLOOR;
+
+        int bit() {
+            return 1 << this.ordinal();
+        }
+    }
+}
@@ -0,0 +1,361 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package hazelcast.platform.demos.banking.transactionmonitor;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.jet.core.metrics.Metric;
+import com.hazelcast.jet.core.metrics.Metrics;
+import com.hazelcast.jet.core.metrics.Unit;
+import com.hazelcast.jet.pipeline.ServiceFactories;
+import com.hazelcast.jet.pipeline.ServiceFactory;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.MapEvent;
+import com.hazelcast.map.listener.EntryAddedListener;
+import com.hazelcast.map.listener.EntryEvictedListener;
+import com.hazelcast.map.listener.EntryExpiredListener;
+import com.hazelcast.map.listener.EntryRemovedListener;
+import com.hazelcast.map.listener.EntryUpdatedListener;
+import com.hazelcast.map.listener.MapClearedListener;
+import com.hazelcast.map.listener.MapEvictedListener;
+
+/**
+ * <p>A processor-local copy of the "{@code symbols}" map, for filtering trades
+ * by {@link NasdaqFinancialStatus} without a remote lookup per trade.
+ * </p>
+ * <p>All symbols are loaded when the processor's service is created, and held
+ * in a plain {@link HashMap} owned by the processor thread. A listener on the
+ * "{@code symbols}" map queues invalidations, which the processor thread applies
+ * before its next lookup, so a lookup is normally a hash map read. A miss, a changed
+ * or unknown symbol, is loaded asynchronously so the cooperative processor thread
+ * never waits on the map. The loaded value is queued like an invalidation, and
+ * discarded if any invalidation arrived while it was loading, as it may be stale.
+ * Status changes are rare, so reloads are rare.
+ * </p>
+ * <p>Jet metrics "{@code symbolCacheHits}", "{@code symbolCacheMisses}",
+ * "{@code symbolCacheInvalidations}" and "{@code symbolCacheStalenessMaxMs}", the
+ * longest an invalidation waited to be applied, are published per processor,
+ * every thousand or so lookups or every second, whichever is sooner.
+ * </p>
+ */
+public class SymbolStatusCache {
+    private static final int METRICS_PUBLISH_INTERVAL = 1_024;
+    private static final long METRICS_PUBLISH_INTERVAL_MILLIS = 1_000L;
+
+    private static final CompletableFuture<Boolean> FALSE = CompletableFuture.completedFuture(Boolean.FALSE);
+    private static final CompletableFuture<Boolean> TRUE = CompletableFuture.completedFuture(Boolean.TRUE);
+
+    private final Function<String, CompletionStage<SymbolInfo>> loader;
+    private final Map<String, SymbolInfo> cache = new HashMap<>();
+    private final Queue<Invalidation> invalidations = new ConcurrentLinkedQueue<>();
+    private final Queue<Loaded> loaded = new ConcurrentLinkedQueue<>();
+    // Changes on every invalidation received, to detect loads that may be stale
+    private final AtomicLong epoch = new AtomicLong();
+    private long hits;
+    private long misses;
+    private long invalidationCount;
+    private long stalenessMaxMillis;
+
+    SymbolStatusCache(Function<String, CompletionStage<SymbolInfo>> arg0) {
+        this.loader = arg0;
+    }
+
+    /**
+     * <p>For "{@code mapUsingService()}", one cache per processor.
+     * </p>
+     *
+     * @return A factory for the service
+     */
+    public static ServiceFactory<?, Service> serviceFactory() {
+        return ServiceFactories.nonSharedService(
+                context -> new Service(context.hazelcastInstance()),
+                Service::close);
+    }
+
+    /**
+     * <p>Fill the cache, before first use.
+     * </p>
+     *
+     * @param symbols Current content of the "{@code symbols}" map
+     */
+    void preload(Map<String, SymbolInfo> symbols) {
+        this.cache.putAll(symbols);
+    }
+
+    /**
+     * <p>Find the symbol in the cache.
+     * </p>
+     *
+     * @param symbol Stock symbol, eg. "{@code AAL}"
+     * @return The symbol's info, or null if it needs {@link #load(String)}
+     */
+    SymbolInfo get(String symbol) {
+        if (!this.invalidations.isEmpty()) {
+            this.applyInvalidations();
+        }
+        if (!this.loaded.isEmpty()) {
+            this.applyLoaded();
+        }
+
+        SymbolInfo symbolInfo = this.cache.get(symbol);
+        if (symbolInfo != null) {
+            this.hits++;
+        }
+        return symbolInfo;
+    }
+
+    /**
+     * <p>Load a symbol not in the cache. The result is cached at a later lookup,
+     * by the processor thread.
+     * </p>
+     *
+     * @param symbol Stock symbol, eg. "{@code AAL}"
+     * @return The symbol's info, or null if not in the "{@code symbols}" map
+     */
+    CompletionStage<SymbolInfo> load(String symbol) {
+        this.misses++;
+        long loadEpoch = this.epoch.get();
+        return this.loader.apply(symbol)
+                .whenComplete((symbolInfo, throwable) -> {
+                    // Unknown symbols are not cached, they are not expected
+                    if (symbolInfo != null) {
+                        this.loaded.add(new Loaded(symbol, symbolInfo, loadEpoch));
+                    }
+                });
+    }
+
+    /**
+     * <p>Called from the listener thread, applied later by the processor thread.
+     * </p>
+     *
+     * @param symbol Symbol changed, or null if all changed
+     */
+    void invalidate(String symbol) {
+        this.epoch.incrementAndGet();
+        this.invalidations.add(new Invalidation(symbol, System.currentTimeMillis()));
+    }
+
+    private void applyInvalidations() {
+        long now = System.currentTimeMillis();
+        Invalidation invalidation;
+        while ((invalidation = this.invalidations.poll()) != null) {
+            if (invalidation.symbol == null) {
+                this.cache.clear();
+            } else {
+                this.cache.remove(invalidation.symbol);
+            }
+            this.invalidationCount++;
+            this.stalenessMaxMillis = Math.max(this.stalenessMaxMillis, now - invalidation.timestamp);
+        }
+    }
+
+    /**
+     * <p>Cache loads unless an invalidation arrived since they started, any
+     * such is already applied or will be before the next lookup.
+     * </p>
+     */
+    private void applyLoaded() {
+        long currentEpoch = this.epoch.get();
+        Loaded load;
+        while ((load = this.loaded.poll()) != null) {
+            if (load.epoch == currentEpoch) {
+                this.cache.put(load.symbol, load.symbolInfo);
+            }
+        }
+    }
+
+    long getHits() {
+        return this.hits;
+    }
+
+    long getMisses() {
+        return this.misses;
+    }
+
+    long getInvalidationCount() {
+        return this.invalidationCount;
+    }
+
+    long getStalenessMaxMillis() {
+        return this.stalenessMaxMillis;
+    }
+
+    /**
+     * <p>A pending invalidation, timestamped when the event was received.
+     * </p>
+     */
+    private static final class Invalidation {
+        private final String symbol;
+        private final long timestamp;
+
+        Invalidation(String arg0, long arg1) {
+            this.symbol = arg0;
+            this.timestamp = arg1;
+        }
+    }
+
+    /**
+     * <p>A symbol loaded, with the epoch when the load started.
+     * </p>
+     */
+    private static final class Loaded {
+        private final String symbol;
+        private final SymbolInfo symbolInfo;
+        private final long epoch;
+
+        Loaded(String arg0, SymbolInfo arg1, long arg2) {
+            this.symbol = arg0;
+            this.symbolInfo = arg1;
+            this.epoch = arg2;
+        }
+    }
+
+    /**
+     * <p>The cache for one processor, plus its listener and metrics. Metrics are
+     * published every so many lookups or so often, rather than on each, so are
+     * current when lookups are few.
+     * </p>
+     * <p>Created when the job starts, not for each trade, so loading all
+     * symbols here is a one-off remote call.
+     * </p>
+     */
+    public static final class Service {
+        private final IMap<String, SymbolInfo> symbolsMap;
+        private final SymbolStatusCache symbolStatusCache;
+        private final UUID registrationId;
+        private final Metric symbolCacheHits;
+        private final Metric symbolCacheMisses;
+        private final Metric symbolCacheInvalidations;
+        private final Metric symbolCacheStalenessMaxMs;
+        private int lookups;
+        private long lastPublish = System.currentTimeMillis();
+
+        Service(HazelcastInstance hazelcastInstance) {
+            this.symbolsMap = hazelcastInstance.getMap(MyConstants.IMAP_NAME_SYMBOLS);
+            this.symbolStatusCache = new SymbolStatusCache(this.symbolsMap::getAsync);
+            // Before any loads, so no change is missed
+            this.registrationId = this.symbolsMap.addEntryListener(
+                    new InvalidationListener(this.symbolStatusCache), false);
+            this.symbolStatusCache.preload(this.symbolsMap);
+            this.symbolCacheHits = Metrics.metric("symbolCacheHits", Unit.COUNT);
+            this.symbolCacheMisses = Metrics.metric("symbolCacheMisses", Unit.COUNT);
+            this.symbolCacheInvalidations = Metrics.metric("symbolCacheInvalidations", Unit.COUNT);
+            this.symbolCacheStalenessMaxMs = Metrics.metric("symbolCacheStalenessMaxMs", Unit.MS);
+        }
+
+        /**
+         * <p>Trades are wanted only for symbols with normal status. For
+         * "{@code filterUsingServiceAsync()}", a hit is an already completed future.
+         * </p>
+         *
+         * @param symbol Stock symbol
+         * @return True if known and normal
+         */
+        public CompletableFuture<Boolean> isNormal(String symbol) {
+            SymbolInfo symbolInfo = this.symbolStatusCache.get(symbol);
+            long now = System.currentTimeMillis();
+            if (++this.lookups >= METRICS_PUBLISH_INTERVAL || now - this.lastPublish >= METRICS_PUBLISH_INTERVAL_MILLIS) {
+                this.lookups = 0;
+                this.lastPublish = now;
+                this.publishMetrics();
+            }
+            if (symbolInfo != null) {
+                return isNormalStatus(symbolInfo) ? TRUE : FALSE;
+            }
+            return this.symbolStatusCache.load(symbol)
+                    .thenApply(Service::isNormalStatus)
+                    .toCompletableFuture();
+        }
+
+        private static boolean isNormalStatus(SymbolInfo symbolInfo) {
+            return symbolInfo != null && symbolInfo.getFinancialStatus() == NasdaqFinancialStatus.NORMAL;
+        }
+
+        private void publishMetrics() {
+            this.symbolCacheHits.set(this.symbolStatusCache.getHits());
+            this.symbolCacheMisses.set(this.symbolStatusCache.getMisses());
+            this.symbolCacheInvalidations.set(this.symbolStatusCache.getInvalidationCount());
+            this.symbolCacheStalenessMaxMs.set(this.symbolStatusCache.getStalenessMaxMillis());
+        }
+
+        void close() {
+            this.symbolsMap.removeEntryListener(this.registrationId);
+        }
+    }
+
+    /**
+     * <p>Any change to a symbol invalidates it, and "{@code clear()}" or
+     * "{@code evictAll()}" invalidates all. Values are not needed.
+     * </p>
+     */
+    private static final class InvalidationListener implements
+        EntryAddedListener<String, SymbolInfo>, EntryUpdatedListener<String, SymbolInfo>,
+        EntryRemovedListener<String, SymbolInfo>, EntryEvictedListener<String, SymbolInfo>,
+        EntryExpiredListener<String, SymbolInfo>, MapClearedListener, MapEvictedListener {
+        private final SymbolStatusCache symbolStatusCache;
+
+        InvalidationListener(SymbolStatusCache arg0) {
+            this.symbolStatusCache = arg0;
+        }
+
+        @Override
+        public void entryAdded(EntryEvent<String, SymbolInfo> entryEvent) {
+            this.symbolStatusCache.invalidate(entryEvent.getKey());
+        }
+
+        @Override
+        public void entryUpdated(EntryEvent<String, SymbolInfo> entryEvent) {
+            this.symbolStatusCache.invalidate(entryEvent.getKey());
+        }
+
+        @Override
+        public void entryRemoved(EntryEvent<String, SymbolInfo> entryEvent) {
+            this.symbolStatusCache.invalidate(entryEvent.getKey());
+        }
+
+        @Override
+        public void entryEvicted(EntryEvent<String, SymbolInfo> entryEvent) {
+            this.symbolStatusCache.invalidate(entryEvent.getKey());
+        }
+
+        @Override
+        public void entryExpired(EntryEvent<String, SymbolInfo> entryEvent) {
+            this.symbolStatusCache.invalidate(entryEvent.getKey());
+        }
+
+        @Override
+        public void mapCleared(MapEvent mapEvent) {
+            this.symbolStatusCache.invalidate(null);
+        }
+
+        @Override
+        public void mapEvicted(MapEvent mapEvent) {
+            this.symbolStatusCache.invalidate(null);
+        }
+    }
+}
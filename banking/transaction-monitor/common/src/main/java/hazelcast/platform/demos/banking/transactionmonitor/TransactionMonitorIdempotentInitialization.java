@@ -16,7 +16,6 @@
 
 package hazelcast.platform.demos.banking.transactionmonitor;
 
-import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -30,11 +29,15 @@ import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.hazelcast.config.EntryListenerConfig;
 import com.hazelcast.config.EventJournalConfig;
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.EvictionPolicy;
 import com.hazelcast.config.IndexConfig;
 import com.hazelcast.config.IndexType;
 import com.hazelcast.config.MapConfig;
 import com.hazelcast.config.MapStoreConfig;
+import com.hazelcast.config.MaxSizePolicy;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.HazelcastJsonValue;
 import com.hazelcast.jet.Job;
@@ -131,6 +134,8 @@ public class TransactionMonitorIdempotentInitialization {
      *       map-store:
      *         enabled: true
      *         class-name: hazelcast.platform.demos.banking.transactionmonitor.AlertingToPostgresStore
+     *         write-delay-seconds: 1
+     *         write-coalescing: true
      *       properties:
      *         address: '12.34.56.78'
      *         user: 'admin'
@@ -160,6 +165,11 @@ public class TransactionMonitorIdempotentInitialization {
             MapStoreConfig mapStoreConfig = new MapStoreConfig().setEnabled(true);
             mapStoreConfig.setInitialLoadMode(MapStoreConfig.InitialLoadMode.EAGER);
             mapStoreConfig.setImplementation(alertingToPostgresMapStore);
+            // Write-behind, so alert bursts are batched to Postgres off the partition threads
+            int writeDelaySeconds = Integer.getInteger(MyConstants.POSTGRES_WRITE_DELAY_SECONDS_KEY,
+                    MyConstants.POSTGRES_WRITE_DELAY_SECONDS_DEFAULT);
+            mapStoreConfig.setWriteDelaySeconds(writeDelaySeconds);
+            mapStoreConfig.setWriteCoalescing(true);
             Properties postgresProperties = null;
             try {
                 postgresProperties = MyUtils.getPostgresProperties(properties);
@@ -187,6 +197,7 @@ public class TransactionMonitorIdempotentInitialization {
         }
 
         dynamicMapConfigJournalOnly(hazelcastInstance, existingIMapNames, useHzCloud);
+        dynamicMapConfigRetention(hazelcastInstance, existingIMapNames);
 
         // Generic config, MapStore implementation is derived
         if (!existingIMapNames.contains(MyConstants.IMAP_NAME_MYSQL_SLF4J)) {
@@ -256,6 +267,64 @@ public class TransactionMonitorIdempotentInitialization {
         }
     }
 
+    /**
+     * <p>Optionally limit how long and how many transactions are kept, so memory
+     * use levels off. Equivalent to:
+     * <pre>
+     *     'transactions':
+     *       time-to-live-seconds: 3600
+     *       eviction:
+     *         eviction-policy: LRU
+     *         max-size-policy: PER_NODE
+     *         size: 1000000
+     *       entry-listeners:
+     *         - class-name: hazelcast.platform.demos.banking.transactionmonitor.TransactionsArchiver
+     *           include-value: true
+     *           local: true
+     * </pre>
+     * </p>
+     * <p>LRU approximates oldest first, as transactions are not updated once written.
+     * Nothing is configured if neither limit is set, so by default all are kept.
+     * </p>
+     *
+     * @param hazelcastInstance
+     * @param existingIMapNames
+     */
+    protected static void dynamicMapConfigRetention(HazelcastInstance hazelcastInstance, Set<String> existingIMapNames) {
+        int ttlSeconds = Integer.getInteger(MyConstants.TRANSACTIONS_TTL_SECONDS_KEY,
+                MyConstants.TRANSACTIONS_TTL_SECONDS_DEFAULT);
+        int maxSizePerNode = Integer.getInteger(MyConstants.TRANSACTIONS_MAX_SIZE_PER_NODE_KEY,
+                MyConstants.TRANSACTIONS_MAX_SIZE_PER_NODE_DEFAULT);
+        if (ttlSeconds <= 0 && maxSizePerNode <= 0) {
+            return;
+        }
+
+        for (String mapName : List.of(MyConstants.IMAP_NAME_TRANSACTIONS, MyConstants.IMAP_NAME_TRANSACTIONS_XML)) {
+            if (!existingIMapNames.contains(mapName)) {
+                MapConfig mapConfig = new MapConfig(mapName);
+                if (ttlSeconds > 0) {
+                    mapConfig.setTimeToLiveSeconds(ttlSeconds);
+                }
+                if (maxSizePerNode > 0) {
+                    mapConfig.setEvictionConfig(new EvictionConfig()
+                            .setEvictionPolicy(EvictionPolicy.LRU)
+                            .setMaxSizePolicy(MaxSizePolicy.PER_NODE)
+                            .setSize(maxSizePerNode));
+                }
+                // Local so each entry is counted and archived once, by its owner
+                mapConfig.addEntryListenerConfig(
+                        new EntryListenerConfig(TransactionsArchiver.class.getName(), true, true));
+
+                hazelcastInstance.getConfig().addMapConfig(mapConfig);
+                LOGGER.info("Retention for '{}': time-to-live {}s, max size per node {}, archive '{}'",
+                        mapName, ttlSeconds, maxSizePerNode,
+                        System.getProperty(MyConstants.TRANSACTIONS_ARCHIVE_DIR_KEY, ""));
+            } else {
+                LOGGER.info("Don't add retention to '{}', map already exists", mapName);
+            }
+        }
+    }
+
     /**
      * <p>Maps that have indexes, currently just the transactions are made for
      * faster searching. When created manually it would be:
@@ -267,6 +336,10 @@ public class TransactionMonitorIdempotentInitialization {
      *             - 'symbol'
      * </pre>
      * </p>
+     * <p>Set "{@code -Dmy.transactions.indexes}" to use others instead, such as
+     * "{@code HASH:symbol;SORTED:timestamp;SORTED:symbol,timestamp}" so range queries
+     * on time, alone or for one symbol, need not scan the whole map.
+     * </p>
      * <p><b>addIndex()</b> replaces the definition, so would be idempotent.
      * However as it has a performance cost we skip if we know the map already
      * existed and so can presume it had the index
@@ -297,13 +370,24 @@ public class TransactionMonitorIdempotentInitialization {
                 break;
             }
 
-            IndexConfig indexConfig = new IndexConfig();
-            indexConfig.setName(MyConstants.IMAP_NAME_TRANSACTIONS + "_idx");
-            indexConfig.setType(IndexType.HASH);
-            indexConfig.setAttributes(Arrays.asList(indexColumn1));
+            String defaultDefinitions = IndexType.HASH + ":" + indexColumn1;
+            String definitions = System.getProperty(MyConstants.TRANSACTIONS_INDEXES_KEY, "");
+            List<IndexConfig> indexConfigs;
+            try {
+                indexConfigs = MyUtils.indexConfigs(MyConstants.IMAP_NAME_TRANSACTIONS,
+                        definitions.isBlank() ? defaultDefinitions : definitions);
+            } catch (IllegalArgumentException e) {
+                LOGGER.error("Invalid '{}'=='{}', using '{}': {}", MyConstants.TRANSACTIONS_INDEXES_KEY,
+                        definitions, defaultDefinitions, e.getMessage());
+                indexConfigs = MyUtils.indexConfigs(MyConstants.IMAP_NAME_TRANSACTIONS, defaultDefinitions);
+            }
 
-            // Void method, hence returning true
-            transactionsMap.addIndex(indexConfig);
+            for (IndexConfig indexConfig : indexConfigs) {
+                LOGGER.info("Index '{}' {} on {}", indexConfig.getName(), indexConfig.getType(),
+                        indexConfig.getAttributes());
+                // Void method, hence returning true
+                transactionsMap.addIndex(indexConfig);
+            }
         } else {
             LOGGER.trace("Don't add index to '{}', map already exists", MyConstants.IMAP_NAME_TRANSACTIONS);
             if (useHzCloud) {
@@ -323,7 +407,8 @@ public class TransactionMonitorIdempotentInitialization {
      * </p>
      */
     public static boolean loadNeededData(HazelcastInstance hazelcastInstance, String bootstrapServers,
-            String pulsarSource, boolean usePulsar, boolean useHzCloud, TransactionMonitorFlavor transactionMonitorFlavor) {
+            String pulsarSource, boolean usePulsar, boolean useHzCloud, boolean useCompactTransactions,
+            TransactionMonitorFlavor transactionMonitorFlavor) {
         boolean ok = true;
         try {
             IMap<String, String> jobConfigMap =
@@ -348,6 +433,7 @@ public class TransactionMonitorIdempotentInitialization {
                         System.getProperty(MyConstants.POSTGRES_CONFIG_KEY, ""));
                 jobConfigMap.put(MyConstants.PULSAR_CONFIG_KEY, pulsarSource);
                 jobConfigMap.put(MyConstants.PULSAR_OR_KAFKA_KEY, (usePulsar ? "pulsar" : "kafka"));
+                jobConfigMap.put(MyConstants.TRANSACTION_FORMAT_KEY, (useCompactTransactions ? "compact" : "json"));
                 jobConfigMap.put(MyConstants.TRANSACTION_MONITOR_FLAVOR, transactionMonitorFlavor.toString());
                 jobConfigMap.put(MyConstants.USE_HZ_CLOUD, Boolean.valueOf(useHzCloud).toString());
 
@@ -899,7 +985,13 @@ public class TransactionMonitorIdempotentInitialization {
      * @param hazelcastInstance
      */
     static boolean defineIMaps3(HazelcastInstance hazelcastInstance, TransactionMonitorFlavor transactionMonitorFlavor) {
-       String[] definition9Arr = getDefinition9();
+       // JSON or Compact, whichever was chosen when "loadNeededData()" populated the job config
+       String[] definition9Arr;
+       if (MyUtils.useCompactTransactions(hazelcastInstance)) {
+           definition9Arr = getDefinition9Compact();
+       } else {
+           definition9Arr = getDefinition9();
+       }
        String definition9 = definition9Arr[transactionMonitorFlavor.ordinal()];
 
        String[] definition9ExtraArr = getDefinition9Extra();
@@ -935,7 +1027,7 @@ public class TransactionMonitorIdempotentInitialization {
      * @return
      */
     @SuppressWarnings("checkstyle:MethodLength")
-    private static String[] getDefinition9() {
+    static String[] getDefinition9() {
         String[] result = new String[TransactionMonitorFlavor.values().length];
 
         result[TransactionMonitorFlavor.ECOMMERCE.ordinal()] =
@@ -1005,6 +1097,84 @@ public class TransactionMonitorIdempotentInitialization {
         return result;
     }
 
+    /**
+     * <p>As {@link #getDefinition9()} but for transactions stored as Compact
+     * objects rather than JSON. The Payments XML is stored separately, so not
+     * mapped here.
+     * </p>
+     * @return
+     */
+    @SuppressWarnings("checkstyle:MethodLength")
+    private static String[] getDefinition9Compact() {
+        String[] result = new String[TransactionMonitorFlavor.values().length];
+
+        result[TransactionMonitorFlavor.ECOMMERCE.ordinal()] =
+                "CREATE MAPPING IF NOT EXISTS "
+                + MyConstants.IMAP_NAME_TRANSACTIONS
+                + " ("
+                + "    __key VARCHAR,"
+                + "    id VARCHAR,"
+                + "    \"timestamp\" BIGINT,"
+                + "    itemCode VARCHAR,"
+                + "    price DOUBLE,"
+                + "    quantity BIGINT"
+                + ")"
+                + " TYPE IMap "
+                + " OPTIONS ( "
+                + " 'keyFormat' = 'java',"
+                + " 'keyJavaClass' = 'java.lang.String',"
+                + " 'valueFormat' = 'compact',"
+                + " 'valueCompactTypeName' = '" + TransactionEcommerce.class.getSimpleName() + "'"
+                + " )";
+
+        result[TransactionMonitorFlavor.PAYMENTS.ordinal()] =
+                "CREATE MAPPING IF NOT EXISTS "
+                + MyConstants.IMAP_NAME_TRANSACTIONS
+                + " ("
+                + "    __key VARCHAR,"
+                + "    id VARCHAR,"
+                + "    \"timestamp\" BIGINT,"
+                + "    kind VARCHAR,"
+                + "    bicCreditor VARCHAR,"
+                + "    bicDebitor VARCHAR,"
+                + "    ccy VARCHAR,"
+                + "    amtFloor DOUBLE"
+                + ")"
+                + " TYPE IMap "
+                + " OPTIONS ( "
+                + " 'keyFormat' = 'java',"
+                + " 'keyJavaClass' = 'java.lang.String',"
+                + " 'valueFormat' = 'compact',"
+                + " 'valueCompactTypeName' = '" + TransactionPayments.class.getSimpleName() + "'"
+                + " )";
+
+        result[TransactionMonitorFlavor.TRADE.ordinal()] =
+                "CREATE MAPPING IF NOT EXISTS "
+                + MyConstants.IMAP_NAME_TRANSACTIONS
+                + " ("
+                + "    __key VARCHAR,"
+                + "    id VARCHAR,"
+                + "    \"timestamp\" BIGINT,"
+                + "    symbol VARCHAR,"
+                + "    price DOUBLE,"
+                + "    quantity BIGINT"
+                + ")"
+                + " TYPE IMap "
+                + " OPTIONS ( "
+                + " 'keyFormat' = 'java',"
+                + " 'keyJavaClass' = 'java.lang.String',"
+                + " 'valueFormat' = 'compact',"
+                + " 'valueCompactTypeName' = '" + TransactionTrade.class.getSimpleName() + "'"
+                + " )";
+
+        for (int i = 0; i < result.length; i++) {
+            if (result[i] == null) {
+                LOGGER.error("Definition 9 is missing for ordinal {}", i);
+            }
+        }
+        return result;
+    }
+
     /**
      * <p>Bonus definitions for transactions, may not be needed depending
      * on the type of transaction.
@@ -1246,6 +1416,8 @@ public class TransactionMonitorIdempotentInitialization {
         jobConfigIngestTransactions.setProcessingGuarantee(ProcessingGuarantee.EXACTLY_ONCE);
         jobConfigIngestTransactions.setName(IngestTransactions.class.getSimpleName());
         jobConfigIngestTransactions.addClass(IngestTransactions.class);
+        jobConfigIngestTransactions.addClass(ObservabilityStage.class);
+        jobConfigIngestTransactions.addClass(PaymentsJsonSplitter.class);
 
         StreamStage<Entry<String, HazelcastJsonValue>> pulsarInputSource1 = null;
         if (pulsarAddress != null) {
@@ -1255,7 +1427,7 @@ public class TransactionMonitorIdempotentInitialization {
         }
 
         Pipeline pipelineIngestTransactions = IngestTransactions.buildPipeline(bootstrapServers,
-                pulsarInputSource1, transactionMonitorFlavor);
+                pulsarInputSource1, transactionMonitorFlavor, MyUtils.useCompactTransactions(hazelcastInstance));
 
         if (pulsarAddress != null && useHzCloud) {
             //TODO Not yet available on Hazelcast Cloud @ January 2024.
@@ -1276,7 +1448,15 @@ public class TransactionMonitorIdempotentInitialization {
         jobConfigAggregateQuery.setName(AggregateQuery.class.getSimpleName());
         jobConfigAggregateQuery.addClass(AggregateQuery.class);
         jobConfigAggregateQuery.addClass(MaxAggregator.class);
+        jobConfigAggregateQuery.addClass(FixedPointAverage.class);
         jobConfigAggregateQuery.addClass(UtilsFormatter.class);
+        jobConfigAggregateQuery.addClass(ObservabilityStage.class);
+        jobConfigAggregateQuery.addClass(SymbolStatusCache.class);
+        jobConfigAggregateQuery.addClass(CPAtomicLongSink.class);
+        jobConfigAggregateQuery.addClass(CPMapSink.class);
+        jobConfigAggregateQuery.addClass(CPSinkMetrics.class);
+        jobConfigAggregateQuery.addClass(CPSinkProcessor.class);
+        jobConfigAggregateQuery.addClass(CPSinkWrites.class);
 
         StreamStage<?> pulsarInputSource2 = null;
         if (pulsarAddress != null) {
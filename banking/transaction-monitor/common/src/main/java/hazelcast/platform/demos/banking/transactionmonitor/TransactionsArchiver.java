@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hazelcast.platform.demos.banking.transactionmonitor;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.HazelcastInstanceAware;
+import com.hazelcast.core.LifecycleEvent.LifecycleState;
+import com.hazelcast.map.listener.EntryEvictedListener;
+import com.hazelcast.map.listener.EntryExpiredListener;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+/**
+ * <p>Counts transactions removed by time-to-live or size-based eviction, and
+ * if "{@code my.transactions.archive.dir}" is set, writes them to that directory
+ * before they are lost.
+ * </p>
+ * <p>Registered as a local listener, so each member sees only the entries it owns and
+ * each entry is archived once. Lines are "{@code key<TAB>value}", gzipped, one
+ * file per map per member per hour.
+ * </p>
+ * <p>The event thread only formats the line and offers it to a bounded queue, dropping
+ * and counting it if full, so a slow disk does not hold up other map events. A writer
+ * thread appends the lines to the file as a complete gzip member every second or thousand
+ * entries, so a file can be read with "{@code zcat}" while still being written, and a
+ * crash only loses what is queued.
+ * </p>
+ * <p>Counts are a JMX MBean, see {@link TransactionsArchiverMBean}, and are logged once a
+ * minute. Management Center shows the same expiration and eviction counts in the map
+ * statistics.
+ * </p>
+ */
+public class TransactionsArchiver implements EntryExpiredListener<Object, Object>,
+    EntryEvictedListener<Object, Object>, HazelcastInstanceAware, TransactionsArchiverMBean, Runnable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TransactionsArchiver.class);
+    private static final AtomicInteger INSTANCES = new AtomicInteger();
+    private static final int CAPACITY = 16_384;
+    private static final int FLUSH_SIZE = 1_000;
+    private static final long FLUSH_INTERVAL_MILLIS = 1_000L;
+    private static final long CHECK_INTERVAL_MILLIS = 100L;
+    private static final long LOG_INTERVAL_MILLIS = 60_000L;
+    private static final long STOP_TIMEOUT_MILLIS = 5_000L;
+    private static final DateTimeFormatter HOURLY = DateTimeFormatter.ofPattern("yyyyMMddHH");
+
+    private final Path archiveDirectory;
+    private final BlockingQueue<String[]> queue = new ArrayBlockingQueue<>(CAPACITY);
+    private final AtomicLong expired = new AtomicLong();
+    private final AtomicLong evicted = new AtomicLong();
+    private final AtomicLong archived = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final Thread thread;
+    private volatile boolean running = true;
+    private String memberName = "member";
+    private volatile long lastFlush = System.currentTimeMillis();
+    private long lastLog = System.currentTimeMillis();
+
+    /**
+     * <p>Created by Hazelcast on each member, from the class name in the map config.
+     * </p>
+     */
+    public TransactionsArchiver() {
+        this(directoryFromProperty());
+    }
+
+    @SuppressFBWarnings(value = "SC_START_IN_CTOR", justification = "Thread only reads the queue and counts, initialized before start")
+    TransactionsArchiver(Path arg0) {
+        this.archiveDirectory = arg0;
+        this.thread = new Thread(this, this.getClass().getSimpleName() + "-" + INSTANCES.incrementAndGet());
+        this.thread.setDaemon(true);
+        if (this.archiveDirectory != null) {
+            LOGGER.info("Archiving to '{}'", this.archiveDirectory);
+        }
+        this.thread.start();
+    }
+
+    private static Path directoryFromProperty() {
+        String directory = System.getProperty(MyConstants.TRANSACTIONS_ARCHIVE_DIR_KEY, "");
+        if (directory.isBlank()) {
+            return null;
+        }
+        try {
+            return Files.createDirectories(Paths.get(directory));
+        } catch (IOException e) {
+            LOGGER.error("Cannot create '" + directory + "', not archiving", e);
+            return null;
+        }
+    }
+
+    @Override
+    public void entryExpired(EntryEvent<Object, Object> entryEvent) {
+        this.expired.incrementAndGet();
+        this.archive(entryEvent);
+    }
+
+    @Override
+    public void entryEvicted(EntryEvent<Object, Object> entryEvent) {
+        this.evicted.incrementAndGet();
+        this.archive(entryEvent);
+    }
+
+    /**
+     * <p>On the event thread, so only queue the line for the writer.
+     * </p>
+     *
+     * @param entryEvent Removed entry, value is the old value
+     */
+    private void archive(EntryEvent<Object, Object> entryEvent) {
+        if (this.archiveDirectory != null) {
+            Object value = entryEvent.getOldValue() != null ? entryEvent.getOldValue() : entryEvent.getValue();
+            String[] mapNameAndLine = new String[] {entryEvent.getName(), entryEvent.getKey() + "\t" + Objects.toString(value)};
+            if (!this.running || !this.queue.offer(mapNameAndLine)) {
+                this.dropped.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * <p>Writer thread, flush if enough or long enough since last time, until stopped.
+     * Only {@link #flush()} takes from the queue, so lines are written in order.
+     * </p>
+     */
+    @Override
+    public void run() {
+        while (this.running) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(CHECK_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            long now = System.currentTimeMillis();
+            if (this.queue.size() >= FLUSH_SIZE || now - this.lastFlush >= FLUSH_INTERVAL_MILLIS) {
+                this.flush();
+            }
+            if (now - this.lastLog >= LOG_INTERVAL_MILLIS) {
+                this.lastLog = now;
+                LOGGER.info("Expired {}, evicted {}, archived {}, dropped {}, archive failures {}",
+                        this.expired.get(), this.evicted.get(), this.archived.get(), this.dropped.get(),
+                        this.failed.get());
+            }
+        }
+        this.flush();
+    }
+
+    /**
+     * <p>Append what is queued as one gzip member per file. A failed write is
+     * counted and discarded, it is not retried.
+     * </p>
+     */
+    synchronized void flush() {
+        this.lastFlush = System.currentTimeMillis();
+        if (this.archiveDirectory == null) {
+            return;
+        }
+        List<String[]> drained = new ArrayList<>();
+        this.queue.drainTo(drained);
+        if (drained.isEmpty()) {
+            return;
+        }
+        Map<String, List<String>> pending = new HashMap<>();
+        for (String[] mapNameAndLine : drained) {
+            pending.computeIfAbsent(mapNameAndLine[0], k -> new ArrayList<>()).add(mapNameAndLine[1]);
+        }
+        String hour = LocalDateTime.now().format(HOURLY);
+        for (Entry<String, List<String>> entry : pending.entrySet()) {
+            List<String> lines = entry.getValue();
+            Path path = this.archiveDirectory.resolve(entry.getKey() + "-" + this.memberName + "-" + hour + ".tsv.gz");
+            try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(
+                    Files.newOutputStream(path, StandardOpenOption.CREATE, StandardOpenOption.APPEND)),
+                    StandardCharsets.UTF_8)) {
+                for (String line : lines) {
+                    writer.write(line);
+                    writer.write('\n');
+                }
+                this.archived.addAndGet(lines.size());
+            } catch (IOException e) {
+                if (this.failed.getAndAdd(lines.size()) == 0) {
+                    // First only, as subsequent are likely the same cause
+                    LOGGER.error("flush(), '" + path + "'", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * <p>Stop accepting, and wait briefly for the writer to write what is queued.
+     * </p>
+     */
+    void stop() {
+        this.running = false;
+        try {
+            this.thread.join(STOP_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * <p>Name files and the MBean by member, and write the queue before the member stops.
+     * </p>
+     */
+    @Override
+    @SuppressFBWarnings(value = "EI_EXPOSE_REP2", justification = "Hazelcast instance must be shared, not cloned")
+    public void setHazelcastInstance(HazelcastInstance hazelcastInstance) {
+        synchronized (this) {
+            this.memberName = hazelcastInstance.getName();
+        }
+        ObjectName objectName = null;
+        try {
+            objectName = new ObjectName("hazelcast.platform.demos:type=" + this.getClass().getSimpleName()
+                    + ",instance=" + ObjectName.quote(hazelcastInstance.getName())
+                    + ",name=" + ObjectName.quote(this.thread.getName()));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        } catch (Exception e) {
+            LOGGER.error("setHazelcastInstance(), MBean " + objectName, e);
+            objectName = null;
+        }
+        ObjectName registered = objectName;
+        hazelcastInstance.getLifecycleService().addLifecycleListener(event -> {
+            if (event.getState() == LifecycleState.SHUTTING_DOWN) {
+                this.stop();
+                if (registered != null) {
+                    try {
+                        ManagementFactory.getPlatformMBeanServer().unregisterMBean(registered);
+                    } catch (Exception e) {
+                        LOGGER.error("unregisterMBean(), " + registered, e);
+                    }
+                }
+            }
+        });
+    }
+
+    @Override
+    public long getArchived() {
+        return this.archived.get();
+    }
+
+    @Override
+    public long getDropped() {
+        return this.dropped.get();
+    }
+
+    @Override
+    public long getEvicted() {
+        return this.evicted.get();
+    }
+
+    @Override
+    public long getExpired() {
+        return this.expired.get();
+    }
+
+    @Override
+    public long getFailed() {
+        return this.failed.get();
+    }
+
+    @Override
+    public int getQueueSize() {
+        return this.queue.size();
+    }
+}
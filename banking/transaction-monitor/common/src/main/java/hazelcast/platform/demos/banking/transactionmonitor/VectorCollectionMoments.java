@@ -77,6 +77,7 @@ public class VectorCollectionMoments {
      * Map journal source
      * </p>
      * <p>Stream changes from the "{@code transactions}" map, extract one field to count.
+     * If transactions are stored as Compact this is a field access, otherwise the JSON is parsed.
      * </p>
      * </li>
      * <li>
@@ -90,7 +91,8 @@ public class VectorCollectionMoments {
      * <p>
      * Vector sink
      * </p>
-     * <p>Custom sink to insert/update.
+     * <p>Custom sink to insert/update, partitioned by key so each sink instance
+     * can keep the vectors it writes and skip reading them back.
      * </p>
      * </li>
      * </ol>
@@ -119,7 +121,9 @@ public class VectorCollectionMoments {
             .groupingKey(Functions.wholeItem())
             .aggregate(AggregateOperations.counting());
 
+        // Same key always to same sink instance, on the member that owns it
         aggregated
+        .rebalance(KeyedWindowResult::getKey)
         .writeTo(VectorCollectionMomentsSink.vectorCollectionMomentsSink());
 
         return pipeline;
@@ -141,6 +145,9 @@ public class VectorCollectionMoments {
                         JournalInitialPosition.START_FROM_OLDEST))
                     .withIngestionTimestamps()
                  .map(entry -> {
+                     if (entry.getValue() instanceof TransactionEcommerce) {
+                         return ((TransactionEcommerce) entry.getValue()).getItemCode();
+                     }
                      try {
                          JSONObject json = new JSONObject(entry.getValue().toString());
                          return json.getString("itemCode");
@@ -168,6 +175,9 @@ public class VectorCollectionMoments {
                         JournalInitialPosition.START_FROM_OLDEST))
                     .withIngestionTimestamps()
                  .map(entry -> {
+                     if (entry.getValue() instanceof TransactionPayments) {
+                         return ((TransactionPayments) entry.getValue()).getBicCreditor();
+                     }
                      try {
                          JSONObject json = new JSONObject(entry.getValue().toString());
                          return json.getString("bicCreditor");
@@ -195,6 +205,9 @@ public class VectorCollectionMoments {
                         JournalInitialPosition.START_FROM_OLDEST))
                     .withIngestionTimestamps()
                  .map(entry -> {
+                     if (entry.getValue() instanceof TransactionTrade) {
+                         return ((TransactionTrade) entry.getValue()).getSymbol();
+                     }
                      try {
                          JSONObject json = new JSONObject(entry.getValue().toString());
                          return json.getString("symbol");
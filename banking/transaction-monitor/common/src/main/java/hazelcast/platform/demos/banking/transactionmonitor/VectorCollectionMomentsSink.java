@@ -18,12 +18,26 @@ package hazelcast.platform.demos.banking.transactionmonitor;
 
 import java.time.Instant;
 import java.time.ZoneOffset;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.jet.core.metrics.Metric;
+import com.hazelcast.jet.core.metrics.Metrics;
+import com.hazelcast.jet.core.metrics.Unit;
 import com.hazelcast.jet.datamodel.KeyedWindowResult;
 import com.hazelcast.jet.pipeline.Sink;
 import com.hazelcast.jet.pipeline.SinkBuilder;
+import com.hazelcast.logging.ILogger;
 import com.hazelcast.vector.VectorCollection;
 import com.hazelcast.vector.VectorDocument;
 import com.hazelcast.vector.VectorValues;
@@ -35,17 +49,57 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
  * <p>Use a {@link com.hazelcast.vector.VectorCollection VectorCollection} as a sink,
  * but with merging data into existing value.
  * </p>
+ * <p>Window results are gathered by key until {@link #flushFn()}, which Jet calls
+ * after each batch of input, so all keys closing in a window are handled together.
+ * For each key not already held, the existing vector is fetched, merged locally and
+ * written back asynchronously, with at most {@link #MAX_IN_FLIGHT} keys in progress.
+ * </p>
+ * <p>Input is partitioned by key, so each key always comes to the same sink instance,
+ * on the member owning that key's partition. This instance is then the only writer for
+ * the key, and keeps the vector it last wrote. Only the moments in the window are changed
+ * and the vector is written back without first reading it, normally to the local
+ * partition. {@link VectorCollection} has no partial update, so the whole vector is sent
+ * to the backup.
+ * </p>
  */
 public class VectorCollectionMomentsSink {
+    private static final int MAX_IN_FLIGHT = 64;
+    private static final long REPORT_INTERVAL_MS = 60_000L;
+    private static final int CACHE_INITIAL_CAPACITY = 1_024;
+    private static final float CACHE_LOAD_FACTOR = 0.75f;
+    private static final int CACHE_MAX_KEYS = 100_000;
+
     private final VectorCollection<String, String> transactions;
+    private final ILogger logger;
+    private final Map<String, List<KeyedWindowResult<String, Long>>> pending = new HashMap<>();
+    private final Map<String, float[]> written = new LinkedHashMap<>(CACHE_INITIAL_CAPACITY, CACHE_LOAD_FACTOR, true) {
+        private static final long serialVersionUID = 1L;
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, float[]> eldest) {
+            return this.size() > CACHE_MAX_KEYS;
+        }
+    };
+    private final Metric vectorsUpdated;
+    private final Metric vectorsUpdatedPerSecond;
+    private final Metric vectorsFailed;
+    private final Metric vectorsReadsSaved;
+    private long reportUpdated;
+    private long reportStartMillis;
 
     @SuppressFBWarnings(value = "EI_EXPOSE_REP2", justification = "Object is thread-safe")
-    public VectorCollectionMomentsSink(HazelcastInstance hazelcastInstance) {
+    public VectorCollectionMomentsSink(HazelcastInstance hazelcastInstance, ILogger logger) {
         this.transactions = VectorCollection.getCollection(hazelcastInstance, MyConstants.VECTOR_COLLECTION_TRANSACTIONS);
+        this.logger = logger;
+        this.vectorsUpdated = Metrics.metric("vectorsUpdated", Unit.COUNT);
+        this.vectorsUpdatedPerSecond = Metrics.metric("vectorsUpdatedPerSecond", Unit.COUNT);
+        this.vectorsFailed = Metrics.metric("vectorsFailed", Unit.COUNT);
+        this.vectorsReadsSaved = Metrics.metric("vectorsReadsSaved", Unit.COUNT);
+        this.reportStartMillis = System.currentTimeMillis();
     }
 
     /**
-     * <p>Build the sink for {@link #receiveFn(KeyedWindowResult<String, Long>)}.
+     * <p>Build the sink for {@link #receiveFn(KeyedWindowResult<String, Long>)}
+     * and {@link #flushFn()}.
      * </p>
      *
      * @return
@@ -53,58 +107,158 @@ public class VectorCollectionMomentsSink {
     public static Sink<KeyedWindowResult<String, Long>> vectorCollectionMomentsSink() {
         return SinkBuilder.sinkBuilder(
                     "vectorCollectionMomentsSink-",
-                    context -> new VectorCollectionMomentsSink(context.hazelcastInstance())
+                    context -> new VectorCollectionMomentsSink(context.hazelcastInstance(), context.logger())
                 )
                 .receiveFn(
                         (VectorCollectionMomentsSink vectorCollectionMomentsSink,
                                 KeyedWindowResult<String, Long> keyedWindowResult) ->
                             vectorCollectionMomentsSink.receiveFn(keyedWindowResult)
                         )
+                .flushFn(VectorCollectionMomentsSink::flushFn)
                 .build();
     }
 
     /**
-     * <p>Update/Insert the Vector Collection for the count per moment.
+     * <p>Hold the count per moment until the flush.
      * </p>
      *
      * @param key/value pair
-     * @return
      */
-    @SuppressFBWarnings(value = "REC_CATCH_EXCEPTION", justification = "Future get()")
-    public Object receiveFn(KeyedWindowResult<String, Long> keyedWindowResult) {
-        try {
-            int moment = findMoment(keyedWindowResult);
-            String key = keyedWindowResult.getKey();
-
-            VectorDocument<String> vectorDocument =
-                    this.transactions.getAsync(key).toCompletableFuture().get();
-
-            float[] moments;
-            if (vectorDocument == null) {
-                moments = new float[MyConstants.MOMENTS_IN_HOUR];
-            } else {
-                VectorValues vectors = vectorDocument.getVectors();
-                if (vectors instanceof MultiIndexVectorValues) {
-                    MultiIndexVectorValues multiIndexVectorValues = (MultiIndexVectorValues) vectors;
-                    moments = multiIndexVectorValues.indexNameToVector().get(MyConstants.VECTOR_DOCUMENT_MOMENTS);
+    public void receiveFn(KeyedWindowResult<String, Long> keyedWindowResult) {
+        this.pending.computeIfAbsent(keyedWindowResult.getKey(), k -> new ArrayList<>()).add(keyedWindowResult);
+    }
+
+    /**
+     * <p>Update/Insert the Vector Collection for all pending keys, waiting until
+     * all are done so nothing is outstanding at a snapshot.
+     * </p>
+     *
+     * @throws InterruptedException
+     */
+    public void flushFn() throws InterruptedException {
+        if (!this.pending.isEmpty()) {
+            Semaphore semaphore = new Semaphore(MAX_IN_FLIGHT);
+            List<CompletableFuture<Void>> futures = new ArrayList<>(this.pending.size());
+            // Filled by async callbacks, moved to "written" on this thread
+            Map<String, float[]> fetched = new ConcurrentHashMap<>();
+            int readsSaved = 0;
+
+            for (Entry<String, List<KeyedWindowResult<String, Long>>> entry : this.pending.entrySet()) {
+                String key = entry.getKey();
+                List<KeyedWindowResult<String, Long>> keyedWindowResults = entry.getValue();
+                float[] moments = this.written.get(key);
+                semaphore.acquire();
+                CompletableFuture<Void> future;
+                if (moments != null) {
+                    readsSaved++;
+                    apply(moments, keyedWindowResults);
+                    future = this.set(key, moments);
                 } else {
-                    System.out.println(VectorCollectionMomentsSink.class.getName()
-                            + ":Class expected '" + vectors.getClass().getCanonicalName() + "'");
-                    moments = new float[MyConstants.MOMENTS_IN_HOUR];
+                    future = this.transactions.getAsync(key).toCompletableFuture()
+                            .thenCompose(vectorDocument -> {
+                                float[] merged = this.merge(vectorDocument, keyedWindowResults);
+                                fetched.put(key, merged);
+                                return this.set(key, merged);
+                            });
+                }
+                future.whenComplete((ignored, throwable) -> semaphore.release());
+                futures.add(future);
+            }
+
+            int failed = 0;
+            for (CompletableFuture<Void> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    if (failed++ == 0) {
+                        // First only, as subsequent are likely the same cause
+                        this.logger.warning("flushFn(): " + e.getMessage());
+                    }
                 }
             }
-            moments[moment] = keyedWindowResult.getValue();
-            System.out.println(VectorCollectionMomentsSink.class.getName()
-                    + ":Save '" + key + "': " + Arrays.toString(moments));
 
-            VectorValues vectorValues = VectorValues.of(MyConstants.VECTOR_DOCUMENT_MOMENTS, moments);
+            this.vectorsUpdated.increment(futures.size() - failed);
+            this.vectorsFailed.increment(failed);
+            this.vectorsReadsSaved.increment(readsSaved);
+            this.written.putAll(fetched);
+            this.reportUpdated += futures.size() - failed;
+            this.pending.clear();
+        }
+
+        this.report();
+    }
+
+    /**
+     * <p>Merge the new counts into the existing vector, or a new one.
+     * </p>
+     *
+     * @param vectorDocument Existing, may be null
+     * @param keyedWindowResults New counts for this key
+     * @return
+     */
+    private float[] merge(VectorDocument<String> vectorDocument,
+            List<KeyedWindowResult<String, Long>> keyedWindowResults) {
+        float[] moments = null;
+        if (vectorDocument != null) {
+            VectorValues vectors = vectorDocument.getVectors();
+            if (vectors instanceof MultiIndexVectorValues) {
+                MultiIndexVectorValues multiIndexVectorValues = (MultiIndexVectorValues) vectors;
+                moments = multiIndexVectorValues.indexNameToVector().get(MyConstants.VECTOR_DOCUMENT_MOMENTS);
+            } else {
+                this.logger.warning("Class expected '" + vectors.getClass().getCanonicalName() + "'");
+            }
+        }
+        if (moments == null) {
+            moments = new float[MyConstants.MOMENTS_IN_HOUR];
+        }
+
+        apply(moments, keyedWindowResults);
+        return moments;
+    }
+
+    /**
+     * <p>Set the moments for the windows, leaving others unchanged. Each window
+     * result is the full count, so setting rather than adding is safe to repeat.
+     * </p>
+     *
+     * @param moments Updated in place
+     * @param keyedWindowResults
+     */
+    private static void apply(float[] moments, List<KeyedWindowResult<String, Long>> keyedWindowResults) {
+        for (KeyedWindowResult<String, Long> keyedWindowResult : keyedWindowResults) {
+            moments[findMoment(keyedWindowResult)] = keyedWindowResult.getValue();
+        }
+    }
+
+    /**
+     * <p>Write the whole vector. The value is serialized before this returns,
+     * so the array may be changed by the next flush.
+     * </p>
+     *
+     * @param key
+     * @param moments
+     * @return
+     */
+    private CompletableFuture<Void> set(String key, float[] moments) {
+        VectorValues vectorValues = VectorValues.of(MyConstants.VECTOR_DOCUMENT_MOMENTS, moments);
+        return this.transactions.setAsync(key, VectorDocument.of(key, vectorValues)).toCompletableFuture();
+    }
 
-            transactions.putAsync(key, VectorDocument.of(key, vectorValues)).toCompletableFuture().get();
-        } catch (Exception e) {
-            System.out.println(VectorCollectionMomentsSink.class.getName()
-                    + ":Exception for '" + keyedWindowResult + "': " + e.getMessage());
+    /**
+     * <p>Periodically log and publish the update rate.
+     * </p>
+     */
+    private void report() {
+        long now = System.currentTimeMillis();
+        long elapsed = now - this.reportStartMillis;
+        if (elapsed >= REPORT_INTERVAL_MS) {
+            long perSecond = this.reportUpdated * TimeUnit.SECONDS.toMillis(1) / elapsed;
+            this.vectorsUpdatedPerSecond.set(perSecond);
+            this.logger.info("Vectors updated " + this.reportUpdated + " in " + elapsed + "ms, "
+                    + perSecond + "/second");
+            this.reportUpdated = 0;
+            this.reportStartMillis = now;
         }
-        return this;
     }
 
     /**
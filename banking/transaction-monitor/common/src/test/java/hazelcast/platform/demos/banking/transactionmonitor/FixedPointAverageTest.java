@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hazelcast.platform.demos.banking.transactionmonitor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+import com.hazelcast.jet.datamodel.Tuple3;
+
+/**
+ * <p>Test {@link FixedPointAverage} gives the same answers as the
+ * "{@code String.format()}" rounding it replaces.
+ * </p>
+ */
+public class FixedPointAverageTest {
+    private static final double DELTA = 0.000_001d;
+    private static final double ONE_CENT = 0.01d;
+    private static final int COUNT = 10_000;
+    private static final int MAX_CENTS = 1_000_000;
+
+    @Test
+    public void testEmpty(TestInfo testInfo) {
+        Tuple3<Long, Double, Double> actual = new FixedPointAverage().exportFinish();
+        assertEquals(0L, actual.f0());
+        assertEquals(0d, actual.f1(), DELTA);
+        assertEquals(0d, actual.f2(), DELTA);
+    }
+
+    @Test
+    public void testHalfRoundsUp(TestInfo testInfo) {
+        FixedPointAverage fixedPointAverage = new FixedPointAverage();
+        fixedPointAverage.accumulate(1.00d);
+        fixedPointAverage.accumulate(1.01d);
+        Tuple3<Long, Double, Double> actual = fixedPointAverage.exportFinish();
+        assertEquals(2L, actual.f0());
+        assertEquals(2.01d, actual.f1(), DELTA);
+        assertEquals(1.01d, actual.f2(), DELTA);
+    }
+
+    @Test
+    public void testMatchesFormat(TestInfo testInfo) {
+        Random random = new Random(COUNT);
+        FixedPointAverage fixedPointAverage = new FixedPointAverage();
+        double sum = 0d;
+        for (int i = 1; i <= COUNT; i++) {
+            double value = random.nextInt(MAX_CENTS) / 100d;
+            sum += value;
+            fixedPointAverage.accumulate(value);
+
+            double expected = Double.parseDouble(String.format("%.2f", sum / i));
+            Tuple3<Long, Double, Double> actual = fixedPointAverage.exportFinish();
+            assertEquals(i, actual.f0());
+            assertEquals(sum, actual.f1(), ONE_CENT);
+            // Binary floating point may tip a half cent either way
+            assertEquals(expected, actual.f2(), ONE_CENT + DELTA);
+        }
+    }
+
+    @Test
+    public void testCombineDeduct(TestInfo testInfo) {
+        FixedPointAverage left = new FixedPointAverage();
+        left.accumulate(10.00d);
+        left.accumulate(20.00d);
+        FixedPointAverage right = new FixedPointAverage();
+        right.accumulate(60.00d);
+
+        left.combine(right);
+        assertEquals(3L, left.getCount());
+        assertEquals(3000L, left.getAverageMinorUnits());
+
+        left.deduct(right);
+        assertEquals(2L, left.getCount());
+        assertEquals(1500L, left.getAverageMinorUnits());
+    }
+
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hazelcast.platform.demos.banking.transactionmonitor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
+
+/**
+ * <p>Test parsing of "{@code my.transactions.indexes}".
+ * </p>
+ */
+public class MyUtilsIndexConfigsTest {
+
+    @Test
+    public void testSingleAndComposite(TestInfo testInfo) {
+        List<IndexConfig> actual = MyUtils.indexConfigs("transactions",
+                "HASH:symbol; sorted:timestamp;SORTED:symbol, timestamp;");
+
+        assertEquals(3, actual.size());
+        assertEquals(IndexType.HASH, actual.get(0).getType());
+        assertEquals(List.of("symbol"), actual.get(0).getAttributes());
+        assertEquals("transactions_hash_symbol", actual.get(0).getName());
+        assertEquals(IndexType.SORTED, actual.get(1).getType());
+        assertEquals(List.of("timestamp"), actual.get(1).getAttributes());
+        assertEquals(IndexType.SORTED, actual.get(2).getType());
+        assertEquals(List.of("symbol", "timestamp"), actual.get(2).getAttributes());
+        assertEquals("transactions_sorted_symbol_timestamp", actual.get(2).getName());
+    }
+
+    @Test
+    public void testInvalid(TestInfo testInfo) {
+        assertThrows(IllegalArgumentException.class, () -> MyUtils.indexConfigs("transactions", "symbol"));
+        assertThrows(IllegalArgumentException.class, () -> MyUtils.indexConfigs("transactions", "HASH:"));
+        assertThrows(IllegalArgumentException.class, () -> MyUtils.indexConfigs("transactions", "TREE:symbol"));
+    }
+}
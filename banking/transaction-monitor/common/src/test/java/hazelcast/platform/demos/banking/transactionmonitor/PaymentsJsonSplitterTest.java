@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hazelcast.platform.demos.banking.transactionmonitor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map.Entry;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+import com.hazelcast.core.HazelcastJsonValue;
+import com.hazelcast.jet.datamodel.Tuple2;
+import com.hazelcast.jet.datamodel.Tuple3;
+
+/**
+ * <p>Test {@link PaymentsJsonSplitter} gives the same as the "{@code org.json}"
+ * versions in {@link IngestTransactions}.
+ * </p>
+ */
+public class PaymentsJsonSplitterTest {
+    private static final String PAYMENT = "{\"id\": \"abc\",\"timestamp\": 1700000000000,\"kind\": \"pain.001.001\""
+            + ",\"bicCreditor\": \"BANKGB2L\",\"bicDebitor\": \"BANKFRPP\",\"ccy\": \"GBP\",\"amtFloor\": 123.00"
+            + ",\"xml\": [\"<pain.001.001>\", \"   <InstdAmt Ccy=\\\"GBP\\\">123.45</InstdAmt>\", \"</pain.001.001>\"]}";
+
+    private final PaymentsJsonSplitter paymentsJsonSplitter = new PaymentsJsonSplitter();
+
+    @Test
+    public void testSameAsOriginal(TestInfo testInfo) {
+        Entry<String, HazelcastJsonValue> input = Tuple2.tuple2("abc", new HazelcastJsonValue(PAYMENT));
+
+        // Twice, as buffers are reused
+        for (int i = 0; i < 2; i++) {
+            Tuple3<String, HazelcastJsonValue, String> actual = this.paymentsJsonSplitter.split(input);
+
+            assertEquals("abc", actual.f0());
+            JSONObject expectedJson = new JSONObject(IngestTransactions.depleteEntry(input).getValue().toString());
+            JSONObject actualJson = new JSONObject(actual.f1().toString());
+            assertTrue(expectedJson.similar(actualJson), actualJson.toString());
+            assertEquals(IngestTransactions.makeEntryXML(input).getValue(), actual.f2());
+        }
+    }
+
+    @Test
+    public void testMissingXml(TestInfo testInfo) {
+        String payment = PAYMENT.substring(0, PAYMENT.indexOf(",\"xml\"")) + "}";
+        Entry<String, HazelcastJsonValue> input = Tuple2.tuple2("abc", new HazelcastJsonValue(payment));
+
+        Tuple3<String, HazelcastJsonValue, String> actual = this.paymentsJsonSplitter.split(input);
+
+        assertEquals(payment, actual.f2());
+        assertEquals(IngestTransactions.makeEntryXML(input).getValue(), actual.f2());
+    }
+
+    @Test
+    public void testMissingField(TestInfo testInfo) {
+        String payment = PAYMENT.replace("\"ccy\"", "\"currency\"");
+        Entry<String, HazelcastJsonValue> input = Tuple2.tuple2("abc", new HazelcastJsonValue(payment));
+
+        Tuple3<String, HazelcastJsonValue, String> actual = this.paymentsJsonSplitter.split(input);
+
+        assertNull(IngestTransactions.depleteEntry(input));
+        assertNull(actual.f1());
+        assertEquals(IngestTransactions.makeEntryXML(input).getValue(), actual.f2());
+    }
+
+    @Test
+    public void testCompactSameAsDeserializer(TestInfo testInfo) {
+        Entry<String, HazelcastJsonValue> input = Tuple2.tuple2("abc", new HazelcastJsonValue(PAYMENT));
+        TransactionPayments expected = new TransactionPaymentsJsonDeserializer()
+                .deserialize("", PAYMENT.getBytes(StandardCharsets.UTF_8));
+
+        Tuple3<String, TransactionPayments, String> actual = this.paymentsJsonSplitter.splitCompact(input);
+
+        assertEquals("abc", actual.f0());
+        assertEquals(expected.getId(), actual.f1().getId());
+        assertEquals(expected.getTimestamp(), actual.f1().getTimestamp());
+        assertEquals(expected.getKind(), actual.f1().getKind());
+        assertEquals(expected.getBicCreditor(), actual.f1().getBicCreditor());
+        assertEquals(expected.getBicDebitor(), actual.f1().getBicDebitor());
+        assertEquals(expected.getCcy(), actual.f1().getCcy());
+        assertEquals(expected.getAmtFloor(), actual.f1().getAmtFloor());
+        assertNull(actual.f1().getXml());
+        assertEquals(IngestTransactions.makeEntryXML(input).getValue(), actual.f2());
+    }
+
+    @Test
+    public void testCompactMissingField(TestInfo testInfo) {
+        String payment = PAYMENT.replace("\"ccy\"", "\"currency\"");
+        Entry<String, HazelcastJsonValue> input = Tuple2.tuple2("abc", new HazelcastJsonValue(payment));
+
+        Tuple3<String, TransactionPayments, String> actual = this.paymentsJsonSplitter.splitCompact(input);
+
+        assertNull(actual.f1());
+        assertEquals(IngestTransactions.makeEntryXML(input).getValue(), actual.f2());
+    }
+
+    @Test
+    public void testMalformed(TestInfo testInfo) {
+        String payment = PAYMENT.substring(0, PAYMENT.length() / 2);
+        Entry<String, HazelcastJsonValue> input = Tuple2.tuple2("abc", new HazelcastJsonValue(payment));
+
+        Tuple3<String, HazelcastJsonValue, String> actual = this.paymentsJsonSplitter.split(input);
+
+        assertNull(actual.f1());
+        assertEquals(payment, actual.f2());
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package hazelcast.platform.demos.banking.transactionmonitor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+/**
+ * <p>Test loading and invalidation of {@link SymbolStatusCache}, with a plain map
+ * standing in for the "{@code symbols}" map. Loads complete immediately, so are
+ * cached at the next lookup.
+ * </p>
+ */
+public class SymbolStatusCacheTest {
+
+    private static SymbolStatusCache symbolStatusCache(Map<String, SymbolInfo> symbols) {
+        return new SymbolStatusCache(symbol -> CompletableFuture.completedFuture(symbols.get(symbol)));
+    }
+
+    private static SymbolInfo get(SymbolStatusCache symbolStatusCache, String symbol) {
+        SymbolInfo symbolInfo = symbolStatusCache.get(symbol);
+        if (symbolInfo == null) {
+            symbolInfo = symbolStatusCache.load(symbol).toCompletableFuture().join();
+        }
+        return symbolInfo;
+    }
+
+    private static SymbolInfo symbolInfo(NasdaqFinancialStatus financialStatus) {
+        SymbolInfo symbolInfo = new SymbolInfo();
+        symbolInfo.setFinancialStatus(financialStatus);
+        return symbolInfo;
+    }
+
+    @Test
+    public void testHitAndMiss(TestInfo testInfo) {
+        Map<String, SymbolInfo> symbols = new HashMap<>();
+        symbols.put("AAL", symbolInfo(NasdaqFinancialStatus.NORMAL));
+        SymbolStatusCache symbolStatusCache = symbolStatusCache(symbols);
+
+        SymbolInfo first = get(symbolStatusCache, "AAL");
+        SymbolInfo second = get(symbolStatusCache, "AAL");
+        SymbolInfo unknown = get(symbolStatusCache, "ZZZZ");
+        get(symbolStatusCache, "ZZZZ");
+
+        assertSame(symbols.get("AAL"), first);
+        assertSame(first, second);
+        assertNull(unknown);
+        assertEquals(1, symbolStatusCache.getHits());
+        assertEquals(3, symbolStatusCache.getMisses());
+    }
+
+    @Test
+    public void testInvalidation(TestInfo testInfo) {
+        Map<String, SymbolInfo> symbols = new HashMap<>();
+        symbols.put("AAL", symbolInfo(NasdaqFinancialStatus.NORMAL));
+        symbols.put("ZVZZT", symbolInfo(NasdaqFinancialStatus.NORMAL));
+        SymbolStatusCache symbolStatusCache = symbolStatusCache(symbols);
+        get(symbolStatusCache, "AAL");
+        get(symbolStatusCache, "ZVZZT");
+
+        // Changed but not yet invalidated, so stale
+        symbols.put("AAL", symbolInfo(NasdaqFinancialStatus.DEFICIENT));
+        assertEquals(NasdaqFinancialStatus.NORMAL, get(symbolStatusCache, "AAL").getFinancialStatus());
+
+        symbolStatusCache.invalidate("AAL");
+        assertEquals(NasdaqFinancialStatus.DEFICIENT, get(symbolStatusCache, "AAL").getFinancialStatus());
+        assertEquals(1, symbolStatusCache.getInvalidationCount());
+
+        // Clear drops all
+        symbols.put("ZVZZT", symbolInfo(NasdaqFinancialStatus.DELINQUENT));
+        symbolStatusCache.invalidate(null);
+        assertEquals(NasdaqFinancialStatus.DELINQUENT, get(symbolStatusCache, "ZVZZT").getFinancialStatus());
+        assertEquals(NasdaqFinancialStatus.DEFICIENT, get(symbolStatusCache, "AAL").getFinancialStatus());
+        assertEquals(2, symbolStatusCache.getInvalidationCount());
+        assertEquals(5, symbolStatusCache.getMisses());
+    }
+
+    @Test
+    public void testPreloadAndStaleLoad(TestInfo testInfo) {
+        Map<String, SymbolInfo> symbols = new HashMap<>();
+        symbols.put("AAL", symbolInfo(NasdaqFinancialStatus.NORMAL));
+        SymbolStatusCache symbolStatusCache = symbolStatusCache(symbols);
+        symbolStatusCache.preload(symbols);
+
+        assertSame(symbols.get("AAL"), symbolStatusCache.get("AAL"));
+        assertEquals(0, symbolStatusCache.getMisses());
+
+        // Invalidated after the load started, so the load is not cached
+        symbolStatusCache.invalidate("AAL");
+        assertNull(symbolStatusCache.get("AAL"));
+        symbolStatusCache.load("AAL");
+        symbolStatusCache.invalidate("AAL");
+        assertNull(symbolStatusCache.get("AAL"));
+
+        // Not invalidated while loading, so cached
+        symbolStatusCache.load("AAL");
+        assertSame(symbols.get("AAL"), symbolStatusCache.get("AAL"));
+        assertEquals(2, symbolStatusCache.getMisses());
+        assertEquals(2, symbolStatusCache.getInvalidationCount());
+    }
+}
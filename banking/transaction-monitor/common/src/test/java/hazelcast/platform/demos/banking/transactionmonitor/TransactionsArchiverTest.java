@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hazelcast.platform.demos.banking.transactionmonitor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.core.EntryEventType;
+
+/**
+ * <p>Test expired and evicted transactions are counted and archived,
+ * readable across several flushes, and written on stop.
+ * </p>
+ */
+public class TransactionsArchiverTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testArchive(TestInfo testInfo) throws Exception {
+        TransactionsArchiver transactionsArchiver = new TransactionsArchiver(this.tempDir);
+
+        for (int i = 0; i < 3; i++) {
+            transactionsArchiver.entryExpired(event(EntryEventType.EXPIRED, i));
+        }
+        transactionsArchiver.entryEvicted(event(EntryEventType.EVICTED, 3));
+        transactionsArchiver.flush();
+        transactionsArchiver.entryEvicted(event(EntryEventType.EVICTED, 4));
+        transactionsArchiver.flush();
+
+        assertEquals(3, transactionsArchiver.getExpired());
+        assertEquals(2, transactionsArchiver.getEvicted());
+        assertEquals(5, transactionsArchiver.getArchived());
+        assertEquals(0, transactionsArchiver.getFailed());
+        assertEquals(0, transactionsArchiver.getDropped());
+
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(this.tempDir)) {
+            files = stream.collect(Collectors.toList());
+        }
+        assertEquals(1, files.size());
+
+        List<String> lines;
+        try (BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(files.get(0))), StandardCharsets.UTF_8))) {
+            lines = bufferedReader.lines().collect(Collectors.toList());
+        }
+        assertEquals(List.of("k0\tv0", "k1\tv1", "k2\tv2", "k3\tv3", "k4\tv4"), lines);
+    }
+
+    @Test
+    public void testNoArchive(TestInfo testInfo) {
+        TransactionsArchiver transactionsArchiver = new TransactionsArchiver(null);
+
+        transactionsArchiver.entryExpired(event(EntryEventType.EXPIRED, 0));
+        transactionsArchiver.flush();
+
+        assertEquals(1, transactionsArchiver.getExpired());
+        assertEquals(0, transactionsArchiver.getArchived());
+    }
+
+    @Test
+    public void testStop(TestInfo testInfo) throws Exception {
+        TransactionsArchiver transactionsArchiver = new TransactionsArchiver(this.tempDir);
+
+        transactionsArchiver.entryExpired(event(EntryEventType.EXPIRED, 0));
+        transactionsArchiver.stop();
+        transactionsArchiver.entryExpired(event(EntryEventType.EXPIRED, 1));
+
+        assertEquals(2, transactionsArchiver.getExpired());
+        assertEquals(1, transactionsArchiver.getArchived());
+        assertEquals(1, transactionsArchiver.getDropped());
+        assertEquals(0, transactionsArchiver.getQueueSize());
+    }
+
+    private static EntryEvent<Object, Object> event(EntryEventType entryEventType, int i) {
+        return new EntryEvent<>(MyConstants.IMAP_NAME_TRANSACTIONS, null, entryEventType.getType(),
+                "k" + i, "v" + i, null);
+    }
+}
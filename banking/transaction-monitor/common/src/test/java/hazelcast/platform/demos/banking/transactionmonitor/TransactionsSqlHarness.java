@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hazelcast.platform.demos.banking.transactionmonitor;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.HazelcastJsonValue;
+import com.hazelcast.map.IMap;
+import com.hazelcast.sql.SqlResult;
+import com.hazelcast.sql.SqlRow;
+import com.hazelcast.sql.SqlService;
+import com.hazelcast.sql.SqlStatement;
+
+/**
+ * <p>Not a unit test, run by hand from the IDE or with
+ * "{@code java -cp ... TransactionsSqlHarness [flavor] [count] [indexes]}",
+ * for example "{@code TRADE 500000 HASH:symbol;SORTED:timestamp;SORTED:symbol,timestamp}".
+ * </p>
+ * <p>Starts a standalone member, creates the "{@code transactions}" mapping as
+ * {@link TransactionMonitorIdempotentInitialization#getDefinition9()} does, and loads
+ * transactions spread over the last hour. Then runs the queries typical of the webapp
+ * drill-down and of dashboards, first with no indexes and then with the given ones
+ * (in "{@code -Dmy.transactions.indexes}" format), reporting whether each plan
+ * scans the map or uses an index, and the latencies.
+ * </p>
+ */
+@SuppressWarnings("checkstyle:MagicNumber")
+public class TransactionsSqlHarness {
+    private static final int BATCH_SIZE = 10_000;
+    private static final int WARMUP_RUNS = 5;
+    private static final int MEASURED_RUNS = 25;
+    private static final long ONE_HOUR = 60 * 60 * 1000L;
+    private static final long ONE_MINUTE = 60 * 1000L;
+
+    public static void main(String[] args) {
+        TransactionMonitorFlavor flavor = args.length > 0
+                ? TransactionMonitorFlavor.valueOf(args[0].toUpperCase(Locale.ROOT)) : TransactionMonitorFlavor.TRADE;
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+        String column = keyColumn(flavor);
+        String indexes = args.length > 2 ? args[2]
+                : "HASH:" + column + ";SORTED:timestamp;SORTED:" + column + ",timestamp";
+
+        Config config = new Config();
+        config.setClusterName(TransactionsSqlHarness.class.getSimpleName());
+        JoinConfig joinConfig = config.getNetworkConfig().getJoin();
+        joinConfig.getAutoDetectionConfig().setEnabled(false);
+        joinConfig.getMulticastConfig().setEnabled(false);
+        config.getJetConfig().setEnabled(true);
+        HazelcastInstance hazelcastInstance = Hazelcast.newHazelcastInstance(config);
+
+        try {
+            SqlService sqlService = hazelcastInstance.getSql();
+            sqlService.execute(TransactionMonitorIdempotentInitialization.getDefinition9()[flavor.ordinal()]).close();
+
+            IMap<String, HazelcastJsonValue> transactionsMap = hazelcastInstance.getMap(MyConstants.IMAP_NAME_TRANSACTIONS);
+            long now = System.currentTimeMillis();
+            load(transactionsMap, flavor, count, now);
+
+            String amount = flavor == TransactionMonitorFlavor.PAYMENTS ? "amtFloor" : "price * quantity";
+            String table = MyConstants.IMAP_NAME_TRANSACTIONS;
+            Object[][] queries = new Object[][] {
+                { "Drill-down", "SELECT * FROM " + table + " WHERE " + column + " = ?", keyValue(flavor, 0) },
+                { "Last minute count", "SELECT COUNT(*) FROM " + table + " WHERE \"timestamp\" >= ?", now - ONE_MINUTE },
+                { "Last minute for key", "SELECT * FROM " + table + " WHERE " + column + " = ? AND \"timestamp\" >= ?",
+                    keyValue(flavor, 0), now - ONE_MINUTE },
+                { "Dashboard", "SELECT " + column + ", COUNT(*), SUM(" + amount + ") FROM " + table
+                    + " WHERE \"timestamp\" >= ? GROUP BY " + column, now - ONE_MINUTE },
+            };
+
+            System.out.printf("%n%s, %,d transactions%n", flavor, count);
+            run(sqlService, "No indexes", queries);
+
+            for (IndexConfig indexConfig : MyUtils.indexConfigs(table, indexes)) {
+                transactionsMap.addIndex(indexConfig);
+            }
+            run(sqlService, "Indexes '" + indexes + "'", queries);
+        } finally {
+            hazelcastInstance.shutdown();
+        }
+    }
+
+    private static String keyColumn(TransactionMonitorFlavor flavor) {
+        switch (flavor) {
+        case ECOMMERCE:
+            return "itemCode";
+        case PAYMENTS:
+            return "bicCreditor";
+        case TRADE:
+        default:
+            return "symbol";
+        }
+    }
+
+    private static String keyValue(TransactionMonitorFlavor flavor, int i) {
+        switch (flavor) {
+        case ECOMMERCE:
+            return "ITEM" + (i % 300);
+        case PAYMENTS:
+            return "BANK" + (i % 200);
+        case TRADE:
+        default:
+            return "SYM" + (i % 3_000);
+        }
+    }
+
+    /**
+     * <p>Transactions in the same JSON layout as the producer, with timestamps
+     * spread over the last hour.
+     * </p>
+     */
+    private static void load(IMap<String, HazelcastJsonValue> transactionsMap, TransactionMonitorFlavor flavor,
+            int count, long now) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Map<String, HazelcastJsonValue> batch = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            String id = "id" + i;
+            long timestamp = now - random.nextLong(ONE_HOUR);
+            String key = keyValue(flavor, random.nextInt(Integer.MAX_VALUE));
+            String json;
+            if (flavor == TransactionMonitorFlavor.PAYMENTS) {
+                json = String.format("{\"id\": \"%s\",\"timestamp\": %d,\"kind\": \"pain.001.001\",\"bicCreditor\": \"%s\""
+                        + ",\"bicDebitor\": \"%s\",\"ccy\": \"GBP\",\"amtFloor\": %d.00}",
+                        id, timestamp, key, keyValue(flavor, i), random.nextInt(1, 100_000));
+            } else {
+                json = String.format("{\"id\": \"%s\",\"timestamp\": %d,\"%s\": \"%s\",\"price\": %d.%02d,\"quantity\": %d}",
+                        id, timestamp, keyColumn(flavor), key, random.nextInt(1, 1_000), random.nextInt(100),
+                        random.nextInt(1, 100));
+            }
+            batch.put(id, new HazelcastJsonValue(json));
+            if (batch.size() == BATCH_SIZE) {
+                transactionsMap.putAll(batch);
+                batch.clear();
+            }
+        }
+        transactionsMap.putAll(batch);
+    }
+
+    private static void run(SqlService sqlService, String title, Object[][] queries) {
+        System.out.printf("%n%s%n", title);
+        System.out.printf("%-20s %-6s %10s %10s %8s%n", "Query", "Plan", "Median ms", "P95 ms", "Rows");
+        for (Object[] query : queries) {
+            String sql = (String) query[1];
+            Object[] parameters = Arrays.copyOfRange(query, 2, query.length);
+
+            String plan = plan(sqlService, sql, parameters);
+
+            long rows = 0;
+            for (int i = 0; i < WARMUP_RUNS; i++) {
+                rows = execute(sqlService, sql, parameters);
+            }
+            double[] millis = new double[MEASURED_RUNS];
+            for (int i = 0; i < MEASURED_RUNS; i++) {
+                long start = System.nanoTime();
+                execute(sqlService, sql, parameters);
+                millis[i] = (System.nanoTime() - start) / 1e6;
+            }
+            Arrays.sort(millis);
+
+            System.out.printf("%-20s %-6s %10.2f %10.2f %8d%n", query[0], plan,
+                    millis[MEASURED_RUNS / 2], millis[(int) (MEASURED_RUNS * 0.95)], rows);
+        }
+    }
+
+    /**
+     * <p>"index" if any map access in the plan is by index, "scan" if by full scan.
+     * </p>
+     */
+    private static String plan(SqlService sqlService, String sql, Object[] parameters) {
+        StringBuilder stringBuilder = new StringBuilder();
+        SqlStatement sqlStatement = new SqlStatement("EXPLAIN " + sql).setParameters(List.of(parameters));
+        try (SqlResult sqlResult = sqlService.execute(sqlStatement)) {
+            for (SqlRow sqlRow : sqlResult) {
+                stringBuilder.append(sqlRow.getObject(0).toString()).append(System.lineSeparator());
+            }
+        }
+        String explain = stringBuilder.toString();
+        if (explain.contains("IndexScan")) {
+            return "index";
+        }
+        if (explain.contains("FullScan")) {
+            return "scan";
+        }
+        return "other";
+    }
+
+    private static long execute(SqlService sqlService, String sql, Object[] parameters) {
+        long rows = 0;
+        try (SqlResult sqlResult = sqlService.execute(sql, parameters)) {
+            Iterator<SqlRow> iterator = sqlResult.iterator();
+            while (iterator.hasNext()) {
+                iterator.next();
+                rows++;
+            }
+        }
+        return rows;
+    }
+}
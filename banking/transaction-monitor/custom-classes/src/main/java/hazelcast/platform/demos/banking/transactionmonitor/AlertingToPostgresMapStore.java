@@ -19,7 +19,6 @@ package hazelcast.platform.demos.banking.transactionmonitor;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
@@ -41,6 +40,7 @@ import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.HazelcastJsonValue;
 import com.hazelcast.map.MapLoaderLifecycleSupport;
 import com.hazelcast.map.MapStore;
+import com.zaxxer.hikari.HikariDataSource;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
@@ -53,6 +53,11 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
  * <p>On a restart, previous alerts are restored into Hazelcast's
  * memory using the <i>load</i> aspect of the map store.
  * </p>
+ * <p>Connections come from a small pool, and the multi-key operations
+ * are one round trip each, a JDBC batch for {@link #storeAll} and
+ * "{@code = ANY(?)}" for {@link #loadAll} and {@link #deleteAll}, so the
+ * map can be configured for write-behind.
+ * </p>
  */
 @SuppressFBWarnings(value = "SE_TRANSIENT_FIELD_NOT_RESTORED",
                 justification = "Transient fields set after deserialize when init() called")
@@ -61,32 +66,34 @@ public class AlertingToPostgresMapStore implements MapStore<Long, HazelcastJsonV
     private static final long serialVersionUID = 1L;
     private static final Logger LOGGER = LoggerFactory.getLogger(AlertingToPostgresMapStore.class);
     private static final int POSTGRES_PORT = 5432;
+    private static final int POOL_SIZE_MAX = 4;
+    private static final String SQL_ARRAY_TYPE = "bigint";
     private static final String SQL_LOADALLKEYS = "SELECT now FROM " + MyConstants.POSTGRES_TABLE_NAME;
-    private static final String SQL_LOAD = "SELECT * FROM " + MyConstants.POSTGRES_TABLE_NAME
-                                        + " WHERE " + MyConstants.POSTGRES_TABLE_KEY_NAME + " = ?";
+    private static final String SQL_LOADALL = "SELECT * FROM " + MyConstants.POSTGRES_TABLE_NAME
+                                        + " WHERE " + MyConstants.POSTGRES_TABLE_KEY_NAME + " = ANY(?)";
+    private static final String SQL_DELETEALL = "DELETE FROM " + MyConstants.POSTGRES_TABLE_NAME
+                                        + " WHERE " + MyConstants.POSTGRES_TABLE_KEY_NAME + " = ANY(?)";
     private static final String[] TABLE_NONKEY_NAMES = new String[] { "code", "provenance", "whence", "volume"};
+    // Alerts are immutable, a re-store after a write-behind retry or failover is a no-op
     private static final String SQL_STORE = "INSERT INTO " + MyConstants.POSTGRES_TABLE_NAME
             + " (" + MyConstants.POSTGRES_TABLE_KEY_NAME
             + " ," + TABLE_NONKEY_NAMES[0]
             + " ," + TABLE_NONKEY_NAMES[1]
             + " ," + TABLE_NONKEY_NAMES[2]
             + " ," + TABLE_NONKEY_NAMES[3]
-            + " ) VALUES(?, ?, ?, ?, ?)";
+            + " ) VALUES(?, ?, ?, ?, ?)"
+            + " ON CONFLICT DO NOTHING";
 
-    private transient Connection connection;
+    private transient HikariDataSource hikariDataSource;
     private transient String prefix;
     private transient String ourProjectProvenance;
 
     /**
-     * <p>Initialization, make a connection to the database.
+     * <p>Initialization, create the connection pool to the database.
      * </p>
      */
     @Override
     public void init(HazelcastInstance hazelcastInstance, Properties properties, String mapName) {
-        this.prefix = "'" + mapName + "'.";
-        this.ourProjectProvenance = properties.getProperty(MyConstants.PROJECT_NAME, "?");
-        LOGGER.trace(this.prefix + ":init() - {}", properties);
-
         String address = this.nullSafeGet(properties, MyConstants.POSTGRES_ADDRESS);
         if (address.indexOf(':') < 0) {
             address = address + ":" + POSTGRES_PORT;
@@ -97,18 +104,48 @@ public class AlertingToPostgresMapStore implements MapStore<Long, HazelcastJsonV
         String url = "jdbc:postgresql://" + address + "/" + database;
 
         Properties connectionProperties = new Properties();
-        connectionProperties.put("user", this.nullSafeGet(properties, MyConstants.POSTGRES_USER));
-        connectionProperties.put("password", this.nullSafeGet(properties, MyConstants.POSTGRES_PASSWORD));
         connectionProperties.put("options", "-c search_path=" + schema);
 
+        this.init(mapName, properties.getProperty(MyConstants.PROJECT_NAME, "?"), url,
+                this.nullSafeGet(properties, MyConstants.POSTGRES_USER),
+                this.nullSafeGet(properties, MyConstants.POSTGRES_PASSWORD),
+                connectionProperties);
+    }
+
+    /**
+     * <p>Create the pool. Connections are created on first use, so an unavailable
+     * database is reported when accessed rather than failing the map.
+     * </p>
+     *
+     * @param mapName For logging
+     * @param ourProjectProvenance Prefix for alerts we should save
+     * @param url JDBC URL
+     * @param user Database user
+     * @param password Database password
+     * @param connectionProperties Driver specific properties
+     */
+    void init(String mapName, String ourProjectProvenance, String url, String user, String password,
+            Properties connectionProperties) {
+        this.prefix = "'" + mapName + "'.";
+        this.ourProjectProvenance = ourProjectProvenance;
+        LOGGER.trace(this.prefix + ":init() - url '{}', {}", url, connectionProperties);
+
         try {
-            this.connection = DriverManager.getConnection(url, connectionProperties);
-            LOGGER.trace(this.prefix + ":init() - connected");
-        } catch (SQLException e) {
-            LOGGER.error(this.prefix + ":init(), DriverManager.getConnection(), url: {}", url);
-            LOGGER.error(this.prefix + ":init(), DriverManager.getConnection(), connectionProperties: {}",
-                    connectionProperties);
-            LOGGER.error(this.prefix + ":init(), DriverManager.getConnection()", e);
+            HikariDataSource tmpHikariDataSource = new HikariDataSource();
+            tmpHikariDataSource.setAutoCommit(false);
+            tmpHikariDataSource.setDataSourceProperties(connectionProperties);
+            tmpHikariDataSource.setJdbcUrl(url);
+            tmpHikariDataSource.setMaximumPoolSize(POOL_SIZE_MAX);
+            tmpHikariDataSource.setMinimumIdle(1);
+            tmpHikariDataSource.setPassword(password);
+            tmpHikariDataSource.setPoolName(this.getClass().getSimpleName() + "-" + mapName);
+            tmpHikariDataSource.setUsername(user);
+            this.hikariDataSource = tmpHikariDataSource;
+            LOGGER.trace(this.prefix + ":init() - pool created");
+        } catch (Exception e) {
+            LOGGER.error(this.prefix + ":init(), url: {}", url);
+            LOGGER.error(this.prefix + ":init(), connectionProperties: {}", connectionProperties);
+            LOGGER.error(this.prefix + ":init()", e);
         }
     }
 
@@ -120,11 +157,11 @@ public class AlertingToPostgresMapStore implements MapStore<Long, HazelcastJsonV
     public void destroy() {
         LOGGER.trace(this.prefix + ":destroy()");
         try {
-            if (this.connection != null) {
-                this.connection.close();
+            if (this.hikariDataSource != null) {
+                this.hikariDataSource.close();
             }
         } catch (Exception e) {
-            LOGGER.error(this.prefix + ":destroy(), this.connection.close()", e);
+            LOGGER.error(this.prefix + ":destroy(), this.hikariDataSource.close()", e);
         }
     }
 
@@ -142,47 +179,45 @@ public class AlertingToPostgresMapStore implements MapStore<Long, HazelcastJsonV
     }
 
     /**
-     * <p>Load a single row for a given primary key.
+     * <p>Load a single row for a given primary key, a one key {@link #loadAll}.
      * </p>
      */
     @Override
-    @SuppressFBWarnings(value = "RCN_REDUNDANT_NULLCHECK_OF_NONNULL_VALUE",
-                    justification = "'resultSet.close()' confuses FindBugs")
     public HazelcastJsonValue load(Long key) {
         LOGGER.trace(this.prefix + "load(): for key '{}': START", key);
 
-        HazelcastJsonValue value = null;
-
-        try (PreparedStatement preparedStatement = this.connection.prepareStatement(SQL_LOAD);) {
-            preparedStatement.setLong(1, key);
-            ResultSet resultSet = preparedStatement.executeQuery();
-            ResultSetMetaData resultSetMetaData = resultSet.getMetaData();
-            while (resultSet.next()) {
-                StringBuffer stringBuffer = new StringBuffer("{");
-                int included = 0;
-                for (int i = 1; i <= resultSetMetaData.getColumnCount(); i++) {
-                    if (!resultSetMetaData.getColumnName(i).equals(MyConstants.POSTGRES_TABLE_KEY_NAME)) {
-                        if (included++ > 0) {
-                            stringBuffer.append(", ");
-                        }
-                        stringBuffer.append("\"").append(resultSetMetaData.getColumnName(i)).append("\" : ");
-                        this.append(stringBuffer, i, resultSet, resultSetMetaData.getColumnType(i));
-                    }
-                }
-                stringBuffer.append("}");
-                value = new HazelcastJsonValue(stringBuffer.toString());
-            }
-
-            resultSet.close();
-        } catch (Exception e) {
-            LOGGER.error(this.prefix + ":load(), for key '" + key + "'", e);
-        }
+        HazelcastJsonValue value = this.loadAll(List.of(key)).get(key);
 
         // Debug not trace as slightly more significant to know loaded key
         LOGGER.debug(this.prefix + "load(): for key '{}': END: value '{}'", key, value);
         return value;
     }
 
+    /**
+     * <p>Build a JSON value from the non-key columns of the current row.
+     * </p>
+     *
+     * @param resultSet Positioned on a row
+     * @param resultSetMetaData
+     * @return
+     * @throws Exception
+     */
+    private HazelcastJsonValue toJson(ResultSet resultSet, ResultSetMetaData resultSetMetaData) throws Exception {
+        StringBuffer stringBuffer = new StringBuffer("{");
+        int included = 0;
+        for (int i = 1; i <= resultSetMetaData.getColumnCount(); i++) {
+            if (!resultSetMetaData.getColumnName(i).equals(MyConstants.POSTGRES_TABLE_KEY_NAME)) {
+                if (included++ > 0) {
+                    stringBuffer.append(", ");
+                }
+                stringBuffer.append("\"").append(resultSetMetaData.getColumnName(i)).append("\" : ");
+                this.append(stringBuffer, i, resultSet, resultSetMetaData.getColumnType(i));
+            }
+        }
+        stringBuffer.append("}");
+        return new HazelcastJsonValue(stringBuffer.toString());
+    }
+
     /**
      * <p>Append a value as JSON.
      * </p>
@@ -210,28 +245,39 @@ public class AlertingToPostgresMapStore implements MapStore<Long, HazelcastJsonV
     }
 
     /**
-     * <p>As we don't expect to load many keys into memory, it's acceptable
-     * to go for the simpler iteration than any bulk load.
+     * <p>Load all requested rows in one query, passing the keys as an array
+     * parameter rather than one query per key.
      * </p>
      */
     @Override
+    @SuppressFBWarnings(value = "RCN_REDUNDANT_NULLCHECK_OF_NONNULL_VALUE",
+                    justification = "'try(' confuses FindBugs")
     public Map<Long, HazelcastJsonValue> loadAll(Collection<Long> keys) {
         int expectedSize = keys.size();
         LOGGER.trace(this.prefix + "loadAll(): for {} key{}: START", expectedSize,
                 (expectedSize == 1 ? "" : "s"));
 
         Map<Long, HazelcastJsonValue> result = new HashMap<>();
-        for (Long key : keys) {
-            HazelcastJsonValue json = null;
-            try {
-                json = this.load(key);
-            } catch (Exception e) {
-                LOGGER.error(this.prefix + "loadAll(): key '" + key + "'", e);
-            }
+        if (expectedSize == 0) {
+            return result;
+        }
+        if (this.hikariDataSource == null) {
+            LOGGER.error(this.prefix + "loadAll(): No connection pool");
+            return result;
+        }
 
-            if (json != null) {
-                result.put(key, json);
+        try (Connection connection = this.hikariDataSource.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_LOADALL);) {
+            preparedStatement.setArray(1, connection.createArrayOf(SQL_ARRAY_TYPE, keys.toArray()));
+            try (ResultSet resultSet = preparedStatement.executeQuery();) {
+                ResultSetMetaData resultSetMetaData = resultSet.getMetaData();
+                while (resultSet.next()) {
+                    result.put(resultSet.getLong(MyConstants.POSTGRES_TABLE_KEY_NAME),
+                            this.toJson(resultSet, resultSetMetaData));
+                }
             }
+        } catch (Exception e) {
+            LOGGER.error(this.prefix + "loadAll(): for " + expectedSize + " keys", e);
         }
 
         if (result.size() != expectedSize) {
@@ -255,17 +301,18 @@ public class AlertingToPostgresMapStore implements MapStore<Long, HazelcastJsonV
         LOGGER.trace(this.prefix + ":loadAllKeys(): START '{}'", SQL_LOADALLKEYS);
 
         List<Long> keys = new ArrayList<>();
-        if (this.connection != null) {
-            try (PreparedStatement preparedStatement = this.connection.prepareStatement(SQL_LOADALLKEYS);
+        if (this.hikariDataSource != null) {
+            try (Connection connection = this.hikariDataSource.getConnection();
+                 PreparedStatement preparedStatement = connection.prepareStatement(SQL_LOADALLKEYS);
                  ResultSet resultSet = preparedStatement.executeQuery();) {
                  while (resultSet.next()) {
                      keys.add(resultSet.getLong(1));
                  }
                } catch (Exception e) {
-                   e.printStackTrace();
+                   LOGGER.error(this.prefix + ":loadAllKeys()", e);
                }
         } else {
-            LOGGER.error(this.prefix + ":loadAllKeys(): No connection");
+            LOGGER.error(this.prefix + ":loadAllKeys(): No connection pool");
         }
 
         int size = keys.size();
@@ -278,89 +325,181 @@ public class AlertingToPostgresMapStore implements MapStore<Long, HazelcastJsonV
      * <p>Save a row to the database. Since CDC filters out our changes before loading,
      * anything passed to this method must be a change that originated in Hazelcast.
      * </p>
+     * <p>Used for write-through, so failures are logged rather than failing the
+     * map operation.
+     * </p>
      */
     @Override
-    @SuppressFBWarnings(value = {"RCN_REDUNDANT_NULLCHECK_OF_NONNULL_VALUE", "REC_CATCH_EXCEPTION"},
-                    justification = "'try(' confuses FindBugs. JSON can throw exceptions")
     public void store(Long key, HazelcastJsonValue value) {
         LOGGER.trace(this.prefix + "store(): for key '{}' value '{}': START",
                 key, value);
 
         try {
-            JSONObject jsonObject = new JSONObject(value.toString());
-            String provenance = jsonObject.getString("provenance");
-            if (provenance == null) {
-                provenance = "";
-            }
+            int count = this.storeBatch(Map.of(key, value));
+            // Debug, not trace, as storage is slightly more significant.
+            LOGGER.debug(this.prefix + "store(): for key '{}' value '{}': inserted {}: END",
+                    key, value, count);
+        } catch (Exception e) {
+            LOGGER.error(this.prefix + ":store(), for key '" + key + "'", e);
+        }
+    }
 
-            if (!provenance.startsWith(this.ourProjectProvenance)) {
-                LOGGER.error(this.prefix + "store(): for key '{}' value '{}': don't save provenance '{}': END",
-                        key, value, provenance);
-            } else {
-                try (PreparedStatement preparedStatement = this.connection.prepareStatement(SQL_STORE);) {
-                    preparedStatement.setLong(1, key);
-                    int offset = 2;
-                    for (int i = 0; i < TABLE_NONKEY_NAMES.length; i++) {
-                        if ("provenance".equals(TABLE_NONKEY_NAMES[i])) {
-                            // Append module to provenance chain
-                            preparedStatement.setString(i + offset, provenance + ":"
-                                    + this.getClass().getSimpleName());
-                        } else {
-                            if ("volume".equals(TABLE_NONKEY_NAMES[i])) {
-                                BigDecimal volume
-                                    = new BigDecimal(jsonObject.get(TABLE_NONKEY_NAMES[i]).toString());
-                                preparedStatement.setBigDecimal(i + offset, volume);
-                            } else {
-                                preparedStatement.setString(i + offset, jsonObject.getString(TABLE_NONKEY_NAMES[i]));
-                            }
-                        }
-                    }
+    /**
+     * <p>Save rows to the database as one JDBC batch in one transaction, used
+     * by write-behind. A failure is rethrown so Hazelcast retries the batch, and
+     * then falls back to {@link #store} for individual entries.
+     * </p>
+     */
+    @Override
+    public void storeAll(Map<Long, HazelcastJsonValue> map) {
+        LOGGER.trace(this.prefix + "storeAll(): for {} key{}: START", map.size(),
+                (map.size() == 1 ? "" : "s"));
 
-                    int count = preparedStatement.executeUpdate();
+        try {
+            int count = this.storeBatch(map);
+            // Debug, not trace, as storage is slightly more significant.
+            LOGGER.debug(this.prefix + "storeAll(): for {} key{}: inserted {}: END", map.size(),
+                    (map.size() == 1 ? "" : "s"), count);
+        } catch (Exception e) {
+            LOGGER.error(this.prefix + ":storeAll(), for " + map.size() + " keys", e);
+            throw new RuntimeException(e);
+        }
+    }
 
-                    if (count == 1) {
-                        // Debug, not trace, as storage is slightly more significant.
-                        LOGGER.debug(this.prefix + "store(): for key '{}' value '{}': END",
-                                key, value);
-                    } else {
-                        LOGGER.error(this.prefix + "store(): for key '{}' value '{}': updated {} rows: END",
-                                key, value, count);
+    /**
+     * <p>Insert alerts that originated in this project, skipping others.
+     * Rows already present are left alone.
+     * </p>
+     *
+     * @param map Alerts to save
+     * @return How many rows were inserted
+     * @throws Exception If the batch fails, having rolled back
+     */
+    @SuppressFBWarnings(value = "RCN_REDUNDANT_NULLCHECK_OF_NONNULL_VALUE",
+                    justification = "'try(' confuses FindBugs")
+    private int storeBatch(Map<Long, HazelcastJsonValue> map) throws Exception {
+        if (this.hikariDataSource == null) {
+            throw new SQLException("No connection pool");
+        }
+
+        try (Connection connection = this.hikariDataSource.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_STORE);) {
+            int batched = 0;
+            for (Map.Entry<Long, HazelcastJsonValue> entry : map.entrySet()) {
+                if (this.addBatch(preparedStatement, entry.getKey(), entry.getValue())) {
+                    batched++;
+                }
+            }
+            if (batched == 0) {
+                return 0;
+            }
+
+            try {
+                int count = 0;
+                for (int updated : preparedStatement.executeBatch()) {
+                    if (updated > 0) {
+                        count += updated;
                     }
                 }
+                connection.commit();
+                return count;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
             }
-        } catch (Exception e) {
-            LOGGER.error(this.prefix + ":store(), for key '" + key + "'", e);
         }
     }
 
     /**
-     * <p>Should not be called as map store not configured in write-behind
-     * mode, will get only single key {@link #store} calls.
+     * <p>Add an alert to the insert batch, if it is one we should save.
      * </p>
+     *
+     * @param preparedStatement For {@link #SQL_STORE}
+     * @param key
+     * @param value
+     * @return True if added
+     * @throws Exception JSON or SQL problems
      */
-    @Override
-    public void storeAll(Map<Long, HazelcastJsonValue> map) {
-        LOGGER.error(this.prefix + "storeAll(): for {} key{}: UNEXPECTED, NO IMPLEMENTATION", map.size(),
-                (map.size() == 1 ? "" : "s"));
+    private boolean addBatch(PreparedStatement preparedStatement, Long key, HazelcastJsonValue value)
+            throws Exception {
+        JSONObject jsonObject = new JSONObject(value.toString());
+        String provenance = jsonObject.getString("provenance");
+        if (provenance == null) {
+            provenance = "";
+        }
+
+        if (!provenance.startsWith(this.ourProjectProvenance)) {
+            LOGGER.error(this.prefix + "store(): for key '{}' value '{}': don't save provenance '{}'",
+                    key, value, provenance);
+            return false;
+        }
+
+        preparedStatement.setLong(1, key);
+        int offset = 2;
+        for (int i = 0; i < TABLE_NONKEY_NAMES.length; i++) {
+            if ("provenance".equals(TABLE_NONKEY_NAMES[i])) {
+                // Append module to provenance chain
+                preparedStatement.setString(i + offset, provenance + ":"
+                        + this.getClass().getSimpleName());
+            } else {
+                if ("volume".equals(TABLE_NONKEY_NAMES[i])) {
+                    BigDecimal volume
+                        = new BigDecimal(jsonObject.get(TABLE_NONKEY_NAMES[i]).toString());
+                    preparedStatement.setBigDecimal(i + offset, volume);
+                } else {
+                    preparedStatement.setString(i + offset, jsonObject.getString(TABLE_NONKEY_NAMES[i]));
+                }
+            }
+        }
+        preparedStatement.addBatch();
+        return true;
     }
 
     /**
-     * <p>Should not be called, don't wish to delete store of alerts from database.
+     * <p>Delete a single row, a one key {@link #deleteAll}.
      * </p>
      */
     @Override
     public void delete(Long key) {
-        LOGGER.error(this.prefix + "delete(): for key '{}': UNEXPECTED, NO IMPLEMENTATION", key);
+        this.deleteAll(List.of(key));
     }
 
     /**
-     * <p>Should not be called, don't wish to delete store of alerts from database.
+     * <p>Delete all requested rows in one statement, passing the keys as
+     * an array parameter. Failures are rethrown for write-behind to retry.
      * </p>
      */
     @Override
+    @SuppressFBWarnings(value = "RCN_REDUNDANT_NULLCHECK_OF_NONNULL_VALUE",
+                    justification = "'try(' confuses FindBugs")
     public void deleteAll(Collection<Long> keys) {
-        LOGGER.error(this.prefix + "deleteAll(): for {} key{}: UNEXPECTED, NO IMPLEMENTATION", keys.size(),
-                (keys.size() == 1 ? "" : "s"));
+        int size = keys.size();
+        LOGGER.trace(this.prefix + "deleteAll(): for {} key{}: START", size, (size == 1 ? "" : "s"));
+        if (size == 0) {
+            return;
+        }
+        if (this.hikariDataSource == null) {
+            LOGGER.error(this.prefix + "deleteAll(): No connection pool");
+            return;
+        }
+
+        try (Connection connection = this.hikariDataSource.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_DELETEALL);) {
+            preparedStatement.setArray(1, connection.createArrayOf(SQL_ARRAY_TYPE, keys.toArray()));
+            try {
+                int count = preparedStatement.executeUpdate();
+                connection.commit();
+                // Debug, not trace, as deletion is slightly more significant.
+                LOGGER.debug(this.prefix + "deleteAll(): for {} key{}: deleted {}: END", size,
+                        (size == 1 ? "" : "s"), count);
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (Exception e) {
+            LOGGER.error(this.prefix + ":deleteAll(), for " + size + " keys", e);
+            throw new RuntimeException(e);
+        }
     }
 
 }
@@ -22,8 +22,11 @@ import java.util.Objects;
 import org.slf4j.Logger;
 import org.slf4j.Marker;
 import org.slf4j.event.Level;
+import org.slf4j.helpers.FormattingTuple;
+import org.slf4j.helpers.MessageFormatter;
 
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.flakeidgen.FlakeIdGenerator;
 import com.hazelcast.map.IMap;
 import com.hazelcast.nio.serialization.genericrecord.GenericRecord;
 import com.hazelcast.nio.serialization.genericrecord.GenericRecordBuilder;
@@ -35,7 +38,11 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
  * using {@link com.hazelcast.nio.serialization.genericrecord.GenericRecord GenericRecord}.
  * Most of the work is done by {@link #saveToHazelcast(Level, String)}.
  * </p>
- * <p>There is no formatting applied to the message.
+ * <p>Messages are formatted with the usual "<code>{}</code>" placeholders. Markers
+ * are ignored.
+ * </p>
+ * <p>If given an {@link IMapLoggerBuffer} the write is asynchronous and batched,
+ * otherwise the caller waits for each write.
  * </p>
  */
 @SuppressWarnings("checkstyle:MethodCount")
@@ -49,15 +56,22 @@ public class IMapLogger implements Logger {
     private final HazelcastInstance hazelcastInstance;
     private final String socketAddress;
     private final Level level;
+    private final IMapLoggerBuffer iMapLoggerBuffer;
 
     private IMap<Long, GenericRecord> mySqlSlf4jMap;
+    private FlakeIdGenerator flakeIdGenerator;
 
-    @SuppressFBWarnings(value = "EI_EXPOSE_REP2", justification = "HazelcastInstance is thread-safe")
     public IMapLogger(String arg0, HazelcastInstance arg1, Level arg2) {
+        this(arg0, arg1, arg2, null);
+    }
+
+    @SuppressFBWarnings(value = "EI_EXPOSE_REP2", justification = "HazelcastInstance and buffer are thread-safe")
+    public IMapLogger(String arg0, HazelcastInstance arg1, Level arg2, IMapLoggerBuffer arg3) {
         this.name = arg0;
         this.hazelcastInstance = arg1;
         this.socketAddress = hazelcastInstance.getLocalEndpoint().getSocketAddress().toString().substring(1);
         this.level = arg2;
+        this.iMapLoggerBuffer = arg3;
     }
 
     private static String nullSafeTruncate(Object input, int max) {
@@ -65,14 +79,20 @@ public class IMapLogger implements Logger {
         return output.length() > max ? output.substring(0, max) : output;
     }
 
-    private void saveToHazelcast(Level arg0, String arg1) {
-        // To give map loader a chance to attach, defer map access until needed
-        if (this.mySqlSlf4jMap == null) {
-            this.mySqlSlf4jMap = hazelcastInstance.getMap(MyConstants.IMAP_NAME_MYSQL_SLF4J);
+    /**
+     * <p>Apply "<code>{}</code>" substitution, and append any trailing exception's
+     * message as for the "{@code (String, Throwable)}" methods.
+     * </p>
+     */
+    private static String format(FormattingTuple formattingTuple) {
+        if (formattingTuple.getThrowable() == null) {
+            return formattingTuple.getMessage();
+        } else {
+            return formattingTuple.getMessage() + ":" + formattingTuple.getThrowable().getMessage();
         }
+    }
 
-        String hashStr = nullSafeTruncate(this.socketAddress, FORTY_EIGHT) + LocalDateTime.now();
-        long hash = hashStr.hashCode();
+    private void saveToHazelcast(Level arg0, String arg1) {
         /*TODO Once MySql compound key supported by Data Link
         GenericRecord key = GenericRecordBuilder.compact(MyConstants.IMAP_NAME_MYSQL_SLF4J + ".key")
                 .setString(MyConstants.MYSQL_DATASTORE_TABLE_COLUMN0, nullSafeTruncate(this.socketAddress, FORTY_EIGHT))
@@ -105,8 +125,19 @@ public class IMapLogger implements Logger {
                         nullSafeTruncate(this.name, FORTY_EIGHT))
                 .build();
 
+        if (this.iMapLoggerBuffer != null) {
+            this.iMapLoggerBuffer.offer(value);
+            return;
+        }
+
+        // To give map loader a chance to attach, defer map access until needed
+        if (this.mySqlSlf4jMap == null) {
+            this.mySqlSlf4jMap = hazelcastInstance.getMap(MyConstants.IMAP_NAME_MYSQL_SLF4J);
+            this.flakeIdGenerator = hazelcastInstance.getFlakeIdGenerator(MyConstants.IMAP_NAME_MYSQL_SLF4J);
+        }
+
         //TODO Once GenericRecord as key is supported
-        this.mySqlSlf4jMap.set(hash, value);
+        this.mySqlSlf4jMap.set(this.flakeIdGenerator.newId(), value);
     }
 
     /**
@@ -133,17 +164,23 @@ public class IMapLogger implements Logger {
 
     @Override
     public void trace(String format, Object arg) {
-        System.out.println(this.getClass().getSimpleName() + ": Unimplemented method invoked");
+        if (this.isTraceEnabled()) {
+            this.saveToHazelcast(Level.TRACE, format(MessageFormatter.format(format, arg)));
+        }
     }
 
     @Override
     public void trace(String format, Object arg1, Object arg2) {
-        System.out.println(this.getClass().getSimpleName() + ": Unimplemented method invoked");
+        if (this.isTraceEnabled()) {
+            this.saveToHazelcast(Level.TRACE, format(MessageFormatter.format(format, arg1, arg2)));
+        }
     }
 
     @Override
     public void trace(String format, Object... arguments) {
-        System.out.println(this.getClass().getSimpleName() + ": Unimplemented method invoked");
+        if (this.isTraceEnabled()) {
+            this.saveToHazelcast(Level.TRACE, format(MessageFormatter.arrayFormat(format, arguments)));
+        }
     }
 
     @Override
@@ -155,33 +192,32 @@ public class IMapLogger implements Logger {
 
     @Override
     public boolean isTraceEnabled(Marker marker) {
-        System.out.println(this.getClass().getSimpleName() + ": Unimplemented method invoked");
-        return false;
+        return this.isTraceEnabled();
     }
 
     @Override
     public void trace(Marker marker, String msg) {
-        System.out.println(this.getClass().getSimpleName() + ": Unimplemented method invoked");
+        this.trace(msg);
     }
 
     @Override
     public void trace(Marker marker, String format, Object arg) {
-        System.out.println(this.getClass().getSimpleName() + ": Unimplemented method invoked");
+        this.trace(format, arg);
     }
 
     @Override
     public void trace(Marker marker, String format, Object arg1, Object arg2) {
-        System.out.println(this.getClass().getSimpleName() + ": Unimplemented method invoked");
+        this.trace(format, arg1, arg2);
     }
 
     @Override
-    public void trace(Marker marker, String format, Object... argArray) {
-        System.out.println(this.getClass().getSimpleName() + ": Unimplemented method invoked");
+    public void trace(Marker marker, String format, Object... arguments) {
+        this.trace(format, arguments);
     }
 
     @Override
     public void trace(Marker marker, String msg, Throwable t) {
-        System.out.println(this.getClass().getSimpleName() + ": Unimplemented method invoked");
+        this.trace(msg, t);
     }
 
     @Override
@@ -198,17 +234,23 @@ public class IMapLogger implements Logger {
 
     @Override
     public void debug(String format, Object arg) {
-        System.out.println(this.getClass().getSimpleName() + ": Unimplemented method invoked");
+        if (this.isDebugEnabled()) {
+            this.saveToHazelcast(Level.DEBUG, format(MessageFormatter.format(format, arg)));
+        }
     }
 
     @Override
     public void debug(String format, Object arg1, Object arg2) {
-        System.out.println(this.getClass().getSimpleName() + ": Unimplemented method invoked");
+        if (this.isDebugEnabled()) {
+            this.saveToHazelcast(Level.DEBUG, format(MessageFormatter.format(format, arg1, arg2)));
+        }
     }
 
     @Override
     public void debug(String format, Object... arguments) {
-        System.out.println(this.getClass().getSimpleName() + ": Unimplemented method invoked");
+        if (this.isDebugEnabled()) {
+            this.saveToHazelcast(Level.DEBUG, format(MessageFormatter.arrayFormat(format, arguments)));
+        }
     }
 
     @Override
@@ -220,33 +262,32 @@ public class IMapLogger implements Logger {
 
     @Override
     public boolean isDebugEnabled(Marker marker) {
-        System.out.println(this.getClass().getSimpleName() + ": Unimplemented method invoked");
-        return false;
+        return this.isDebugEnabled();
     }
 
     @Override
     public void debug(Marker marker, String msg) {
-        System.out.println(this.getClass().getSimpleName() + ": Unimplemented method invoked");
+        this.debug(msg);
     }
 
     @Override
     public void debug(Marker marker, String format, Object arg) {
-        System.out.println(this.getClass().getSimpleName() + ": Unimplemented method invoked");
+        this.debug(format, arg);
     }
 
     @Override
     public void debug(Marker marker, String format, Object arg1, Object arg2) {
-        System.out.println(this.getClass().getSimpleName() + ": Unimplemented method invoked");
+        this.debug(format, arg1, arg2);
     }
 
     @Override
     public void debug(Marker marker, String format, Object... arguments) {
-        System.out.println(this.getClass().getSimpleName() + ": Unimplemented method invoked");
+        this.debug(format, arguments);
     }
 
     @Override
     public void debug(Marker marker, String msg, Throwable t) {
-        System.out.println(this.getClass().getSimpleName() + ": Unimplemented method invoked");
+        this.debug(msg, t);
     }
 
     @Override
@@ -263,17 +304,23 @@ public class IMapLogger implements Logger {
 
     @Override
     public void info(String format, Object arg) {
-        System.out.println(this.getClass().getSimpleName() + ": Unimplemented method invoked");
+        if (this.isInfoEnabled()) {
+            this.saveToHazelcast(Level.INFO, format(MessageFormatter.format(format, arg)));
+        }
     }
 
     @Override
     public void info(String format, Object arg1, Object arg2) {
-        System.out.println(this.getClass().getSimpleName() + ": Unimplemented method invoked");
+        if (this.isInfoEnabled()) {
+            this.saveToHazelcast(Level.INFO, format(MessageFormatter.format(format, arg1, arg2)));
+        }
     }
 
     @Override
     public void info(String format, Object... arguments) {
-        System.out.println(this.getClass().getSimpleName() + ": Unimplemented method invoked");
+        if (this.isInfoEnabled()) {
+            this.saveToHazelcast(Level.INFO, format(MessageFormatter.arrayFormat(format, arguments)));
+        }
     }
 
     @Override
@@ -285,33 +332,32 @@ public class IMapLogger implements Logger {
 
     @Override
     public boolean isInfoEnabled(Marker marker) {
-        System.out.println(this.getClass().getSimpleName() + ": Unimplemented method invoked");
-        return false;
+        return this.isInfoEnabled();
     }
 
     @Override
     public void info(Marker marker, String msg) {
-        System.out.println(this.getClass().getSimpleName() + ": Unimplemented method invoked");
+        this.info(msg);
     }
 
     @Override
     public void info(Marker marker, String format, Object arg) {
-        System.out.println(this.getClass().getSimpleName() + ": Unimplemented method invoked");
+        this.info(format, arg);
     }
 
     @Override
     public void info(Marker marker, String format, Object arg1, Object arg2) {
-        System.out.println(this.getClass().getSimpleName() + ": Unimplemented method invoked");
+        this.info(format, arg1, arg2);
     }
 
     @Override
     public void info(Marker marker, String format, Object... arguments) {
-        System.out.println(this.getClass().getSimpleName() + ": Unimplemented method invoked");
+        this.info(format, arguments);
     }
 
     @Override
     public void info(Marker marker, String msg, Throwable t) {
-        System.out.println(this.getClass().getSimpleName() + ": Unimplemented method invoked");
+        this.info(msg, t);
     }
 
     @Override
@@ -328,17 +374,23 @@ public class IMapLogger implements Logger {
 
     @Override
     public void warn(String format, Object arg) {
-        System.out.println(this.getClass().getSimpleName() + ": Unimplemented method invoked");
+        if (this.isWarnEnabled()) {
+            this.saveToHazelcast(Level.WARN, format(MessageFormatter.format(format, arg)));
+        }
     }
 
     @Override
-    public void warn(String format, Object... arguments) {
-        System.out.println(this.getClass().getSimpleName() + ": Unimplemented method invoked");
+    public void warn(String format, Object arg1, Object arg2) {
+        if (this.isWarnEnabled()) {
+            this.saveToHazelcast(Level.WARN, format(MessageFormatter.format(format, arg1, arg2)));
+        }
     }
 
     @Override
-    public void warn(String format, Object arg1, Object arg2) {
-        System.out.println(this.getClass().getSimpleName() + ": Unimplemented method invoked");
+    public void warn(String format, Object... arguments) {
+        if (this.isWarnEnabled()) {
+            this.saveToHazelcast(Level.WARN, format(MessageFormatter.arrayFormat(format, arguments)));
+        }
     }
 
     @Override
@@ -350,33 +402,32 @@ public class IMapLogger implements Logger {
 
     @Override
     public boolean isWarnEnabled(Marker marker) {
-        System.out.println(this.getClass().getSimpleName() + ": Unimplemented method invoked");
-        return false;
+        return this.isWarnEnabled();
     }
 
     @Override
     public void warn(Marker marker, String msg) {
-        System.out.println(this.getClass().getSimpleName() + ": Unimplemented method invoked");
+        this.warn(msg);
     }
 
     @Override
     public void warn(Marker marker, String format, Object arg) {
-        System.out.println(this.getClass().getSimpleName() + ": Unimplemented method invoked");
+        this.warn(format, arg);
     }
 
     @Override
     public void warn(Marker marker, String format, Object arg1, Object arg2) {
-        System.out.println(this.getClass().getSimpleName() + ": Unimplemented method invoked");
+        this.warn(format, arg1, arg2);
     }
 
     @Override
     public void warn(Marker marker, String format, Object... arguments) {
-        System.out.println(this.getClass().getSimpleName() + ": Unimplemented method invoked");
+        this.warn(format, arguments);
     }
 
     @Override
     public void warn(Marker marker, String msg, Throwable t) {
-        System.out.println(this.getClass().getSimpleName() + ": Unimplemented method invoked");
+        this.warn(msg, t);
     }
 
     @Override
@@ -393,17 +444,23 @@ public class IMapLogger implements Logger {
 
     @Override
     public void error(String format, Object arg) {
-        System.out.println(this.getClass().getSimpleName() + ": Unimplemented method invoked");
+        if (this.isErrorEnabled()) {
+            this.saveToHazelcast(Level.ERROR, format(MessageFormatter.format(format, arg)));
+        }
     }
 
     @Override
     public void error(String format, Object arg1, Object arg2) {
-        System.out.println(this.getClass().getSimpleName() + ": Unimplemented method invoked");
+        if (this.isErrorEnabled()) {
+            this.saveToHazelcast(Level.ERROR, format(MessageFormatter.format(format, arg1, arg2)));
+        }
     }
 
     @Override
     public void error(String format, Object... arguments) {
-        System.out.println(this.getClass().getSimpleName() + ": Unimplemented method invoked");
+        if (this.isErrorEnabled()) {
+            this.saveToHazelcast(Level.ERROR, format(MessageFormatter.arrayFormat(format, arguments)));
+        }
     }
 
     @Override
@@ -415,33 +472,32 @@ public class IMapLogger implements Logger {
 
     @Override
     public boolean isErrorEnabled(Marker marker) {
-        System.out.println(this.getClass().getSimpleName() + ": Unimplemented method invoked");
-        return false;
+        return this.isErrorEnabled();
     }
 
     @Override
     public void error(Marker marker, String msg) {
-        System.out.println(this.getClass().getSimpleName() + ": Unimplemented method invoked");
+        this.error(msg);
     }
 
     @Override
     public void error(Marker marker, String format, Object arg) {
-        System.out.println(this.getClass().getSimpleName() + ": Unimplemented method invoked");
+        this.error(format, arg);
     }
 
     @Override
     public void error(Marker marker, String format, Object arg1, Object arg2) {
-        System.out.println(this.getClass().getSimpleName() + ": Unimplemented method invoked");
+        this.error(format, arg1, arg2);
     }
 
     @Override
     public void error(Marker marker, String format, Object... arguments) {
-        System.out.println(this.getClass().getSimpleName() + ": Unimplemented method invoked");
+        this.error(format, arguments);
     }
 
     @Override
     public void error(Marker marker, String msg, Throwable t) {
-        System.out.println(this.getClass().getSimpleName() + ": Unimplemented method invoked");
+        this.error(msg, t);
     }
 
 }
@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hazelcast.platform.demos.banking.transactionmonitor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.LifecycleEvent.LifecycleState;
+import com.hazelcast.flakeidgen.FlakeIdGenerator;
+import com.hazelcast.map.IMap;
+import com.hazelcast.nio.serialization.genericrecord.GenericRecord;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+/**
+ * <p>A bounded buffer between {@link IMapLogger} and the logging {@link IMap},
+ * so a log call costs a queue insert rather than a network round trip.
+ * </p>
+ * <p>A background thread drains the buffer and writes batches with
+ * {@link IMap#putAllAsync(Map)}, waiting for each batch before the next
+ * so only one is in flight. Keys come from a {@link FlakeIdGenerator}, unique
+ * across members and clients as each embeds a timestamp and node id.
+ * </p>
+ * <p>When the buffer is full, log lines are dropped and counted, or if
+ * configured to block the caller waits for space.
+ * </p>
+ */
+public class IMapLoggerBuffer implements Runnable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(IMapLoggerBuffer.class);
+    static final int CAPACITY = 8_192;
+    static final int BATCH_SIZE = 512;
+    private static final long POLL_MILLIS = 100L;
+    private static final long PUT_ALL_TIMEOUT_SECONDS = 30L;
+    private static final long STOP_TIMEOUT_MILLIS = 5_000L;
+
+    private final boolean block;
+    private final BatchWriter batchWriter;
+    private final BlockingQueue<GenericRecord> queue = new ArrayBlockingQueue<>(CAPACITY);
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    @SuppressFBWarnings(value = "SC_START_IN_CTOR", justification = "thread only uses final fields")
+    public IMapLoggerBuffer(HazelcastInstance arg0, boolean arg1) {
+        this(arg1, new IMapBatchWriter(arg0));
+        this.start();
+
+        // Drain while the instance can still accept the writes
+        arg0.getLifecycleService().addLifecycleListener(event -> {
+            if (event.getState() == LifecycleState.SHUTTING_DOWN) {
+                this.stop();
+            }
+        });
+    }
+
+    /**
+     * <p>Not started, for testing, so the buffer can be filled first.
+     * </p>
+     *
+     * @param arg0 Block the caller when full, or drop
+     * @param arg1 Where batches go
+     */
+    IMapLoggerBuffer(boolean arg0, BatchWriter arg1) {
+        this.block = arg0;
+        this.batchWriter = arg1;
+        this.thread = new Thread(this, this.getClass().getSimpleName());
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * <p>Start draining.
+     * </p>
+     */
+    void start() {
+        this.thread.start();
+    }
+
+    /**
+     * <p>Called on the logging thread, so must be fast.
+     * </p>
+     *
+     * @param value Log line, key is assigned when written
+     */
+    public void offer(GenericRecord value) {
+        if (!this.running) {
+            this.dropped.incrementAndGet();
+            return;
+        }
+        if (this.block) {
+            try {
+                this.queue.put(value);
+            } catch (InterruptedException e) {
+                this.dropped.incrementAndGet();
+                Thread.currentThread().interrupt();
+            }
+        } else {
+            if (!this.queue.offer(value)) {
+                this.dropped.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * <p>Write batches until stopped and the buffer is empty.
+     * </p>
+     */
+    @Override
+    public void run() {
+        List<GenericRecord> batch = new ArrayList<>(BATCH_SIZE);
+        while (this.running || !this.queue.isEmpty()) {
+            try {
+                GenericRecord first = this.queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    this.queue.drainTo(batch, BATCH_SIZE - 1);
+                    this.write(batch);
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        LOGGER.info("END: written {}, dropped {}, failed {}", this.written.get(), this.dropped.get(),
+                this.failed.get());
+    }
+
+    /**
+     * <p>Write a batch, counting it as failed rather than retrying, as logging
+     * should not build up a backlog if the cluster is in difficulty.
+     * </p>
+     *
+     * @param batch
+     * @throws InterruptedException
+     */
+    private void write(List<GenericRecord> batch) throws InterruptedException {
+        try {
+            this.batchWriter.write(batch);
+            this.written.addAndGet(batch.size());
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            if (this.failed.getAndAdd(batch.size()) == 0) {
+                // First only, as subsequent are likely the same cause
+                LOGGER.error("write(), batch of " + batch.size(), e);
+            }
+        }
+    }
+
+    /**
+     * <p>Stop accepting, and wait briefly for the buffer to be written.
+     * </p>
+     */
+    public void stop() {
+        this.running = false;
+        try {
+            this.thread.join(STOP_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public long getDropped() {
+        return this.dropped.get();
+    }
+
+    public long getFailed() {
+        return this.failed.get();
+    }
+
+    public long getWritten() {
+        return this.written.get();
+    }
+
+    /**
+     * <p>Writes one batch, returning when it is written.
+     * </p>
+     */
+    interface BatchWriter {
+        void write(List<GenericRecord> batch) throws Exception;
+    }
+
+    /**
+     * <p>Writes to the logging map, with keys from a {@link FlakeIdGenerator}.
+     * </p>
+     */
+    private static class IMapBatchWriter implements BatchWriter {
+        private final HazelcastInstance hazelcastInstance;
+        private IMap<Long, GenericRecord> mySqlSlf4jMap;
+        private FlakeIdGenerator flakeIdGenerator;
+
+        @SuppressFBWarnings(value = "EI_EXPOSE_REP2", justification = "HazelcastInstance is thread-safe")
+        IMapBatchWriter(HazelcastInstance arg0) {
+            this.hazelcastInstance = arg0;
+        }
+
+        @Override
+        public void write(List<GenericRecord> batch) throws Exception {
+            // To give map loader a chance to attach, defer map access until needed
+            if (this.mySqlSlf4jMap == null) {
+                this.mySqlSlf4jMap = this.hazelcastInstance.getMap(MyConstants.IMAP_NAME_MYSQL_SLF4J);
+                this.flakeIdGenerator = this.hazelcastInstance.getFlakeIdGenerator(MyConstants.IMAP_NAME_MYSQL_SLF4J);
+            }
+
+            Map<Long, GenericRecord> entries = new HashMap<>();
+            for (GenericRecord value : batch) {
+                entries.put(this.flakeIdGenerator.newId(), value);
+            }
+            this.mySqlSlf4jMap.putAllAsync(entries).toCompletableFuture().get(PUT_ALL_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+}
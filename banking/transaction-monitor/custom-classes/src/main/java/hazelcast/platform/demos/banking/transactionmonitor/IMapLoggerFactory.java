@@ -31,11 +31,17 @@ import com.hazelcast.core.HazelcastInstance;
  * <p>Provides an instance of an {@link IMapLogger}, pre-configured with
  * it a reference to its Hazelcast instance.
  * </p>
+ * <p>Unless "{@code -Dmy.imap.logger.async=false}", loggers share one
+ * {@link IMapLoggerBuffer} so logging does not wait on the cluster. When the
+ * buffer is full lines are dropped, or with "{@code -Dmy.imap.logger.block=true}"
+ * the caller waits.
+ * </p>
  */
 public class IMapLoggerFactory implements ILoggerFactory {
 
     private static HazelcastInstance hazelcastInstance;
     private static Level level = Level.INFO;
+    private static IMapLoggerBuffer iMapLoggerBuffer;
 
     /**
      * <p>In normal usage there will only be one Hazelcast instance in the current JVM,
@@ -51,6 +57,10 @@ public class IMapLoggerFactory implements ILoggerFactory {
             if (instances == 1) {
                 hazelcastInstance = serverInstances.iterator().hasNext()
                         ? serverInstances.iterator().next() : clientInstances.iterator().next();
+                if (Boolean.parseBoolean(System.getProperty(MyConstants.IMAP_LOGGER_ASYNC_KEY, "true"))) {
+                    iMapLoggerBuffer = new IMapLoggerBuffer(hazelcastInstance,
+                            Boolean.getBoolean(MyConstants.IMAP_LOGGER_BLOCK_KEY));
+                }
             } else {
                 Logger logger = LoggerFactory.getLogger(klass);
                 logger.error("Hazelcast Instances found: {} instead of 1, default to standard logger",
@@ -59,7 +69,7 @@ public class IMapLoggerFactory implements ILoggerFactory {
             }
         }
 
-        return new IMapLogger(klass.getSimpleName(), hazelcastInstance, level);
+        return new IMapLogger(klass.getSimpleName(), hazelcastInstance, level, iMapLoggerBuffer);
     }
 
     public static void setLevel(Level arg0) {
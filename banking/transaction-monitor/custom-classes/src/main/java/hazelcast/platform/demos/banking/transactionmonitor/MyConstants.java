@@ -69,6 +69,9 @@ public class MyConstants {
     // Table name should match "init.sql" in Postgres module.
     public static final String POSTGRES_TABLE_NAME = "alerts_log";
     public static final String POSTGRES_TABLE_KEY_NAME = "now";
+    // Write-behind delay for alerts MapStore, overridden by system property, zero for write-through
+    public static final String POSTGRES_WRITE_DELAY_SECONDS_KEY = "my.postgres.write.delay.seconds";
+    public static final int POSTGRES_WRITE_DELAY_SECONDS_DEFAULT = 1;
     public static final String PROJECT_MODULE = "my.project.module";
     public static final String PROJECT_NAME = "my.project.name";
     // Label used on MapStore saved, so can later identify change source
@@ -76,6 +79,22 @@ public class MyConstants {
     public static final String PULSAR_CONFIG_KEY = "my.pulsar.address";
     public static final String PULSAR_TOPIC_NAME_TRANSACTIONS = "pulsar_transactions";
     public static final String PULSAR_OR_KAFKA_KEY = "my.pulsar.or.kafka";
+    // Pulsar source batch receive and per member parallelism, overridden by system properties
+    public static final String PULSAR_BATCH_MAX_KEY = "my.pulsar.batch.max";
+    public static final int PULSAR_BATCH_MAX_DEFAULT = 1_000;
+    public static final String PULSAR_BATCH_TIMEOUT_MILLIS_KEY = "my.pulsar.batch.timeout.millis";
+    public static final int PULSAR_BATCH_TIMEOUT_MILLIS_DEFAULT = 50;
+    public static final String PULSAR_LOCAL_PARALLELISM_KEY = "my.pulsar.local.parallelism";
+    public static final int PULSAR_LOCAL_PARALLELISM_DEFAULT = 1;
+    public static final String TRANSACTION_FORMAT_KEY = "my.transaction.format";
+    // Transactions retention, overridden by system properties, zero for no expiry or eviction, no directory for no archive
+    public static final String TRANSACTIONS_ARCHIVE_DIR_KEY = "my.transactions.archive.dir";
+    // Index definitions for transactions, such as "HASH:symbol;SORTED:timestamp", default is HASH on the flavor's key
+    public static final String TRANSACTIONS_INDEXES_KEY = "my.transactions.indexes";
+    public static final String TRANSACTIONS_MAX_SIZE_PER_NODE_KEY = "my.transactions.max.size.per.node";
+    public static final int TRANSACTIONS_MAX_SIZE_PER_NODE_DEFAULT = 0;
+    public static final String TRANSACTIONS_TTL_SECONDS_KEY = "my.transactions.ttl.seconds";
+    public static final int TRANSACTIONS_TTL_SECONDS_DEFAULT = 0;
     public static final String TRANSACTION_MONITOR_FLAVOR = "my.transaction-monitor.flavor";
     public static final String USE_HZ_CLOUD = "use.hz.cloud";
 
@@ -178,15 +197,50 @@ public class MyConstants {
     public static final String PERSPECTIVE_FIELD_SYMBOL = "symbol";
     public static final String PERSPECTIVE_JSON_KEY = "key";
     public static final String PERSPECTIVE_JSON_DERIVED = "derived";
+    // PerspectiveUpdater, overridden by system properties. Keys are a CSV list, else the first "key.count" keys
+    public static final String PERSPECTIVE_MODE_KEY = "my.perspective.mode";
+    public static final String PERSPECTIVE_MODE_BULK = "bulk";
+    public static final String PERSPECTIVE_MODE_PUSH = "push";
+    public static final String PERSPECTIVE_MODE_RANDOM = "random";
+    public static final String PERSPECTIVE_KEYS_KEY = "my.perspective.keys";
+    public static final String PERSPECTIVE_KEY_COUNT_KEY = "my.perspective.key.count";
+    public static final int PERSPECTIVE_KEY_COUNT_DEFAULT = 20;
+    public static final String PERSPECTIVE_TICK_MILLIS_KEY = "my.perspective.tick.millis";
+    public static final long PERSPECTIVE_TICK_MILLIS_DEFAULT = 50L;
+    // Transaction fields, when stored as Compact rather than JSON
+    public static final String TRANSACTION_FIELD_AMT_FLOOR = "amtFloor";
+    public static final String TRANSACTION_FIELD_BIC_CREDITOR = "bicCreditor";
+    public static final String TRANSACTION_FIELD_BIC_DEBITOR = "bicDebitor";
+    public static final String TRANSACTION_FIELD_CCY = "ccy";
+    public static final String TRANSACTION_FIELD_ID = "id";
+    public static final String TRANSACTION_FIELD_ITEM_CODE = "itemCode";
+    public static final String TRANSACTION_FIELD_KIND = "kind";
+    public static final String TRANSACTION_FIELD_PRICE = "price";
+    public static final String TRANSACTION_FIELD_QUANTITY = "quantity";
+    public static final String TRANSACTION_FIELD_SYMBOL = "symbol";
+    public static final String TRANSACTION_FIELD_TIMESTAMP = "timestamp";
+    public static final String TRANSACTION_FIELD_XML = "xml";
     // Web Sockets, for Finos module
     public static final String WEBSOCKET_ENDPOINT = "hazelcast";
     public static final String WEBSOCKET_FEED_PREFIX = "feed";
     public static final String WEBSOCKET_DATA_SUFFIX = "data";
+    // Coalesce updates to send at most once per frame, overridden by system property, zero for no coalescing
+    public static final String WEBSOCKET_FRAME_MILLIS_KEY = "my.finos.frame.millis";
+    public static final long WEBSOCKET_FRAME_MILLIS_DEFAULT = 50L;
 
     public static final int CP_GROUP_SIZE = 3;
     public static final int CP_MEMBER_SIZE = CP_GROUP_SIZE;
     public static final String CP_GROUP_A = "odd";
     public static final String CP_GROUP_B = "even";
+    // Outstanding asynchronous CP sink writes, overridden by system property
+    public static final String CP_MAX_IN_FLIGHT_KEY = "my.cp.max.in.flight";
+    public static final int CP_MAX_IN_FLIGHT_DEFAULT = 32;
+    // Coalesce CP sink writes per key for up to this long, overridden by system property, zero for each input batch
+    public static final String CP_HOLD_MILLIS_KEY = "my.cp.hold.millis";
+    public static final long CP_HOLD_MILLIS_DEFAULT = 1_000L;
+    // IMapLogger writes via a buffer unless "false", full buffer drops lines unless block is "true"
+    public static final String IMAP_LOGGER_ASYNC_KEY = "my.imap.logger.async";
+    public static final String IMAP_LOGGER_BLOCK_KEY = "my.imap.logger.block";
 
     // Objects in namespaces
     public static final String EXECUTOR_NAMESPACE_1 = "executor_ns1";
@@ -18,32 +18,55 @@ package hazelcast.platform.demos.banking.transactionmonitor;
 
 import java.io.Serializable;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Random;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.hazelcast.core.EntryEvent;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.HazelcastInstanceAware;
 import com.hazelcast.core.HazelcastInstanceNotActiveException;
 import com.hazelcast.jet.datamodel.Tuple3;
 import com.hazelcast.map.IMap;
+import com.hazelcast.map.listener.EntryAddedListener;
+import com.hazelcast.map.listener.EntryUpdatedListener;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.impl.predicates.QueryConstants;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 /** Produce data updates for the FINOS Module.
  * Use an executable to show a batch style approached, still valid, although
  * this really would be a streaming use-case.
+ * <p>Three modes, set by "{@code -Dmy.perspective.mode}":
+ * </p>
+ * <ul>
+ * <li><b>bulk</b>, the default. Each tick reads all selected keys with one
+ * "{@code getAll()}" and writes those whose count has changed with one "{@code putAll()}".</li>
+ * <li><b>push</b>. A listener on the aggregate map, filtered to the selected keys,
+ * records changes as they happen. Each tick writes those with one "{@code putAll()}",
+ * so nothing is read.</li>
+ * <li><b>random</b>. Each tick copies one randomly chosen key.</li>
+ * </ul>
  */
 public class PerspectiveUpdater implements Runnable, Serializable, HazelcastInstanceAware {
     private static final long serialVersionUID = 1L;
     private static final Logger LOGGER = LoggerFactory.getLogger(PerspectiveUpdater.class);
-    private static final Long FIFTY = 50L;
     private static final int TWENTY = 20;
     private static final int SIXTY = 60;
     private static final Random RANDOM = new Random();
@@ -59,15 +82,16 @@ public class PerspectiveUpdater implements Runnable, Serializable, HazelcastInst
         this.useHzCloud = arg1;
     }
     /**
-     * <p>Randomly update data for FINOS Perspective periodically.
+     * <p>Update data for FINOS Perspective periodically.
      * </p>
      */
     @Override
     public void run() {
+        String mode = System.getProperty(MyConstants.PERSPECTIVE_MODE_KEY, MyConstants.PERSPECTIVE_MODE_BULK);
+        long tickMillis = Long.getLong(MyConstants.PERSPECTIVE_TICK_MILLIS_KEY, MyConstants.PERSPECTIVE_TICK_MILLIS_DEFAULT);
         if (!useHzCloud) {
-            LOGGER.info("START run()");
+            LOGGER.info("START run(), mode '{}', tick {}ms", mode, tickMillis);
         }
-        ThreadLocalRandom random = ThreadLocalRandom.current();
 
         String[] selectedKeys = this.getSelectedKeys();
 
@@ -76,6 +100,45 @@ public class PerspectiveUpdater implements Runnable, Serializable, HazelcastInst
         IMap<String, Object> targetMap =
                 this.hazelcastInstance.getMap(MyConstants.IMAP_NAME_PERSPECTIVE);
 
+        try {
+            switch (mode) {
+            case MyConstants.PERSPECTIVE_MODE_PUSH:
+                this.runPush(selectedKeys, sourceMap, targetMap, tickMillis);
+                break;
+            case MyConstants.PERSPECTIVE_MODE_RANDOM:
+                this.runRandom(selectedKeys, sourceMap, targetMap, tickMillis);
+                break;
+            case MyConstants.PERSPECTIVE_MODE_BULK:
+            default:
+                this.runBulk(selectedKeys, sourceMap, targetMap, tickMillis);
+                break;
+            }
+        } catch (HazelcastInstanceNotActiveException hnae) {
+            if (!useHzCloud) {
+                LOGGER.info("HazelcastInstanceNotActiveException run(): {}", hnae.getMessage());
+            }
+        } catch (InterruptedException ie) {
+            if (!useHzCloud) {
+                LOGGER.info("InterruptedException run(): {}", ie.getMessage());
+            }
+        } catch (Exception e) {
+            if (!useHzCloud) {
+                LOGGER.info("EXCEPTION run()", e);
+            }
+        }
+        if (!useHzCloud) {
+            LOGGER.info("END run()");
+        }
+    }
+
+    /**
+     * <p>Initialize all, then randomly update one key per tick.
+     * </p>
+     */
+    private void runRandom(String[] selectedKeys, IMap<String, Tuple3<Long, Double, Double>> sourceMap,
+            IMap<String, Object> targetMap, long tickMillis) throws InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
         // Init
         for (int i = 0; i < selectedKeys.length; i++) {
             Object object = this.etl(selectedKeys[i], sourceMap, targetMap);
@@ -86,42 +149,137 @@ public class PerspectiveUpdater implements Runnable, Serializable, HazelcastInst
 
         // Randomly update
         while (true) {
-            try {
-                int i = random.nextInt(selectedKeys.length);
+            int i = random.nextInt(selectedKeys.length);
 
-                Object object = this.etl(selectedKeys[i], sourceMap, targetMap);
-                this.logExponentially(object);
+            Object object = this.etl(selectedKeys[i], sourceMap, targetMap);
+            this.logExponentially(object);
 
-                TimeUnit.MILLISECONDS.sleep(FIFTY);
-            } catch (HazelcastInstanceNotActiveException hnae) {
-                if (!useHzCloud) {
-                    LOGGER.info("HazelcastInstanceNotActiveException run(): {}", hnae.getMessage());
-                }
-                break;
-            } catch (InterruptedException ie) {
-                if (!useHzCloud) {
-                    LOGGER.info("InterruptedException run(): {}", ie.getMessage());
-                }
-                break;
-            } catch (Exception e) {
-                if (!useHzCloud) {
-                    LOGGER.info("EXCEPTION run()", e);
+            TimeUnit.MILLISECONDS.sleep(tickMillis);
+        }
+    }
+
+    /**
+     * <p>Initialize all, then each tick read all and write those changed.
+     * </p>
+     */
+    private void runBulk(String[] selectedKeys, IMap<String, Tuple3<Long, Double, Double>> sourceMap,
+            IMap<String, Object> targetMap, long tickMillis) throws InterruptedException {
+        Set<String> keys = nonBlank(selectedKeys);
+        Map<String, Long> lastCounts = new HashMap<>();
+
+        // Init writes all, even those with no aggregate yet
+        Map<String, Tuple3<Long, Double, Double>> initial = new HashMap<>(sourceMap.getAll(keys));
+        for (String key : keys) {
+            initial.putIfAbsent(key, null);
+        }
+        this.etlChanged(initial, lastCounts, targetMap);
+
+        while (true) {
+            this.etlChanged(sourceMap.getAll(keys), lastCounts, targetMap);
+            TimeUnit.MILLISECONDS.sleep(tickMillis);
+        }
+    }
+
+    /**
+     * <p>Initialize all, then each tick write those the listener has seen change.
+     * </p>
+     */
+    private void runPush(String[] selectedKeys, IMap<String, Tuple3<Long, Double, Double>> sourceMap,
+            IMap<String, Object> targetMap, long tickMillis) throws InterruptedException {
+        Set<String> keys = nonBlank(selectedKeys);
+        Map<String, Long> lastCounts = new HashMap<>();
+
+        LatestListener latestListener = new LatestListener();
+        UUID registration = sourceMap.addEntryListener(latestListener,
+                Predicates.in(QueryConstants.KEY_ATTRIBUTE_NAME.value(), keys.toArray(new String[0])), true);
+        try {
+            // Init after listening, so no change is missed
+            Map<String, Tuple3<Long, Double, Double>> initial = new HashMap<>(sourceMap.getAll(keys));
+            for (String key : keys) {
+                initial.putIfAbsent(key, null);
+            }
+            this.etlChanged(initial, lastCounts, targetMap);
+
+            while (true) {
+                TimeUnit.MILLISECONDS.sleep(tickMillis);
+                if (!latestListener.latest.isEmpty()) {
+                    Map<String, Tuple3<Long, Double, Double>> changed = new HashMap<>();
+                    for (String key : latestListener.latest.keySet()) {
+                        changed.put(key, latestListener.latest.remove(key));
+                    }
+                    this.etlChanged(changed, lastCounts, targetMap);
                 }
-                break;
             }
+        } finally {
+            sourceMap.removeEntryListener(registration);
         }
-        if (!useHzCloud) {
-            LOGGER.info("END run()");
+    }
+
+    /**
+     * <p>Keys to use, ignoring blanks if there are fewer than asked for.
+     * </p>
+     */
+    private static Set<String> nonBlank(String[] selectedKeys) {
+        Set<String> result = new LinkedHashSet<>();
+        for (String key : selectedKeys) {
+            if (!key.isBlank()) {
+                result.add(key);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * <p>Reformat and write in one call those whose count differs from when last written.
+     * A null aggregate is written the first time, as an empty row.
+     * </p>
+     *
+     * @param aggregates From the source map
+     * @param lastCounts Updated with what is written
+     * @param targetMap
+     */
+    private void etlChanged(Map<String, Tuple3<Long, Double, Double>> aggregates, Map<String, Long> lastCounts,
+            IMap<String, Object> targetMap) {
+        Map<String, Object> batch = new HashMap<>();
+        for (Entry<String, Tuple3<Long, Double, Double>> entry : aggregates.entrySet()) {
+            String key = entry.getKey();
+            Tuple3<Long, Double, Double> tuple3 = entry.getValue();
+            Long newCount = (tuple3 == null ? null : tuple3.f0());
+            if (!lastCounts.containsKey(key) || !Objects.equals(lastCounts.get(key), newCount)) {
+                lastCounts.put(key, newCount);
+                batch.put(key, this.toPerspective(key, tuple3));
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            targetMap.putAll(batch);
+            if (!useHzCloud) {
+                for (Object object : batch.values()) {
+                    this.logExponentially(object);
+                }
+            }
         }
     }
 
     /**
-     * <p>Find the keys of the first 20 of the data.
+     * <p>Find the keys to use, the configured list or the first 20 (or configured
+     * count) of the data.
      * </p>
      *
      * @return
      */
     private String[] getSelectedKeys() {
+        String keysCsv = System.getProperty(MyConstants.PERSPECTIVE_KEYS_KEY, "");
+        if (!keysCsv.isBlank()) {
+            List<String> keys = new ArrayList<>();
+            for (String key : keysCsv.split(",")) {
+                if (!key.isBlank()) {
+                    keys.add(key.trim());
+                }
+            }
+            return keys.toArray(new String[0]);
+        }
+
         Set<Object> keySet;
         switch (transactionMonitorFlavor) {
         case ECOMMERCE:
@@ -142,7 +300,8 @@ public class PerspectiveUpdater implements Runnable, Serializable, HazelcastInst
             keySetSorted.add(iterator.next().toString());
         }
 
-        String[] result = new String[TWENTY];
+        String[] result = new String[Integer.getInteger(MyConstants.PERSPECTIVE_KEY_COUNT_KEY,
+                MyConstants.PERSPECTIVE_KEY_COUNT_DEFAULT)];
 
         Iterator<String> iterator2 = keySetSorted.iterator();
         for (int i = 0; i < result.length; i++) {
@@ -169,8 +328,20 @@ public class PerspectiveUpdater implements Runnable, Serializable, HazelcastInst
      */
     private Object etl(String key, IMap<String, Tuple3<Long, Double, Double>> sourceMap,
             IMap<String, Object> targetMap) {
-        Tuple3<Long, Double, Double> tuple3 = sourceMap.get(key);
+        Object value = this.toPerspective(key, sourceMap.get(key));
+        targetMap.set(key, value);
+        return value;
+    }
 
+    /**
+     * <p>Reformat an aggregate result for Perspective.
+     * </p>
+     *
+     * @param key
+     * @param tuple3 May be null if no transactions yet
+     * @return
+     */
+    private Object toPerspective(String key, Tuple3<Long, Double, Double> tuple3) {
         LocalTime now = LocalTime.now();
         int seconds = now.getMinute() * SIXTY + now.getSecond();
         int random = RANDOM.nextInt(TWENTY);
@@ -216,7 +387,6 @@ public class PerspectiveUpdater implements Runnable, Serializable, HazelcastInst
             break;
         }
 
-        targetMap.set(key, value);
         return value;
     }
 
@@ -236,6 +406,25 @@ public class PerspectiveUpdater implements Runnable, Serializable, HazelcastInst
         this.count++;
     }
 
+    /**
+     * <p>Record the latest aggregate for the selected keys, for {@link MyConstants#PERSPECTIVE_MODE_PUSH}.
+     * </p>
+     */
+    private static class LatestListener implements EntryAddedListener<String, Tuple3<Long, Double, Double>>,
+        EntryUpdatedListener<String, Tuple3<Long, Double, Double>> {
+        private final Map<String, Tuple3<Long, Double, Double>> latest = new ConcurrentHashMap<>();
+
+        @Override
+        public void entryAdded(EntryEvent<String, Tuple3<Long, Double, Double>> entryEvent) {
+            this.latest.put(entryEvent.getKey(), entryEvent.getValue());
+        }
+
+        @Override
+        public void entryUpdated(EntryEvent<String, Tuple3<Long, Double, Double>> entryEvent) {
+            this.latest.put(entryEvent.getKey(), entryEvent.getValue());
+        }
+    }
+
     @Override
     @SuppressFBWarnings(value = "EI_EXPOSE_REP2", justification = "Hazelcast instance must be shared, not cloned")
     public void setHazelcastInstance(HazelcastInstance arg0) {
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hazelcast.platform.demos.banking.transactionmonitor;
+
+import com.hazelcast.nio.serialization.compact.CompactReader;
+import com.hazelcast.nio.serialization.compact.CompactSerializer;
+import com.hazelcast.nio.serialization.compact.CompactWriter;
+
+/**
+ * <p>A class for serializing/deserializing a {@link TransactionPayments}.
+ * </p>
+ * <p>The type name is the simple class name, which is what the SQL mapping
+ * for the "{@code transactions}" map refers to.
+ * </p>
+ */
+public class TransactionPaymentsSerializer implements CompactSerializer<TransactionPayments> {
+
+    @Override
+    public TransactionPayments read(CompactReader in) {
+        TransactionPayments transactionPayments = new TransactionPayments();
+        transactionPayments.setId(in.readString(MyConstants.TRANSACTION_FIELD_ID));
+        transactionPayments.setTimestamp(in.readInt64(MyConstants.TRANSACTION_FIELD_TIMESTAMP));
+        transactionPayments.setKind(in.readString(MyConstants.TRANSACTION_FIELD_KIND));
+        transactionPayments.setBicCreditor(in.readString(MyConstants.TRANSACTION_FIELD_BIC_CREDITOR));
+        transactionPayments.setBicDebitor(in.readString(MyConstants.TRANSACTION_FIELD_BIC_DEBITOR));
+        transactionPayments.setCcy(in.readString(MyConstants.TRANSACTION_FIELD_CCY));
+        transactionPayments.setAmtFloor(in.readFloat64(MyConstants.TRANSACTION_FIELD_AMT_FLOOR));
+        transactionPayments.setXml(in.readArrayOfString(MyConstants.TRANSACTION_FIELD_XML));
+        return transactionPayments;
+    }
+
+    @Override
+    public void write(CompactWriter out, TransactionPayments transactionPayments) {
+        out.writeString(MyConstants.TRANSACTION_FIELD_ID, transactionPayments.getId());
+        out.writeInt64(MyConstants.TRANSACTION_FIELD_TIMESTAMP, transactionPayments.getTimestamp());
+        out.writeString(MyConstants.TRANSACTION_FIELD_KIND, transactionPayments.getKind());
+        out.writeString(MyConstants.TRANSACTION_FIELD_BIC_CREDITOR, transactionPayments.getBicCreditor());
+        out.writeString(MyConstants.TRANSACTION_FIELD_BIC_DEBITOR, transactionPayments.getBicDebitor());
+        out.writeString(MyConstants.TRANSACTION_FIELD_CCY, transactionPayments.getCcy());
+        out.writeFloat64(MyConstants.TRANSACTION_FIELD_AMT_FLOOR, transactionPayments.getAmtFloor());
+        out.writeArrayOfString(MyConstants.TRANSACTION_FIELD_XML, transactionPayments.getXml());
+    }
+
+    @Override
+    public Class<TransactionPayments> getCompactClass() {
+        return TransactionPayments.class;
+    }
+
+    @Override
+    public String getTypeName() {
+        return TransactionPayments.class.getSimpleName();
+    }
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hazelcast.platform.demos.banking.transactionmonitor;
+
+import com.hazelcast.nio.serialization.compact.CompactReader;
+import com.hazelcast.nio.serialization.compact.CompactSerializer;
+import com.hazelcast.nio.serialization.compact.CompactWriter;
+
+/**
+ * <p>A class for serializing/deserializing a {@link TransactionTrade}.
+ * </p>
+ * <p>The type name is the simple class name, which is what the SQL mapping
+ * for the "{@code transactions}" map refers to.
+ * </p>
+ */
+public class TransactionTradeSerializer implements CompactSerializer<TransactionTrade> {
+
+    @Override
+    public TransactionTrade read(CompactReader in) {
+        TransactionTrade transactionTrade = new TransactionTrade();
+        transactionTrade.setId(in.readString(MyConstants.TRANSACTION_FIELD_ID));
+        transactionTrade.setTimestamp(in.readInt64(MyConstants.TRANSACTION_FIELD_TIMESTAMP));
+        transactionTrade.setSymbol(in.readString(MyConstants.TRANSACTION_FIELD_SYMBOL));
+        transactionTrade.setQuantity(in.readInt64(MyConstants.TRANSACTION_FIELD_QUANTITY));
+        transactionTrade.setPrice(in.readFloat64(MyConstants.TRANSACTION_FIELD_PRICE));
+        return transactionTrade;
+    }
+
+    @Override
+    public void write(CompactWriter out, TransactionTrade transactionTrade) {
+        out.writeString(MyConstants.TRANSACTION_FIELD_ID, transactionTrade.getId());
+        out.writeInt64(MyConstants.TRANSACTION_FIELD_TIMESTAMP, transactionTrade.getTimestamp());
+        out.writeString(MyConstants.TRANSACTION_FIELD_SYMBOL, transactionTrade.getSymbol());
+        out.writeInt64(MyConstants.TRANSACTION_FIELD_QUANTITY, transactionTrade.getQuantity());
+        out.writeFloat64(MyConstants.TRANSACTION_FIELD_PRICE, transactionTrade.getPrice());
+    }
+
+    @Override
+    public Class<TransactionTrade> getCompactClass() {
+        return TransactionTrade.class;
+    }
+
+    @Override
+    public String getTypeName() {
+        return TransactionTrade.class.getSimpleName();
+    }
+
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hazelcast.platform.demos.banking.transactionmonitor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+import com.hazelcast.core.HazelcastJsonValue;
+
+/**
+ * <p>Test {@link AlertingToPostgresMapStore} bulk operations against H2 in
+ * Postgres mode, with the table as defined by "{@code init.sql}".
+ * </p>
+ */
+public class AlertingToPostgresMapStoreTest {
+    private static final String PROVENANCE = "transaction-monitor";
+    private static final String CREATE_TABLE = "CREATE TABLE " + MyConstants.POSTGRES_TABLE_NAME + " ("
+            + " now BIGSERIAL NOT NULL PRIMARY KEY,"
+            + " code VARCHAR(24) NOT NULL,"
+            + " provenance VARCHAR(80) NOT NULL,"
+            + " whence VARCHAR(80) NOT NULL,"
+            + " volume NUMERIC(17,2) NOT NULL"
+            + ")";
+    private static final int COUNT = 100;
+    private static final double DELTA = 0.001d;
+    private static final double FRACTION = 0.25d;
+
+    private Connection keepAlive;
+    private AlertingToPostgresMapStore alertingToPostgresMapStore;
+
+    @BeforeEach
+    public void beforeEach(TestInfo testInfo) throws Exception {
+        String url = "jdbc:h2:mem:" + testInfo.getTestMethod().get().getName()
+                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE";
+        this.keepAlive = DriverManager.getConnection(url, "sa", "");
+        try (Statement statement = this.keepAlive.createStatement();) {
+            statement.execute(CREATE_TABLE);
+        }
+
+        this.alertingToPostgresMapStore = new AlertingToPostgresMapStore();
+        this.alertingToPostgresMapStore.init(MyConstants.IMAP_NAME_ALERTS_LOG, PROVENANCE, url, "sa", "",
+                new Properties());
+    }
+
+    @AfterEach
+    public void afterEach() throws Exception {
+        this.alertingToPostgresMapStore.destroy();
+        this.keepAlive.close();
+    }
+
+    private static HazelcastJsonValue alert(long i, String provenance) {
+        JSONObject jsonObject = new JSONObject();
+        jsonObject.put("code", "SYM" + i);
+        jsonObject.put("provenance", provenance);
+        jsonObject.put("whence", "test");
+        jsonObject.put("volume", i + FRACTION);
+        return new HazelcastJsonValue(jsonObject.toString());
+    }
+
+    private static Map<Long, HazelcastJsonValue> alerts(String provenance) {
+        Map<Long, HazelcastJsonValue> result = new HashMap<>();
+        for (long i = 0; i < COUNT; i++) {
+            result.put(i, alert(i, provenance));
+        }
+        return result;
+    }
+
+    private Set<Long> loadAllKeys() {
+        Set<Long> result = new HashSet<>();
+        this.alertingToPostgresMapStore.loadAllKeys().forEach(result::add);
+        return result;
+    }
+
+    @Test
+    public void testStoreAllLoadAll(TestInfo testInfo) {
+        Map<Long, HazelcastJsonValue> alerts = alerts(PROVENANCE);
+        this.alertingToPostgresMapStore.storeAll(alerts);
+
+        assertEquals(alerts.keySet(), this.loadAllKeys());
+
+        Map<Long, HazelcastJsonValue> loaded = this.alertingToPostgresMapStore.loadAll(alerts.keySet());
+        assertEquals(COUNT, loaded.size());
+        for (long i = 0; i < COUNT; i++) {
+            JSONObject jsonObject = new JSONObject(loaded.get(i).toString());
+            assertEquals("SYM" + i, jsonObject.getString("code"));
+            assertEquals(PROVENANCE + ":" + AlertingToPostgresMapStore.class.getSimpleName(),
+                    jsonObject.getString("provenance"));
+            assertEquals(i + FRACTION, jsonObject.getDouble("volume"), DELTA);
+        }
+    }
+
+    @Test
+    public void testStoreAllRepeatedAndFiltered(TestInfo testInfo) {
+        Map<Long, HazelcastJsonValue> alerts = alerts(PROVENANCE);
+        this.alertingToPostgresMapStore.storeAll(alerts);
+        // Write-behind retry of the same batch is harmless
+        this.alertingToPostgresMapStore.storeAll(alerts);
+        this.alertingToPostgresMapStore.store((long) COUNT, alert(COUNT, PROVENANCE));
+        // Not from this project, not saved
+        this.alertingToPostgresMapStore.store((long) COUNT + 1, alert(COUNT + 1, "init.sql"));
+
+        assertEquals(COUNT + 1, this.loadAllKeys().size());
+        assertNull(this.alertingToPostgresMapStore.load((long) COUNT + 1));
+    }
+
+    @Test
+    public void testDeleteAll(TestInfo testInfo) {
+        this.alertingToPostgresMapStore.storeAll(alerts(PROVENANCE));
+
+        this.alertingToPostgresMapStore.deleteAll(List.of(0L, 1L, 2L));
+        this.alertingToPostgresMapStore.delete(3L);
+
+        Set<Long> keys = this.loadAllKeys();
+        assertEquals(COUNT - 4, keys.size());
+        assertTrue(keys.contains(4L));
+        assertNull(this.alertingToPostgresMapStore.load(0L));
+    }
+}
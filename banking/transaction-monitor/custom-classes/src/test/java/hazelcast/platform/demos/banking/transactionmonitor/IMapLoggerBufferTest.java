@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hazelcast.platform.demos.banking.transactionmonitor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+import com.hazelcast.nio.serialization.genericrecord.GenericRecord;
+import com.hazelcast.nio.serialization.genericrecord.GenericRecordBuilder;
+
+/**
+ * <p>Test {@link IMapLoggerBuffer} batching and full buffer policies, with
+ * the buffer filled before the drain thread is started so the outcome is
+ * deterministic.
+ * </p>
+ */
+public class IMapLoggerBufferTest {
+    private static final int EXTRA = 10;
+    private static final long TIMEOUT_MILLIS = 5_000L;
+
+    private static GenericRecord line(int i) {
+        return GenericRecordBuilder.compact("test")
+                .setString("message", "line " + i)
+                .build();
+    }
+
+    @Test
+    public void batches(TestInfo testInfo) throws Exception {
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        IMapLoggerBuffer iMapLoggerBuffer = new IMapLoggerBuffer(false, batch -> batchSizes.add(batch.size()));
+
+        int count = IMapLoggerBuffer.BATCH_SIZE * 2 + EXTRA;
+        for (int i = 0; i < count; i++) {
+            iMapLoggerBuffer.offer(line(i));
+        }
+        iMapLoggerBuffer.start();
+        iMapLoggerBuffer.stop();
+
+        assertEquals(List.of(IMapLoggerBuffer.BATCH_SIZE, IMapLoggerBuffer.BATCH_SIZE, EXTRA), batchSizes,
+                testInfo.getDisplayName());
+        assertEquals(count, iMapLoggerBuffer.getWritten(), testInfo.getDisplayName());
+        assertEquals(0L, iMapLoggerBuffer.getDropped(), testInfo.getDisplayName());
+    }
+
+    @Test
+    public void dropWhenFull(TestInfo testInfo) throws Exception {
+        IMapLoggerBuffer iMapLoggerBuffer = new IMapLoggerBuffer(false, batch -> { });
+
+        for (int i = 0; i < IMapLoggerBuffer.CAPACITY + EXTRA; i++) {
+            iMapLoggerBuffer.offer(line(i));
+        }
+        assertEquals(EXTRA, iMapLoggerBuffer.getDropped(), testInfo.getDisplayName());
+
+        iMapLoggerBuffer.start();
+        iMapLoggerBuffer.stop();
+
+        assertEquals(IMapLoggerBuffer.CAPACITY, iMapLoggerBuffer.getWritten(), testInfo.getDisplayName());
+        assertEquals(EXTRA, iMapLoggerBuffer.getDropped(), testInfo.getDisplayName());
+    }
+
+    @Test
+    public void blockWhenFull(TestInfo testInfo) throws Exception {
+        IMapLoggerBuffer iMapLoggerBuffer = new IMapLoggerBuffer(true, batch -> { });
+
+        for (int i = 0; i < IMapLoggerBuffer.CAPACITY; i++) {
+            iMapLoggerBuffer.offer(line(i));
+        }
+        Thread caller = new Thread(() -> iMapLoggerBuffer.offer(line(IMapLoggerBuffer.CAPACITY)));
+        caller.start();
+
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (caller.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(1L);
+        }
+        assertEquals(Thread.State.WAITING, caller.getState(), testInfo.getDisplayName());
+
+        iMapLoggerBuffer.start();
+        caller.join(TIMEOUT_MILLIS);
+        assertTrue(!caller.isAlive(), testInfo.getDisplayName());
+        iMapLoggerBuffer.stop();
+
+        assertEquals(IMapLoggerBuffer.CAPACITY + 1, iMapLoggerBuffer.getWritten(), testInfo.getDisplayName());
+        assertEquals(0L, iMapLoggerBuffer.getDropped(), testInfo.getDisplayName());
+    }
+
+    @Test
+    public void failedBatchesCounted(TestInfo testInfo) throws Exception {
+        IMapLoggerBuffer iMapLoggerBuffer = new IMapLoggerBuffer(false, batch -> {
+            throw new IllegalStateException(testInfo.getDisplayName());
+        });
+
+        for (int i = 0; i < EXTRA; i++) {
+            iMapLoggerBuffer.offer(line(i));
+        }
+        iMapLoggerBuffer.start();
+        iMapLoggerBuffer.stop();
+
+        assertEquals(EXTRA, iMapLoggerBuffer.getFailed(), testInfo.getDisplayName());
+        assertEquals(0L, iMapLoggerBuffer.getWritten(), testInfo.getDisplayName());
+    }
+}
@@ -89,20 +89,23 @@ class Finos extends React.Component {
 		}
 		count++;
 		
-		let row = {
-        	key: message.key,
-        	count: message.count,
-        	sum: message.sum,
-        	derived: message.derived,
-        	seconds: message.seconds,
-        	random: message.random,
-    	};
+		// Each message is an array, latest row per key since the previous
+		let messages = Array.isArray(message) ? message : [ message ];
     	let rows = [];
-    	rows.push(row);
+		for (const item of messages) {
+			rows.push({
+	        	key: item.key,
+	        	count: item.count,
+	        	sum: item.sum,
+	        	derived: item.derived,
+	        	seconds: item.seconds,
+	        	random: item.random,
+	    	});
+		}
     	try {
 			TABLE.update(rows);
     	} catch (e) {
-      		console.log("Finos.js", "handleData()", row, e);
+      		console.log("Finos.js", "handleData()", rows, e);
     	}
   }
 	
@@ -21,6 +21,7 @@ import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 /**
  * <p>A message broker for communication to a web socket.
@@ -29,6 +30,8 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 @Configuration
 @EnableWebSocketMessageBroker
 public class MySocketConfigurer implements WebSocketMessageBrokerConfigurer {
+    private static final int SEND_TIME_LIMIT_MS = 10_000;
+    private static final int SEND_BUFFER_SIZE_LIMIT = 512 * 1024;
 
     /**
      * <p>Provide an endpoint for the <a href="https://stomp.github.io/">Stomp protocol</a>
@@ -52,4 +55,17 @@ public class MySocketConfigurer implements WebSocketMessageBrokerConfigurer {
         .enableSimpleBroker("/" + MyConstants.WEBSOCKET_FEED_PREFIX);
     }
 
+    /**
+     * <p>Bound what is queued for a slow browser. If it can't keep up, its session
+     * is closed and it reconnects, rather than holding up other sessions or
+     * using unbounded memory.
+     * </p>
+     */
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration webSocketTransportRegistration) {
+        webSocketTransportRegistration
+        .setSendTimeLimit(SEND_TIME_LIMIT_MS)
+        .setSendBufferSizeLimit(SEND_BUFFER_SIZE_LIMIT);
+    }
+
 }
@@ -16,7 +16,12 @@
 
 package hazelcast.platform.demos.banking.transactionmonitor;
 
-import org.json.JSONObject;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -32,6 +37,11 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 /**
  * <p>Listen for map updates and pass on to websocket.
  * </p>
+ * <p>Updates are coalesced, keeping only the latest row per key, and sent
+ * as one JSON array per frame interval ("{@code -Dmy.finos.frame.millis}"),
+ * so the number of websocket sends doesn't depend on the update rate.
+ * A frame interval of zero sends each update as it arrives.
+ * </p>
  */
 @SuppressWarnings("rawtypes")
 @Component
@@ -46,9 +56,28 @@ public class MyWebSocketBridgeListener implements EntryAddedListener, EntryUpdat
     @Autowired
     private SimpMessagingTemplate simpMessagingTemplate;
     private int count;
+    private final long frameMillis;
+    private final Map<Object, String> latest = new ConcurrentHashMap<>();
 
     public MyWebSocketBridgeListener() {
-        LOGGER.debug("Data destination: {}", DESTINATION_DATA);
+        this.frameMillis = Long.getLong(MyConstants.WEBSOCKET_FRAME_MILLIS_KEY, MyConstants.WEBSOCKET_FRAME_MILLIS_DEFAULT);
+        LOGGER.debug("Data destination: {}, frame interval {}ms", DESTINATION_DATA, this.frameMillis);
+    }
+
+    /**
+     * <p>Start sending frames, once the listener is attached.
+     * </p>
+     */
+    public void start() {
+        if (this.frameMillis > 0) {
+            ScheduledExecutorService scheduledExecutorService = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, this.getClass().getSimpleName());
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduledExecutorService.scheduleAtFixedRate(this::publish, this.frameMillis, this.frameMillis,
+                    TimeUnit.MILLISECONDS);
+        }
     }
 
     @Override
@@ -61,9 +90,10 @@ public class MyWebSocketBridgeListener implements EntryAddedListener, EntryUpdat
     }
 
     /**
-     * <p>First insert and later updates all sent the same.
+     * <p>First insert and later updates all sent the same. Replaces any unsent
+     * update for the same key.
      * </p>
-     * @param entryEvent Key is String (ignored). Value is some sort of Perspective sub-type.
+     * @param entryEvent Key is used only for coalescing. Value is some sort of Perspective sub-type.
      */
     @SuppressFBWarnings(value = {"UPM_UNCALLED_PRIVATE_METHOD", "UUF_UNUSED_FIELD"},
             justification = "This is not unused, suppress warning to avoid SpotBugs bug")
@@ -71,7 +101,7 @@ public class MyWebSocketBridgeListener implements EntryAddedListener, EntryUpdat
         Object value = entryEvent.getValue();
 
         try {
-            JSONObject payload = null;
+            String payload = null;
             if (value instanceof PerspectiveEcommerce) {
                 payload = this.fromPerspectiveEcommerce((PerspectiveEcommerce) value);
             }
@@ -83,19 +113,11 @@ public class MyWebSocketBridgeListener implements EntryAddedListener, EntryUpdat
             }
 
             if (payload != null) {
-                if (this.count < LOG_THRESHOLD) {
-                    LOGGER.info("Data {} to websocket '{}'", count, payload);
-                    System.out.println(payload);
+                if (this.frameMillis > 0) {
+                    this.latest.put(entryEvent.getKey(), payload);
                 } else {
-                    if (this.count == LOG_THRESHOLD) {
-                        LOGGER.info("Data {} to websocket '{}'.", count, payload);
-                        LOGGER.info("Next data logging is at TRACE level");
-                    } else {
-                        LOGGER.trace("Data {} to websocket '{}'", count, payload);
-                    }
+                    this.send("[" + payload + "]");
                 }
-                this.count++;
-                this.simpMessagingTemplate.convertAndSend(DESTINATION_DATA, payload.toString());
             } else {
                 LOGGER.error("Unhandled object class {} for {}", value.getClass().getCanonicalName(), value);
             }
@@ -106,6 +128,58 @@ public class MyWebSocketBridgeListener implements EntryAddedListener, EntryUpdat
         }
     }
 
+    /**
+     * <p>Send the latest row for each key updated since the last frame. A key
+     * updated during this is sent in this frame or the next, never lost.
+     * </p>
+     */
+    private void publish() {
+        try {
+            if (this.latest.isEmpty()) {
+                return;
+            }
+            StringBuilder stringBuilder = new StringBuilder("[");
+            int rows = 0;
+            for (Object key : this.latest.keySet()) {
+                String row = this.latest.remove(key);
+                if (row != null) {
+                    if (rows++ > 0) {
+                        stringBuilder.append(", ");
+                    }
+                    stringBuilder.append(row);
+                }
+            }
+            stringBuilder.append("]");
+            if (rows > 0) {
+                this.send(stringBuilder.toString());
+            }
+        } catch (Exception e) {
+            // Don't rethrow, would stop future frames
+            LOGGER.error("publish()", e);
+        }
+    }
+
+    /**
+     * <p>Send a frame, a JSON array of rows.
+     * </p>
+     *
+     * @param frame
+     */
+    private void send(String frame) {
+        if (this.count < LOG_THRESHOLD) {
+            LOGGER.info("Data {} to websocket '{}'", count, frame);
+        } else {
+            if (this.count == LOG_THRESHOLD) {
+                LOGGER.info("Data {} to websocket '{}'.", count, frame);
+                LOGGER.info("Next data logging is at TRACE level");
+            } else {
+                LOGGER.trace("Data {} to websocket '{}'", count, frame);
+            }
+        }
+        this.count++;
+        this.simpMessagingTemplate.convertAndSend(DESTINATION_DATA, frame);
+    }
+
 
     /**
      * <p>Map names specific to Ecommerce to standard names for
@@ -114,7 +188,7 @@ public class MyWebSocketBridgeListener implements EntryAddedListener, EntryUpdat
      * @param value
      * @return
      */
-    private JSONObject fromPerspectiveEcommerce(PerspectiveEcommerce value) {
+    private String fromPerspectiveEcommerce(PerspectiveEcommerce value) {
         StringBuilder stringBuilder = new StringBuilder();
 
         stringBuilder
@@ -126,7 +200,7 @@ public class MyWebSocketBridgeListener implements EntryAddedListener, EntryUpdat
         .append(", \"").append(MyConstants.PERSPECTIVE_FIELD_RANDOM).append("\": ").append(value.getRandom())
         .append("}");
 
-        return new JSONObject(stringBuilder.toString());
+        return stringBuilder.toString();
     }
 
     /**
@@ -136,7 +210,7 @@ public class MyWebSocketBridgeListener implements EntryAddedListener, EntryUpdat
      * @param value
      * @return
      */
-    private JSONObject fromPerspectivePayments(PerspectivePayments value) {
+    private String fromPerspectivePayments(PerspectivePayments value) {
         StringBuilder stringBuilder = new StringBuilder();
 
         stringBuilder
@@ -148,7 +222,7 @@ public class MyWebSocketBridgeListener implements EntryAddedListener, EntryUpdat
         .append(", \"").append(MyConstants.PERSPECTIVE_FIELD_RANDOM).append("\": ").append(value.getRandom())
         .append("}");
 
-        return new JSONObject(stringBuilder.toString());
+        return stringBuilder.toString();
     }
 
     /**
@@ -158,7 +232,7 @@ public class MyWebSocketBridgeListener implements EntryAddedListener, EntryUpdat
      * @param value
      * @return
      */
-    private JSONObject fromPerspectiveTrade(PerspectiveTrade value) {
+    private String fromPerspectiveTrade(PerspectiveTrade value) {
         StringBuilder stringBuilder = new StringBuilder();
 
         stringBuilder
@@ -170,7 +244,7 @@ public class MyWebSocketBridgeListener implements EntryAddedListener, EntryUpdat
         .append(", \"").append(MyConstants.PERSPECTIVE_FIELD_RANDOM).append("\": ").append(value.getRandom())
         .append("}");
 
-        return new JSONObject(stringBuilder.toString());
+        return stringBuilder.toString();
     }
 
 }
@@ -43,6 +43,7 @@ public class WebsocketBridge {
             this.hazelcastInstance
                 .getMap(MyConstants.IMAP_NAME_PERSPECTIVE)
                 .addEntryListener(this.myWebSocketBridgeListener, true);
+            this.myWebSocketBridgeListener.start();
         };
     }
 
@@ -32,6 +32,7 @@ public class Application {
 
     private static final int DEFAULT_RATE = 300;
     private static final int DEFAULT_MAX = -1;
+    private static final String DEFAULT_THREADS = "0";
 
     /**
      * <p>To run we need one argument, the Kafka brokers to connect
@@ -39,6 +40,10 @@ public class Application {
      * optional. A third argument, the number of items to produce,
      * is also optional, and defaults to unlimited.
      * </p>
+     * <p>System properties "{@code my.producer.threads}" selects multi-threaded
+     * production, and "{@code my.producer.ids}" as "{@code sequential}" or
+     * "{@code random}" the transaction Ids for this.
+     * </p>
      */
     public static void main(String[] args) throws Exception {
         Properties properties = UtilsProperties.loadClasspathProperties("application.properties");
@@ -83,7 +88,13 @@ public class Application {
             max = Integer.parseInt(args[2]);
         }
 
-        new ApplicationRunner(rate, max, bootstrapServers, pulsarAddress, usePulsar, transactionMonitorFlavor).run();
+        int threads = Integer.parseInt(System.getProperty("my.producer.threads", DEFAULT_THREADS).trim());
+        boolean sequentialIds = "sequential".equalsIgnoreCase(System.getProperty("my.producer.ids", "").trim());
+        LOGGER.info("threads={}", threads);
+        LOGGER.info("sequentialIds={}", sequentialIds);
+
+        new ApplicationRunner(rate, max, bootstrapServers, pulsarAddress, usePulsar, transactionMonitorFlavor,
+                threads, sequentialIds).run();
     }
 
 }
@@ -24,8 +24,11 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.stream.Collectors;
 
 import org.apache.kafka.clients.producer.KafkaProducer;
@@ -69,11 +72,19 @@ public class ApplicationRunner {
     private static final List<String> PAYMENT_CHARGE_BEARER_TYPES
         = List.of("DEBT", "CRED", "SHAR");
     private static final String NEWLINE = System.lineSeparator();
+    // For multi-threaded mode
+    private static final int KAFKA_BATCH_SIZE = 256 * 1024;
+    private static final int KAFKA_LINGER_MS = 5;
+    private static final int PULSAR_BATCH_DELAY_MICROS = 500;
+    private static final int PULSAR_MAX_PENDING_MESSAGES = 64 * 1024;
+    private static final long REPORT_INTERVAL_SECONDS = 10L;
 
     private final int rate;
     private final int max;
     private final boolean usePulsar;
     private final TransactionMonitorFlavor transactionMonitorFlavor;
+    private final int threads;
+    private final boolean sequentialIds;
     private int count;
     private final KafkaProducer<String, String> kafkaProducer;
     private final Producer<String> pulsarProducer;
@@ -98,17 +109,21 @@ public class ApplicationRunner {
      * @param arg3 Pulsar connection list
      * @param arg4 Which of arg2 or arg3 to use
      * @param arg5 What type of transactions - banking, e-commerce, etc
+     * @param arg6 Producer threads, zero for the original single-threaded loop
+     * @param arg7 For multi-threaded, sequential rather than random Ids
      */
     @SuppressFBWarnings(value = "MC_OVERRIDABLE_METHOD_CALL_IN_CONSTRUCTOR",
             justification = "https://github.com/spotbugs/spotbugs/issues/1812")
     public ApplicationRunner(int arg0, int arg1, String arg2, String arg3,
-            boolean arg4, TransactionMonitorFlavor arg5) throws Exception {
+            boolean arg4, TransactionMonitorFlavor arg5, int arg6, boolean arg7) throws Exception {
         this.rate = arg0;
         this.max = arg1;
         String bootstrapServers = arg2;
         String pulsarAddress = arg3;
         this.usePulsar = arg4;
         this.transactionMonitorFlavor = arg5;
+        this.threads = arg6;
+        this.sequentialIds = arg7;
 
         if (this.usePulsar) {
             String serviceUrl = UtilsUrls.getPulsarServiceUrl(pulsarAddress);
@@ -121,9 +136,21 @@ public class ApplicationRunner {
                     .serviceUrl(serviceUrl)
                     .build();
 
-            this.pulsarProducer = pulsarClient.newProducer(Schema.STRING)
-                    .topic(MyConstants.PULSAR_TOPIC_NAME_TRANSACTIONS)
-                    .create();
+            if (this.threads > 0) {
+                // Batches are filled by asynchronous sends from all threads. Ids are unique, so batch regardless of key
+                this.pulsarProducer = pulsarClient.newProducer(Schema.STRING)
+                        .topic(MyConstants.PULSAR_TOPIC_NAME_TRANSACTIONS)
+                        .enableBatching(true)
+                        .batchingMaxPublishDelay(PULSAR_BATCH_DELAY_MICROS, TimeUnit.MICROSECONDS)
+                        .batchingMaxMessages(MAX_BATCH_SIZE)
+                        .blockIfQueueFull(true)
+                        .maxPendingMessages(PULSAR_MAX_PENDING_MESSAGES)
+                        .create();
+            } else {
+                this.pulsarProducer = pulsarClient.newProducer(Schema.STRING)
+                        .topic(MyConstants.PULSAR_TOPIC_NAME_TRANSACTIONS)
+                        .create();
+            }
 
             this.kafkaProducer = null;
         } else {
@@ -131,6 +158,10 @@ public class ApplicationRunner {
             properties.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
             properties.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getCanonicalName());
             properties.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getCanonicalName());
+            if (this.threads > 0) {
+                properties.put(ProducerConfig.BATCH_SIZE_CONFIG, KAFKA_BATCH_SIZE);
+                properties.put(ProducerConfig.LINGER_MS_CONFIG, KAFKA_LINGER_MS);
+            }
 
             this.kafkaProducer = new KafkaProducer<>(properties);
             this.pulsarProducer = null;
@@ -186,6 +217,10 @@ public class ApplicationRunner {
      * @throws Exception
      */
     public void run() throws Exception {
+        if (this.threads > 0) {
+            this.runMultiThreaded();
+            return;
+        }
         if (this.max > 0) {
             LOGGER.info("Producing {} transactions per second, until {} written", this.rate, this.max);
         } else {
@@ -245,6 +280,129 @@ public class ApplicationRunner {
         LOGGER.info("Produced {} transactions", this.count);
     }
 
+    /**
+     * <p>Produce with several threads, each writing transactions into a reusable
+     * buffer, with cheap Ids, and sending asynchronously. Each thread is paced
+     * to its share of the rate by a {@link RateGovernor}, and the achieved rate is
+     * reported by a {@link ThroughputReporter}.
+     * </p>
+     *
+     * @throws Exception
+     */
+    private void runMultiThreaded() throws Exception {
+        if (this.max > 0) {
+            LOGGER.info("Producing {} transactions per second with {} threads, until {} written",
+                    this.rate, this.threads, this.max);
+        } else {
+            LOGGER.info("Producing {} transactions per second with {} threads", this.rate, this.threads);
+        }
+
+        String[] bicsArray = this.bics.toArray(new String[0]);
+        String[] bicCurrencies = new String[bicsArray.length];
+        double[] bicRates = new double[bicsArray.length];
+        for (int i = 0; i < bicsArray.length; i++) {
+            bicCurrencies[i] = this.bicsToCurrency.get(bicsArray[i]).f0();
+            bicRates[i] = this.bicsToCurrency.get(bicsArray[i]).f1();
+        }
+        String[] ecommerceItemsArray = this.ecommerceItems.toArray(new String[0]);
+        double[] ecommercePrices = new double[ecommerceItemsArray.length];
+        for (int i = 0; i < ecommerceItemsArray.length; i++) {
+            ecommercePrices[i] = this.ecommerceItemsToPrice.get(ecommerceItemsArray[i]);
+        }
+        String[] tradeSymbolsArray = this.tradeSymbols.toArray(new String[0]);
+        AtomicIntegerArray tradePrices = new AtomicIntegerArray(tradeSymbolsArray.length);
+        for (int i = 0; i < tradeSymbolsArray.length; i++) {
+            tradePrices.set(i, OPENING_TRADE_PRICE);
+        }
+
+        long runStartMillis = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        ThroughputReporter throughputReporter = new ThroughputReporter(this.rate, startNanos);
+        ScheduledExecutorService scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
+        scheduledExecutorService.scheduleAtFixedRate(throughputReporter,
+                REPORT_INTERVAL_SECONDS, REPORT_INTERVAL_SECONDS, TimeUnit.SECONDS);
+
+        Thread[] workers = new Thread[this.threads];
+        for (int i = 0; i < this.threads; i++) {
+            int thread = i;
+            // Share of the maximum, first thread takes the remainder
+            int threadMax = this.max <= 0 ? -1 : this.max / this.threads + (i == 0 ? this.max % this.threads : 0);
+            TransactionWriter transactionWriter = new TransactionWriter(bicsArray, bicCurrencies, bicRates,
+                    ecommerceItemsArray, ecommercePrices, tradeSymbolsArray, tradePrices, this.todayCCYYMMDD);
+            TransactionIdGenerator transactionIdGenerator =
+                    new TransactionIdGenerator(runStartMillis, thread, this.sequentialIds);
+            RateGovernor rateGovernor = new RateGovernor(this.rate, this.threads, thread, startNanos);
+            workers[i] = new Thread(() -> this.produce(thread, threadMax, transactionWriter,
+                    transactionIdGenerator, rateGovernor, throughputReporter), "producer-" + thread);
+            workers[i].start();
+        }
+
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        if (this.usePulsar) {
+            this.pulsarProducer.flush();
+        } else {
+            this.kafkaProducer.flush();
+        }
+        scheduledExecutorService.shutdown();
+        throughputReporter.run();
+
+        LOGGER.info("Produced {} transactions", throughputReporter.getSent());
+    }
+
+    /**
+     * <p>One producer thread.
+     * </p>
+     *
+     * @param thread Thread number
+     * @param threadMax Maximum for this thread, or negative for unlimited
+     * @param transactionWriter This thread's
+     * @param transactionIdGenerator This thread's
+     * @param rateGovernor This thread's
+     * @param throughputReporter Shared
+     */
+    private void produce(int thread, int threadMax, TransactionWriter transactionWriter,
+            TransactionIdGenerator transactionIdGenerator, RateGovernor rateGovernor,
+            ThroughputReporter throughputReporter) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long produced = 0;
+        while (threadMax < 0 || produced < threadMax) {
+            int due = rateGovernor.awaitDue(MAX_BATCH_SIZE);
+            if (threadMax > 0) {
+                due = (int) Math.min(due, threadMax - produced);
+            }
+            for (int i = 0; i < due; i++) {
+                String id = transactionIdGenerator.next(random);
+                String transaction = transactionWriter.write(this.transactionMonitorFlavor, id, random);
+
+                if (this.usePulsar) {
+                    this.pulsarProducer.newMessage(Schema.STRING)
+                        .key(id)
+                        .value(transaction)
+                        .sendAsync()
+                        .exceptionally(throwable -> {
+                            throughputReporter.failed();
+                            return null;
+                        });
+                } else {
+                    this.kafkaProducer.send(new ProducerRecord<>(MyConstants.KAFKA_TOPIC_NAME_TRANSACTIONS, id, transaction),
+                        (recordMetadata, exception) -> {
+                            if (exception != null) {
+                                throughputReporter.failed();
+                            }
+                        });
+                }
+
+                if (produced % LOG_THRESHOLD == 0) {
+                    LOGGER.info("Thread {} wrote {} => \"{}\"", thread, produced, transaction);
+                }
+                produced++;
+            }
+            throughputReporter.sent(due);
+        }
+    }
+
     /**
      * <p>Create a random e-commerce transaction with the supplied (random!) Id.
      * The price may be discounted. The quantity is usually 1 but sometimes higher.
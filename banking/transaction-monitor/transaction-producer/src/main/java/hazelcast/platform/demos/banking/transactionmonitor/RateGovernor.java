@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hazelcast.platform.demos.banking.transactionmonitor;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * <p>Paces one producer thread to its share of the requested rate.
+ * </p>
+ * <p>Sends are scheduled at fixed intervals from the start. If the thread falls
+ * behind, the sends due are released in batches to catch up, rather than the
+ * schedule slipping, so the achieved rate is the requested rate unless the producer
+ * can't keep up.
+ * </p>
+ */
+public class RateGovernor {
+    private final long intervalNanos;
+    private long nextNanos;
+
+    /**
+     * @param rate Total transactions per second, all threads
+     * @param threads Number of threads sharing the rate
+     * @param thread This thread, to stagger the threads
+     * @param startNanos Same for all threads
+     */
+    public RateGovernor(long rate, int threads, int thread, long startNanos) {
+        this.intervalNanos = Math.max(1L, TimeUnit.SECONDS.toNanos(1) * threads / rate);
+        this.nextNanos = startNanos + this.intervalNanos * thread / threads;
+    }
+
+    /**
+     * <p>Wait until at least one send is due.
+     * </p>
+     *
+     * @param maxBatch Most to release at once
+     * @return How many sends are due, at least one
+     */
+    public int awaitDue(int maxBatch) {
+        long now = System.nanoTime();
+        while (now < this.nextNanos) {
+            LockSupport.parkNanos(this.nextNanos - now);
+            now = System.nanoTime();
+        }
+        long due = (now - this.nextNanos) / this.intervalNanos + 1;
+        int count = (int) Math.min(due, maxBatch);
+        this.nextNanos += count * this.intervalNanos;
+        return count;
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hazelcast.platform.demos.banking.transactionmonitor;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>Periodically log the achieved rate against the requested rate,
+ * for all producer threads together.
+ * </p>
+ */
+public class ThroughputReporter implements Runnable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ThroughputReporter.class);
+    private static final double ONE_HUNDRED = 100.0d;
+
+    private final long requestedRate;
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private long lastNanos;
+    private long lastSent;
+
+    public ThroughputReporter(long requestedRate, long startNanos) {
+        this.requestedRate = requestedRate;
+        this.lastNanos = startNanos;
+    }
+
+    public void sent(int count) {
+        this.sent.add(count);
+    }
+
+    public void failed() {
+        this.failed.increment();
+    }
+
+    public long getSent() {
+        return this.sent.sum();
+    }
+
+    /**
+     * <p>Rate since the last report.
+     * </p>
+     */
+    @Override
+    public synchronized void run() {
+        long now = System.nanoTime();
+        long sentNow = this.sent.sum();
+        double seconds = (double) (now - this.lastNanos) / TimeUnit.SECONDS.toNanos(1);
+        if (seconds <= 0) {
+            return;
+        }
+        double achieved = (sentNow - this.lastSent) / seconds;
+        LOGGER.info("Requested {} TPS, achieved {} TPS ({}%), sent {}, failed {}",
+                this.requestedRate, String.format("%.0f", achieved),
+                String.format("%.1f", ONE_HUNDRED * achieved / this.requestedRate),
+                sentNow, this.failed.sum());
+        this.lastNanos = now;
+        this.lastSent = sentNow;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hazelcast.platform.demos.banking.transactionmonitor;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * <p>Cheap transaction Ids, one generator per producer thread, instead of
+ * "{@code UUID.randomUUID()}" which uses a shared secure random.
+ * </p>
+ * <ol>
+ * <li><b>Sequential</b> Run start time, thread and a sequence number,
+ * unique across restarts and threads.</li>
+ * <li><b>Random</b> Same format as a UUID, from "{@code ThreadLocalRandom}",
+ * not cryptographically secure, but unique enough for test data.</li>
+ * </ol>
+ */
+public class TransactionIdGenerator {
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final int UUID_LENGTH = 36;
+    private static final int HEX_DIGITS_PER_LONG = 16;
+    private static final int BITS_PER_HEX_DIGIT = 4;
+    private static final int HEX_DIGIT_MASK = 0xF;
+    // Positions of '-' in "8-4-4-4-12" format
+    private static final int[] UUID_DASHES = {8, 13, 18, 23};
+
+    private final boolean sequential;
+    private final StringBuilder stringBuilder;
+    private final int prefixLength;
+    private final char[] uuid = new char[UUID_LENGTH];
+    private long sequence;
+
+    /**
+     * @param runStartMillis Same for all threads in this run
+     * @param thread Thread number
+     * @param sequential Sequential or random
+     */
+    public TransactionIdGenerator(long runStartMillis, int thread, boolean sequential) {
+        this.sequential = sequential;
+        this.stringBuilder = new StringBuilder()
+                .append(Long.toHexString(runStartMillis)).append('-').append(thread).append('-');
+        this.prefixLength = this.stringBuilder.length();
+        for (int dash : UUID_DASHES) {
+            this.uuid[dash] = '-';
+        }
+    }
+
+    /**
+     * <p>The next Id.
+     * </p>
+     *
+     * @param random Thread's random
+     * @return An Id
+     */
+    public String next(ThreadLocalRandom random) {
+        if (this.sequential) {
+            this.stringBuilder.setLength(this.prefixLength);
+            return this.stringBuilder.append(this.sequence++).toString();
+        }
+        this.fillHex(random.nextLong(), 0);
+        this.fillHex(random.nextLong(), HEX_DIGITS_PER_LONG);
+        return new String(this.uuid);
+    }
+
+    /**
+     * <p>Write 16 hex digits for the long, skipping dashes.
+     * </p>
+     *
+     * @param value Random
+     * @param digitOffset First digit, 0 or 16
+     */
+    private void fillHex(long value, int digitOffset) {
+        long remaining = value;
+        for (int i = 0; i < HEX_DIGITS_PER_LONG; i++) {
+            int digit = digitOffset + i;
+            // Each dash before this digit shifts it one right
+            int position = digit;
+            for (int dash : UUID_DASHES) {
+                if (position >= dash) {
+                    position++;
+                }
+            }
+            this.uuid[position] = HEX_DIGITS[(int) (remaining & HEX_DIGIT_MASK)];
+            remaining >>>= BITS_PER_HEX_DIGIT;
+        }
+    }
+}
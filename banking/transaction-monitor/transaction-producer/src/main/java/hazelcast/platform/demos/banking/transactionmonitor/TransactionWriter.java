@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hazelcast.platform.demos.banking.transactionmonitor;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+/**
+ * <p>Writes the same transactions as {@link ApplicationRunner}, but reusing one
+ * buffer per producer thread, and with money formatted from fixed-point
+ * rather than "{@code String.format}".
+ * </p>
+ * <p>Reference data is shared between threads, as arrays for cheap random
+ * selection. Trade prices are a random walk shared by all threads.
+ * </p>
+ */
+public class TransactionWriter {
+    private static final int INITIAL_CAPACITY = 2048;
+    private static final int LOWEST_ECOMMERCE_QUANTITY = 10;
+    private static final int LOWEST_PAYMENT_QUANTITY = 10_000;
+    private static final int HIGHEST_PAYMENT_QUANTITY = 1_000_000;
+    private static final int LOWEST_TRADE_QUANTITY = 10;
+    private static final int HIGHEST_TRADE_QUANTITY = 10_000;
+    private static final int DISCOUNT_ECOMMERCE_PERCENT = 100;
+    private static final int DISCOUNT_ECOMMERCE_1 = 75;
+    private static final int DISCOUNT_ECOMMERCE_2 = 85;
+    private static final int DISCOUNT_ECOMMERCE_3 = 90;
+    private static final int ONE_HUNDRED = 100;
+    private static final int TEN = 10;
+    private static final String[] PAYMENT_CHARGE_BEARER_TYPES = {"DEBT", "CRED", "SHAR"};
+
+    private final StringBuilder stringBuilder = new StringBuilder(INITIAL_CAPACITY);
+    private final String[] bics;
+    private final String[] bicCurrencies;
+    private final double[] bicRates;
+    private final String[] ecommerceItems;
+    private final double[] ecommercePrices;
+    private final String[] tradeSymbols;
+    private final AtomicIntegerArray tradePrices;
+    private final String todayCCYYMMDD;
+
+    /**
+     * <p>Reference data, arrays are shared and not modified, except trade prices.
+     * </p>
+     */
+    @SuppressFBWarnings(value = "EI_EXPOSE_REP2", justification = "Shared between threads intentionally")
+    public TransactionWriter(String[] bics, String[] bicCurrencies, double[] bicRates,
+            String[] ecommerceItems, double[] ecommercePrices,
+            String[] tradeSymbols, AtomicIntegerArray tradePrices, String todayCCYYMMDD) {
+        this.bics = bics;
+        this.bicCurrencies = bicCurrencies;
+        this.bicRates = bicRates;
+        this.ecommerceItems = ecommerceItems;
+        this.ecommercePrices = ecommercePrices;
+        this.tradeSymbols = tradeSymbols;
+        this.tradePrices = tradePrices;
+        this.todayCCYYMMDD = todayCCYYMMDD;
+    }
+
+    /**
+     * <p>Transaction for the flavor.
+     * </p>
+     *
+     * @param transactionMonitorFlavor Which kind
+     * @param id Transaction Id
+     * @param random Thread's random
+     * @return JSON
+     */
+    public String write(TransactionMonitorFlavor transactionMonitorFlavor, String id, ThreadLocalRandom random) {
+        this.stringBuilder.setLength(0);
+        switch (transactionMonitorFlavor) {
+        case ECOMMERCE:
+            this.writeEcommerce(id, random);
+            break;
+        case PAYMENTS:
+            this.writePayments(id, random);
+            break;
+        case TRADE:
+        default:
+            this.writeTrade(id, random);
+            break;
+        }
+        return this.stringBuilder.toString();
+    }
+
+    /**
+     * <p>As "{@code ApplicationRunner.createEcommerceTransaction}".
+     * </p>
+     */
+    private void writeEcommerce(String id, ThreadLocalRandom random) {
+        int item = random.nextInt(this.ecommerceItems.length);
+        double price = this.ecommercePrices[item];
+        int quantity = 1;
+        if (random.nextInt(LOWEST_ECOMMERCE_QUANTITY) == 0) {
+            quantity++;
+            if (random.nextInt(LOWEST_ECOMMERCE_QUANTITY) == 0) {
+                quantity++;
+            }
+        }
+
+        int discountBand = random.nextInt(DISCOUNT_ECOMMERCE_PERCENT);
+        if (discountBand > DISCOUNT_ECOMMERCE_1 && price <= DISCOUNT_ECOMMERCE_2) {
+            price = price * DISCOUNT_ECOMMERCE_1 / DISCOUNT_ECOMMERCE_PERCENT;
+        }
+        if (discountBand > DISCOUNT_ECOMMERCE_2 && price <= DISCOUNT_ECOMMERCE_3) {
+            price = price * DISCOUNT_ECOMMERCE_2 / DISCOUNT_ECOMMERCE_PERCENT;
+        }
+        if (discountBand > DISCOUNT_ECOMMERCE_3) {
+            price = price * DISCOUNT_ECOMMERCE_3 / DISCOUNT_ECOMMERCE_PERCENT;
+        }
+
+        this.stringBuilder.append("{\"id\": \"").append(id)
+            .append("\",\"timestamp\": ").append(System.currentTimeMillis())
+            .append(",\"itemCode\": \"").append(this.ecommerceItems[item])
+            .append("\",\"price\": ");
+        this.appendCents(Math.round(price * ONE_HUNDRED));
+        this.stringBuilder.append(",\"quantity\": ").append(quantity).append('}');
+    }
+
+    /**
+     * <p>As "{@code ApplicationRunner.createPaymentsTransaction}". The XML
+     * is written directly as the JSON array of lines that
+     * "{@code MyUtils.xmlSafeForJson}" would produce.
+     * </p>
+     */
+    @SuppressFBWarnings(value = "RV_ABSOLUTE_VALUE_OF_HASHCODE",
+            justification = "Using HashCode to generate random number")
+    private void writePayments(String id, ThreadLocalRandom random) {
+        int creditor = random.nextInt(this.bics.length);
+        String bicCreditor = this.bics[creditor];
+        String ccy = this.bicCurrencies[creditor];
+        int usd = random.nextInt(LOWEST_PAYMENT_QUANTITY, HIGHEST_PAYMENT_QUANTITY);
+        double amt = (1 / this.bicRates[creditor]) * usd;
+        String chargeBearerType = PAYMENT_CHARGE_BEARER_TYPES[random.nextInt(PAYMENT_CHARGE_BEARER_TYPES.length)];
+
+        int debitor = random.nextInt(this.bics.length);
+        while (debitor == creditor) {
+            debitor = random.nextInt(this.bics.length);
+        }
+        String bicDebitor = this.bics[debitor];
+
+        this.stringBuilder.append("{\"id\": \"").append(id)
+            .append("\",\"timestamp\": ").append(System.currentTimeMillis())
+            .append(",\"kind\": \"pain.001.001\",\"bicCreditor\": \"").append(bicCreditor)
+            .append("\",\"bicDebitor\": \"").append(bicDebitor)
+            .append("\",\"ccy\": \"").append(ccy)
+            .append("\",\"amtFloor\": ").append(Math.round(amt)).append(".00")
+            .append(",\"xml\": [\"<pain.001.001>\"")
+            .append(", \" <CdtTrfTxInf>\"")
+            .append(", \"  <Amt>\"")
+            .append(", \"   <InstdAmt Ccy=\\\"").append(ccy).append("\\\">");
+        this.appendCents(Math.round(amt * ONE_HUNDRED));
+        this.stringBuilder.append("</InstdAmt>\"")
+            .append(", \"  </Amt>\"")
+            .append(", \"  <Cdtr>\"")
+            .append(", \"   <Nm>").append(bicDebitor).append("</Nm>\"")
+            .append(", \"  </Cdtr>\"")
+            .append(", \"  <CdtrAgt>\"")
+            .append(", \"   <FinInstnId>\"")
+            .append(", \"    <BICFI>").append(bicCreditor).append("</BICFI>\"")
+            .append(", \"   </FinInstnId>\"")
+            .append(", \"  </CdtrAgt>\"")
+            .append(", \"  <ChrgBr>").append(chargeBearerType).append("</ChrgBr>\"")
+            .append(", \"  <PmntId>\"")
+            .append(", \"   <InstrId>").append(bicDebitor).append('/').append(this.todayCCYYMMDD)
+                .append('/').append(Math.abs(id.hashCode())).append("</InstrId>\"")
+            .append(", \"   <EndToEndId>").append(id).append("</EndToEndId>\"")
+            .append(", \"  </PmntId>\"")
+            .append(", \" </CdtTrfTxInf>\"")
+            .append(", \"</pain.001.001>\"]}");
+    }
+
+    /**
+     * <p>As "{@code ApplicationRunner.createTradeTransaction}".
+     * </p>
+     */
+    private void writeTrade(String id, ThreadLocalRandom random) {
+        int symbol = random.nextInt(this.tradeSymbols.length);
+        // Vary price between -1 to +2... randomly
+        int cents = this.tradePrices.addAndGet(symbol, random.nextInt(-1, 2));
+
+        this.stringBuilder.append("{\"id\": \"").append(id)
+            .append("\",\"timestamp\": ").append(System.currentTimeMillis())
+            .append(",\"symbol\": \"").append(this.tradeSymbols[symbol])
+            .append("\",\"price\": ");
+        this.appendCents(cents);
+        this.stringBuilder.append(",\"quantity\": ")
+            .append(random.nextInt(LOWEST_TRADE_QUANTITY, HIGHEST_TRADE_QUANTITY)).append('}');
+    }
+
+    /**
+     * <p>Format as "{@code %.2f}" would, for a value in hundredths.
+     * </p>
+     *
+     * @param cents Value times 100
+     */
+    private void appendCents(long cents) {
+        if (cents < 0) {
+            this.stringBuilder.append('-');
+        }
+        long abs = Math.abs(cents);
+        long fraction = abs % ONE_HUNDRED;
+        this.stringBuilder.append(abs / ONE_HUNDRED).append('.');
+        if (fraction < TEN) {
+            this.stringBuilder.append('0');
+        }
+        this.stringBuilder.append(fraction);
+    }
+}
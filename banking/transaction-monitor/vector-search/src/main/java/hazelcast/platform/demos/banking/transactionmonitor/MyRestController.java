@@ -16,15 +16,40 @@
 
 package hazelcast.platform.demos.banking.transactionmonitor;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.vector.SearchOptions;
@@ -37,11 +62,19 @@ import com.hazelcast.vector.VectorValues.SingleVectorValues;
 /**
  * <p>Makes vector search available to Javascript
  * </p>
+ * <p>Also a batch search, taking many query vectors in one request and returning
+ * one JSON line per query, in the order given, as each completes. The request
+ * body is read as a stream, and rejected once it has more than
+ * {@link #BATCH_MAX_QUERIES} queries, so an oversized request is not buffered.
+ * </p>
  */
 @RestController
 @RequestMapping("/rest")
 public class MyRestController {
     private static final Logger LOGGER = LoggerFactory.getLogger(MyRestController.class);
+    private static final int BATCH_MAX_QUERIES = 10_000;
+    private static final int BATCH_MAX_IN_FLIGHT = 16;
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
 
     private final VectorCollection<String, String> transactions;
 
@@ -67,22 +100,7 @@ public class MyRestController {
 
         try {
             float[] targetMoments = this.parse(intCsv);
-            VectorValues targetVectorValues = VectorValues.of(MyConstants.VECTOR_DOCUMENT_MOMENTS, targetMoments);
-
-            SearchResults<String, String> searchResults =
-                    this.transactions
-                    .searchAsync(targetVectorValues, SearchOptions.of(MyConstants.SQL_RESULT_THRESHOLD, true, true))
-                    .toCompletableFuture().get();
-
-            Iterator<SearchResult<String, String>> iterator  = searchResults.results();
-            int count = 0;
-            while (iterator.hasNext()) {
-                if (count > 0) {
-                    stringBuilder.append(" , ");
-                }
-                stringBuilder.append(formatMatch(iterator.next()));
-                count++;
-            }
+            stringBuilder.append(formatResults(this.search(targetMoments).get()));
         } catch (Exception e) {
             LOGGER.error(String.format("vectorSearch(%s)", intCsv, e));
             error = true;
@@ -97,6 +115,260 @@ public class MyRestController {
         return stringBuilder.toString();
     }
 
+    /**
+     * <p>Batch search, query vectors as a JSON array of arrays of numbers.
+     * </p>
+     *
+     * @param body Each query of {@link MyConstants#MOMENTS_IN_HOUR} numbers
+     * @return One line per query, as for {@link #vectorSearch(String)} plus the query's index
+     */
+    @PostMapping(value = "/vectorsearch/batch", consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> vectorSearchBatch(InputStream body) {
+        float[][] queries;
+        try {
+            queries = parseQueries(body);
+        } catch (ResponseStatusException e) {
+            return this.rejectBatch("vectorSearchBatch()", e);
+        } catch (IOException e) {
+            return this.rejectBatch("vectorSearchBatch()",
+                    new ResponseStatusException(HttpStatus.BAD_REQUEST, Objects.toString(e.getMessage())));
+        }
+
+        LOGGER.info("vectorSearchBatch(): {} queries", queries.length);
+        return ResponseEntity.ok(outputStream -> this.searchBatch(queries, outputStream));
+    }
+
+    /**
+     * <p>Batch search, query vectors as consecutive little-endian 32-bit floats,
+     * {@link MyConstants#MOMENTS_IN_HOUR} per query.
+     * </p>
+     * <p>Content length is checked before the body is read. If not given, as for
+     * chunked uploads, reading stops at one byte beyond the limit.
+     * </p>
+     *
+     * @param contentLength
+     * @param body
+     * @return One line per query, as for {@link #vectorSearchBatch(InputStream)}
+     */
+    @PostMapping(value = "/vectorsearch/batch", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> vectorSearchBatchBinary(
+            @RequestHeader(name = HttpHeaders.CONTENT_LENGTH, required = false) Long contentLength,
+            InputStream body) {
+        int queryBytes = MyConstants.MOMENTS_IN_HOUR * Float.BYTES;
+        int maxBytes = BATCH_MAX_QUERIES * queryBytes;
+        String tooLarge = String.format("More than %d queries, limit is %d bytes", BATCH_MAX_QUERIES, maxBytes);
+        if (contentLength != null && contentLength > maxBytes) {
+            return this.rejectBatch("vectorSearchBatchBinary()",
+                    new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, tooLarge));
+        }
+
+        byte[] bytes;
+        try {
+            bytes = body.readNBytes(maxBytes + 1);
+        } catch (IOException e) {
+            return this.rejectBatch("vectorSearchBatchBinary()",
+                    new ResponseStatusException(HttpStatus.BAD_REQUEST, Objects.toString(e.getMessage())));
+        }
+        if (bytes.length > maxBytes) {
+            return this.rejectBatch("vectorSearchBatchBinary()",
+                    new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, tooLarge));
+        }
+        if (bytes.length % queryBytes != 0) {
+            return this.rejectBatch("vectorSearchBatchBinary()", new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    String.format("Body length %d not a multiple of %d", bytes.length, queryBytes)));
+        }
+
+        FloatBuffer floatBuffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+        float[][] queries = new float[bytes.length / queryBytes][MyConstants.MOMENTS_IN_HOUR];
+        for (float[] query : queries) {
+            floatBuffer.get(query);
+        }
+
+        LOGGER.info("vectorSearchBatchBinary(): {} queries", queries.length);
+        return ResponseEntity.ok(outputStream -> this.searchBatch(queries, outputStream));
+    }
+
+    /**
+     * <p>Parse a JSON array of arrays of numbers as it is read, failing as soon as
+     * there are too many queries or a query has too many numbers, so memory use
+     * is bounded whatever the size of the request.
+     * </p>
+     * <p>A query with too few numbers is kept, and reported on its own line by
+     * {@link #search(float[])}, as for any other failed search.
+     * </p>
+     *
+     * @param inputStream Request body
+     * @return Queries
+     * @throws IOException If not valid JSON
+     */
+    private static float[][] parseQueries(InputStream inputStream) throws IOException {
+        List<float[]> queries = new ArrayList<>();
+        try (JsonParser jsonParser = JSON_FACTORY.createParser(inputStream)) {
+            if (jsonParser.nextToken() != JsonToken.START_ARRAY) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Expected an array of arrays");
+            }
+            JsonToken token;
+            while ((token = jsonParser.nextToken()) == JsonToken.START_ARRAY) {
+                if (queries.size() == BATCH_MAX_QUERIES) {
+                    throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                            String.format("More than %d queries", BATCH_MAX_QUERIES));
+                }
+                float[] query = new float[MyConstants.MOMENTS_IN_HOUR];
+                int count = 0;
+                while (jsonParser.nextToken() != JsonToken.END_ARRAY) {
+                    if (!jsonParser.currentToken().isNumeric()) {
+                        throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                                String.format("Query %d item %d not a number", queries.size(), count));
+                    }
+                    if (count == query.length) {
+                        throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                                String.format("Query %d has more than %d items", queries.size(), query.length));
+                    }
+                    query[count++] = jsonParser.getFloatValue();
+                }
+                queries.add(count == query.length ? query : Arrays.copyOf(query, count));
+            }
+            if (token != JsonToken.END_ARRAY) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Expected an array of arrays");
+            }
+        }
+        return queries.toArray(new float[0][]);
+    }
+
+    /**
+     * <p>Reject the whole batch, with the reason as the only line.
+     * </p>
+     *
+     * @param caller For logging
+     * @param responseStatusException Status and reason
+     * @return Response with the error status
+     */
+    private ResponseEntity<StreamingResponseBody> rejectBatch(String caller,
+            ResponseStatusException responseStatusException) {
+        String errorMessage = Objects.toString(responseStatusException.getReason());
+        LOGGER.error("{}: {}", caller, errorMessage);
+        return ResponseEntity.status(responseStatusException.getStatusCode())
+                .body(outputStream -> this.writeLine(outputStream, -1,
+                        CompletableFuture.failedFuture(new RuntimeException(errorMessage))));
+    }
+
+    /**
+     * <p>Run the searches with at most {@link #BATCH_MAX_IN_FLIGHT} outstanding, writing
+     * results in query order as soon as the earliest unwritten one is ready.
+     * </p>
+     *
+     * @param queries
+     * @param outputStream
+     * @throws IOException
+     */
+    private void searchBatch(float[][] queries, OutputStream outputStream) throws IOException {
+        Semaphore semaphore = new Semaphore(BATCH_MAX_IN_FLIGHT);
+        List<CompletableFuture<SearchResults<String, String>>> futures = new ArrayList<>(queries.length);
+        int written = 0;
+        try {
+            for (float[] query : queries) {
+                semaphore.acquire();
+                CompletableFuture<SearchResults<String, String>> future = this.search(query);
+                future.whenComplete((searchResults, throwable) -> semaphore.release());
+                futures.add(future);
+
+                while (written < futures.size() && futures.get(written).isDone()) {
+                    this.writeLine(outputStream, written, futures.get(written));
+                    written++;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        while (written < futures.size()) {
+            this.writeLine(outputStream, written, futures.get(written));
+            written++;
+        }
+        outputStream.flush();
+    }
+
+    /**
+     * <p>Start one search.
+     * </p>
+     *
+     * @param targetMoments
+     * @return
+     */
+    private CompletableFuture<SearchResults<String, String>> search(float[] targetMoments) {
+        if (targetMoments == null || targetMoments.length != MyConstants.MOMENTS_IN_HOUR) {
+            return CompletableFuture.failedFuture(new RuntimeException(String.format("Found %d not %d items",
+                    (targetMoments == null ? 0 : targetMoments.length), MyConstants.MOMENTS_IN_HOUR)));
+        }
+        VectorValues targetVectorValues = VectorValues.of(MyConstants.VECTOR_DOCUMENT_MOMENTS, targetMoments);
+
+        return this.transactions
+                .searchAsync(targetVectorValues, SearchOptions.of(MyConstants.SQL_RESULT_THRESHOLD, true, true))
+                .toCompletableFuture();
+    }
+
+    /**
+     * <p>Write one result line for the batch, waiting for it if needed, and flush
+     * so the client has it now rather than when the buffer fills.
+     * </p>
+     *
+     * @param outputStream
+     * @param query Index in the batch
+     * @param future
+     * @throws IOException
+     */
+    private void writeLine(OutputStream outputStream, int query,
+            CompletableFuture<SearchResults<String, String>> future) throws IOException {
+        boolean error = false;
+        String errorMessage = "";
+
+        StringBuilder stringBuilder = new StringBuilder();
+        stringBuilder.append("{ \"query\": ").append(query);
+        stringBuilder.append(", \"vectorsearch\": [");
+        try {
+            stringBuilder.append(formatResults(future.get()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            error = true;
+            errorMessage = "Interrupted";
+        } catch (ExecutionException e) {
+            error = true;
+            errorMessage = Objects.toString(e.getCause().getMessage());
+        } catch (RuntimeException e) {
+            error = true;
+            errorMessage = Objects.toString(e.getMessage());
+        }
+        stringBuilder.append(" ]");
+        stringBuilder.append(", \"error\": ").append(error);
+        stringBuilder.append(", \"error_message\": \"").append(MyUtils.safeForJsonStr(errorMessage)).append("\"");
+        stringBuilder.append(" }\n");
+
+        outputStream.write(stringBuilder.toString().getBytes(StandardCharsets.UTF_8));
+        outputStream.flush();
+    }
+
+    /**
+     * <p>Format the matches for one search, comma separated.
+     * </p>
+     *
+     * @param searchResults
+     * @return
+     */
+    private static String formatResults(SearchResults<String, String> searchResults) {
+        StringBuilder stringBuilder = new StringBuilder();
+        Iterator<SearchResult<String, String>> iterator  = searchResults.results();
+        int count = 0;
+        while (iterator.hasNext()) {
+            if (count > 0) {
+                stringBuilder.append(" , ");
+            }
+            stringBuilder.append(formatMatch(iterator.next()));
+            count++;
+        }
+        return stringBuilder.toString();
+    }
+
     /**
      * <p>Parse CSV input to {@code float[]}.
      * </p>
@@ -130,7 +402,7 @@ public class MyRestController {
      * @param next
      * @return
      */
-    private String formatMatch(SearchResult<String, String> searchResult) {
+    private static String formatMatch(SearchResult<String, String> searchResult) {
         StringBuilder stringBuilder = new StringBuilder();
         stringBuilder.append("{");
         stringBuilder.append(" \"key\" : \"").append(searchResult.getKey()).append("\"");
@@ -33,7 +33,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.hazelcast.core.HazelcastInstance;
-import com.hazelcast.core.HazelcastJsonValue;
 import com.hazelcast.core.IExecutorService;
 import com.hazelcast.crdt.pncounter.PNCounter;
 import com.hazelcast.jet.datamodel.Tuple3;
@@ -79,7 +78,7 @@ public class ApplicationRunner {
     private IMap<String, BicInfo> bicsMap;
     private IMap<String, ProductInfo> productsMap;
     private IMap<String, SymbolInfo> symbolsMap;
-    private IMap<String, HazelcastJsonValue> transactionsMap;
+    private IMap<String, Object> transactionsMap;
 
 
     /**
@@ -426,11 +425,10 @@ public class ApplicationRunner {
     private void drillItemsEcommerce(JSONObject jsonObject, String itemCode) {
         jsonObject.put("itemCode", itemCode);
 
-        Collection<HazelcastJsonValue> records = this.transactionsMap.values(new EqualPredicate("itemCode", itemCode));
+        Collection<Object> records = this.transactionsMap.values(new EqualPredicate("itemCode", itemCode));
 
         records.forEach(transaction -> {
-            String transactionJson = transaction.toString();
-            jsonObject.append("data", new JSONObject(transactionJson));
+            jsonObject.append("data", TransactionsMapListener.toJSONObject(transaction));
         });
     }
 
@@ -444,11 +442,10 @@ public class ApplicationRunner {
     private void drillItemsPayments(JSONObject jsonObject, String bicCreditor) {
         jsonObject.put("bicCreditor", bicCreditor);
 
-        Collection<HazelcastJsonValue> records = this.transactionsMap.values(new EqualPredicate("bicCreditor", bicCreditor));
+        Collection<Object> records = this.transactionsMap.values(new EqualPredicate("bicCreditor", bicCreditor));
 
         records.forEach(transaction -> {
-            String transactionJson = transaction.toString();
-            jsonObject.append("data", new JSONObject(transactionJson));
+            jsonObject.append("data", TransactionsMapListener.toJSONObject(transaction));
         });
     }
 
@@ -462,11 +459,10 @@ public class ApplicationRunner {
     private void drillItemsTrade(JSONObject jsonObject, String symbol) {
         jsonObject.put("symbol", symbol);
 
-        Collection<HazelcastJsonValue> records = this.transactionsMap.values(new EqualPredicate("symbol", symbol));
+        Collection<Object> records = this.transactionsMap.values(new EqualPredicate("symbol", symbol));
 
         records.forEach(transaction -> {
-            String transactionJson = transaction.toString();
-            jsonObject.append("data", new JSONObject(transactionJson));
+            jsonObject.append("data", TransactionsMapListener.toJSONObject(transaction));
         });
     }
 
@@ -639,6 +635,9 @@ public class ApplicationRunner {
             String kubernetesOrHzCloud = properties.getProperty(MyConstants.USE_HZ_CLOUD);
             boolean useHzCloud = MyUtils.useHzCloud(kubernetesOrHzCloud);
             LOGGER.debug("useHzCloud='{}'", useHzCloud);
+            String transactionFormat = properties.getProperty(MyConstants.TRANSACTION_FORMAT_KEY);
+            boolean useCompactTransactions = MyUtils.useCompactTransactions(transactionFormat);
+            LOGGER.debug("useCompactTransactions='{}'", useCompactTransactions);
             TransactionMonitorFlavor transactionMonitorFlavor = MyUtils.getTransactionMonitorFlavor(properties);
             LOGGER.info("TransactionMonitorFlavor=='{}'", transactionMonitorFlavor);
 
@@ -649,7 +648,7 @@ public class ApplicationRunner {
             ok &= TransactionMonitorIdempotentInitialization.createNeededObjects(hazelcastInstance,
                     properties, ourProjectProvenance, transactionMonitorFlavor, this.localhost, useHzCloud);
             ok &= TransactionMonitorIdempotentInitialization.loadNeededData(hazelcastInstance, bootstrapServers,
-                    pulsarAddress, usePulsar, useHzCloud, transactionMonitorFlavor);
+                    pulsarAddress, usePulsar, useHzCloud, useCompactTransactions, transactionMonitorFlavor);
             ok &= TransactionMonitorIdempotentInitialization.defineQueryableObjects(hazelcastInstance, bootstrapServers,
                     properties, transactionMonitorFlavor, this.localhost, this.kubernetes, this.useHzCloud);
             if (ok && !this.localhost) {
@@ -34,7 +34,7 @@ import io.javalin.websocket.WsContext;
  * to show on the web panel.
  * </p>
  */
-public class TransactionsMapListener implements EntryAddedListener<String, HazelcastJsonValue> {
+public class TransactionsMapListener implements EntryAddedListener<String, Object> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TransactionsMapListener.class);
 
@@ -69,10 +69,10 @@ public class TransactionsMapListener implements EntryAddedListener<String, Hazel
      * @param event Key is transaction Id, Value is full transaction incl. Id
      */
     @Override
-    public void entryAdded(EntryEvent<String, HazelcastJsonValue> event) {
+    public void entryAdded(EntryEvent<String, Object> event) {
 
-        HazelcastJsonValue transaction = event.getValue();
-        JSONObject jsonObjectInput = new JSONObject(transaction.toString());
+        Object transaction = event.getValue();
+        JSONObject jsonObjectInput = toJSONObject(transaction);
         String item = jsonObjectInput.getString(this.itemFieldName);
 
         if (count.getAndIncrement() % LOG_THRESHOLD == 0) {
@@ -82,8 +82,7 @@ public class TransactionsMapListener implements EntryAddedListener<String, Hazel
         JSONObject jsonObjectOutput = new JSONObject();
         jsonObjectOutput.put(this.itemFieldName, item);
 
-        String transactionJson = transaction.toString();
-        jsonObjectOutput.append("data", new JSONObject(transactionJson));
+        jsonObjectOutput.append("data", jsonObjectInput);
         String message = jsonObjectOutput.toString();
 
         /* Contexts that have the drill-down view open need this updated
@@ -101,4 +100,19 @@ public class TransactionsMapListener implements EntryAddedListener<String, Hazel
 
     }
 
+    /**
+     * <p>Transactions are {@link HazelcastJsonValue} or, if stored as Compact,
+     * Java objects with getters for the same fields.
+     * </p>
+     *
+     * @param transaction From the "{@code transactions}" map
+     * @return The same fields as JSON
+     */
+    static JSONObject toJSONObject(Object transaction) {
+        if (transaction instanceof HazelcastJsonValue) {
+            return new JSONObject(transaction.toString());
+        }
+        return new JSONObject(transaction);
+    }
+
 }
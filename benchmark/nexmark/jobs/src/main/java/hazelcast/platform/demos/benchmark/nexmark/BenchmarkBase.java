@@ -17,15 +17,19 @@
 package hazelcast.platform.demos.benchmark.nexmark;
 
 import static com.hazelcast.jet.datamodel.Tuple2.tuple2;
+import static com.hazelcast.jet.datamodel.Tuple3.tuple3;
 
 import java.text.NumberFormat;
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
+import org.HdrHistogram.Histogram;
+
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.HazelcastJsonValue;
 import com.hazelcast.function.BiFunctionEx;
@@ -36,12 +40,17 @@ import com.hazelcast.jet.accumulator.LongLongAccumulator;
 import com.hazelcast.jet.config.JobConfig;
 import com.hazelcast.jet.config.ProcessingGuarantee;
 import com.hazelcast.jet.datamodel.Tuple2;
+import com.hazelcast.jet.datamodel.Tuple3;
+import com.hazelcast.jet.datamodel.WindowResult;
 import com.hazelcast.jet.pipeline.Pipeline;
+import com.hazelcast.jet.pipeline.ServiceFactories;
 import com.hazelcast.jet.pipeline.Sinks;
 import com.hazelcast.jet.pipeline.StreamStage;
+import com.hazelcast.jet.pipeline.WindowDefinition;
 
 import hazelcast.platform.demos.benchmark.nexmark.model.Auction;
 import hazelcast.platform.demos.benchmark.nexmark.model.Bid;
+import hazelcast.platform.demos.benchmark.nexmark.model.BidFlyweight;
 import hazelcast.platform.demos.benchmark.nexmark.model.Person;
 
 /**
@@ -54,58 +63,87 @@ import hazelcast.platform.demos.benchmark.nexmark.model.Person;
  */
 public abstract class BenchmarkBase {
     public static final String IMAP_NAME_CURRENT_LATENCIES = "current_latencies";
+    public static final String IMAP_NAME_KNEES = "knees";
+    public static final String IMAP_NAME_LATENCY_CURVES = "latency_curves";
+    public static final String IMAP_NAME_LATENCY_HISTOGRAMS = "latency_histograms";
+    public static final String IMAP_NAME_LATENCY_PERCENTILES = "latency_percentiles";
     public static final String IMAP_NAME_MAX_LATENCIES = "max_latencies";
+    public static final String IMAP_NAME_SERIALIZATION_COSTS = "serialization_costs";
+    public static final String IMAP_NAME_WARM_UPS = "warm_ups";
+    public static final String PROP_EVENT_MODEL = "event_model";
     public static final String PROP_EVENTS_PER_SECOND = "events_per_second";
     public static final String PROP_KIND = "kind";
+    public static final String PROP_LATENCY_SLO_MILLIS = "latency_slo_millis";
     public static final String PROP_NUM_DISTINCT_KEYS = "num_distinct_keys";
     public static final String PROP_PROCESSING_GUARANTEE = "processing_guarantee";
+    public static final String PROP_RATE_BURST_MILLIS = "rate_burst_millis";
+    public static final String PROP_RATE_PERCENT = "rate_percent";
+    public static final String PROP_RATE_PERIOD_MILLIS = "rate_period_millis";
+    public static final String PROP_RATE_PROFILE = "rate_profile";
+    public static final String PROP_RATE_STEPS = "rate_steps";
+    public static final String PROP_RATE_TRACE_ID = "rate_trace_id";
+    public static final String PROP_SINGLE_STAGE = "single_stage";
     public static final String PROP_SLIDING_STEP_MILLIS = "sliding_step_millis";
+    public static final String PROP_WARM_UP_CV_PERCENT = "warm_up_cv_percent";
+    public static final String PROP_WARM_UP_MILLIS = "warm_up_millis";
     public static final String PROP_WINDOW_SIZE_MILLIS = "window_size_millis";
     public static final long ONE_SECOND_AS_MILLIS = TimeUnit.SECONDS.toMillis(1);
     public static final long ONE_SECOND_AS_NANOS = TimeUnit.SECONDS.toNanos(1);
 
     protected static final long NO_ALLOWED_LAG = 0L;
     protected static final long INITIAL_SOURCE_DELAY_MILLIS = 10L;
-    // 15 minutes warm up, so JVM is likely to have settled into normal operations
-    protected static final long WARM_UP_MILLIS = TimeUnit.MINUTES.toMillis(15L);
+    // Warm-up is decided by WarmUpController, so no latencies are dropped when measured
+    protected static final long NO_WARM_UP = 0L;
 
     private static final long SNAPSHOT_INTERVAL_MILLIS = 1_000L;
+    // One write per latency map per bucket
+    static final long LATENCY_BUCKET_MILLIS = 10_000L;
     private static final NumberFormat NUMBER_FORMAT = NumberFormat.getInstance();
+    private static final int XORSHIFT_A = 13;
+    private static final int XORSHIFT_B = 7;
+    private static final int XORSHIFT_C = 17;
+
+    // Key of the run in the results maps, set by run() for addComputation()
+    private String runMapKey;
 
     /**
      * <p>Using a pair of timestamp as state (first timestamp and last timestamp),
      * examine the incoming timestamp to determine the latency.
      * Re-factored to a separate function for unit testing.
      * </p>
+     *
+     * @param warmUpMillis Latencies within this offset are dropped
+     * @return Function for "{@code mapStateful}"
      */
-    protected static final BiFunctionEx<LongLongAccumulator, Long, Tuple2<Long, Long>> LATENCY_FN =
-            (state, timestamp) -> {
-                long lastTimestamp = state.get2();
-                if (timestamp <= lastTimestamp) {
-                    return null;
-                }
-                if (lastTimestamp == 0) {
-                    // state.startTimestamp = timestamp;
-                    state.set1(timestamp);
-                }
-                long startTimestamp = state.get1();
-                // state.lastTimestamp = timestamp;
-                state.set2(timestamp);
-
-                // Drop results in warm-up phase
-                long offset = timestamp - startTimestamp;
-                if (offset < WARM_UP_MILLIS) {
-                    return null;
-                }
-
-                // very low latencies may be reported as negative due to clock skew
-                long latency = System.currentTimeMillis() - timestamp;
-                if (latency < 0) {
-                    latency = 0;
-                }
-
-                return tuple2(offset, latency);
-            };
+    protected static BiFunctionEx<LongLongAccumulator, Long, Tuple2<Long, Long>> latencyFn(long warmUpMillis) {
+        return (state, timestamp) -> {
+            long lastTimestamp = state.get2();
+            if (timestamp <= lastTimestamp) {
+                return null;
+            }
+            if (lastTimestamp == 0) {
+                // state.startTimestamp = timestamp;
+                state.set1(timestamp);
+            }
+            long startTimestamp = state.get1();
+            // state.lastTimestamp = timestamp;
+            state.set2(timestamp);
+
+            // Drop results in warm-up phase
+            long offset = timestamp - startTimestamp;
+            if (offset < warmUpMillis) {
+                return null;
+            }
+
+            // very low latencies may be reported as negative due to clock skew
+            long latency = System.currentTimeMillis() - timestamp;
+            if (latency < 0) {
+                latency = 0;
+            }
+
+            return tuple2(offset, latency);
+        };
+    }
 
 
     /**
@@ -123,10 +161,12 @@ public abstract class BenchmarkBase {
             ProcessingGuarantee processingGuarantee) {
 
         String kind = this.getClass().getSimpleName();
+        this.runMapKey = BenchmarkBase.formMapKey(kind, now, params, processingGuarantee.toString());
 
         Pipeline pipeline = Pipeline.create();
         StreamStage<Tuple2<Long, Long>> latencies = this.addComputation(pipeline, params);
-        this.completePipeline(kind, latencies, now, params, processingGuarantee.toString());
+        int memberCount = hazelcastInstance.getCluster().getMembers().size();
+        this.completePipeline(kind, latencies, now, params, processingGuarantee.toString(), memberCount);
 
         JobConfig jobConfig = new JobConfig();
 
@@ -140,10 +180,18 @@ public abstract class BenchmarkBase {
 
         jobConfig.registerSerializer(Auction.class, Auction.AuctionSerializer.class);
         jobConfig.registerSerializer(Bid.class, Bid.BidSerializer.class);
+        jobConfig.registerSerializer(BidFlyweight.class, BidFlyweight.BidFlyweightSerializer.class);
         jobConfig.registerSerializer(Person.class, Person.PersonSerializer.class);
 
         jobConfig.addClass(this.getClass());
         jobConfig.addClass(BenchmarkBase.class);
+        jobConfig.addClass(KneeDetector.class);
+        jobConfig.addClass(LatencyHistograms.class);
+        jobConfig.addClass(RateProfile.class);
+        jobConfig.addClass(RateProfile.Shape.class);
+        jobConfig.addClass(RateProfile.OriginLookup.class);
+        jobConfig.addClass(SerializationMeter.class);
+        jobConfig.addClass(WarmUpController.class);
 
         return hazelcastInstance.getJet().newJob(pipeline, jobConfig);
     }
@@ -160,8 +208,19 @@ public abstract class BenchmarkBase {
     abstract StreamStage<Tuple2<Long, Long>> addComputation(Pipeline pipeline, Map<String, Long> params);
 
     /**
-     * <p>Complete the pipeline with standard processing for all job types. Write each new
-     * latency to the current latencies map. If the max latency changes, output this to its map.
+     * <p>Complete the pipeline with standard processing for all job types.
+     * </p>
+     * <p>Latencies are recorded into a histogram on each processor, and these are
+     * merged for each time bucket. So one write per bucket rather than per latency sample.
+     * For each bucket, write the percentiles and the full histogram, marked with the phase
+     * from {@link WarmUpController}. When the measured phase starts, record this in the
+     * warm-ups map.
+     * </p>
+     * <p>In the measured phase, write the max latency for the bucket to the current latencies
+     * map. If the max latency changes, output this to its map.
+     * </p>
+     * <p>For a staircase {@link RateProfile}, write the latencies for each step to the
+     * latency curves map, and the knee of the curve to its map, from {@link KneeDetector}.
      * </p>
      * <p>The tuple input stream has the job offset. We would like the absolute time, but rather
      * than make the tuple input stream use {@link Tuple3} with one field being constant, use the
@@ -172,31 +231,290 @@ public abstract class BenchmarkBase {
      * @param kind For the key of the map.
      * @param latencies A stream of time offsets and latencies, both in milliseconds
      * @param startTime Approximate job start time
+     * @param memberCount To report rates per member
      */
     private void completePipeline(String kind, StreamStage<Tuple2<Long, Long>> latencies, long startTime,
-            Map<String, Long> params, String processingGuaranteeStr) {
-        latencies
-        .map(tuple2 -> BenchmarkBase.formMapEntry(kind, startTime, tuple2.f0(), tuple2.f1(),
-                params, processingGuaranteeStr))
+            Map<String, Long> params, String processingGuaranteeStr, int memberCount) {
+        long warmUpMillis = WarmUpController.warmUpMillis(params);
+        long cvPercent = WarmUpController.cvPercent(params);
+
+        StreamStage<Tuple3<WindowResult<Histogram>, String, Tuple2<HazelcastJsonValue, HazelcastJsonValue>>> phases =
+                latencies
+                .window(WindowDefinition.tumbling(LATENCY_BUCKET_MILLIS))
+                .aggregate(LatencyHistograms.aggregateOperation())
+                .groupingKey(windowResult -> kind)
+                .mapStateful(() -> new WarmUpController(warmUpMillis, cvPercent),
+                        (warmUpController, key, windowResult) -> {
+                            Histogram histogram = windowResult.result();
+                            boolean measured = warmUpController.apply(windowResult.start(), windowResult.end(),
+                                    histogram.getTotalCount(), histogram.getMean());
+                            Tuple2<HazelcastJsonValue, HazelcastJsonValue> marker = null;
+                            if (measured && warmUpController.getMeasuredFrom() == windowResult.start()) {
+                                marker = BenchmarkBase.formWarmUpEntry(kind, startTime, warmUpController,
+                                        params, processingGuaranteeStr);
+                            }
+                            return tuple3(windowResult,
+                                    measured ? WarmUpController.PHASE_MEASURED : WarmUpController.PHASE_WARM_UP,
+                                    marker);
+                        });
+
+        phases
+        .map(tuple3 -> BenchmarkBase.formHistogramEntry(kind, startTime, tuple3.f0(), tuple3.f1(),
+                params, processingGuaranteeStr, false))
+        .writeTo(Sinks.map(BenchmarkBase.IMAP_NAME_LATENCY_PERCENTILES));
+
+        phases
+        .map(tuple3 -> BenchmarkBase.formHistogramEntry(kind, startTime, tuple3.f0(), tuple3.f1(),
+                params, processingGuaranteeStr, true))
+        .writeTo(Sinks.map(BenchmarkBase.IMAP_NAME_LATENCY_HISTOGRAMS));
+
+        phases
+        .map(Tuple3::f2)
+        .writeTo(Sinks.map(BenchmarkBase.IMAP_NAME_WARM_UPS));
+
+        // Current and max only for the measured phase
+        StreamStage<WindowResult<Histogram>> histograms = phases
+                .filter(tuple3 -> tuple3.f1().equals(WarmUpController.PHASE_MEASURED))
+                .map(Tuple3::f0);
+
+        histograms
+        .map(windowResult -> BenchmarkBase.formMapEntry(kind, startTime, windowResult.end() - startTime,
+                windowResult.result().getMaxValue(), params, processingGuaranteeStr))
         .writeTo(Sinks.map(BenchmarkBase.IMAP_NAME_CURRENT_LATENCIES));
 
-        latencies
+        histograms
         .mapStateful(LongAccumulator::new,
-                (state, tuple2) -> {
-                    long latency = tuple2.f1();
+                (state, windowResult) -> {
+                    long latency = windowResult.result().getMaxValue();
                     if (latency > state.get()) {
                         state.set(latency);
-                        return BenchmarkBase.formMapEntry(kind, startTime, tuple2.f0(), tuple2.f1(),
+                        return BenchmarkBase.formMapEntry(kind, startTime, windowResult.end() - startTime, latency,
                                 params, processingGuaranteeStr);
                     } else {
                         return null;
                     }
         })
         .writeTo(Sinks.map(BenchmarkBase.IMAP_NAME_MAX_LATENCIES));
+
+        RateProfile rateProfile = RateProfile.of(params);
+        if (rateProfile.getShape() == RateProfile.Shape.STAIRCASE) {
+            long eventsPerSecond = params.get(BenchmarkBase.PROP_EVENTS_PER_SECOND);
+            long sloMillis = RateProfile.latencySloMillis(params);
+
+            // Curve point and, if found, knee
+            StreamStage<Tuple2<Tuple2<HazelcastJsonValue, HazelcastJsonValue>,
+                Tuple2<HazelcastJsonValue, HazelcastJsonValue>>> steps =
+                    phases
+                    .mapUsingService(ServiceFactories.nonSharedService(
+                            context -> new RateProfile.OriginLookup(context.hazelcastInstance(), context.jobId())),
+                            (originLookup, tuple3) -> tuple2(originLookup.getOriginMillis(), tuple3.f0()))
+                    .groupingKey(originAndWindow -> kind)
+                    .mapStateful(() -> new KneeDetector(rateProfile, eventsPerSecond, sloMillis),
+                            (kneeDetector, key, originAndWindow) -> {
+                                WindowResult<Histogram> windowResult = originAndWindow.f1();
+                                if (!kneeDetector.apply(originAndWindow.f0(), windowResult.start(), windowResult.end(),
+                                        windowResult.result())) {
+                                    return null;
+                                }
+                                Tuple2<HazelcastJsonValue, HazelcastJsonValue> knee = null;
+                                if (kneeDetector.isKneeToReport()) {
+                                    knee = BenchmarkBase.formKneeEntry(kind, startTime, kneeDetector,
+                                            memberCount, params, processingGuaranteeStr);
+                                }
+                                return tuple2(BenchmarkBase.formCurveEntry(kind, startTime, kneeDetector,
+                                        memberCount, params, processingGuaranteeStr), knee);
+                            });
+
+            steps
+            .map(Tuple2::f0)
+            .writeTo(Sinks.map(BenchmarkBase.IMAP_NAME_LATENCY_CURVES));
+
+            steps
+            .map(Tuple2::f1)
+            .writeTo(Sinks.map(BenchmarkBase.IMAP_NAME_KNEES));
+        }
+    }
+
+    /**
+     * <p>A histogram for a time bucket. Same key as {@link #formMapEntry} plus the
+     * bucket end, so each bucket is kept.
+     * </p>
+     *
+     * @param kind For the key of the map.
+     * @param startTime Approximate job start time
+     * @param windowResult Time bucket and histogram
+     * @param phase Warm-up or measured
+     * @param params Job parameters, for the key
+     * @param processingGuaranteeStr For the key
+     * @param full Full encoded histogram, or only percentiles
+     * @return Key and value for the map
+     */
+    private static Tuple2<HazelcastJsonValue, HazelcastJsonValue> formHistogramEntry(String kind,
+            long startTime, WindowResult<Histogram> windowResult, String phase, Map<String, Long> params,
+            String processingGuaranteeStr, boolean full) {
+        String key = BenchmarkBase.formMapKey(kind, startTime, params, processingGuaranteeStr);
+        key = key.substring(0, key.length() - 1) + ",\"timestamp\":" + windowResult.end() + "}";
+
+        // The window result is shared with the other branches, work on a copy
+        Histogram histogram = windowResult.result().copy();
+        histogram.setStartTimeStamp(windowResult.start());
+        histogram.setEndTimeStamp(windowResult.end());
+
+        StringBuilder valueSB = new StringBuilder();
+        valueSB.append("{\"timestamp\":").append(windowResult.end());
+        valueSB.append(",\"timestamp_str\":\"").append(BenchmarkBase.timestampToISO8601(windowResult.end())).append("\"");
+        valueSB.append(",\"offset_ms\":").append(windowResult.end() - startTime);
+        valueSB.append(",\"phase\":\"").append(phase).append("\"");
+        valueSB.append(",").append(LatencyHistograms.toPercentilesJson(histogram));
+        if (full) {
+            valueSB.append(",\"histogram\":\"").append(LatencyHistograms.encode(histogram)).append("\"");
+        }
+        valueSB.append("}");
+
+        return Tuple2.<HazelcastJsonValue, HazelcastJsonValue>
+            tuple2(new HazelcastJsonValue(key), new HazelcastJsonValue(valueSB.toString()));
+    }
+
+    /**
+     * <p>Mark where the measured phase starts, and why.
+     * </p>
+     *
+     * @param kind For the key of the map.
+     * @param startTime Approximate job start time
+     * @param warmUpController Has decided warm-up is over
+     * @param params Job parameters, for the key
+     * @param processingGuaranteeStr For the key
+     * @return Key and value for the map
+     */
+    private static Tuple2<HazelcastJsonValue, HazelcastJsonValue> formWarmUpEntry(String kind,
+            long startTime, WarmUpController warmUpController, Map<String, Long> params,
+            String processingGuaranteeStr) {
+        long measuredFrom = warmUpController.getMeasuredFrom();
+
+        System.out.printf("NEXMark.%s:formWarmUpEntry@%s : %s warm-up ended after %,d ms, measured phase starts %s%n",
+                kind, LocalTime.now().toString(), warmUpController.mode(),
+                warmUpController.getWarmUpElapsed(), BenchmarkBase.timestampToISO8601(measuredFrom));
+
+        StringBuilder valueSB = new StringBuilder();
+        valueSB.append("{\"mode\":\"").append(warmUpController.mode()).append("\"");
+        valueSB.append(",\"measured_from\":").append(measuredFrom);
+        valueSB.append(",\"measured_from_str\":\"").append(BenchmarkBase.timestampToISO8601(measuredFrom)).append("\"");
+        valueSB.append(",\"offset_ms\":").append(measuredFrom - startTime);
+        valueSB.append(",\"warm_up_ms\":").append(warmUpController.getWarmUpElapsed());
+        // NaN is not valid JSON, and is the case if fixed duration
+        valueSB.append(",\"throughput_cv\":").append(BenchmarkBase.jsonDouble(warmUpController.getThroughputCv()));
+        valueSB.append(",\"latency_cv\":").append(BenchmarkBase.jsonDouble(warmUpController.getLatencyCv()));
+        valueSB.append("}");
+
+        return Tuple2.<HazelcastJsonValue, HazelcastJsonValue>
+            tuple2(new HazelcastJsonValue(BenchmarkBase.formMapKey(kind, startTime, params, processingGuaranteeStr)),
+                    new HazelcastJsonValue(valueSB.toString()));
+    }
+
+    /**
+     * <p>A point on the throughput/latency curve, a completed staircase step.
+     * Same key as {@link #formMapEntry} plus the step.
+     * </p>
+     *
+     * @param kind For the key of the map.
+     * @param startTime Approximate job start time
+     * @param kneeDetector Has just completed a step
+     * @param memberCount To report rates per member
+     * @param params Job parameters, for the key
+     * @param processingGuaranteeStr For the key
+     * @return Key and value for the map
+     */
+    private static Tuple2<HazelcastJsonValue, HazelcastJsonValue> formCurveEntry(String kind,
+            long startTime, KneeDetector kneeDetector, int memberCount, Map<String, Long> params,
+            String processingGuaranteeStr) {
+        long step = kneeDetector.getCompletedStep();
+        long rate = kneeDetector.eventsPerSecond(step);
+        String key = BenchmarkBase.formMapKey(kind, startTime, params, processingGuaranteeStr);
+        key = key.substring(0, key.length() - 1) + ",\"step\":" + step + "}";
+
+        StringBuilder valueSB = new StringBuilder();
+        valueSB.append("{\"step\":").append(step);
+        valueSB.append(",\"rate_events_per_second\":").append(rate);
+        valueSB.append(",\"rate_per_member\":").append(rate / memberCount);
+        valueSB.append(",\"slo_ms\":").append(kneeDetector.getSloMillis());
+        valueSB.append(",\"slo_met\":").append(kneeDetector.isSloMet());
+        valueSB.append(",").append(LatencyHistograms.toPercentilesJson(kneeDetector.getCompletedHistogram()));
+        valueSB.append("}");
+
+        return Tuple2.<HazelcastJsonValue, HazelcastJsonValue>
+            tuple2(new HazelcastJsonValue(key), new HazelcastJsonValue(valueSB.toString()));
+    }
+
+    /**
+     * <p>The knee of the throughput/latency curve, the highest rate that met the SLO
+     * before the first that didn't. If none didn't, the rate of the top step.
+     * </p>
+     *
+     * @param kind For the key of the map.
+     * @param startTime Approximate job start time
+     * @param kneeDetector Has found the knee
+     * @param memberCount To report rates per member
+     * @param params Job parameters, for the key
+     * @param processingGuaranteeStr For the key
+     * @return Key and value for the map
+     */
+    private static Tuple2<HazelcastJsonValue, HazelcastJsonValue> formKneeEntry(String kind,
+            long startTime, KneeDetector kneeDetector, int memberCount, Map<String, Long> params,
+            String processingGuaranteeStr) {
+        long goodStep = kneeDetector.getLastGoodStep();
+        long badStep = kneeDetector.getFirstBadStep();
+        // Zero if the first step broke the SLO, knee is below the requested rate
+        long kneeRate = goodStep < 0 ? 0L : kneeDetector.eventsPerSecond(goodStep);
+
+        System.out.printf("NEXMark.%s:formKneeEntry@%s : p99 SLO %,d ms %s, knee %,d events/second, %,d per member%n",
+                kind, LocalTime.now().toString(), kneeDetector.getSloMillis(),
+                badStep < 0 ? "never broken" : "broken at step " + badStep,
+                kneeRate, kneeRate / memberCount);
+
+        StringBuilder valueSB = new StringBuilder();
+        valueSB.append("{\"slo_ms\":").append(kneeDetector.getSloMillis());
+        valueSB.append(",\"slo_broken\":").append(badStep >= 0);
+        valueSB.append(",\"members\":").append(memberCount);
+        valueSB.append(",\"knee_step\":").append(goodStep);
+        valueSB.append(",\"knee_events_per_second\":").append(kneeRate);
+        valueSB.append(",\"knee_per_member\":").append(kneeRate / memberCount);
+        valueSB.append(",\"broken_step\":").append(badStep);
+        valueSB.append(",\"broken_events_per_second\":")
+            .append(badStep < 0 ? "null" : String.valueOf(kneeDetector.eventsPerSecond(badStep)));
+        valueSB.append("}");
+
+        return Tuple2.<HazelcastJsonValue, HazelcastJsonValue>
+            tuple2(new HazelcastJsonValue(BenchmarkBase.formMapKey(kind, startTime, params, processingGuaranteeStr)),
+                    new HazelcastJsonValue(valueSB.toString()));
+    }
+
+    private static String jsonDouble(double d) {
+        return Double.isFinite(d) ? String.valueOf(d) : "null";
     }
 
     private static Tuple2<HazelcastJsonValue, HazelcastJsonValue> formMapEntry(String kind,
             long startTime, long offset, long latency, Map<String, Long> params, String processingGuaranteeStr) {
+        StringBuilder valueSB = new StringBuilder();
+
+        long timestamp = offset + startTime;
+        valueSB.append("{\"timestamp\":").append(timestamp);
+        valueSB.append(",\"timestamp_str\":\"").append(BenchmarkBase.timestampToISO8601(timestamp)).append("\"");
+        valueSB.append(",\"latency_ms\":").append(latency);
+        valueSB.append(",\"offset_ms\":").append(offset);
+        valueSB.append("}");
+
+        return Tuple2.<HazelcastJsonValue, HazelcastJsonValue>
+            tuple2(new HazelcastJsonValue(BenchmarkBase.formMapKey(kind, startTime, params, processingGuaranteeStr)),
+                    new HazelcastJsonValue(valueSB.toString()));
+    }
+
+
+    /**
+     * <p>Key for the latency maps, the job and its parameters.
+     * </p>
+     */
+    private static String formMapKey(String kind, long startTime, Map<String, Long> params,
+            String processingGuaranteeStr) {
         StringBuilder keySB = new StringBuilder();
         keySB.append("{\"").append(PROP_KIND).append("\":\"").append(kind).append("\"");
         keySB.append(",\"start_timestamp\":").append(startTime);
@@ -212,18 +530,7 @@ public abstract class BenchmarkBase {
         keySB.append(",\"").append(BenchmarkBase.PROP_WINDOW_SIZE_MILLIS).append("\":")
             .append(params.get(BenchmarkBase.PROP_WINDOW_SIZE_MILLIS));
         keySB.append("}");
-
-        StringBuilder valueSB = new StringBuilder();
-
-        long timestamp = offset + startTime;
-        valueSB.append("{\"timestamp\":").append(timestamp);
-        valueSB.append(",\"timestamp_str\":\"").append(BenchmarkBase.timestampToISO8601(timestamp)).append("\"");
-        valueSB.append(",\"latency_ms\":").append(latency);
-        valueSB.append(",\"offset_ms\":").append(offset);
-        valueSB.append("}");
-
-        return Tuple2.<HazelcastJsonValue, HazelcastJsonValue>
-            tuple2(new HazelcastJsonValue(keySB.toString()), new HazelcastJsonValue(valueSB.toString()));
+        return keySB.toString();
     }
 
 
@@ -234,7 +541,8 @@ public abstract class BenchmarkBase {
      * <p>Uses an accumulator for a pair of "{@code long}" to emit a
      * pair of offset and latency.
      * </p>
-     * <p>Disregard any latency measurement in the warm-up phase.
+     * <p>Latencies in the warm-up phase are kept, and marked as such
+     * when the histograms are merged.
      * </p>
      *
      * @param <T>
@@ -243,7 +551,43 @@ public abstract class BenchmarkBase {
      */
     <T> FunctionEx<StreamStage<T>, StreamStage<Tuple2<Long, Long>>> determineLatency(
             FunctionEx<? super T, ? extends Long> timestampFn) {
-        return stage -> stage.map(timestampFn).mapStateful(LongLongAccumulator::new, LATENCY_FN);
+        BiFunctionEx<LongLongAccumulator, Long, Tuple2<Long, Long>> latencyFn = BenchmarkBase.latencyFn(NO_WARM_UP);
+        return stage -> stage.map(timestampFn).mapStateful(LongLongAccumulator::new, latencyFn);
+    }
+
+
+    /**
+     * <p>Measure the serialized size and time of the events passing, for the
+     * event model of the run, see {@link SerializationMeter}. Place before the
+     * keyed edge to be measured.
+     * </p>
+     *
+     * @param <T> Event type
+     * @param params Job parameters, for the event model
+     * @param shuffled If the next edge shuffles the events
+     * @return A pass-through function for "{@code apply()}"
+     */
+    <T> FunctionEx<StreamStage<T>, StreamStage<T>> measureSerialization(Map<String, Long> params, boolean shuffled) {
+        return SerializationMeter.measure(this.runMapKey, EventModel.fromParams(params).toString(), shuffled);
+    }
+
+    /**
+     * <p>A cheap deterministic pseudo-random number, derived from the event
+     * sequence number, so each event generator is repeatable and needs
+     * no shared {@link java.util.Random}.
+     * </p>
+     *
+     * @param seq Event sequence number, used as the seed
+     * @param range Upper bound, exclusive
+     * @return A number from 0 to range - 1
+     */
+    static long getRandom(long seq, long range) {
+        // xorshift, see https://en.wikipedia.org/wiki/Xorshift
+        long x = seq + 1;
+        x ^= x << XORSHIFT_A;
+        x ^= x >>> XORSHIFT_B;
+        x ^= x << XORSHIFT_C;
+        return Math.floorMod(x, range);
     }
 
 
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hazelcast.platform.demos.benchmark.nexmark;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * <p>How events are represented, selected per run by "{@code event_model}".
+ * Ordinal is the value for the job parameter.
+ * </p>
+ */
+public enum EventModel {
+    OBJECT,
+    FLYWEIGHT;
+
+    /**
+     * <p>Case-insensitive lookup, for REST parameters.
+     * </p>
+     *
+     * @param name Eg. "{@code flyweight}"
+     * @return The model
+     */
+    public static EventModel fromName(String name) {
+        return EventModel.valueOf(name.toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * <p>Event model from job parameters.
+     * </p>
+     *
+     * @param params May not contain the property
+     * @return Object by default
+     */
+    public static EventModel fromParams(Map<String, Long> params) {
+        int ordinal = params.getOrDefault(BenchmarkBase.PROP_EVENT_MODEL, 0L).intValue();
+        if (ordinal < 0 || ordinal >= EventModel.values().length) {
+            throw new IllegalArgumentException(BenchmarkBase.PROP_EVENT_MODEL + "==" + ordinal);
+        }
+        return EventModel.values()[ordinal];
+    }
+}
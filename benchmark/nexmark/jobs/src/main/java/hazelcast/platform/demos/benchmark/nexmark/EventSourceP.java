@@ -24,6 +24,9 @@ import com.hazelcast.jet.core.EventTimePolicy;
 import com.hazelcast.jet.core.ProcessorMetaSupplier;
 import com.hazelcast.jet.core.ProcessorSupplier;
 import com.hazelcast.jet.core.Watermark;
+import com.hazelcast.jet.core.metrics.Metric;
+import com.hazelcast.jet.core.metrics.Metrics;
+import com.hazelcast.jet.core.metrics.Unit;
 import com.hazelcast.jet.pipeline.Sources;
 import com.hazelcast.jet.pipeline.StreamSource;
 
@@ -35,6 +38,7 @@ import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 import java.time.LocalTime;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -43,8 +47,24 @@ import java.util.concurrent.TimeUnit;
  * each of the tests uses a projection function to expand into
  * {@link Auction}, {@link Bid} or {@link Person}.
  * </p>
- * <p>Error and informational messages are written using "{@code System.out.println}",
- * so inspect the logs for their presence.
+ * <p>Events are paced at the requested rate, or as shaped by a {@link RateProfile}.
+ * </p>
+ * <p>Problems are published as Jet user metrics, per processor, for Prometheus and
+ * Grafana via Management Center:
+ * </p>
+ * <ul>
+ * <li><b>{@value #METRIC_EMITTED_EVENTS}</b> Events emitted so far.</li>
+ * <li><b>{@value #METRIC_EMISSION_LAG_MAX_MS}</b> Max in the last second of how far behind
+ * schedule emission is, ie. backpressure.</li>
+ * <li><b>{@value #METRIC_WATERMARK_LAG_MAX_MS}</b> Max in the last second of how far watermarks
+ * are behind real time.</li>
+ * <li><b>{@value #METRIC_HICCUP_MAX_MS}</b> Max in the last second of the gap between calls to
+ * this processor, eg. GC pauses or migrations.</li>
+ * <li><b>{@value #METRIC_HICCUPS_PREFIX}<i>N</i>ms</b> Count of gaps of at least <i>N</i> ms,
+ * but less than the next bucket, a histogram.</li>
+ * </ul>
+ * <p>Throughput is also written using "{@code System.out.println}", every
+ * 10 minutes, so inspect the logs for this.
  * </p>
  */
 public class EventSourceP extends AbstractProcessor {
@@ -52,8 +72,18 @@ public class EventSourceP extends AbstractProcessor {
     private static final long THROUGHPUT_REPORTING_PERIOD_MINUTES = 10;
     private static final long THROUGHPUT_REPORT_PERIOD_NANOS = TimeUnit.MINUTES
             .toNanos(THROUGHPUT_REPORTING_PERIOD_MINUTES);
-    private static final long HICCUP_REPORT_THRESHOLD_MILLIS = 10;
-    private static final long WM_LAG_THRESHOLD_MILLIS = 20;
+    public static final String METRIC_EMITTED_EVENTS = "nexmarkEmittedEvents";
+    public static final String METRIC_EMISSION_LAG_MAX_MS = "nexmarkEmissionLagMaxMs";
+    public static final String METRIC_WATERMARK_LAG_MAX_MS = "nexmarkWatermarkLagMaxMs";
+    public static final String METRIC_HICCUP_MAX_MS = "nexmarkHiccupMaxMs";
+    public static final String METRIC_HICCUPS_PREFIX = "nexmarkHiccups";
+    // Lower bound of each hiccup histogram bucket, the first is the threshold for a hiccup
+    static final long[] HICCUP_BUCKET_MILLIS = { 10L, 20L, 50L, 100L, 200L, 500L, 1_000L, 5_000L };
+
+    // Max values are over this window, so short stalls aren't lost between metrics collections
+    private static final long METRICS_WINDOW_NANOS = SECONDS.toNanos(1L);
+    // How often a non-constant rate profile is re-evaluated
+    private static final long RATE_CHECK_PERIOD_NANOS = MILLISECONDS.toNanos(10L);
     private static final String PREFIX = EventSourceP.class.getSimpleName();
 
     private final long itemsPerSecond;
@@ -62,6 +92,8 @@ public class EventSourceP extends AbstractProcessor {
     private final long wmGranularity;
     private final long wmOffset;
     private final BiFunctionEx<? super Long, ? super Long, ?> createEventFn;
+    private final long startTimeMillis;
+    private RateProfile rateProfile;
     private String name;
     private int globalProcessorIndex;
     private int totalParallelism;
@@ -69,6 +101,7 @@ public class EventSourceP extends AbstractProcessor {
 
     private final AppendableTraverser<Object> traverser = new AppendableTraverser<>(2);
     private long emitSchedule;
+    private long nextRateCheck;
     private long lastReport;
     private long counterAtLastReport;
     private long lastCallNanos;
@@ -78,17 +111,30 @@ public class EventSourceP extends AbstractProcessor {
     private long warmUpEndMillis;
     private long warmUpEndNanos;
 
-    <T> EventSourceP(long startTimeMillis, long itemsPerSecond, EventTimePolicy<? super T> eventTimePolicy,
+    private Metric emittedEventsMetric;
+    private Metric emissionLagMaxMsMetric;
+    private Metric watermarkLagMaxMsMetric;
+    private Metric hiccupMaxMsMetric;
+    private Metric[] hiccupsMetrics;
+    private long metricsWindowEnd;
+    private long emissionLagMaxNanos;
+    private long watermarkLagMaxMillis;
+    private long hiccupMaxMillis;
+
+    <T> EventSourceP(long startTimeMillis, long itemsPerSecond, long warmUpMillis, RateProfile rateProfile,
+            EventTimePolicy<? super T> eventTimePolicy,
             BiFunctionEx<? super Long, ? super Long, ? extends T> createEventFn) {
+        this.startTimeMillis = startTimeMillis;
         this.startTimeNanos = MILLISECONDS.toNanos(startTimeMillis + nanoTimeMillisToCurrentTimeMillis);
-        this.warmUpEndMillis = startTimeMillis + BenchmarkBase.WARM_UP_MILLIS;
+        this.warmUpEndMillis = startTimeMillis + warmUpMillis;
         System.out.printf(
                 "NEXMark.%s:EventSourceP@%s : warm-up without reporting until after %s%n",
                 PREFIX, LocalTime.now().toString(),
                 new java.util.Date(this.warmUpEndMillis).toString());
-        this.warmUpEndNanos = this.startTimeNanos + MILLISECONDS.toNanos(BenchmarkBase.WARM_UP_MILLIS);
+        this.warmUpEndNanos = this.startTimeNanos + MILLISECONDS.toNanos(warmUpMillis);
         this.itemsPerSecond = itemsPerSecond;
         this.createEventFn = createEventFn;
+        this.rateProfile = rateProfile;
         wmGranularity = eventTimePolicy.watermarkThrottlingFrameSize();
         wmOffset = eventTimePolicy.watermarkThrottlingFrameOffset();
     }
@@ -98,19 +144,59 @@ public class EventSourceP extends AbstractProcessor {
         name = context.vertexName();
         totalParallelism = context.totalParallelism();
         globalProcessorIndex = context.globalProcessorIndex();
+        rateProfile = rateProfile.forRun(context.hazelcastInstance());
+        if (globalProcessorIndex == 0 && rateProfile.getShape() == RateProfile.Shape.STAIRCASE) {
+            // Processor 0's first event is at the start time exactly
+            RateProfile.recordOrigin(context.hazelcastInstance(), context.jobId(), startTimeMillis);
+        }
         emitPeriod = SECONDS.toNanos(1) * totalParallelism / itemsPerSecond;
         emitSchedule = startTimeNanos + SECONDS.toNanos(1) * globalProcessorIndex / itemsPerSecond;
+        if (rateProfile.getShape() == RateProfile.Shape.CONSTANT) {
+            nextRateCheck = Long.MAX_VALUE;
+        } else {
+            nextRateCheck = emitSchedule;
+        }
         lastReport = emitSchedule;
         lastCallNanos = emitSchedule;
+
+        emittedEventsMetric = Metrics.metric(METRIC_EMITTED_EVENTS, Unit.COUNT);
+        emissionLagMaxMsMetric = Metrics.metric(METRIC_EMISSION_LAG_MAX_MS, Unit.MS);
+        watermarkLagMaxMsMetric = Metrics.metric(METRIC_WATERMARK_LAG_MAX_MS, Unit.MS);
+        hiccupMaxMsMetric = Metrics.metric(METRIC_HICCUP_MAX_MS, Unit.MS);
+        hiccupsMetrics = new Metric[HICCUP_BUCKET_MILLIS.length];
+        for (int i = 0; i < HICCUP_BUCKET_MILLIS.length; i++) {
+            hiccupsMetrics[i] = Metrics.metric(METRIC_HICCUPS_PREFIX + HICCUP_BUCKET_MILLIS[i] + "ms", Unit.COUNT);
+        }
+        metricsWindowEnd = emitSchedule + METRICS_WINDOW_NANOS;
     }
 
     public static <T> StreamSource<T> eventSource(String name, long eventsPerSecond, long initialDelayMs,
             BiFunctionEx<? super Long, ? super Long, ? extends T> createEventFn) {
+        return EventSourceP.eventSource(name, eventsPerSecond, initialDelayMs, Map.of(), createEventFn);
+    }
+
+    /**
+     * <p>Create a source, using the job parameters for warm-up and rate profile.
+     * </p>
+     *
+     * @param <T> Event type
+     * @param name Source name
+     * @param eventsPerSecond Total rate, shared across all processors
+     * @param initialDelayMs Before the first event
+     * @param params Job parameters, see {@link WarmUpController} and {@link RateProfile}
+     * @param createEventFn From sequence number and timestamp
+     * @return A streaming source
+     */
+    public static <T> StreamSource<T> eventSource(String name, long eventsPerSecond, long initialDelayMs,
+            Map<String, Long> params, BiFunctionEx<? super Long, ? super Long, ? extends T> createEventFn) {
+        long warmUpMillis = WarmUpController.reportingDelayMillis(params, BenchmarkBase.LATENCY_BUCKET_MILLIS);
+        RateProfile rateProfile = RateProfile.of(params);
         return Sources.streamFromProcessorWithWatermarks(name, true,
                 eventTimePolicy -> ProcessorMetaSupplier.of((Address ignored) -> {
                     long startTime = System.currentTimeMillis() + initialDelayMs;
                     return ProcessorSupplier
-                            .of(() -> new EventSourceP(startTime, eventsPerSecond, eventTimePolicy, createEventFn));
+                            .of(() -> new EventSourceP(startTime, eventsPerSecond, warmUpMillis,
+                                    rateProfile, eventTimePolicy, createEventFn));
                 }));
     }
 
@@ -124,15 +210,20 @@ public class EventSourceP extends AbstractProcessor {
      * <p>The complete stage produces the events, checks for
      * problems with events being slow, and reports performance.
      * </p>
+     * <p>Emission lag is measured before emitting, how late the oldest
+     * due event is.
+     * </p>
      *
      * @return False, never exhausted
      */
     @Override
     public boolean complete() {
         nowNanos = System.nanoTime();
+        emissionLagMaxNanos = Math.max(emissionLagMaxNanos, nowNanos - emitSchedule);
         emitEvents();
         detectAndReportHiccup();
         reportThroughput();
+        publishMetrics();
         return false;
     }
 
@@ -149,6 +240,9 @@ public class EventSourceP extends AbstractProcessor {
             return;
         }
         do {
+            if (emitSchedule >= nextRateCheck) {
+                applyRateProfile();
+            }
             long timestamp = nanoTimeToCurrentTimeMillis(emitSchedule);
             long seq = counter * totalParallelism + globalProcessorIndex;
             Object event = createEventFn.apply(seq, timestamp);
@@ -159,10 +253,24 @@ public class EventSourceP extends AbstractProcessor {
         } while (emitFromTraverser(traverser) && emitSchedule <= nowNanos);
     }
 
+    /**
+     * <p>Adjust the emit period for the rate profile, at the scheduled time rather
+     * than now, so the load offered is the same however far behind the job is.
+     * At least one event per second per processor, so the profile is re-checked.
+     * </p>
+     */
+    private void applyRateProfile() {
+        long elapsedMillis = NANOSECONDS.toMillis(emitSchedule - startTimeNanos);
+        long rate = Math.round(itemsPerSecond * rateProfile.multiplier(elapsedMillis));
+        rate = Math.max(rate, totalParallelism);
+        emitPeriod = SECONDS.toNanos(1) * totalParallelism / rate;
+        nextRateCheck = emitSchedule + RATE_CHECK_PERIOD_NANOS;
+    }
+
     /**
      * <p>Insert watermarks (timestamps) into the event stream.</p>
      * <p>With error reporting.</p>
-     * <p>If late, report a problem to the log.
+     * <p>Track how late, for {@link #publishMetrics}.
      * </p>
      */
     private void maybeEmitWm(long timestamp) {
@@ -172,34 +280,48 @@ public class EventSourceP extends AbstractProcessor {
         long wmToEmit = timestamp - (timestamp % wmGranularity) + wmOffset;
         long nowMillis = nanoTimeToCurrentTimeMillis(nowNanos);
         long wmLag = nowMillis - wmToEmit;
-        if (wmLag > WM_LAG_THRESHOLD_MILLIS && nowMillis > this.warmUpEndMillis) {
-            System.out.printf(
-                    "NEXMark.%s:maybeEmitWm@%s : %s#%d => %,d behind real time%n",
-                    PREFIX, LocalTime.now().toString(),
-                    name, globalProcessorIndex,
-                    wmLag);
-        }
+        watermarkLagMaxMillis = Math.max(watermarkLagMaxMillis, wmLag);
         traverser.append(new Watermark(wmToEmit));
         lastEmittedWm = wmToEmit;
     }
 
     /**
      * <p>Error reporting.</p>
-     * <p>If late, report a problem to the log.
+     * <p>If late, count in the hiccup histogram.
      * </p>
      */
     private void detectAndReportHiccup() {
         long millisSinceLastCall = NANOSECONDS.toMillis(nowNanos - lastCallNanos);
-        if (millisSinceLastCall > HICCUP_REPORT_THRESHOLD_MILLIS && nowNanos > this.warmUpEndNanos) {
-            System.out.printf(
-                    "NEXMark.%s:detectAndReportHiccup@%s : %s#%d => %,d ms%n",
-                    PREFIX, LocalTime.now().toString(),
-                    name, globalProcessorIndex,
-                    millisSinceLastCall);
+        hiccupMaxMillis = Math.max(hiccupMaxMillis, millisSinceLastCall);
+        for (int i = HICCUP_BUCKET_MILLIS.length - 1; i >= 0; i--) {
+            if (millisSinceLastCall >= HICCUP_BUCKET_MILLIS[i]) {
+                hiccupsMetrics[i].increment();
+                break;
+            }
         }
         lastCallNanos = nowNanos;
     }
 
+    /**
+     * <p>Publish the metrics once per window, and start the next window
+     * for the max values. Metrics are collected from this by Jet, a few seconds
+     * apart, so a max over a short window shows stalls between collections.
+     * </p>
+     */
+    private void publishMetrics() {
+        if (nowNanos < metricsWindowEnd) {
+            return;
+        }
+        metricsWindowEnd = nowNanos + METRICS_WINDOW_NANOS;
+        emittedEventsMetric.set(counter);
+        emissionLagMaxMsMetric.set(NANOSECONDS.toMillis(Math.max(emissionLagMaxNanos, 0L)));
+        watermarkLagMaxMsMetric.set(Math.max(watermarkLagMaxMillis, 0L));
+        hiccupMaxMsMetric.set(hiccupMaxMillis);
+        emissionLagMaxNanos = 0L;
+        watermarkLagMaxMillis = 0L;
+        hiccupMaxMillis = 0L;
+    }
+
     /**
      * <p>Informational reporting.</p>
      * <p>Periodically report throughput, per processor. With multiple processors it is difficult
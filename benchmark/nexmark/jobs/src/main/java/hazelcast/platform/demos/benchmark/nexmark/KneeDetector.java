@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hazelcast.platform.demos.benchmark.nexmark;
+
+import java.io.Serializable;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * <p>Finds the knee of the throughput/latency curve for a staircase
+ * {@link RateProfile}.
+ * </p>
+ * <p>Latency buckets are merged into one histogram per step of the staircase.
+ * Buckets that straddle two steps are ignored, as they have a mix of rates.
+ * When a step completes, its p99 is compared to the SLO. The knee is the
+ * highest step before the first step that breaks the SLO. If the top step
+ * still meets the SLO, that is reported instead, the knee is above the
+ * range tried.
+ * </p>
+ * <p>Applied once per latency bucket, after histograms from all processors are
+ * merged, so there is one decision for the whole job.
+ * </p>
+ */
+public class KneeDetector implements Serializable {
+    static final double SLO_PERCENTILE = 99.0d;
+
+    private static final long serialVersionUID = 1L;
+
+    private final RateProfile rateProfile;
+    private final long eventsPerSecond;
+    private final long sloMillis;
+    private long currentStep = -1L;
+    private Histogram stepHistogram;
+    private long completedStep = -1L;
+    private Histogram completedHistogram;
+    private long lastGoodStep = -1L;
+    private long firstBadStep = -1L;
+    private boolean kneeReported;
+    private boolean kneeToReport;
+
+    public KneeDetector(RateProfile rateProfile, long eventsPerSecond, long sloMillis) {
+        this.rateProfile = rateProfile;
+        this.eventsPerSecond = eventsPerSecond;
+        this.sloMillis = sloMillis;
+    }
+
+    /**
+     * <p>Apply the next bucket. Steps are measured from the source's first event,
+     * as the source applies the profile, not from when the job was submitted.
+     * Until the source has recorded this, buckets are ignored.
+     * </p>
+     *
+     * @param originMillis First event timestamp, from {@link RateProfile.OriginLookup}, or -1
+     * @param bucketStart Start of the bucket, event time
+     * @param bucketEnd End of the bucket, event time
+     * @param histogram Latencies for the bucket
+     * @return True if a step has completed, see {@link #getCompletedStep}
+     */
+    public boolean apply(long originMillis, long bucketStart, long bucketEnd, Histogram histogram) {
+        this.kneeToReport = false;
+        long step = -1L;
+        if (originMillis >= 0) {
+            step = this.rateProfile.step(bucketStart - originMillis);
+            if (step != this.rateProfile.step(bucketEnd - 1 - originMillis) || step > this.rateProfile.getSteps()) {
+                step = -1L;
+            }
+        }
+
+        boolean completed = false;
+        if (step != this.currentStep) {
+            if (this.stepHistogram != null && this.stepHistogram.getTotalCount() > 0) {
+                this.complete();
+                completed = true;
+            }
+            this.currentStep = step;
+            this.stepHistogram = step < 0 ? null : new Histogram(LatencyHistograms.SIGNIFICANT_DIGITS);
+        }
+        if (this.stepHistogram != null) {
+            this.stepHistogram.add(histogram);
+        }
+        return completed;
+    }
+
+    private void complete() {
+        this.completedStep = this.currentStep;
+        this.completedHistogram = this.stepHistogram;
+        if (this.kneeReported) {
+            return;
+        }
+        if (this.isSloMet()) {
+            this.lastGoodStep = this.completedStep;
+            this.kneeToReport = this.completedStep == this.rateProfile.getSteps();
+        } else {
+            this.firstBadStep = this.completedStep;
+            this.kneeToReport = true;
+        }
+        this.kneeReported = this.kneeToReport;
+    }
+
+    /**
+     * <p>Requested rate for a step, all sources.
+     * </p>
+     *
+     * @param step From 0
+     * @return Events per second
+     */
+    public long eventsPerSecond(long step) {
+        long elapsed = this.rateProfile.getOffsetMillis() + step * this.rateProfile.getPeriodMillis();
+        return Math.round(this.eventsPerSecond * this.rateProfile.multiplier(elapsed));
+    }
+
+    public boolean isSloMet() {
+        return this.completedHistogram.getValueAtPercentile(SLO_PERCENTILE) <= this.sloMillis;
+    }
+
+    public boolean isKneeToReport() {
+        return kneeToReport;
+    }
+
+    public long getCompletedStep() {
+        return completedStep;
+    }
+
+    public Histogram getCompletedHistogram() {
+        return completedHistogram;
+    }
+
+    public long getLastGoodStep() {
+        return lastGoodStep;
+    }
+
+    public long getFirstBadStep() {
+        return firstBadStep;
+    }
+
+    public long getSloMillis() {
+        return sloMillis;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hazelcast.platform.demos.benchmark.nexmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.zip.DataFormatException;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+import com.hazelcast.jet.aggregate.AggregateOperation;
+import com.hazelcast.jet.aggregate.AggregateOperation1;
+import com.hazelcast.jet.datamodel.Tuple2;
+
+/**
+ * <p>Latency recording with <a href="https://hdrhistogram.github.io/HdrHistogram/">HdrHistogram</a>.
+ * </p>
+ * <p>Rather than write every latency sample to the grid, each processor records
+ * samples into a local histogram for a time bucket. At the end of the bucket these
+ * are combined into one histogram, so there is one write to the grid per bucket.
+ * </p>
+ * <p>Histograms are stored compressed and Base64 encoded, the same encoding as the
+ * HdrHistogram log format, so can be downloaded and merged offline with standard tools.
+ * </p>
+ */
+public class LatencyHistograms {
+    // 3 digits is enough to distinguish 1ms from 1.001s
+    static final int SIGNIFICANT_DIGITS = 3;
+    static final double[] PERCENTILES = { 50.0d, 90.0d, 99.0d, 99.9d, 99.99d };
+    static final String[] PERCENTILE_NAMES = { "p50", "p90", "p99", "p999", "p9999" };
+
+    /**
+     * <p>Record latencies from a stream of offset and latency pairs.
+     * Histograms auto-resize, so no need to guess the maximum latency.
+     * </p>
+     *
+     * @return Aggregation producing a histogram
+     */
+    public static AggregateOperation1<Tuple2<Long, Long>, Histogram, Histogram> aggregateOperation() {
+        return AggregateOperation
+                .withCreate(() -> new Histogram(SIGNIFICANT_DIGITS))
+                .<Tuple2<Long, Long>>andAccumulate((histogram, tuple2) -> histogram.recordValue(tuple2.f1()))
+                .andCombine(Histogram::add)
+                .andExportFinish(Histogram::copy);
+    }
+
+    /**
+     * <p>Compact representation of the histogram, as JSON fields
+     * to be added to an enclosing object. Latency in milliseconds.
+     * </p>
+     *
+     * @param histogram Recorded latencies
+     * @return JSON fragment, without braces
+     */
+    public static String toPercentilesJson(Histogram histogram) {
+        StringBuilder stringBuilder = new StringBuilder();
+        stringBuilder.append("\"count\":").append(histogram.getTotalCount());
+        stringBuilder.append(",\"min\":").append(histogram.getMinValue());
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            stringBuilder.append(",\"").append(PERCENTILE_NAMES[i]).append("\":")
+                .append(histogram.getValueAtPercentile(PERCENTILES[i]));
+        }
+        stringBuilder.append(",\"max\":").append(histogram.getMaxValue());
+        return stringBuilder.toString();
+    }
+
+    /**
+     * <p>Compress and encode, as per HdrHistogram log format.
+     * </p>
+     *
+     * @param histogram Recorded latencies
+     * @return Base64 string
+     */
+    public static String encode(Histogram histogram) {
+        ByteBuffer byteBuffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(byteBuffer);
+        return Base64.getEncoder().encodeToString(Arrays.copyOf(byteBuffer.array(), length));
+    }
+
+    /**
+     * <p>Reverse of {@link #encode}.
+     * </p>
+     *
+     * @param base64 From {@link #encode}
+     * @return Recorded latencies
+     * @throws DataFormatException If not a histogram
+     */
+    public static Histogram decode(String base64) throws DataFormatException {
+        ByteBuffer byteBuffer = ByteBuffer.wrap(Base64.getDecoder().decode(base64));
+        return Histogram.decodeFromCompressedByteBuffer(byteBuffer, 0L);
+    }
+
+    /**
+     * <p>Format histograms as an HdrHistogram log, for tools such as
+     * "{@code HistogramLogProcessor}" to merge and plot offline.
+     * </p>
+     *
+     * @param baseTime Job start time, interval times are relative to this
+     * @param histograms In time order, with start and end timestamps set
+     * @return Log file content
+     */
+    public static String toLog(long baseTime, Collection<Histogram> histograms) {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        try (PrintStream printStream = new PrintStream(byteArrayOutputStream, true, StandardCharsets.UTF_8)) {
+            HistogramLogWriter histogramLogWriter = new HistogramLogWriter(printStream);
+            histogramLogWriter.setBaseTime(baseTime);
+            histogramLogWriter.outputLogFormatVersion();
+            histogramLogWriter.outputStartTime(baseTime);
+            histogramLogWriter.outputBaseTime(baseTime);
+            histogramLogWriter.outputLegend();
+            for (Histogram histogram : histograms) {
+                // Values are already in milliseconds, so no scaling
+                histogramLogWriter.outputIntervalHistogram(
+                        (histogram.getStartTimeStamp() - baseTime) / (double) BenchmarkBase.ONE_SECOND_AS_MILLIS,
+                        (histogram.getEndTimeStamp() - baseTime) / (double) BenchmarkBase.ONE_SECOND_AS_MILLIS,
+                        histogram, 1.0d);
+            }
+        }
+        return byteArrayOutputStream.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hazelcast.platform.demos.benchmark.nexmark;
+
+import java.util.Map;
+
+import com.hazelcast.jet.datamodel.Tuple2;
+import com.hazelcast.jet.pipeline.Pipeline;
+import com.hazelcast.jet.pipeline.StreamStage;
+
+import hazelcast.platform.demos.benchmark.nexmark.model.Bid;
+
+/**
+ * <p>Hazelcast streaming pipeline for NEXMark query zero.</p>
+ * <p>Not in the original NEXMark, but added by later implementations
+ * to measure the cost of the source and latency measurement alone:
+ * </p>
+ * <pre>
+ * SELECT Rstream(*)
+ * FROM Bid [ROWS UNBOUNDED];
+ *</pre>
+ */
+public class Q00PassThrough extends BenchmarkBase {
+    private static final long MAX_PRICE = 1_000L;
+
+    /**
+     * <p><i>Source:</i> create a stream of bids against random auction.
+     * </p>
+     * <p><i>Processing:</i> none, each bid is passed through unchanged.
+     * </p>
+     */
+    @Override
+    StreamStage<Tuple2<Long, Long>> addComputation(Pipeline pipeline, Map<String, Long> params) {
+        long eventsPerSecond = params.get(BenchmarkBase.PROP_EVENTS_PER_SECOND);
+        long numDistinctKeys = params.get(BenchmarkBase.PROP_NUM_DISTINCT_KEYS);
+
+        StreamStage<Bid> bids = pipeline
+                .readFrom(EventSourceP.eventSource("bids", eventsPerSecond, BenchmarkBase.INITIAL_SOURCE_DELAY_MILLIS, params,
+                        (seq, timestamp) -> new Bid(seq, timestamp, seq % numDistinctKeys,
+                                BenchmarkBase.getRandom(seq, MAX_PRICE))))
+                .withNativeTimestamps(BenchmarkBase.NO_ALLOWED_LAG);
+
+        // NEXMark Query 0 start
+        StreamStage<Bid> queryResult = bids;
+        // NEXMark Query 0 end
+
+        return queryResult.apply(super.determineLatency(Bid::timestamp));
+    }
+
+}
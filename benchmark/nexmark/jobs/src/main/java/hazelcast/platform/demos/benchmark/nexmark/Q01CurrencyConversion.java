@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hazelcast.platform.demos.benchmark.nexmark;
+
+import java.util.Map;
+
+import com.hazelcast.jet.datamodel.Tuple2;
+import com.hazelcast.jet.pipeline.Pipeline;
+import com.hazelcast.jet.pipeline.StreamStage;
+
+import hazelcast.platform.demos.benchmark.nexmark.model.Bid;
+
+/**
+ * <p>Hazelcast streaming pipeline for NEXMark query one.</p>
+ * <p>From <a href="https://datalab.cs.pdx.edu/niagara/NEXMark/">here</a>
+ * query one is:
+ * </p>
+ * <pre>
+ * SELECT Istream(auction, DOLTOEUR(price), bidder, datetime)
+ * FROM Bid [ROWS UNBOUNDED];
+ *</pre>
+ */
+public class Q01CurrencyConversion extends BenchmarkBase {
+    private static final long MAX_PRICE = 1_000L;
+    // Same conversion rate as other NEXMark implementations, 0.89
+    private static final long DOLLAR_TO_EURO_NUMERATOR = 89L;
+    private static final long DOLLAR_TO_EURO_DENOMINATOR = 100L;
+
+    /**
+     * <p><i>Source:</i> create a stream of bids against random auction.
+     * </p>
+     * <p><i>Processing:</i> convert each bid's price from dollars to euros.
+     * </p>
+     */
+    @Override
+    StreamStage<Tuple2<Long, Long>> addComputation(Pipeline pipeline, Map<String, Long> params) {
+        long eventsPerSecond = params.get(BenchmarkBase.PROP_EVENTS_PER_SECOND);
+        long numDistinctKeys = params.get(BenchmarkBase.PROP_NUM_DISTINCT_KEYS);
+
+        StreamStage<Bid> bids = pipeline
+                .readFrom(EventSourceP.eventSource("bids", eventsPerSecond, BenchmarkBase.INITIAL_SOURCE_DELAY_MILLIS, params,
+                        (seq, timestamp) -> new Bid(seq, timestamp, seq % numDistinctKeys,
+                                BenchmarkBase.getRandom(seq, MAX_PRICE))))
+                .withNativeTimestamps(BenchmarkBase.NO_ALLOWED_LAG);
+
+        // NEXMark Query 1 start
+        StreamStage<Bid> queryResult = bids
+                .map(bid -> new Bid(bid.id(), bid.timestamp(), bid.auctionId(),
+                        bid.price() * DOLLAR_TO_EURO_NUMERATOR / DOLLAR_TO_EURO_DENOMINATOR));
+        // NEXMark Query 1 end
+
+        return queryResult.apply(super.determineLatency(Bid::timestamp));
+    }
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hazelcast.platform.demos.benchmark.nexmark;
+
+import static com.hazelcast.jet.datamodel.Tuple3.tuple3;
+
+import java.util.Map;
+
+import com.hazelcast.jet.datamodel.Tuple2;
+import com.hazelcast.jet.datamodel.Tuple3;
+import com.hazelcast.jet.pipeline.Pipeline;
+import com.hazelcast.jet.pipeline.StreamStage;
+
+import hazelcast.platform.demos.benchmark.nexmark.model.Bid;
+
+/**
+ * <p>Hazelcast streaming pipeline for NEXMark query two.</p>
+ * <p>From <a href="https://datalab.cs.pdx.edu/niagara/NEXMark/">here</a>
+ * query two is:
+ * </p>
+ * <pre>
+ * SELECT Rstream(auction, price)
+ * FROM Bid [NOW]
+ * WHERE auction = 1007 OR auction = 1020 OR auction = 2001 OR auction = 2019 OR auction = 2087;
+ *</pre>
+ * <p>As other implementations do, use a modulus rather than a list of auctions,
+ * so the selectivity doesn't depend on the number of distinct keys.
+ * </p>
+ */
+public class Q02Selection extends BenchmarkBase {
+    private static final long MAX_PRICE = 1_000L;
+    private static final long AUCTION_ID_MODULO = 123L;
+
+    /**
+     * <p><i>Source:</i> create a stream of bids against random auction.
+     * </p>
+     * <p><i>Processing:</i> select the bids for a subset of the auctions.
+     * </p>
+     */
+    @Override
+    StreamStage<Tuple2<Long, Long>> addComputation(Pipeline pipeline, Map<String, Long> params) {
+        long eventsPerSecond = params.get(BenchmarkBase.PROP_EVENTS_PER_SECOND);
+        long numDistinctKeys = params.get(BenchmarkBase.PROP_NUM_DISTINCT_KEYS);
+
+        StreamStage<Bid> bids = pipeline
+                .readFrom(EventSourceP.eventSource("bids", eventsPerSecond, BenchmarkBase.INITIAL_SOURCE_DELAY_MILLIS, params,
+                        (seq, timestamp) -> new Bid(seq, timestamp, seq % numDistinctKeys,
+                                BenchmarkBase.getRandom(seq, MAX_PRICE))))
+                .withNativeTimestamps(BenchmarkBase.NO_ALLOWED_LAG);
+
+        // NEXMark Query 2 start
+        StreamStage<Tuple3<Long, Long, Long>> queryResult = bids
+                .filter(bid -> bid.auctionId() % AUCTION_ID_MODULO == 0)
+                .map(bid -> tuple3(bid.auctionId(), bid.price(), bid.timestamp()));
+        // NEXMark Query 2 end
+
+        return queryResult.apply(super.determineLatency(Tuple3::f2));
+    }
+
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hazelcast.platform.demos.benchmark.nexmark;
+
+import static com.hazelcast.jet.datamodel.Tuple4.tuple4;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.hazelcast.jet.Traverser;
+import com.hazelcast.jet.Traversers;
+import com.hazelcast.jet.datamodel.Tuple2;
+import com.hazelcast.jet.datamodel.Tuple4;
+import com.hazelcast.jet.pipeline.Pipeline;
+import com.hazelcast.jet.pipeline.StreamStage;
+
+import hazelcast.platform.demos.benchmark.nexmark.model.Auction;
+import hazelcast.platform.demos.benchmark.nexmark.model.Event;
+import hazelcast.platform.demos.benchmark.nexmark.model.Person;
+
+/**
+ * <p>Hazelcast streaming pipeline for NEXMark query three.</p>
+ * <p>From <a href="https://datalab.cs.pdx.edu/niagara/NEXMark/">here</a>
+ * query three is:
+ * </p>
+ * <pre>
+ * SELECT Istream(P.name, P.city, P.state, A.id)
+ * FROM Auction A [ROWS UNBOUNDED], Person P [ROWS UNBOUNDED]
+ * WHERE A.seller = P.id AND (P.state = `OR' OR P.state = `ID' OR P.state = `CA') AND A.category = 10;
+ *</pre>
+ * <p>Unbounded state isn't viable for a long running job, so the join
+ * state for a seller is dropped if idle for longer than the window size.
+ * </p>
+ */
+public class Q03LocalItemSuggestion extends BenchmarkBase {
+    static final String[] STATES = { "AZ", "CA", "ID", "OR", "WA", "WY" };
+    private static final Set<String> SELECTED_STATES = Set.of("OR", "ID", "CA");
+    private static final int NUM_CATEGORIES = 20;
+    private static final int SELECTED_CATEGORY = 10;
+
+    /**
+     * <p><i>Source:</i> create a stream of people, and a stream of auctions
+     * against those people as sellers.
+     * </p>
+     * <p><i>Processing:</i> join auctions in one category to the seller, if the
+     * seller is in selected states.
+     * </p>
+     */
+    @Override
+    StreamStage<Tuple2<Long, Long>> addComputation(Pipeline pipeline, Map<String, Long> params) {
+        long eventsPerSecond = params.get(BenchmarkBase.PROP_EVENTS_PER_SECOND);
+        long numDistinctKeys = params.get(BenchmarkBase.PROP_NUM_DISTINCT_KEYS);
+        long windowSizeMillis = params.get(BenchmarkBase.PROP_WINDOW_SIZE_MILLIS);
+        long halfEventsPerSecond = Math.max(1L, eventsPerSecond / 2);
+
+        StreamStage<Event> persons = pipeline
+                .readFrom(EventSourceP.<Event>eventSource("persons", halfEventsPerSecond,
+                        BenchmarkBase.INITIAL_SOURCE_DELAY_MILLIS, params,
+                        (seq, timestamp) -> new Person(seq % numDistinctKeys, timestamp, "Person #" + seq,
+                                STATES[(int) BenchmarkBase.getRandom(seq, STATES.length)])))
+                .withNativeTimestamps(BenchmarkBase.NO_ALLOWED_LAG);
+
+        StreamStage<Event> auctions = pipeline
+                .readFrom(EventSourceP.<Event>eventSource("auctions", halfEventsPerSecond,
+                        BenchmarkBase.INITIAL_SOURCE_DELAY_MILLIS, params,
+                        (seq, timestamp) -> new Auction(seq, timestamp,
+                                BenchmarkBase.getRandom(seq, numDistinctKeys),
+                                (int) BenchmarkBase.getRandom(seq, NUM_CATEGORIES),
+                                timestamp + windowSizeMillis)))
+                .withNativeTimestamps(BenchmarkBase.NO_ALLOWED_LAG);
+
+        // NEXMark Query 3 start
+        StreamStage<Tuple4<String, String, Long, Long>> queryResult = auctions
+                .filter(event -> ((Auction) event).category() == SELECTED_CATEGORY)
+                .merge(persons)
+                .groupingKey(event -> event instanceof Auction ? ((Auction) event).sellerId() : event.id())
+                .flatMapStateful(windowSizeMillis, SellerState::new,
+                        (state, key, event) -> state.apply(event),
+                        (state, key, watermark) -> Traversers.empty());
+        // NEXMark Query 3 end
+
+        return queryResult.apply(super.determineLatency(Tuple4::f3));
+    }
+
+    /**
+     * <p>Keyed state for a seller. The person if known, and any auctions
+     * received before the person.
+     * </p>
+     */
+    static class SellerState implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private String name;
+        private String state;
+        private final List<Long> pendingAuctionIds = new ArrayList<>();
+
+        /**
+         * <p>Join a person or auction to what is already known for the seller.
+         * </p>
+         *
+         * @param event Either {@link Person} or {@link Auction}
+         * @return Person name, state, auction id and timestamp, for each match
+         */
+        Traverser<Tuple4<String, String, Long, Long>> apply(Event event) {
+            if (event instanceof Person) {
+                Person person = (Person) event;
+                this.name = person.name();
+                this.state = person.state();
+                if (this.pendingAuctionIds.isEmpty() || !SELECTED_STATES.contains(this.state)) {
+                    this.pendingAuctionIds.clear();
+                    return Traversers.empty();
+                }
+                List<Tuple4<String, String, Long, Long>> result = new ArrayList<>(this.pendingAuctionIds.size());
+                for (Long auctionId : this.pendingAuctionIds) {
+                    result.add(tuple4(this.name, this.state, auctionId, event.timestamp()));
+                }
+                this.pendingAuctionIds.clear();
+                return Traversers.traverseIterable(result);
+            }
+            if (this.state == null) {
+                this.pendingAuctionIds.add(event.id());
+                return Traversers.empty();
+            }
+            if (SELECTED_STATES.contains(this.state)) {
+                return Traversers.singleton(tuple4(this.name, this.state, event.id(), event.timestamp()));
+            }
+            return Traversers.empty();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hazelcast.platform.demos.benchmark.nexmark;
+
+import static com.hazelcast.jet.datamodel.Tuple3.tuple3;
+
+import java.util.Map;
+
+import com.hazelcast.jet.accumulator.LongLongAccumulator;
+import com.hazelcast.jet.datamodel.Tuple2;
+import com.hazelcast.jet.datamodel.Tuple3;
+import com.hazelcast.jet.datamodel.Tuple4;
+import com.hazelcast.jet.pipeline.Pipeline;
+import com.hazelcast.jet.pipeline.StreamStage;
+
+import hazelcast.platform.demos.benchmark.nexmark.model.Auction;
+import hazelcast.platform.demos.benchmark.nexmark.model.Bid;
+import hazelcast.platform.demos.benchmark.nexmark.model.Event;
+
+/**
+ * <p>Hazelcast streaming pipeline for NEXMark query four.</p>
+ * <p>From <a href="https://datalab.cs.pdx.edu/niagara/NEXMark/">here</a>
+ * query four is:
+ * </p>
+ * <pre>
+ * SELECT Istream(AVG(Q.final))
+ * FROM Category C, (SELECT Rstream(MAX(B.price) AS final, A.category)
+ *                   FROM Auction A [ROWS UNBOUNDED], Bid B [ROWS UNBOUNDED]
+ *                   WHERE A.id=B.auction AND B.datetime &lt; A.expires AND A.expires &lt; CURRENT_TIME
+ *                   GROUP BY A.id, A.category) Q
+ * WHERE Q.category = C.id
+ * GROUP BY C.id;
+ *</pre>
+ * <p>Auctions last for the window size.
+ * </p>
+ */
+public class Q04AveragePriceForCategory extends BenchmarkBase {
+    static final int NUM_CATEGORIES = 20;
+    static final long MAX_PRICE = 1_000L;
+    static final long BIDS_PER_AUCTION = 10L;
+
+    /**
+     * <p><i>Source:</i> create a stream of auctions, and a stream of bids against
+     * those auctions.
+     * </p>
+     * <p><i>Processing:</i> find the winning bid for each auction when it closes,
+     * and maintain the average winning price for the auction's category.
+     * </p>
+     */
+    @Override
+    StreamStage<Tuple2<Long, Long>> addComputation(Pipeline pipeline, Map<String, Long> params) {
+        long windowSizeMillis = params.get(BenchmarkBase.PROP_WINDOW_SIZE_MILLIS);
+
+        StreamStage<Event> auctionsAndBids = Q04AveragePriceForCategory.auctionsAndBids(pipeline, params);
+
+        // NEXMark Query 4 start
+        StreamStage<Tuple3<Integer, Double, Long>> queryResult = auctionsAndBids
+                .groupingKey(event -> event instanceof Auction ? event.id() : ((Bid) event).auctionId())
+                .mapStateful(windowSizeMillis, WinningBidState::new,
+                        (state, key, event) -> state.apply(event),
+                        (state, key, watermark) -> state.close(watermark))
+                .groupingKey(Tuple4::f0)
+                .mapStateful(LongLongAccumulator::new,
+                        (state, category, winningBid) -> {
+                            // state.sum, state.count
+                            state.set1(state.get1() + winningBid.f2());
+                            state.set2(state.get2() + 1);
+                            return tuple3(category, (double) state.get1() / state.get2(), winningBid.f3());
+                        });
+        // NEXMark Query 4 end
+
+        return queryResult.apply(super.determineLatency(Tuple3::f2));
+    }
+
+    /**
+     * <p>Merge two sources, one of auctions one of bids. Most events are bids.
+     * Auction ids are reused, so that bids can refer to open auctions.
+     * Also used by {@link Q06AvgSellingPrice}.
+     * </p>
+     *
+     * @param pipeline To add the sources to
+     * @param params Rate, key range and window size
+     * @return Both event types in one stream
+     */
+    static StreamStage<Event> auctionsAndBids(Pipeline pipeline, Map<String, Long> params) {
+        long eventsPerSecond = params.get(BenchmarkBase.PROP_EVENTS_PER_SECOND);
+        long numDistinctKeys = params.get(BenchmarkBase.PROP_NUM_DISTINCT_KEYS);
+        long windowSizeMillis = params.get(BenchmarkBase.PROP_WINDOW_SIZE_MILLIS);
+
+        long auctionsPerSecond = Math.max(1L, eventsPerSecond / (BIDS_PER_AUCTION + 1));
+        long bidsPerSecond = Math.max(1L, eventsPerSecond - auctionsPerSecond);
+
+        StreamStage<Event> auctions = pipeline
+                .readFrom(EventSourceP.<Event>eventSource("auctions", auctionsPerSecond,
+                        BenchmarkBase.INITIAL_SOURCE_DELAY_MILLIS, params,
+                        (seq, timestamp) -> new Auction(seq % numDistinctKeys, timestamp,
+                                BenchmarkBase.getRandom(seq, numDistinctKeys),
+                                (int) BenchmarkBase.getRandom(seq, NUM_CATEGORIES),
+                                timestamp + windowSizeMillis)))
+                .withNativeTimestamps(BenchmarkBase.NO_ALLOWED_LAG);
+
+        StreamStage<Event> bids = pipeline
+                .readFrom(EventSourceP.<Event>eventSource("bids", bidsPerSecond,
+                        BenchmarkBase.INITIAL_SOURCE_DELAY_MILLIS, params,
+                        (seq, timestamp) -> new Bid(seq, timestamp,
+                                BenchmarkBase.getRandom(seq, numDistinctKeys),
+                                BenchmarkBase.getRandom(seq, MAX_PRICE))))
+                .withNativeTimestamps(BenchmarkBase.NO_ALLOWED_LAG);
+
+        return auctions.merge(bids);
+    }
+
+}
@@ -20,6 +20,7 @@ import java.util.List;
 import java.util.Map;
 
 import com.hazelcast.function.ComparatorEx;
+import com.hazelcast.function.FunctionEx;
 import com.hazelcast.jet.aggregate.AggregateOperations;
 import com.hazelcast.jet.datamodel.KeyedWindowResult;
 import com.hazelcast.jet.datamodel.Tuple2;
@@ -29,6 +30,7 @@ import com.hazelcast.jet.pipeline.StreamStage;
 import com.hazelcast.jet.pipeline.WindowDefinition;
 
 import hazelcast.platform.demos.benchmark.nexmark.model.Bid;
+import hazelcast.platform.demos.benchmark.nexmark.model.BidFlyweight;
 
 /**
  * <p>Hazelcast streaming pipeline for NEXMark query five.</p>
@@ -54,6 +56,14 @@ public class Q05HotItems extends BenchmarkBase {
      * </p>
      * <p><i>Processing:<i> which auctions have the most bids in the time window.
      * </p>
+     * <p>Bids are objects or flyweights, selected by "{@code event_model}", see
+     * {@link EventModel}.
+     * </p>
+     * <p>Counting is two-stage by default, so bids are counted where they are generated
+     * and only the counts are shuffled. With "{@code single_stage}" bids are shuffled by
+     * auction id, so the event model makes a difference. Either way, the cost of shuffling
+     * a bid is measured by {@link SerializationMeter}.
+     * </p>
      */
     @Override
     StreamStage<Tuple2<Long, Long>> addComputation(Pipeline pipeline, Map<String, Long> params) {
@@ -61,16 +71,49 @@ public class Q05HotItems extends BenchmarkBase {
         long numDistinctKeys = params.get(BenchmarkBase.PROP_NUM_DISTINCT_KEYS);
         long slideBy = params.get(BenchmarkBase.PROP_SLIDING_STEP_MILLIS);
         long windowSizeMillis = params.get(BenchmarkBase.PROP_WINDOW_SIZE_MILLIS);
+        boolean singleStage = params.getOrDefault(BenchmarkBase.PROP_SINGLE_STAGE, 0L) != 0L;
+
+        if (EventModel.fromParams(params) == EventModel.FLYWEIGHT) {
+            StreamStage<BidFlyweight> bids = pipeline
+                    .readFrom(EventSourceP.eventSource("bids", eventsPerSecond, BenchmarkBase.INITIAL_SOURCE_DELAY_MILLIS,
+                            params, (timestamp, seq) ->
+                                BidFlyweight.of(seq, timestamp, seq % numDistinctKeys, PRICE_UNUSED)))
+                    .withNativeTimestamps(BenchmarkBase.NO_ALLOWED_LAG)
+                    .apply(super.measureSerialization(params, singleStage));
+
+            return this.hotItems(bids, BidFlyweight::auctionId, windowSizeMillis, slideBy, singleStage);
+        }
 
         StreamStage<Bid> bids = pipeline
-                .readFrom(EventSourceP.eventSource("bids", eventsPerSecond, BenchmarkBase.INITIAL_SOURCE_DELAY_MILLIS,
+                .readFrom(EventSourceP.eventSource("bids", eventsPerSecond, BenchmarkBase.INITIAL_SOURCE_DELAY_MILLIS, params,
                         (timestamp, seq) -> new Bid(seq, timestamp, seq % numDistinctKeys, PRICE_UNUSED)))
-                .withNativeTimestamps(BenchmarkBase.NO_ALLOWED_LAG);
+                .withNativeTimestamps(BenchmarkBase.NO_ALLOWED_LAG)
+                .apply(super.measureSerialization(params, singleStage));
+
+        return this.hotItems(bids, Bid::auctionId, windowSizeMillis, slideBy, singleStage);
+    }
+
+    /**
+     * <p>The query, for either event model.
+     * </p>
+     *
+     * @param <T> Bid or bid flyweight
+     * @param bids Stream of bids
+     * @param auctionIdFn Extract the grouping key
+     * @param windowSizeMillis Sliding window size
+     * @param slideBy Sliding window step
+     * @param singleStage Shuffle bids by auction id, rather than counts
+     * @return Latencies
+     */
+    private <T> StreamStage<Tuple2<Long, Long>> hotItems(StreamStage<T> bids, FunctionEx<? super T, Long> auctionIdFn,
+            long windowSizeMillis, long slideBy, boolean singleStage) {
+        // Aggregation after a rebalance by key is single-stage
+        StreamStage<T> input = singleStage ? bids.rebalance(auctionIdFn) : bids;
 
         // NEXMark Query 5 start
-        StreamStage<WindowResult<List<KeyedWindowResult<Long, Long>>>> queryResult = bids
+        StreamStage<WindowResult<List<KeyedWindowResult<Long, Long>>>> queryResult = input
                 .window(WindowDefinition.sliding(windowSizeMillis, slideBy))
-                .groupingKey(Bid::auctionId)
+                .groupingKey(auctionIdFn)
                 .aggregate(AggregateOperations.counting())
                 .window(WindowDefinition.tumbling(slideBy))
                 .aggregate(AggregateOperations.topN(TOP_10, ComparatorEx.comparing(KeyedWindowResult::result)));
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hazelcast.platform.demos.benchmark.nexmark;
+
+import static com.hazelcast.jet.datamodel.Tuple3.tuple3;
+
+import java.io.Serializable;
+import java.util.Map;
+
+import com.hazelcast.jet.datamodel.Tuple2;
+import com.hazelcast.jet.datamodel.Tuple3;
+import com.hazelcast.jet.datamodel.Tuple4;
+import com.hazelcast.jet.pipeline.Pipeline;
+import com.hazelcast.jet.pipeline.StreamStage;
+
+import hazelcast.platform.demos.benchmark.nexmark.model.Auction;
+import hazelcast.platform.demos.benchmark.nexmark.model.Bid;
+import hazelcast.platform.demos.benchmark.nexmark.model.Event;
+
+/**
+ * <p>Hazelcast streaming pipeline for NEXMark query six.</p>
+ * <p>From <a href="https://datalab.cs.pdx.edu/niagara/NEXMark/">here</a>
+ * query six is:
+ * </p>
+ * <pre>
+ * SELECT Istream(AVG(Q.final), Q.seller)
+ * FROM (SELECT Rstream(MAX(B.price) AS final, A.seller)
+ *       FROM Auction A [ROWS UNBOUNDED], Bid B [ROWS UNBOUNDED]
+ *       WHERE A.id=B.auction AND B.datetime &lt; A.expires AND A.expires &lt; CURRENT_TIME
+ *       GROUP BY A.id, A.seller) [PARTITION BY A.seller ROWS 10] Q
+ * GROUP BY Q.seller;
+ *</pre>
+ * <p>Auctions last for the window size.
+ * </p>
+ */
+public class Q06AvgSellingPrice extends BenchmarkBase {
+    private static final int LAST_N = 10;
+
+    /**
+     * <p><i>Source:</i> create a stream of auctions, and a stream of bids against
+     * those auctions.
+     * </p>
+     * <p><i>Processing:</i> find the winning bid for each auction when it closes,
+     * and maintain the average of the last ten winning prices for the seller.
+     * </p>
+     */
+    @Override
+    StreamStage<Tuple2<Long, Long>> addComputation(Pipeline pipeline, Map<String, Long> params) {
+        long windowSizeMillis = params.get(BenchmarkBase.PROP_WINDOW_SIZE_MILLIS);
+
+        StreamStage<Event> auctionsAndBids = Q04AveragePriceForCategory.auctionsAndBids(pipeline, params);
+
+        // NEXMark Query 6 start
+        StreamStage<Tuple3<Long, Double, Long>> queryResult = auctionsAndBids
+                .groupingKey(event -> event instanceof Auction ? event.id() : ((Bid) event).auctionId())
+                .mapStateful(windowSizeMillis, WinningBidState::new,
+                        (state, key, event) -> state.apply(event),
+                        (state, key, watermark) -> state.close(watermark))
+                .groupingKey(Tuple4::f1)
+                .mapStateful(LastPrices::new,
+                        (state, sellerId, winningBid) ->
+                            tuple3(sellerId, state.add(winningBid.f2()), winningBid.f3()));
+        // NEXMark Query 6 end
+
+        return queryResult.apply(super.determineLatency(Tuple3::f2));
+    }
+
+    /**
+     * <p>Ring buffer of the most recent winning prices for a seller.
+     * </p>
+     */
+    static class LastPrices implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final long[] prices = new long[LAST_N];
+        private int next;
+        private int size;
+        private long sum;
+
+        /**
+         * <p>Add a price, replacing the oldest if full.
+         * </p>
+         *
+         * @param price Winning bid
+         * @return Average of the prices held
+         */
+        double add(long price) {
+            if (this.size == LAST_N) {
+                this.sum -= this.prices[this.next];
+            } else {
+                this.size++;
+            }
+            this.prices[this.next] = price;
+            this.sum += price;
+            this.next = (this.next + 1) % LAST_N;
+            return (double) this.sum / this.size;
+        }
+    }
+}
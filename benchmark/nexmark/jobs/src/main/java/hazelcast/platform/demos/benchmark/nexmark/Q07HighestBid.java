@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hazelcast.platform.demos.benchmark.nexmark;
+
+import java.util.Map;
+
+import com.hazelcast.function.ComparatorEx;
+import com.hazelcast.jet.aggregate.AggregateOperations;
+import com.hazelcast.jet.datamodel.Tuple2;
+import com.hazelcast.jet.datamodel.WindowResult;
+import com.hazelcast.jet.pipeline.Pipeline;
+import com.hazelcast.jet.pipeline.StreamStage;
+import com.hazelcast.jet.pipeline.WindowDefinition;
+
+import hazelcast.platform.demos.benchmark.nexmark.model.Bid;
+
+/**
+ * <p>Hazelcast streaming pipeline for NEXMark query seven.</p>
+ * <p>From <a href="https://datalab.cs.pdx.edu/niagara/NEXMark/">here</a>
+ * query seven is:
+ * </p>
+ * <pre>
+ * SELECT Rstream(B.auction, B.price, B.bidder)
+ * FROM Bid [RANGE 1 MINUTE SLIDE 1 MINUTE] B
+ * WHERE B.price = (SELECT MAX(B1.price)
+ *                  FROM BID [RANGE 1 MINUTE SLIDE 1 MINUTE] B1);
+ *</pre>
+ */
+public class Q07HighestBid extends BenchmarkBase {
+    private static final long MAX_PRICE = 1_000_000L;
+
+    /**
+     * <p><i>Source:</i> create a stream of bids against random auction.
+     * </p>
+     * <p><i>Processing:</i> the bid with the highest price in each tumbling window.
+     * </p>
+     */
+    @Override
+    StreamStage<Tuple2<Long, Long>> addComputation(Pipeline pipeline, Map<String, Long> params) {
+        long eventsPerSecond = params.get(BenchmarkBase.PROP_EVENTS_PER_SECOND);
+        long numDistinctKeys = params.get(BenchmarkBase.PROP_NUM_DISTINCT_KEYS);
+        long windowSizeMillis = params.get(BenchmarkBase.PROP_WINDOW_SIZE_MILLIS);
+
+        StreamStage<Bid> bids = pipeline
+                .readFrom(EventSourceP.eventSource("bids", eventsPerSecond, BenchmarkBase.INITIAL_SOURCE_DELAY_MILLIS, params,
+                        (seq, timestamp) -> new Bid(seq, timestamp, seq % numDistinctKeys,
+                                BenchmarkBase.getRandom(seq, MAX_PRICE))))
+                .withNativeTimestamps(BenchmarkBase.NO_ALLOWED_LAG);
+
+        // NEXMark Query 7 start
+        StreamStage<WindowResult<Bid>> queryResult = bids
+                .window(WindowDefinition.tumbling(windowSizeMillis))
+                .aggregate(AggregateOperations.maxBy(ComparatorEx.comparing(Bid::price)));
+        // NEXMark Query 7 end
+
+        return queryResult.apply(super.determineLatency(WindowResult::end));
+    }
+
+}
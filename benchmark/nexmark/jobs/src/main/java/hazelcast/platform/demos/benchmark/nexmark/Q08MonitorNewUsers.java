@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hazelcast.platform.demos.benchmark.nexmark;
+
+import java.util.Map;
+
+import com.hazelcast.jet.aggregate.AggregateOperations;
+import com.hazelcast.jet.datamodel.KeyedWindowResult;
+import com.hazelcast.jet.datamodel.Tuple2;
+import com.hazelcast.jet.pipeline.Pipeline;
+import com.hazelcast.jet.pipeline.StreamStage;
+import com.hazelcast.jet.pipeline.StreamStageWithKey;
+import com.hazelcast.jet.pipeline.WindowDefinition;
+
+import hazelcast.platform.demos.benchmark.nexmark.model.Auction;
+import hazelcast.platform.demos.benchmark.nexmark.model.Person;
+
+/**
+ * <p>Hazelcast streaming pipeline for NEXMark query eight.</p>
+ * <p>From <a href="https://datalab.cs.pdx.edu/niagara/NEXMark/">here</a>
+ * query eight is:
+ * </p>
+ * <pre>
+ * SELECT Rstream(P.id, P.name, A.reserve)
+ * FROM Person [RANGE 12 HOUR] P, Auction [RANGE 12 HOUR] A
+ * WHERE P.id = A.seller;
+ *</pre>
+ * <p>As other implementations do, this uses a tumbling window of the
+ * window size, people who registered and created an auction in the same window.
+ * </p>
+ */
+public class Q08MonitorNewUsers extends BenchmarkBase {
+    private static final int NUM_CATEGORIES = 20;
+
+    /**
+     * <p><i>Source:</i> create a stream of people, and a stream of auctions
+     * against those people as sellers.
+     * </p>
+     * <p><i>Processing:</i> sellers with a person and an auction in the window.
+     * </p>
+     */
+    @Override
+    StreamStage<Tuple2<Long, Long>> addComputation(Pipeline pipeline, Map<String, Long> params) {
+        long eventsPerSecond = params.get(BenchmarkBase.PROP_EVENTS_PER_SECOND);
+        long numDistinctKeys = params.get(BenchmarkBase.PROP_NUM_DISTINCT_KEYS);
+        long windowSizeMillis = params.get(BenchmarkBase.PROP_WINDOW_SIZE_MILLIS);
+        long halfEventsPerSecond = Math.max(1L, eventsPerSecond / 2);
+
+        StreamStage<Person> persons = pipeline
+                .readFrom(EventSourceP.eventSource("persons", halfEventsPerSecond,
+                        BenchmarkBase.INITIAL_SOURCE_DELAY_MILLIS, params,
+                        (seq, timestamp) -> new Person(seq % numDistinctKeys, timestamp, "Person #" + seq,
+                                Q03LocalItemSuggestion.STATES[(int) BenchmarkBase.getRandom(seq,
+                                        Q03LocalItemSuggestion.STATES.length)])))
+                .withNativeTimestamps(BenchmarkBase.NO_ALLOWED_LAG);
+
+        StreamStage<Auction> auctions = pipeline
+                .readFrom(EventSourceP.eventSource("auctions", halfEventsPerSecond,
+                        BenchmarkBase.INITIAL_SOURCE_DELAY_MILLIS, params,
+                        (seq, timestamp) -> new Auction(seq, timestamp,
+                                BenchmarkBase.getRandom(seq, numDistinctKeys),
+                                (int) BenchmarkBase.getRandom(seq, NUM_CATEGORIES),
+                                timestamp + windowSizeMillis)))
+                .withNativeTimestamps(BenchmarkBase.NO_ALLOWED_LAG);
+
+        // NEXMark Query 8 start
+        StreamStageWithKey<Auction, Long> auctionsBySeller = auctions.groupingKey(Auction::sellerId);
+
+        StreamStage<KeyedWindowResult<Long, Tuple2<Person, Long>>> queryResult = persons
+                .window(WindowDefinition.tumbling(windowSizeMillis))
+                .groupingKey(Person::id)
+                .aggregate2(AggregateOperations.<Person>pickAny(), auctionsBySeller, AggregateOperations.counting())
+                .filter(window -> window.result().f0() != null && window.result().f1() > 0);
+        // NEXMark Query 8 end
+
+        return queryResult.apply(super.determineLatency(KeyedWindowResult::end));
+    }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hazelcast.platform.demos.benchmark.nexmark;
+
+import static com.hazelcast.jet.datamodel.Tuple3.tuple3;
+
+import java.util.Map;
+
+import com.hazelcast.jet.datamodel.Tuple2;
+import com.hazelcast.jet.datamodel.Tuple3;
+import com.hazelcast.jet.pipeline.Pipeline;
+import com.hazelcast.jet.pipeline.ServiceFactories;
+import com.hazelcast.jet.pipeline.ServiceFactory;
+import com.hazelcast.jet.pipeline.StreamStage;
+
+import hazelcast.platform.demos.benchmark.nexmark.model.Bid;
+
+/**
+ * <p>Hazelcast streaming pipeline for NEXMark query thirteen.</p>
+ * <p>Not in the original NEXMark, but added by later implementations
+ * to join the stream to a bounded side input:
+ * </p>
+ * <pre>
+ * SELECT B.auction, B.bidder, B.price, B.dateTime, S.value
+ * FROM Bid B
+ * JOIN side_input FOR SYSTEM_TIME AS OF B.p_time AS S
+ * ON mod(B.auction, 10000) = S.key;
+ *</pre>
+ * <p>The side input is built once per member, and shared by
+ * all processors on that member.
+ * </p>
+ */
+public class Q13BoundedSideInput extends BenchmarkBase {
+    private static final long MAX_PRICE = 1_000L;
+    private static final int SIDE_INPUT_SIZE = 10_000;
+
+    /**
+     * <p><i>Source:</i> create a stream of bids against random auction.
+     * </p>
+     * <p><i>Processing:</i> enrich each bid from the side input.
+     * </p>
+     */
+    @Override
+    StreamStage<Tuple2<Long, Long>> addComputation(Pipeline pipeline, Map<String, Long> params) {
+        long eventsPerSecond = params.get(BenchmarkBase.PROP_EVENTS_PER_SECOND);
+        long numDistinctKeys = params.get(BenchmarkBase.PROP_NUM_DISTINCT_KEYS);
+
+        StreamStage<Bid> bids = pipeline
+                .readFrom(EventSourceP.eventSource("bids", eventsPerSecond, BenchmarkBase.INITIAL_SOURCE_DELAY_MILLIS, params,
+                        (seq, timestamp) -> new Bid(seq, timestamp, seq % numDistinctKeys,
+                                BenchmarkBase.getRandom(seq, MAX_PRICE))))
+                .withNativeTimestamps(BenchmarkBase.NO_ALLOWED_LAG);
+
+        ServiceFactory<?, String[]> sideInput =
+                ServiceFactories.sharedService(context -> Q13BoundedSideInput.createSideInput());
+
+        // NEXMark Query 13 start
+        StreamStage<Tuple3<Bid, String, Long>> queryResult = bids
+                .mapUsingService(sideInput,
+                        (values, bid) -> tuple3(bid, values[(int) (bid.auctionId() % values.length)], bid.timestamp()));
+        // NEXMark Query 13 end
+
+        return queryResult.apply(super.determineLatency(Tuple3::f2));
+    }
+
+    /**
+     * <p>The side input, a fixed size lookup table.
+     * </p>
+     *
+     * @return Values indexed by key
+     */
+    private static String[] createSideInput() {
+        String[] values = new String[SIDE_INPUT_SIZE];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = "side-input-" + i;
+        }
+        return values;
+    }
+
+}
@@ -0,0 +1,295 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hazelcast.platform.demos.benchmark.nexmark;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+
+/**
+ * <p>The shape of the load offered by {@link EventSourceP}, as a multiplier
+ * of the requested "{@code events_per_second}".
+ * </p>
+ * <p>The source is open-loop. Event timestamps are the scheduled emission times,
+ * so if the job can't keep up with the rate the backlog shows as latency rather than
+ * the source slowing down.
+ * </p>
+ * <p>Shapes, selected by "{@code rate_profile}":
+ * </p>
+ * <ol>
+ * <li><b>Constant</b> The requested rate throughout, the default.</li>
+ * <li><b>Staircase</b> Increase by "{@code rate_percent}" of the requested rate every
+ * "{@code rate_period_millis}", for "{@code rate_steps}" steps, then hold. See
+ * {@link KneeDetector} for where latency breaks the SLO.</li>
+ * <li><b>Sinusoidal</b> A compressed diurnal pattern, varying by "{@code rate_percent}"
+ * above and below the requested rate, with "{@code rate_period_millis}" as the period.</li>
+ * <li><b>Burst</b> Every "{@code rate_period_millis}", the rate is "{@code rate_percent}"
+ * higher for "{@code rate_burst_millis}".</li>
+ * <li><b>Trace</b> Replay a recorded arrival trace, the event counts for consecutive
+ * intervals of "{@code rate_period_millis}", looping at the end. Counts are relative,
+ * the mean of the trace is the requested rate. Traces are uploaded to the
+ * "{@code rate_traces}" map, keyed by "{@code rate_trace_id}".</li>
+ * </ol>
+ * <p>The shape starts after warm-up, fixed or the shortest possible, so that warm-up
+ * is at the requested rate.
+ * </p>
+ */
+public class RateProfile implements Serializable {
+    public static final String IMAP_NAME_RATE_ORIGINS = "rate_origins";
+    public static final String IMAP_NAME_RATE_TRACES = "rate_traces";
+
+    /**
+     * <p>Ordinal is the value for the "{@code rate_profile}" job parameter.
+     * </p>
+     */
+    public enum Shape {
+        CONSTANT,
+        STAIRCASE,
+        SINUSOIDAL,
+        BURST,
+        TRACE;
+
+        /**
+         * <p>Case-insensitive lookup, for REST parameters.
+         * </p>
+         *
+         * @param name Eg. "{@code staircase}"
+         * @return The shape
+         */
+        public static Shape fromName(String name) {
+            return Shape.valueOf(name.toUpperCase(Locale.ROOT));
+        }
+    }
+
+    static final long DEFAULT_LATENCY_SLO_MILLIS = 100L;
+    static final long DEFAULT_RATE_BURST_MILLIS = 1_000L;
+    static final long DEFAULT_RATE_PERCENT = 10L;
+    static final long DEFAULT_RATE_PERIOD_MILLIS = 60_000L;
+    static final long DEFAULT_RATE_STEPS = 20L;
+
+    private static final long serialVersionUID = 1L;
+    private static final double ONE_HUNDRED = 100.0d;
+
+    private final Shape shape;
+    private final long offsetMillis;
+    private final long periodMillis;
+    private final double fraction;
+    private final long steps;
+    private final long burstMillis;
+    private final long traceId;
+    private final double[] trace;
+
+    RateProfile(Shape shape, long offsetMillis, long periodMillis, long percent, long steps,
+            long burstMillis, long traceId) {
+        this.shape = shape;
+        this.offsetMillis = offsetMillis;
+        this.periodMillis = Math.max(1L, periodMillis);
+        this.fraction = percent / ONE_HUNDRED;
+        this.steps = steps;
+        this.burstMillis = burstMillis;
+        this.traceId = traceId;
+        this.trace = null;
+    }
+
+    private RateProfile(RateProfile that, double[] trace) {
+        this.shape = that.shape;
+        this.offsetMillis = that.offsetMillis;
+        this.periodMillis = that.periodMillis;
+        this.fraction = that.fraction;
+        this.steps = that.steps;
+        this.burstMillis = that.burstMillis;
+        this.traceId = that.traceId;
+        this.trace = trace;
+    }
+
+    /**
+     * <p>Build from job parameters, any may be absent.
+     * </p>
+     *
+     * @param params Job parameters
+     * @return A profile, constant if not specified
+     */
+    public static RateProfile of(Map<String, Long> params) {
+        int ordinal = params.getOrDefault(BenchmarkBase.PROP_RATE_PROFILE, 0L).intValue();
+        if (ordinal < 0 || ordinal >= Shape.values().length) {
+            throw new IllegalArgumentException(BenchmarkBase.PROP_RATE_PROFILE + "==" + ordinal);
+        }
+        return new RateProfile(Shape.values()[ordinal],
+                WarmUpController.reportingDelayMillis(params, BenchmarkBase.LATENCY_BUCKET_MILLIS),
+                params.getOrDefault(BenchmarkBase.PROP_RATE_PERIOD_MILLIS, DEFAULT_RATE_PERIOD_MILLIS),
+                params.getOrDefault(BenchmarkBase.PROP_RATE_PERCENT, DEFAULT_RATE_PERCENT),
+                params.getOrDefault(BenchmarkBase.PROP_RATE_STEPS, DEFAULT_RATE_STEPS),
+                params.getOrDefault(BenchmarkBase.PROP_RATE_BURST_MILLIS, DEFAULT_RATE_BURST_MILLIS),
+                params.getOrDefault(BenchmarkBase.PROP_RATE_TRACE_ID, 0L));
+    }
+
+    /**
+     * <p>Latency target for {@link KneeDetector}.
+     * </p>
+     *
+     * @param params May not contain the property
+     * @return Milliseconds for p99
+     */
+    public static long latencySloMillis(Map<String, Long> params) {
+        return params.getOrDefault(BenchmarkBase.PROP_LATENCY_SLO_MILLIS, DEFAULT_LATENCY_SLO_MILLIS);
+    }
+
+    /**
+     * <p>The profile for one source processor in one run. Profiles are not
+     * modified, so the one in the processor supplier can't carry a trace from
+     * one run into another. For a trace, it is fetched from the cluster.
+     * Called once per processor at initialization.
+     * </p>
+     *
+     * @param hazelcastInstance From the processor context
+     * @return This profile, or a copy with the trace
+     */
+    public RateProfile forRun(HazelcastInstance hazelcastInstance) {
+        if (this.shape != Shape.TRACE) {
+            return this;
+        }
+        long[] counts = hazelcastInstance.<Long, long[]>getMap(IMAP_NAME_RATE_TRACES).get(this.traceId);
+        if (counts == null || counts.length == 0) {
+            throw new IllegalStateException(IMAP_NAME_RATE_TRACES + " has no trace for " + this.traceId);
+        }
+        return new RateProfile(this, RateProfile.normalize(counts));
+    }
+
+    /**
+     * <p>Record when the source started applying the profile, the timestamp of
+     * its first event, for {@link KneeDetector} to measure steps from.
+     * </p>
+     *
+     * @param hazelcastInstance From the processor context
+     * @param jobId Key, the run
+     * @param originMillis First event timestamp
+     */
+    public static void recordOrigin(HazelcastInstance hazelcastInstance, long jobId, long originMillis) {
+        hazelcastInstance.<Long, Long>getMap(IMAP_NAME_RATE_ORIGINS).set(jobId, originMillis);
+    }
+
+    /**
+     * <p>For "{@code mapUsingService()}", find the origin recorded by the source
+     * in this job. Not known until the source has started, then cached.
+     * </p>
+     */
+    public static final class OriginLookup {
+        private final IMap<Long, Long> originsMap;
+        private final long jobId;
+        private long originMillis = -1L;
+
+        public OriginLookup(HazelcastInstance hazelcastInstance, long jobId) {
+            this.originsMap = hazelcastInstance.getMap(IMAP_NAME_RATE_ORIGINS);
+            this.jobId = jobId;
+        }
+
+        /**
+         * @return First event timestamp, or -1 if not yet known
+         */
+        public long getOriginMillis() {
+            if (this.originMillis < 0) {
+                Long origin = this.originsMap.get(this.jobId);
+                if (origin != null) {
+                    this.originMillis = origin;
+                }
+            }
+            return this.originMillis;
+        }
+    }
+
+    /**
+     * <p>Scale trace counts so their mean is 1.
+     * </p>
+     *
+     * @param counts Events per interval
+     * @return Multipliers
+     */
+    static double[] normalize(long[] counts) {
+        double mean = Arrays.stream(counts).average().orElse(0.0d);
+        double[] multipliers = new double[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            multipliers[i] = mean > 0 ? counts[i] / mean : 1.0d;
+        }
+        return multipliers;
+    }
+
+    /**
+     * <p>The rate to use at a point in the run, as a multiplier of the requested rate.
+     * </p>
+     *
+     * @param elapsedMillis Since the source started
+     * @return Zero or more, one being the requested rate
+     */
+    public double multiplier(long elapsedMillis) {
+        long shaped = elapsedMillis - this.offsetMillis;
+        if (shaped < 0) {
+            return 1.0d;
+        }
+        switch (this.shape) {
+        case STAIRCASE:
+            return 1.0d + Math.min(shaped / this.periodMillis, this.steps) * this.fraction;
+        case SINUSOIDAL:
+            return Math.max(0.0d, 1.0d + this.fraction * Math.sin(2 * Math.PI * shaped / this.periodMillis));
+        case BURST:
+            return (shaped % this.periodMillis) < this.burstMillis ? 1.0d + this.fraction : 1.0d;
+        case TRACE:
+            if (this.trace == null) {
+                return 1.0d;
+            }
+            return this.trace[(int) ((shaped / this.periodMillis) % this.trace.length)];
+        case CONSTANT:
+        default:
+            return 1.0d;
+        }
+    }
+
+    /**
+     * <p>The staircase step, including the hold after the last step
+     * as further steps so each has the same duration.
+     * </p>
+     *
+     * @param elapsedMillis Since the source started
+     * @return Step, or -1 before the staircase starts or if not a staircase
+     */
+    public long step(long elapsedMillis) {
+        long shaped = elapsedMillis - this.offsetMillis;
+        if (this.shape != Shape.STAIRCASE || shaped < 0) {
+            return -1L;
+        }
+        return shaped / this.periodMillis;
+    }
+
+    public Shape getShape() {
+        return shape;
+    }
+
+    public long getOffsetMillis() {
+        return offsetMillis;
+    }
+
+    public long getPeriodMillis() {
+        return periodMillis;
+    }
+
+    public long getSteps() {
+        return steps;
+    }
+}
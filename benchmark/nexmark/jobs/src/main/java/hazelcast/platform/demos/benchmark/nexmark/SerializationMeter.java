@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hazelcast.platform.demos.benchmark.nexmark;
+
+import java.util.Locale;
+
+import com.hazelcast.core.HazelcastJsonValue;
+import com.hazelcast.function.FunctionEx;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.SerializationServiceSupport;
+import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.core.metrics.Metric;
+import com.hazelcast.jet.core.metrics.Metrics;
+import com.hazelcast.jet.core.metrics.Unit;
+import com.hazelcast.jet.impl.execution.init.Contexts;
+import com.hazelcast.jet.pipeline.ServiceFactories;
+import com.hazelcast.jet.pipeline.StreamStage;
+import com.hazelcast.map.IMap;
+
+/**
+ * <p>A pass-through stage before a keyed edge, to measure what it costs to
+ * shuffle the events of the run's {@link EventModel}.
+ * </p>
+ * <p>One event in {@link #SAMPLE_EVERY} is serialized and deserialized with the job's
+ * serializers, as the edge would. Each processor publishes Jet metrics
+ * "{@code serializedBytesPerEvent}", "{@code serializeNsPerEvent}" and
+ * "{@code deserializeNsPerEvent}", and every {@link BenchmarkBase#LATENCY_BUCKET_MILLIS}
+ * writes its totals so far to the "{@code serialization_costs}" map, asynchronously.
+ * </p>
+ */
+public class SerializationMeter {
+    static final int SAMPLE_EVERY = 1_024;
+
+    /**
+     * <p>Measure events passing through.
+     * </p>
+     *
+     * @param <T> Event type, unchanged
+     * @param mapKey Key of the run in the results maps
+     * @param eventModel Name of the event model, for the results
+     * @param shuffled If the events are shuffled after this stage, for the results
+     * @return A function for "{@code apply()}"
+     */
+    public static <T> FunctionEx<StreamStage<T>, StreamStage<T>> measure(String mapKey, String eventModel,
+            boolean shuffled) {
+        return stage -> stage
+                .mapUsingService(ServiceFactories.nonSharedService(
+                        context -> new Meter<T>(context, mapKey, eventModel, shuffled)),
+                        Meter::apply)
+                .setName("serialization-meter");
+    }
+
+    /**
+     * <p>One per processor, so totals need no synchronization.
+     * </p>
+     *
+     * @param <T> Event type
+     */
+    static final class Meter<T> {
+        private final InternalSerializationService serializationService;
+        private final IMap<HazelcastJsonValue, HazelcastJsonValue> results;
+        private final HazelcastJsonValue key;
+        private final String eventModel;
+        private final boolean shuffled;
+        private final Metric serializedBytesPerEvent;
+        private final Metric serializeNsPerEvent;
+        private final Metric deserializeNsPerEvent;
+        private long events;
+        private long samples;
+        private long bytes;
+        private long serializeNanos;
+        private long deserializeNanos;
+        private long nextReport;
+
+        Meter(Processor.Context context, String mapKey, String eventModel, boolean shuffled) {
+            // Job serializers are registered on the job, not the member
+            if (context instanceof Contexts.ProcSupplierCtx) {
+                this.serializationService = ((Contexts.ProcSupplierCtx) context).serializationService();
+            } else {
+                this.serializationService =
+                        ((SerializationServiceSupport) context.hazelcastInstance()).getSerializationService();
+            }
+            this.results = context.hazelcastInstance().getMap(BenchmarkBase.IMAP_NAME_SERIALIZATION_COSTS);
+            this.key = new HazelcastJsonValue(mapKey.substring(0, mapKey.length() - 1)
+                    + ",\"processor\":" + context.globalProcessorIndex() + "}");
+            this.eventModel = eventModel;
+            this.shuffled = shuffled;
+            this.serializedBytesPerEvent = Metrics.metric("serializedBytesPerEvent", Unit.BYTES);
+            this.serializeNsPerEvent = Metrics.metric("serializeNsPerEvent", Unit.COUNT);
+            this.deserializeNsPerEvent = Metrics.metric("deserializeNsPerEvent", Unit.COUNT);
+            this.nextReport = System.currentTimeMillis() + BenchmarkBase.LATENCY_BUCKET_MILLIS;
+        }
+
+        /**
+         * <p>Count, and sample if time to.
+         * </p>
+         *
+         * @param item Passed through unchanged
+         * @return The item
+         */
+        T apply(T item) {
+            if (++this.events % SAMPLE_EVERY != 0) {
+                return item;
+            }
+
+            long before = System.nanoTime();
+            Data data = this.serializationService.toData(item);
+            long middle = System.nanoTime();
+            this.serializationService.toObject(data);
+            long after = System.nanoTime();
+
+            this.samples++;
+            this.bytes += data.totalSize();
+            this.serializeNanos += middle - before;
+            this.deserializeNanos += after - middle;
+
+            this.serializedBytesPerEvent.set(this.bytes / this.samples);
+            this.serializeNsPerEvent.set(this.serializeNanos / this.samples);
+            this.deserializeNsPerEvent.set(this.deserializeNanos / this.samples);
+
+            long now = System.currentTimeMillis();
+            if (now >= this.nextReport) {
+                this.nextReport = now + BenchmarkBase.LATENCY_BUCKET_MILLIS;
+                this.results.setAsync(this.key, new HazelcastJsonValue(this.toJson(now)));
+            }
+            return item;
+        }
+
+        /**
+         * <p>Averages over the samples so far. Byte counts include the 8 byte header
+         * for type id and partition hash.
+         * </p>
+         *
+         * @param now Timestamp of the report
+         * @return JSON for the results map
+         */
+        String toJson(long now) {
+            double serializeNanosPerEvent = (double) this.serializeNanos / this.samples;
+            double deserializeNanosPerEvent = (double) this.deserializeNanos / this.samples;
+
+            StringBuilder stringBuilder = new StringBuilder();
+            stringBuilder.append("{\"timestamp\":").append(now);
+            stringBuilder.append(",\"").append(BenchmarkBase.PROP_EVENT_MODEL).append("\":\"")
+                .append(this.eventModel).append("\"");
+            stringBuilder.append(",\"shuffled\":").append(this.shuffled);
+            stringBuilder.append(",\"events\":").append(this.events);
+            stringBuilder.append(",\"samples\":").append(this.samples);
+            stringBuilder.append(",\"bytes_per_event\":")
+                .append(String.format(Locale.ROOT, "%.1f", (double) this.bytes / this.samples));
+            stringBuilder.append(",\"serialize_ns\":").append(String.format(Locale.ROOT, "%.1f", serializeNanosPerEvent));
+            stringBuilder.append(",\"deserialize_ns\":")
+                .append(String.format(Locale.ROOT, "%.1f", deserializeNanosPerEvent));
+            stringBuilder.append(",\"shuffle_ns\":")
+                .append(String.format(Locale.ROOT, "%.1f", serializeNanosPerEvent + deserializeNanosPerEvent));
+            stringBuilder.append("}");
+            return stringBuilder.toString();
+        }
+    }
+}
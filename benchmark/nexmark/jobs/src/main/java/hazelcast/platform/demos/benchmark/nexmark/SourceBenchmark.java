@@ -51,11 +51,12 @@ public class SourceBenchmark extends BenchmarkBase {
         String prefix = this.getClass().getSimpleName();
 
         long expectedInWindow = eventsPerSecond * windowSizeMillis / BenchmarkBase.ONE_SECOND_AS_MILLIS;
-        long warmUpEnd = System.currentTimeMillis() + BenchmarkBase.WARM_UP_MILLIS;
+        long warmUpEnd = System.currentTimeMillis()
+                + WarmUpController.reportingDelayMillis(params, BenchmarkBase.LATENCY_BUCKET_MILLIS);
         long windowSeconds = windowSizeMillis / BenchmarkBase.ONE_SECOND_AS_MILLIS;
 
         StreamStage<Bid> bids = pipeline
-                .readFrom(EventSourceP.eventSource("bids", eventsPerSecond, BenchmarkBase.INITIAL_SOURCE_DELAY_MILLIS,
+                .readFrom(EventSourceP.eventSource("bids", eventsPerSecond, BenchmarkBase.INITIAL_SOURCE_DELAY_MILLIS, params,
                         (timestamp, seq) -> new Bid(seq, timestamp, seq % numDistinctKeys, PRICE_UNUSED)))
                 .withNativeTimestamps(BenchmarkBase.NO_ALLOWED_LAG);
 
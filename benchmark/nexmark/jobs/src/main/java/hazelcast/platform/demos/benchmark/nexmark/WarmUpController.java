@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hazelcast.platform.demos.benchmark.nexmark;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Decides when the warm-up phase ends and the measured phase starts.
+ * </p>
+ * <p>Two modes:
+ * </p>
+ * <ol>
+ * <li><b>Fixed</b> When "{@code warm_up_cv_percent}" is zero, warm-up lasts for
+ * "{@code warm_up_millis}".</li>
+ * <li><b>Steady state</b> Otherwise, warm-up ends when the coefficient of variation
+ * (standard deviation divided by mean) of both throughput and mean latency over the
+ * last few latency buckets is below the percentage given. "{@code warm_up_millis}" is
+ * then the upper bound, in case steady state is never detected.</li>
+ * </ol>
+ * <p>Applied once per latency bucket, after histograms from all processors are merged,
+ * so there is one decision for the whole job.
+ * </p>
+ */
+public class WarmUpController implements Serializable {
+    public static final String PHASE_MEASURED = "measured";
+    public static final String PHASE_WARM_UP = "warm-up";
+    // Default 15 minutes warm up, so JVM is likely to have settled into normal operations
+    public static final long DEFAULT_WARM_UP_MILLIS = TimeUnit.MINUTES.toMillis(15L);
+    // Steady state over this many consecutive buckets
+    static final int STEADY_STATE_BUCKETS = 6;
+
+    private static final long serialVersionUID = 1L;
+    private static final double ONE_HUNDRED = 100.0d;
+
+    private final long warmUpMillis;
+    private final double cvThreshold;
+    private final double[] throughputs = new double[STEADY_STATE_BUCKETS];
+    private final double[] latencies = new double[STEADY_STATE_BUCKETS];
+    private int next;
+    private int size;
+    private long firstBucketStart = -1L;
+    private long measuredFrom = -1L;
+    private double throughputCv = Double.NaN;
+    private double latencyCv = Double.NaN;
+
+    public WarmUpController(long warmUpMillis, long cvPercent) {
+        this.warmUpMillis = warmUpMillis;
+        this.cvThreshold = cvPercent / ONE_HUNDRED;
+    }
+
+    /**
+     * <p>Warm-up duration from job parameters, fixed duration or upper bound.
+     * </p>
+     *
+     * @param params May not contain the property
+     * @return Milliseconds
+     */
+    public static long warmUpMillis(Map<String, Long> params) {
+        return params.getOrDefault(BenchmarkBase.PROP_WARM_UP_MILLIS, DEFAULT_WARM_UP_MILLIS);
+    }
+
+    /**
+     * <p>Steady state threshold from job parameters, zero for fixed mode.
+     * </p>
+     *
+     * @param params May not contain the property
+     * @return Percentage
+     */
+    public static long cvPercent(Map<String, Long> params) {
+        return params.getOrDefault(BenchmarkBase.PROP_WARM_UP_CV_PERCENT, 0L);
+    }
+
+    /**
+     * <p>How long to suppress problem reporting from the source. In steady state mode
+     * this is the shortest possible warm-up, as we can't know the actual end.
+     * </p>
+     *
+     * @param params May not contain the properties
+     * @param bucketMillis Length of each latency bucket
+     * @return Milliseconds
+     */
+    public static long reportingDelayMillis(Map<String, Long> params, long bucketMillis) {
+        if (cvPercent(params) == 0) {
+            return warmUpMillis(params);
+        }
+        return Math.min(warmUpMillis(params), bucketMillis * STEADY_STATE_BUCKETS);
+    }
+
+    /**
+     * <p>Apply the next bucket.
+     * </p>
+     *
+     * @param bucketStart Start of the bucket, event time
+     * @param bucketEnd End of the bucket, event time
+     * @param count Latency samples in the bucket
+     * @param meanLatency Mean latency in the bucket
+     * @return True if the bucket is in the measured phase
+     */
+    public boolean apply(long bucketStart, long bucketEnd, long count, double meanLatency) {
+        if (this.measuredFrom >= 0) {
+            return true;
+        }
+        if (this.firstBucketStart < 0) {
+            this.firstBucketStart = bucketStart;
+        }
+        long elapsed = bucketStart - this.firstBucketStart;
+
+        this.throughputs[this.next] = (double) count / (bucketEnd - bucketStart);
+        this.latencies[this.next] = meanLatency;
+        this.next = (this.next + 1) % STEADY_STATE_BUCKETS;
+        if (this.size < STEADY_STATE_BUCKETS) {
+            this.size++;
+        }
+
+        boolean measured = elapsed >= this.warmUpMillis;
+        if (!measured && this.cvThreshold > 0 && this.size == STEADY_STATE_BUCKETS) {
+            this.throughputCv = WarmUpController.coefficientOfVariation(this.throughputs);
+            this.latencyCv = WarmUpController.coefficientOfVariation(this.latencies);
+            measured = this.throughputCv <= this.cvThreshold && this.latencyCv <= this.cvThreshold;
+        }
+        if (measured) {
+            this.measuredFrom = bucketStart;
+        }
+        return measured;
+    }
+
+    /**
+     * <p>Standard deviation divided by mean. Constant values have no variation,
+     * even if zero.
+     * </p>
+     *
+     * @param values At least one
+     * @return Coefficient of variation, may be infinite
+     */
+    static double coefficientOfVariation(double[] values) {
+        double sum = 0.0d;
+        for (double value : values) {
+            sum += value;
+        }
+        double mean = sum / values.length;
+        double sumSquares = 0.0d;
+        for (double value : values) {
+            sumSquares += (value - mean) * (value - mean);
+        }
+        double stddev = Math.sqrt(sumSquares / values.length);
+        if (stddev == 0.0d) {
+            return 0.0d;
+        }
+        return stddev / mean;
+    }
+
+    public String mode() {
+        return this.cvThreshold > 0 ? "steady-state" : "fixed";
+    }
+
+    public long getMeasuredFrom() {
+        return measuredFrom;
+    }
+
+    public long getWarmUpElapsed() {
+        return this.measuredFrom < 0 ? -1L : this.measuredFrom - this.firstBucketStart;
+    }
+
+    public double getThroughputCv() {
+        return throughputCv;
+    }
+
+    public double getLatencyCv() {
+        return latencyCv;
+    }
+}
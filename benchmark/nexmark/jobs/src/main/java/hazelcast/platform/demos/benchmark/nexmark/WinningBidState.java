@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hazelcast.platform.demos.benchmark.nexmark;
+
+import static com.hazelcast.jet.datamodel.Tuple4.tuple4;
+
+import java.io.Serializable;
+
+import com.hazelcast.jet.datamodel.Tuple4;
+
+import hazelcast.platform.demos.benchmark.nexmark.model.Auction;
+import hazelcast.platform.demos.benchmark.nexmark.model.Bid;
+import hazelcast.platform.demos.benchmark.nexmark.model.Event;
+
+/**
+ * <p>Keyed state for joining bids to their auction, shared by the
+ * queries that need the winning bid, {@link Q04AveragePriceForCategory}
+ * and {@link Q06AvgSellingPrice}.
+ * </p>
+ * <p>When an auction closes, because an event for the same auction
+ * is after its expiry time, because the auction id is reused, or because
+ * the state is evicted, the winning bid is emitted.
+ * </p>
+ * <p>Only primitives are held, not the {@link Auction} itself, so the state
+ * can be snapshotted without needing the custom serializers.
+ * </p>
+ */
+public class WinningBidState implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private static final long NO_BID = -1L;
+
+    private boolean open;
+    private int category;
+    private long sellerId;
+    private long expires;
+    private long maxPrice = NO_BID;
+
+    /**
+     * <p>Apply an auction or a bid to the state.
+     * </p>
+     *
+     * @param event Either {@link Auction} or {@link Bid}
+     * @return Category, seller, winning price and close timestamp, if an auction closed
+     */
+    public Tuple4<Integer, Long, Long, Long> apply(Event event) {
+        Tuple4<Integer, Long, Long, Long> result = null;
+        if (this.open && (event instanceof Auction || event.timestamp() >= this.expires)) {
+            result = this.close(event.timestamp());
+        }
+        if (event instanceof Auction) {
+            Auction auction = (Auction) event;
+            this.open = true;
+            this.category = auction.category();
+            this.sellerId = auction.sellerId();
+            this.expires = auction.expires();
+        } else if (this.open) {
+            Bid bid = (Bid) event;
+            if (bid.price() > this.maxPrice) {
+                this.maxPrice = bid.price();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * <p>Close the auction, if open. Auctions with no bids have no winner.
+     * </p>
+     *
+     * @param timestamp When the close was detected
+     * @return Category, seller, winning price and timestamp, or null
+     */
+    public Tuple4<Integer, Long, Long, Long> close(long timestamp) {
+        Tuple4<Integer, Long, Long, Long> result = null;
+        if (this.open && this.maxPrice != NO_BID) {
+            result = tuple4(this.category, this.sellerId, this.maxPrice, timestamp);
+        }
+        this.open = false;
+        this.maxPrice = NO_BID;
+        return result;
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hazelcast.platform.demos.benchmark.nexmark.model;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.StreamSerializer;
+
+/**
+ * <p>A {@link Bid} as a flyweight over its serialized form, a byte array
+ * of variable length longs.
+ * </p>
+ * <p>{@link Bid.BidSerializer} writes four fixed 8 byte longs. Here each field
+ * is zig-zag encoded 7 bits to a byte, so small values such as the auction id
+ * take one to three bytes, and a millisecond timestamp six.
+ * Serialization copies the array as a block.
+ * </p>
+ * <p>"{@code auctionId}" is first, so a keyed edge can decode it without
+ * materialising the other fields.
+ * </p>
+ */
+public final class BidFlyweight {
+    // Longest encoding of a long, 64 bits / 7 bits per byte
+    private static final int MAX_VARLONG_BYTES = 10;
+    private static final int MAX_SIZE = 4 * MAX_VARLONG_BYTES;
+    private static final int PAYLOAD_BITS = 7;
+    private static final int PAYLOAD_MASK = 0x7F;
+    private static final int CONTINUATION_BIT = 0x80;
+    private static final int AUCTION_ID_FIELD = 0;
+    private static final int ID_FIELD = 1;
+    private static final int TIMESTAMP_FIELD = 2;
+    private static final int PRICE_FIELD = 3;
+
+    private final byte[] bytes;
+
+    private BidFlyweight(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    public static BidFlyweight of(long id, long timestamp, long auctionId, long price) {
+        byte[] buffer = new byte[MAX_SIZE];
+        int offset = 0;
+        offset = writeVarLong(buffer, offset, auctionId);
+        offset = writeVarLong(buffer, offset, id);
+        offset = writeVarLong(buffer, offset, timestamp);
+        offset = writeVarLong(buffer, offset, price);
+        return new BidFlyweight(Arrays.copyOf(buffer, offset));
+    }
+
+    public long id() {
+        return this.field(ID_FIELD);
+    }
+
+    public long timestamp() {
+        return this.field(TIMESTAMP_FIELD);
+    }
+
+    public long auctionId() {
+        return this.field(AUCTION_ID_FIELD);
+    }
+
+    public long price() {
+        return this.field(PRICE_FIELD);
+    }
+
+    /**
+     * <p>Bytes written by {@link BidFlyweightSerializer}, a one byte length
+     * and the array. Excludes the type id and partition hash that Hazelcast adds.
+     * </p>
+     *
+     * @return Between 5 and 41
+     */
+    public int serializedSize() {
+        return 1 + this.bytes.length;
+    }
+
+    /**
+     * <p>Materialise, for comparison.
+     * </p>
+     *
+     * @return A full object
+     */
+    public Bid toBid() {
+        return new Bid(this.id(), this.timestamp(), this.auctionId(), this.price());
+    }
+
+    /**
+     * <p>Skip the fields before the one wanted, then decode it.
+     * </p>
+     *
+     * @param index Position in the layout
+     * @return The value
+     */
+    private long field(int index) {
+        int offset = 0;
+        for (int i = 0; i < index; i++) {
+            while ((this.bytes[offset++] & CONTINUATION_BIT) != 0) {
+                continue;
+            }
+        }
+        long zigZag = 0L;
+        int shift = 0;
+        byte b;
+        do {
+            b = this.bytes[offset++];
+            zigZag |= (long) (b & PAYLOAD_MASK) << shift;
+            shift += PAYLOAD_BITS;
+        } while ((b & CONTINUATION_BIT) != 0);
+        return (zigZag >>> 1) ^ -(zigZag & 1);
+    }
+
+    /**
+     * <p>Zig-zag so small negative values are short too.
+     * </p>
+     *
+     * @param buffer To write to
+     * @param offset Where to start
+     * @param value Any long
+     * @return Offset after the value
+     */
+    private static int writeVarLong(byte[] buffer, int offset, long value) {
+        long zigZag = (value << 1) ^ (value >> (Long.SIZE - 1));
+        int position = offset;
+        while ((zigZag & ~PAYLOAD_MASK) != 0) {
+            buffer[position++] = (byte) ((zigZag & PAYLOAD_MASK) | CONTINUATION_BIT);
+            zigZag >>>= PAYLOAD_BITS;
+        }
+        buffer[position++] = (byte) zigZag;
+        return position;
+    }
+
+    /**
+     * <p>Length, as the array is at most 40 bytes it fits in one, then
+     * a block copy of the array.
+     * </p>
+     */
+    public static class BidFlyweightSerializer implements StreamSerializer<BidFlyweight> {
+        private static final int TYPE_ID = 4;
+
+        @Override
+        public int getTypeId() {
+            return TYPE_ID;
+        }
+
+        @Override
+        public void write(ObjectDataOutput out, BidFlyweight bidFlyweight) throws IOException {
+            out.writeByte(bidFlyweight.bytes.length);
+            out.write(bidFlyweight.bytes);
+        }
+
+        @Override
+        public BidFlyweight read(ObjectDataInput in) throws IOException {
+            int length = in.readUnsignedByte();
+            if (length > MAX_SIZE) {
+                throw new IOException("BidFlyweight length " + length + " > " + MAX_SIZE);
+            }
+            byte[] bytes = new byte[length];
+            in.readFully(bytes);
+            return new BidFlyweight(bytes);
+        }
+    }
+}
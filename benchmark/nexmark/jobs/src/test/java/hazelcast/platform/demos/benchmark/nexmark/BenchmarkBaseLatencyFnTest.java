@@ -26,6 +26,7 @@ import org.junit.jupiter.api.TestInfo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.hazelcast.function.BiFunctionEx;
 import com.hazelcast.jet.accumulator.LongLongAccumulator;
 import com.hazelcast.jet.datamodel.Tuple2;
 
@@ -34,13 +35,17 @@ import com.hazelcast.jet.datamodel.Tuple2;
  * </p>
  * <p>As the latency calculator uses System time, we have to be sure
  * our test timestamps are sufficiently far apart that race conditions
- * don't appear. Use {@link BenchmarkBase.WARM_U_MILLIS} and confirm
- * this is more than a trivial amount.
+ * don't appear. Use a fixed warm-up of {@link WarmUpController#DEFAULT_WARM_UP_MILLIS}
+ * and confirm this is more than a trivial amount.
  * </p>
  */
 public class BenchmarkBaseLatencyFnTest {
     private static final Logger LOGGER = LoggerFactory.getLogger(BenchmarkBaseLatencyFnTest.class);
 
+    private static final long WARM_UP_MILLIS = WarmUpController.DEFAULT_WARM_UP_MILLIS;
+    private static final BiFunctionEx<LongLongAccumulator, Long, Tuple2<Long, Long>> LATENCY_FN =
+            BenchmarkBase.latencyFn(WARM_UP_MILLIS);
+
     private static long now;
 
     @BeforeAll
@@ -56,17 +61,17 @@ public class BenchmarkBaseLatencyFnTest {
         state.set1(startTimestamp);
         state.set2(lastTimestamp);
 
-        long currentTimestamp = startTimestamp + (BenchmarkBase.WARM_UP_MILLIS - 1);
+        long currentTimestamp = startTimestamp + (WARM_UP_MILLIS - 1);
 
         LOGGER.info("{} :: input :: {} & {}",
                 testInfo.getDisplayName(), state, currentTimestamp);
 
-        Tuple2<Long, Long> tuple2 = BenchmarkBase.LATENCY_FN.apply(state, currentTimestamp);
+        Tuple2<Long, Long> tuple2 = LATENCY_FN.apply(state, currentTimestamp);
 
         LOGGER.info("{} :: result:: {}",
                 testInfo.getDisplayName(), tuple2);
 
-        assertThat(BenchmarkBase.WARM_UP_MILLIS).isGreaterThan(TimeUnit.SECONDS.toMillis(10));
+        assertThat(WARM_UP_MILLIS).isGreaterThan(TimeUnit.SECONDS.toMillis(10));
         assertThat(tuple2).isNull();
     }
 
@@ -74,7 +79,7 @@ public class BenchmarkBaseLatencyFnTest {
     public void secondResultDuringWarmup(TestInfo testInfo) throws Exception {
         LongLongAccumulator state = new LongLongAccumulator();
         long lastTimestamp = BenchmarkBaseLatencyFnTest.now;
-        long startTimestamp = lastTimestamp - (BenchmarkBase.WARM_UP_MILLIS - 2);
+        long startTimestamp = lastTimestamp - (WARM_UP_MILLIS - 2);
         state.set1(startTimestamp);
         state.set2(lastTimestamp);
 
@@ -83,12 +88,12 @@ public class BenchmarkBaseLatencyFnTest {
         LOGGER.info("{} :: input :: {} & {}",
                 testInfo.getDisplayName(), state, currentTimestamp);
 
-        Tuple2<Long, Long> tuple2 = BenchmarkBase.LATENCY_FN.apply(state, currentTimestamp);
+        Tuple2<Long, Long> tuple2 = LATENCY_FN.apply(state, currentTimestamp);
 
         LOGGER.info("{} :: result:: {}",
                 testInfo.getDisplayName(), tuple2);
 
-        assertThat(BenchmarkBase.WARM_UP_MILLIS).isGreaterThan(TimeUnit.SECONDS.toMillis(10));
+        assertThat(WARM_UP_MILLIS).isGreaterThan(TimeUnit.SECONDS.toMillis(10));
         assertThat(tuple2).isNull();
     }
 
@@ -96,7 +101,7 @@ public class BenchmarkBaseLatencyFnTest {
     public void betterNextResultAfterWarmup(TestInfo testInfo) throws Exception {
         LongLongAccumulator state = new LongLongAccumulator();
         long lastTimestamp = BenchmarkBaseLatencyFnTest.now;
-        long startTimestamp = lastTimestamp - (BenchmarkBase.WARM_UP_MILLIS + 2);
+        long startTimestamp = lastTimestamp - (WARM_UP_MILLIS + 2);
         state.set1(startTimestamp);
         state.set2(lastTimestamp);
 
@@ -105,12 +110,12 @@ public class BenchmarkBaseLatencyFnTest {
         LOGGER.info("{} :: input :: {} & {}",
                 testInfo.getDisplayName(), state, currentTimestamp);
 
-        Tuple2<Long, Long> tuple2 = BenchmarkBase.LATENCY_FN.apply(state, currentTimestamp);
+        Tuple2<Long, Long> tuple2 = LATENCY_FN.apply(state, currentTimestamp);
 
         LOGGER.info("{} :: result:: {}",
                 testInfo.getDisplayName(), tuple2);
 
-        assertThat(BenchmarkBase.WARM_UP_MILLIS).isGreaterThan(TimeUnit.SECONDS.toMillis(10));
+        assertThat(WARM_UP_MILLIS).isGreaterThan(TimeUnit.SECONDS.toMillis(10));
         assertThat(tuple2).isNull();
     }
 
@@ -118,7 +123,7 @@ public class BenchmarkBaseLatencyFnTest {
     public void worseNextResultAfterWarmup(TestInfo testInfo) throws Exception {
         LongLongAccumulator state = new LongLongAccumulator();
         long lastTimestamp = BenchmarkBaseLatencyFnTest.now;
-        long startTimestamp = lastTimestamp - (BenchmarkBase.WARM_UP_MILLIS + 2);
+        long startTimestamp = lastTimestamp - (WARM_UP_MILLIS + 2);
         state.set1(startTimestamp);
         state.set2(lastTimestamp);
 
@@ -127,12 +132,12 @@ public class BenchmarkBaseLatencyFnTest {
         LOGGER.info("{} :: input :: {} & {}",
                 testInfo.getDisplayName(), state, currentTimestamp);
 
-        Tuple2<Long, Long> tuple2 = BenchmarkBase.LATENCY_FN.apply(state, currentTimestamp);
+        Tuple2<Long, Long> tuple2 = LATENCY_FN.apply(state, currentTimestamp);
 
         LOGGER.info("{} :: result:: {}",
                 testInfo.getDisplayName(), tuple2);
 
-        assertThat(BenchmarkBase.WARM_UP_MILLIS).isGreaterThan(TimeUnit.SECONDS.toMillis(10));
+        assertThat(WARM_UP_MILLIS).isGreaterThan(TimeUnit.SECONDS.toMillis(10));
         assertThat(tuple2).isNotNull();
     }
 
@@ -140,7 +145,7 @@ public class BenchmarkBaseLatencyFnTest {
     public void sameNextResultAfterWarmup(TestInfo testInfo) throws Exception {
         LongLongAccumulator state = new LongLongAccumulator();
         long lastTimestamp = BenchmarkBaseLatencyFnTest.now;
-        long startTimestamp = lastTimestamp - (BenchmarkBase.WARM_UP_MILLIS + 2);
+        long startTimestamp = lastTimestamp - (WARM_UP_MILLIS + 2);
         state.set1(startTimestamp);
         state.set2(lastTimestamp);
 
@@ -149,12 +154,12 @@ public class BenchmarkBaseLatencyFnTest {
         LOGGER.info("{} :: input :: {} & {}",
                 testInfo.getDisplayName(), state, currentTimestamp);
 
-        Tuple2<Long, Long> tuple2 = BenchmarkBase.LATENCY_FN.apply(state, currentTimestamp);
+        Tuple2<Long, Long> tuple2 = LATENCY_FN.apply(state, currentTimestamp);
 
         LOGGER.info("{} :: result:: {}",
                 testInfo.getDisplayName(), tuple2);
 
-        assertThat(BenchmarkBase.WARM_UP_MILLIS).isGreaterThan(TimeUnit.SECONDS.toMillis(10));
+        assertThat(WARM_UP_MILLIS).isGreaterThan(TimeUnit.SECONDS.toMillis(10));
         assertThat(tuple2).isNull();
     }
 
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hazelcast.platform.demos.benchmark.nexmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import hazelcast.platform.demos.benchmark.nexmark.model.Bid;
+import hazelcast.platform.demos.benchmark.nexmark.model.BidFlyweight;
+
+/**
+ * <p>Test the flyweight has the same fields as the object, and is smaller
+ * than the 32 bytes of {@link Bid.BidSerializer}.
+ * </p>
+ */
+public class BidFlyweightTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BidFlyweightTest.class);
+    private static final int BID_SERIALIZER_SIZE = 4 * Long.BYTES;
+
+    @Test
+    public void fields(TestInfo testInfo) throws Exception {
+        BidFlyweight bidFlyweight = BidFlyweight.of(1L, 1_700_000_000_000L, -3L, Long.MAX_VALUE);
+        Bid bid = bidFlyweight.toBid();
+
+        LOGGER.info("{} :: result:: {} {}", testInfo.getDisplayName(), bid.auctionId(), bid.price());
+
+        assertThat(bid.id()).isEqualTo(1L);
+        assertThat(bid.timestamp()).isEqualTo(1_700_000_000_000L);
+        assertThat(bid.auctionId()).isEqualTo(-3L);
+        assertThat(bid.price()).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    public void extremes(TestInfo testInfo) throws Exception {
+        BidFlyweight bidFlyweight = BidFlyweight.of(Long.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE);
+
+        LOGGER.info("{} :: result:: {}", testInfo.getDisplayName(), bidFlyweight.serializedSize());
+
+        assertThat(bidFlyweight.id()).isEqualTo(Long.MIN_VALUE);
+        assertThat(bidFlyweight.timestamp()).isEqualTo(Long.MAX_VALUE);
+        assertThat(bidFlyweight.auctionId()).isEqualTo(Long.MIN_VALUE);
+        assertThat(bidFlyweight.price()).isEqualTo(Long.MAX_VALUE);
+        assertThat(bidFlyweight.serializedSize()).isEqualTo(41);
+    }
+
+    @Test
+    public void smallerForQ05(TestInfo testInfo) throws Exception {
+        // As Q05HotItems, sequence number, now, one of 10,000 auctions, no price
+        BidFlyweight bidFlyweight = BidFlyweight.of(1_000_000L, 1_700_000_000_000L, 9_999L, 0L);
+
+        LOGGER.info("{} :: result:: {}", testInfo.getDisplayName(), bidFlyweight.serializedSize());
+
+        assertThat(bidFlyweight.serializedSize()).isLessThan(BID_SERIALIZER_SIZE / 2);
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hazelcast.platform.demos.benchmark.nexmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.Map;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>Test rate profile shapes, and the staircase knee is found where latency breaks the SLO.
+ * </p>
+ */
+public class KneeDetectorTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(KneeDetectorTest.class);
+    private static final long BUCKET = 10_000L;
+    private static final long START = 1_000_000L;
+
+    private static RateProfile rateProfile(RateProfile.Shape shape) {
+        return RateProfile.of(Map.of(BenchmarkBase.PROP_WARM_UP_MILLIS, 0L,
+                BenchmarkBase.PROP_RATE_PROFILE, (long) shape.ordinal(),
+                BenchmarkBase.PROP_RATE_PERIOD_MILLIS, 3 * BUCKET,
+                BenchmarkBase.PROP_RATE_PERCENT, 50L,
+                BenchmarkBase.PROP_RATE_STEPS, 4L,
+                BenchmarkBase.PROP_RATE_BURST_MILLIS, BUCKET));
+    }
+
+    private static Histogram histogram(long latency) {
+        Histogram histogram = new Histogram(LatencyHistograms.SIGNIFICANT_DIGITS);
+        histogram.recordValueWithCount(latency, 100L);
+        return histogram;
+    }
+
+    @Test
+    public void shapes(TestInfo testInfo) throws Exception {
+        RateProfile staircase = rateProfile(RateProfile.Shape.STAIRCASE);
+        RateProfile sinusoidal = rateProfile(RateProfile.Shape.SINUSOIDAL);
+        RateProfile burst = rateProfile(RateProfile.Shape.BURST);
+
+        LOGGER.info("{} :: result:: {} {} {}", testInfo.getDisplayName(),
+                staircase.multiplier(6 * BUCKET), sinusoidal.multiplier(3 * BUCKET / 4), burst.multiplier(BUCKET));
+
+        assertThat(RateProfile.of(Map.of()).multiplier(BUCKET)).isEqualTo(1.0d);
+        assertThat(staircase.multiplier(0L)).isEqualTo(1.0d);
+        assertThat(staircase.multiplier(6 * BUCKET)).isEqualTo(2.0d);
+        assertThat(staircase.multiplier(100 * BUCKET)).isEqualTo(3.0d);
+        assertThat(staircase.step(100 * BUCKET)).isEqualTo(33L);
+        assertThat(sinusoidal.multiplier(3 * BUCKET / 4)).isCloseTo(1.5d, within(1e-9));
+        assertThat(burst.multiplier(BUCKET - 1)).isEqualTo(1.5d);
+        assertThat(burst.multiplier(BUCKET)).isEqualTo(1.0d);
+        assertThat(RateProfile.normalize(new long[] { 100L, 300L })).containsExactly(0.5d, 1.5d);
+    }
+
+    @Test
+    public void kneeWhenSloBroken(TestInfo testInfo) throws Exception {
+        KneeDetector kneeDetector = new KneeDetector(rateProfile(RateProfile.Shape.STAIRCASE), 1_000L, 50L);
+
+        // Three buckets per step, latency 20ms higher each step
+        long bucket = START;
+        int completed = 0;
+        while (!kneeDetector.isKneeToReport()) {
+            long step = (bucket - START) / (3 * BUCKET);
+            if (kneeDetector.apply(START, bucket, bucket + BUCKET, histogram(20L * (step + 1)))) {
+                completed++;
+            }
+            bucket += BUCKET;
+        }
+
+        LOGGER.info("{} :: result:: {} {} {}", testInfo.getDisplayName(),
+                completed, kneeDetector.getLastGoodStep(), kneeDetector.getFirstBadStep());
+
+        assertThat(completed).isEqualTo(3);
+        assertThat(kneeDetector.getLastGoodStep()).isEqualTo(1L);
+        assertThat(kneeDetector.getFirstBadStep()).isEqualTo(2L);
+        assertThat(kneeDetector.eventsPerSecond(kneeDetector.getLastGoodStep())).isEqualTo(1_500L);
+        assertThat(kneeDetector.eventsPerSecond(kneeDetector.getFirstBadStep())).isEqualTo(2_000L);
+    }
+
+    @Test
+    public void noStepsUntilOriginKnown(TestInfo testInfo) throws Exception {
+        KneeDetector kneeDetector = new KneeDetector(rateProfile(RateProfile.Shape.STAIRCASE), 1_000L, 50L);
+
+        // Origin unknown for the first step, so it is not reported
+        long bucket = START;
+        for (int i = 0; i < 3; i++) {
+            assertThat(kneeDetector.apply(-1L, bucket, bucket + BUCKET, histogram(10L))).isFalse();
+            bucket += BUCKET;
+        }
+        int completed = 0;
+        while (!kneeDetector.isKneeToReport()) {
+            if (kneeDetector.apply(START, bucket, bucket + BUCKET, histogram(10L))) {
+                completed++;
+            }
+            bucket += BUCKET;
+        }
+
+        LOGGER.info("{} :: result:: {} {}", testInfo.getDisplayName(), completed, kneeDetector.getLastGoodStep());
+
+        assertThat(completed).isEqualTo(4);
+        assertThat(kneeDetector.getLastGoodStep()).isEqualTo(4L);
+    }
+
+    @Test
+    public void kneeAboveRangeTried(TestInfo testInfo) throws Exception {
+        KneeDetector kneeDetector = new KneeDetector(rateProfile(RateProfile.Shape.STAIRCASE), 1_000L, 50L);
+
+        long bucket = START;
+        while (!kneeDetector.isKneeToReport()) {
+            kneeDetector.apply(START, bucket, bucket + BUCKET, histogram(10L));
+            bucket += BUCKET;
+        }
+
+        LOGGER.info("{} :: result:: {} {}", testInfo.getDisplayName(),
+                kneeDetector.getLastGoodStep(), kneeDetector.getFirstBadStep());
+
+        assertThat(kneeDetector.getLastGoodStep()).isEqualTo(4L);
+        assertThat(kneeDetector.getFirstBadStep()).isEqualTo(-1L);
+        assertThat(kneeDetector.eventsPerSecond(kneeDetector.getLastGoodStep())).isEqualTo(3_000L);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hazelcast.platform.demos.benchmark.nexmark;
+
+import static com.hazelcast.jet.datamodel.Tuple2.tuple2;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.hazelcast.jet.aggregate.AggregateOperation1;
+import com.hazelcast.jet.datamodel.Tuple2;
+
+/**
+ * <p>Test histograms accumulate and combine, and survive encoding.
+ * </p>
+ */
+public class LatencyHistogramsTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LatencyHistogramsTest.class);
+
+    @Test
+    public void accumulateCombineEncodeDecode(TestInfo testInfo) throws Exception {
+        AggregateOperation1<Tuple2<Long, Long>, Histogram, Histogram> aggregateOperation =
+                LatencyHistograms.aggregateOperation();
+
+        Histogram left = aggregateOperation.createFn().get();
+        Histogram right = aggregateOperation.createFn().get();
+        for (long latency = 1; latency <= 100; latency++) {
+            aggregateOperation.accumulateFn().accept(latency % 2 == 0 ? left : right, tuple2(0L, latency));
+        }
+        aggregateOperation.combineFn().accept(left, right);
+        Histogram histogram = aggregateOperation.exportFn().apply(left);
+
+        String percentiles = LatencyHistograms.toPercentilesJson(histogram);
+        LOGGER.info("{} :: result:: {}", testInfo.getDisplayName(), percentiles);
+
+        assertThat(histogram.getTotalCount()).isEqualTo(100L);
+        assertThat(histogram.getValueAtPercentile(50.0d)).isEqualTo(50L);
+        assertThat(histogram.getMaxValue()).isEqualTo(100L);
+        assertThat(percentiles).contains("\"count\":100", "\"p50\":50", "\"max\":100");
+
+        Histogram decoded = LatencyHistograms.decode(LatencyHistograms.encode(histogram));
+        assertThat(decoded).isEqualTo(histogram);
+    }
+
+    @Test
+    public void logFormat(TestInfo testInfo) throws Exception {
+        long baseTime = 1_000_000L;
+        Histogram histogram = new Histogram(LatencyHistograms.SIGNIFICANT_DIGITS);
+        histogram.recordValue(5L);
+        histogram.setStartTimeStamp(baseTime);
+        histogram.setEndTimeStamp(baseTime + 10_000L);
+
+        String log = LatencyHistograms.toLog(baseTime, List.of(histogram));
+        LOGGER.info("{} :: result:: {}", testInfo.getDisplayName(), log);
+
+        assertThat(log).contains("#[BaseTime:", "0.000,10.000,");
+    }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hazelcast.platform.demos.benchmark.nexmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>Test warm-up ends after fixed duration, or once steady state is detected.
+ * </p>
+ */
+public class WarmUpControllerTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(WarmUpControllerTest.class);
+    private static final long BUCKET = 10_000L;
+    private static final long START = 1_000_000L;
+
+    @Test
+    public void fixed(TestInfo testInfo) throws Exception {
+        WarmUpController warmUpController = new WarmUpController(3 * BUCKET, 0L);
+
+        assertThat(warmUpController.apply(START, START + BUCKET, 100L, 5.0d)).isFalse();
+        assertThat(warmUpController.apply(START + BUCKET, START + 2 * BUCKET, 100L, 5.0d)).isFalse();
+        assertThat(warmUpController.apply(START + 2 * BUCKET, START + 3 * BUCKET, 100L, 5.0d)).isFalse();
+        assertThat(warmUpController.apply(START + 3 * BUCKET, START + 4 * BUCKET, 100L, 5.0d)).isTrue();
+
+        LOGGER.info("{} :: result:: {} {}", testInfo.getDisplayName(),
+                warmUpController.mode(), warmUpController.getWarmUpElapsed());
+
+        assertThat(warmUpController.getMeasuredFrom()).isEqualTo(START + 3 * BUCKET);
+        assertThat(warmUpController.getWarmUpElapsed()).isEqualTo(3 * BUCKET);
+    }
+
+    @Test
+    public void steadyStateBeforeMax(TestInfo testInfo) throws Exception {
+        WarmUpController warmUpController = new WarmUpController(100 * BUCKET, 5L);
+
+        // Unsteady start, latency settling
+        long bucket = START;
+        double[] settling = { 500.0d, 200.0d, 50.0d };
+        for (double latency : settling) {
+            assertThat(warmUpController.apply(bucket, bucket + BUCKET, 100L, latency)).isFalse();
+            bucket += BUCKET;
+        }
+        // Steady
+        int i = 0;
+        while (!warmUpController.apply(bucket, bucket + BUCKET, 100L, 10.0d + (i % 2) * 0.1d)) {
+            bucket += BUCKET;
+            i++;
+        }
+
+        LOGGER.info("{} :: result:: {} {} {} {}", testInfo.getDisplayName(),
+                warmUpController.mode(), warmUpController.getWarmUpElapsed(),
+                warmUpController.getThroughputCv(), warmUpController.getLatencyCv());
+
+        assertThat(i).isEqualTo(WarmUpController.STEADY_STATE_BUCKETS - 1);
+        assertThat(warmUpController.getLatencyCv()).isLessThan(0.05d);
+        assertThat(warmUpController.getThroughputCv()).isEqualTo(0.0d);
+    }
+
+    @Test
+    public void neverSteadyStopsAtMax(TestInfo testInfo) throws Exception {
+        WarmUpController warmUpController = new WarmUpController(10 * BUCKET, 1L);
+
+        long bucket = START;
+        int i = 0;
+        while (!warmUpController.apply(bucket, bucket + BUCKET, 100L + (i % 2) * 50L, 10.0d)) {
+            bucket += BUCKET;
+            i++;
+        }
+
+        LOGGER.info("{} :: result:: {} {}", testInfo.getDisplayName(),
+                warmUpController.mode(), warmUpController.getWarmUpElapsed());
+
+        assertThat(warmUpController.getWarmUpElapsed()).isEqualTo(10 * BUCKET);
+    }
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hazelcast.platform.demos.benchmark.nexmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.hazelcast.jet.datamodel.Tuple4;
+
+import hazelcast.platform.demos.benchmark.nexmark.model.Auction;
+import hazelcast.platform.demos.benchmark.nexmark.model.Bid;
+
+/**
+ * <p>Test the join of bids to auctions, that finds the winning bid
+ * for {@link Q04AveragePriceForCategory} and {@link Q06AvgSellingPrice}.
+ * </p>
+ */
+public class WinningBidStateTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(WinningBidStateTest.class);
+    private static final long AUCTION_ID = 123L;
+    private static final long SELLER_ID = 456L;
+    private static final int CATEGORY = 7;
+    private static final long START = 1_000L;
+    private static final long EXPIRES = 2_000L;
+
+    @Test
+    public void highestBidWinsOnExpiry(TestInfo testInfo) throws Exception {
+        WinningBidState state = new WinningBidState();
+
+        assertThat(state.apply(new Auction(AUCTION_ID, START, SELLER_ID, CATEGORY, EXPIRES))).isNull();
+        assertThat(state.apply(new Bid(1L, START + 1, AUCTION_ID, 10L))).isNull();
+        assertThat(state.apply(new Bid(2L, START + 2, AUCTION_ID, 30L))).isNull();
+        assertThat(state.apply(new Bid(3L, START + 3, AUCTION_ID, 20L))).isNull();
+
+        Tuple4<Integer, Long, Long, Long> tuple4 = state.apply(new Bid(4L, EXPIRES, AUCTION_ID, 99L));
+
+        LOGGER.info("{} :: result:: {}", testInfo.getDisplayName(), tuple4);
+
+        assertThat(tuple4).isNotNull();
+        assertThat(tuple4.f0()).isEqualTo(CATEGORY);
+        assertThat(tuple4.f1()).isEqualTo(SELLER_ID);
+        assertThat(tuple4.f2()).isEqualTo(30L);
+        assertThat(tuple4.f3()).isEqualTo(EXPIRES);
+    }
+
+    @Test
+    public void noBidsNoWinner(TestInfo testInfo) throws Exception {
+        WinningBidState state = new WinningBidState();
+
+        assertThat(state.apply(new Auction(AUCTION_ID, START, SELLER_ID, CATEGORY, EXPIRES))).isNull();
+
+        Tuple4<Integer, Long, Long, Long> tuple4 = state.close(EXPIRES);
+
+        LOGGER.info("{} :: result:: {}", testInfo.getDisplayName(), tuple4);
+
+        assertThat(tuple4).isNull();
+    }
+
+    @Test
+    public void bidBeforeAuctionIgnored(TestInfo testInfo) throws Exception {
+        WinningBidState state = new WinningBidState();
+
+        assertThat(state.apply(new Bid(1L, START, AUCTION_ID, 10L))).isNull();
+        assertThat(state.apply(new Auction(AUCTION_ID, START + 1, SELLER_ID, CATEGORY, EXPIRES))).isNull();
+
+        Tuple4<Integer, Long, Long, Long> tuple4 = state.close(EXPIRES);
+
+        LOGGER.info("{} :: result:: {}", testInfo.getDisplayName(), tuple4);
+
+        assertThat(tuple4).isNull();
+    }
+
+    @Test
+    public void reusedAuctionIdClosesPrevious(TestInfo testInfo) throws Exception {
+        WinningBidState state = new WinningBidState();
+
+        assertThat(state.apply(new Auction(AUCTION_ID, START, SELLER_ID, CATEGORY, EXPIRES))).isNull();
+        assertThat(state.apply(new Bid(1L, START + 1, AUCTION_ID, 10L))).isNull();
+
+        Tuple4<Integer, Long, Long, Long> tuple4 =
+                state.apply(new Auction(AUCTION_ID, START + 2, SELLER_ID + 1, CATEGORY + 1, EXPIRES + 1));
+
+        LOGGER.info("{} :: result:: {}", testInfo.getDisplayName(), tuple4);
+
+        assertThat(tuple4).isNotNull();
+        assertThat(tuple4.f1()).isEqualTo(SELLER_ID);
+        assertThat(tuple4.f2()).isEqualTo(10L);
+    }
+
+}
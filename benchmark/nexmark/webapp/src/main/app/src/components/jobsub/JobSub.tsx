@@ -12,7 +12,17 @@ const JobSub: React.FunctionComponent = () => {
 		eventsPerSecondB: "BILLION",
 		numDistinctKeys: 10000,
 		slidingStepMillis: 500,
-		windowSizeMillis: 10000
+		windowSizeMillis: 10000,
+		warmUpMillis: 900000,
+		warmUpCvPercent: 0,
+		rateProfile: "CONSTANT",
+		ratePeriodMillis: 60000,
+		ratePercent: 10,
+		rateSteps: 20,
+		rateBurstMillis: 1000,
+		rateTraceId: 0,
+		latencySloMillis: 100,
+		eventModel: "OBJECT"
 	});
   const [message, setMessage] = useState('');
   const [messageClass, setMessageClass] = useState('');
@@ -35,7 +45,17 @@ const JobSub: React.FunctionComponent = () => {
                         + '&events_per_second=' + eventsPerSecond
                         + '&num_distinct_keys=' + params.numDistinctKeys
                         + '&sliding_step_millis=' + params.slidingStepMillis
-                        + '&window_size_millis=' + params.windowSizeMillis;
+                        + '&window_size_millis=' + params.windowSizeMillis
+                        + '&warm_up_millis=' + params.warmUpMillis
+                        + '&warm_up_cv_percent=' + params.warmUpCvPercent
+                        + '&rate_profile=' + params.rateProfile
+                        + '&rate_period_millis=' + params.ratePeriodMillis
+                        + '&rate_percent=' + params.ratePercent
+                        + '&rate_steps=' + params.rateSteps
+                        + '&rate_burst_millis=' + params.rateBurstMillis
+                        + '&rate_trace_id=' + params.rateTraceId
+                        + '&latency_slo_millis=' + params.latencySloMillis
+                        + '&event_model=' + params.eventModel;
 
 	setTimeout(() => {
 		var client = rest.wrap(mime);
@@ -76,15 +96,16 @@ const JobSub: React.FunctionComponent = () => {
       			 <select id="kind" name="kind"
       				onChange={onChange}
 					>
-                	<option value="Q01CurrencyConversion"       disabled>Q01 - Currency Conversion</option>
-                	<option value="Q02Selection"                disabled>Q02 - Selection</option>
-                	<option value="Q03LocalItemSuggestion"      disabled>Q03 - Local Item Suggestion</option>
-                	<option value="Q04AveragePriceForCategory"  disabled>Q04 - Average Price For Category</option>
+                	<option value="Q00PassThrough"                      >Q00 - Pass Through</option>
+                	<option value="Q01CurrencyConversion"               >Q01 - Currency Conversion</option>
+                	<option value="Q02Selection"                        >Q02 - Selection</option>
+                	<option value="Q03LocalItemSuggestion"              >Q03 - Local Item Suggestion</option>
+                	<option value="Q04AveragePriceForCategory"          >Q04 - Average Price For Category</option>
                     <option value="Q05HotItems"                 selected>Q05 - Hot Item</option>
-                	<option value="Q06AvgSellingPrice"          disabled>Q06 - Average Selling Price</option>
-                	<option value="Q07HighestBid"               disabled>Q07 - Highest Bid</option>
-                	<option value="Q08MonitorNewUsers"          disabled>Q08 - Monitor New Users</option>
-                	<option value="Q13BoundedSideInput"         disabled>Q13 - Bounded Side Input</option>
+                	<option value="Q06AvgSellingPrice"                  >Q06 - Average Selling Price</option>
+                	<option value="Q07HighestBid"                       >Q07 - Highest Bid</option>
+                	<option value="Q08MonitorNewUsers"                  >Q08 - Monitor New Users</option>
+                	<option value="Q13BoundedSideInput"                 >Q13 - Bounded Side Input</option>
                 	<option value="SourceBenchmark"                     >Internal - Source Benchmark</option>
     			 </select>
     			</div> 
@@ -137,6 +158,91 @@ const JobSub: React.FunctionComponent = () => {
         	  		type="number" min="10" max="10000"
         		 />
     			</div> 
+      			<div className='formField'>
+      			 <label htmlFor="warmUpMillis">&nbsp;Warm-up, max (ms): &nbsp;</label>
+    	    	 <input id="warmUpMillis" name="warmUpMillis"
+	        		value={params.warmUpMillis}
+    	      		onChange={onChange}
+        	  		type="number" min="0" max="3600000"
+        		 />
+    			</div> 
+      			<div className='formField'>
+      			 <label htmlFor="warmUpCvPercent">&nbsp;Warm-up steady state, CV % (0 for fixed): &nbsp;</label>
+    	    	 <input id="warmUpCvPercent" name="warmUpCvPercent"
+	        		value={params.warmUpCvPercent}
+    	      		onChange={onChange}
+        	  		type="number" min="0" max="100"
+        		 />
+    			</div> 
+      			<div className='formField'>
+      			 <label htmlFor="rateProfile">Rate Profile: &nbsp;</label>
+      			 <select id="rateProfile" name="rateProfile"
+      				onChange={onChange}
+					>
+                    <option value="CONSTANT"             selected>Constant</option>
+                	<option value="STAIRCASE"                    >Staircase</option>
+                	<option value="SINUSOIDAL"                   >Sinusoidal</option>
+                	<option value="BURST"                        >Burst</option>
+                	<option value="TRACE"                        >Trace</option>
+    			 </select> 
+    			</div> 
+      			<div className='formField'>
+      			 <label htmlFor="ratePeriodMillis">&nbsp;Rate period, step or interval (ms): &nbsp;</label>
+    	    	 <input id="ratePeriodMillis" name="ratePeriodMillis"
+	        		value={params.ratePeriodMillis}
+    	      		onChange={onChange}
+        	  		type="number" min="1000" max="86400000"
+        		 />
+    			</div> 
+      			<div className='formField'>
+      			 <label htmlFor="ratePercent">&nbsp;Rate change, step, amplitude or burst (%): &nbsp;</label>
+    	    	 <input id="ratePercent" name="ratePercent"
+	        		value={params.ratePercent}
+    	      		onChange={onChange}
+        	  		type="number" min="0" max="1000"
+        		 />
+    			</div> 
+      			<div className='formField'>
+      			 <label htmlFor="rateSteps">&nbsp;Staircase steps: &nbsp;</label>
+    	    	 <input id="rateSteps" name="rateSteps"
+	        		value={params.rateSteps}
+    	      		onChange={onChange}
+        	  		type="number" min="1" max="1000"
+        		 />
+    			</div> 
+      			<div className='formField'>
+      			 <label htmlFor="rateBurstMillis">&nbsp;Burst duration (ms): &nbsp;</label>
+    	    	 <input id="rateBurstMillis" name="rateBurstMillis"
+	        		value={params.rateBurstMillis}
+    	      		onChange={onChange}
+        	  		type="number" min="0" max="3600000"
+        		 />
+    			</div> 
+      			<div className='formField'>
+      			 <label htmlFor="rateTraceId">&nbsp;Trace ID: &nbsp;</label>
+    	    	 <input id="rateTraceId" name="rateTraceId"
+	        		value={params.rateTraceId}
+    	      		onChange={onChange}
+        	  		type="number" min="0" max="1000000"
+        		 />
+    			</div> 
+      			<div className='formField'>
+      			 <label htmlFor="latencySloMillis">&nbsp;Latency SLO, p99 (ms): &nbsp;</label>
+    	    	 <input id="latencySloMillis" name="latencySloMillis"
+	        		value={params.latencySloMillis}
+    	      		onChange={onChange}
+        	  		type="number" min="1" max="60000"
+        		 />
+    			</div> 
+      			<div className='formField'>
+      			 <label htmlFor="eventModel">Event Model (Q05 only): &nbsp;</label>
+      			 <select id="eventModel" name="eventModel"
+      				onChange={onChange}
+					>
+                    <option value="OBJECT"               selected>Object</option>
+                	<option value="FLYWEIGHT"                    >Flyweight</option>
+    			 </select> 
+    			</div> 
       			<div className='formField'>
         		 <button type="submit" className="formButton">Submit</button>
     			</div> 
@@ -40,6 +40,8 @@ import com.hazelcast.jet.config.ProcessingGuarantee;
 import com.hazelcast.jet.core.JobStatus;
 import com.hazelcast.platform.demos.utils.UtilsFormatter;
 
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
 /**
  * <p>Mainly leave it up to React.js
  * </p>
@@ -52,6 +54,8 @@ public class ApplicationRunner {
 
     @Autowired
     private HazelcastInstance hazelcastInstance;
+    @Value("${my.autostart.kind}")
+    private String myAutostartKind;
     @Value("${my.autostart.q05}")
     private String myAutostartQ05;
     @Value("${spring.application.name}")
@@ -74,7 +78,8 @@ public class ApplicationRunner {
                         TimeUnit.MINUTES.sleep(1L);
                         LOGGER.info("-=-=-=-=- MAPS -=-=-=-=-=-");
                         Collection<String> names = List.of(BenchmarkBase.IMAP_NAME_CURRENT_LATENCIES,
-                                BenchmarkBase.IMAP_NAME_MAX_LATENCIES);
+                                BenchmarkBase.IMAP_NAME_MAX_LATENCIES, BenchmarkBase.IMAP_NAME_WARM_UPS,
+                                BenchmarkBase.IMAP_NAME_KNEES, BenchmarkBase.IMAP_NAME_SERIALIZATION_COSTS);
                         for (String name : names) {
                             Set<Entry<Object, Object>> entrySet =
                                     this.hazelcastInstance.getMap(name).entrySet();
@@ -138,9 +143,126 @@ public class ApplicationRunner {
 
         boolean ok = this.defineMappingAndView(BenchmarkBase.IMAP_NAME_CURRENT_LATENCIES, mappingBody, viewBody);
         ok = ok & this.defineMappingAndView(BenchmarkBase.IMAP_NAME_MAX_LATENCIES, mappingBody, viewBody);
+        ok = ok & this.defineHistogramMappings();
         return ok;
     }
 
+    /**
+     * <p>Histogram maps are keyed as the latency maps plus the time bucket. Percentiles
+     * are for dashboards, the full histograms for download. Warm-ups record when
+     * the measured phase started for each run.
+     * </p>
+     * <p>For staircase rate profiles, latency curves have the latencies for each step
+     * and knees the highest rate that met the latency SLO.
+     * </p>
+     * <p>Serialization costs are measured in the job, bytes and time per event for each
+     * processor that shuffles events.
+     * </p>
+     * @return
+     */
+    private boolean defineHistogramMappings() {
+        String keyColumns = "("
+                + "    \"kind\" VARCHAR EXTERNAL NAME \"__key." + BenchmarkBase.PROP_KIND + "\","
+                + "    \"start_timestamp\" BIGINT EXTERNAL NAME \"__key.start_timestamp\","
+                + "    \"processing_guarantee\" VARCHAR EXTERNAL NAME \"__key." + BenchmarkBase.PROP_PROCESSING_GUARANTEE + "\","
+                + "    \"events_per_second\" VARCHAR EXTERNAL NAME \"__key." + BenchmarkBase.PROP_EVENTS_PER_SECOND + "\","
+                + "    \"timestamp\" BIGINT EXTERNAL NAME \"this.timestamp\","
+                + "    \"timestamp_str\" VARCHAR EXTERNAL NAME \"this.timestamp_str\","
+                + "    offset_ms BIGINT EXTERNAL NAME \"this.offset_ms\","
+                + "    \"phase\" VARCHAR EXTERNAL NAME \"this.phase\","
+                + "    \"count\" BIGINT EXTERNAL NAME \"this.count\","
+                + "    \"min\" BIGINT EXTERNAL NAME \"this.min\","
+                + "    p50 BIGINT EXTERNAL NAME \"this.p50\","
+                + "    p90 BIGINT EXTERNAL NAME \"this.p90\","
+                + "    p99 BIGINT EXTERNAL NAME \"this.p99\","
+                + "    p999 BIGINT EXTERNAL NAME \"this.p999\","
+                + "    p9999 BIGINT EXTERNAL NAME \"this.p9999\","
+                + "    \"max\" BIGINT EXTERNAL NAME \"this.max\"";
+        String options = ")"
+                + " TYPE IMap "
+                + " OPTIONS ( "
+                + " 'keyFormat' = 'json-flat',"
+                + " 'valueFormat' = 'json-flat'"
+                + " )";
+
+        String percentiles = "CREATE OR REPLACE MAPPING \"" + BenchmarkBase.IMAP_NAME_LATENCY_PERCENTILES + "\" "
+                + keyColumns + options;
+        String histograms = "CREATE OR REPLACE MAPPING \"" + BenchmarkBase.IMAP_NAME_LATENCY_HISTOGRAMS + "\" "
+                + keyColumns + ", \"histogram\" VARCHAR EXTERNAL NAME \"this.histogram\"" + options;
+
+        String warmUps = "CREATE OR REPLACE MAPPING \"" + BenchmarkBase.IMAP_NAME_WARM_UPS + "\" ("
+                + "    \"kind\" VARCHAR EXTERNAL NAME \"__key." + BenchmarkBase.PROP_KIND + "\","
+                + "    \"start_timestamp\" BIGINT EXTERNAL NAME \"__key.start_timestamp\","
+                + "    \"mode\" VARCHAR EXTERNAL NAME \"this.mode\","
+                + "    \"measured_from\" BIGINT EXTERNAL NAME \"this.measured_from\","
+                + "    \"measured_from_str\" VARCHAR EXTERNAL NAME \"this.measured_from_str\","
+                + "    offset_ms BIGINT EXTERNAL NAME \"this.offset_ms\","
+                + "    warm_up_ms BIGINT EXTERNAL NAME \"this.warm_up_ms\","
+                + "    throughput_cv DOUBLE EXTERNAL NAME \"this.throughput_cv\","
+                + "    latency_cv DOUBLE EXTERNAL NAME \"this.latency_cv\""
+                + options;
+
+        String latencyCurves = "CREATE OR REPLACE MAPPING \"" + BenchmarkBase.IMAP_NAME_LATENCY_CURVES + "\" ("
+                + "    \"kind\" VARCHAR EXTERNAL NAME \"__key." + BenchmarkBase.PROP_KIND + "\","
+                + "    \"start_timestamp\" BIGINT EXTERNAL NAME \"__key.start_timestamp\","
+                + "    \"step\" BIGINT EXTERNAL NAME \"this.step\","
+                + "    rate_events_per_second BIGINT EXTERNAL NAME \"this.rate_events_per_second\","
+                + "    rate_per_member BIGINT EXTERNAL NAME \"this.rate_per_member\","
+                + "    slo_ms BIGINT EXTERNAL NAME \"this.slo_ms\","
+                + "    slo_met BOOLEAN EXTERNAL NAME \"this.slo_met\","
+                + "    \"count\" BIGINT EXTERNAL NAME \"this.count\","
+                + "    p50 BIGINT EXTERNAL NAME \"this.p50\","
+                + "    p99 BIGINT EXTERNAL NAME \"this.p99\","
+                + "    p999 BIGINT EXTERNAL NAME \"this.p999\","
+                + "    \"max\" BIGINT EXTERNAL NAME \"this.max\""
+                + options;
+
+        String knees = "CREATE OR REPLACE MAPPING \"" + BenchmarkBase.IMAP_NAME_KNEES + "\" ("
+                + "    \"kind\" VARCHAR EXTERNAL NAME \"__key." + BenchmarkBase.PROP_KIND + "\","
+                + "    \"start_timestamp\" BIGINT EXTERNAL NAME \"__key.start_timestamp\","
+                + "    slo_ms BIGINT EXTERNAL NAME \"this.slo_ms\","
+                + "    slo_broken BOOLEAN EXTERNAL NAME \"this.slo_broken\","
+                + "    members BIGINT EXTERNAL NAME \"this.members\","
+                + "    knee_step BIGINT EXTERNAL NAME \"this.knee_step\","
+                + "    knee_events_per_second BIGINT EXTERNAL NAME \"this.knee_events_per_second\","
+                + "    knee_per_member BIGINT EXTERNAL NAME \"this.knee_per_member\","
+                + "    broken_step BIGINT EXTERNAL NAME \"this.broken_step\","
+                + "    broken_events_per_second BIGINT EXTERNAL NAME \"this.broken_events_per_second\""
+                + options;
+
+        String serializationCosts = "CREATE OR REPLACE MAPPING \"" + BenchmarkBase.IMAP_NAME_SERIALIZATION_COSTS + "\" ("
+                + "    \"kind\" VARCHAR EXTERNAL NAME \"__key." + BenchmarkBase.PROP_KIND + "\","
+                + "    \"start_timestamp\" BIGINT EXTERNAL NAME \"__key.start_timestamp\","
+                + "    \"processor\" BIGINT EXTERNAL NAME \"__key.processor\","
+                + "    \"timestamp\" BIGINT EXTERNAL NAME \"this.timestamp\","
+                + "    event_model VARCHAR EXTERNAL NAME \"this." + BenchmarkBase.PROP_EVENT_MODEL + "\","
+                + "    shuffled BOOLEAN EXTERNAL NAME \"this.shuffled\","
+                + "    events BIGINT EXTERNAL NAME \"this.events\","
+                + "    samples BIGINT EXTERNAL NAME \"this.samples\","
+                + "    bytes_per_event DOUBLE EXTERNAL NAME \"this.bytes_per_event\","
+                + "    serialize_ns DOUBLE EXTERNAL NAME \"this.serialize_ns\","
+                + "    deserialize_ns DOUBLE EXTERNAL NAME \"this.deserialize_ns\","
+                + "    shuffle_ns DOUBLE EXTERNAL NAME \"this.shuffle_ns\""
+                + options;
+
+        for (String definition : List.of(percentiles, histograms, warmUps, latencyCurves, knees, serializationCosts)) {
+            try {
+                LOGGER.debug("Definition '{}'", definition);
+                this.hazelcastInstance.getSql().execute(definition);
+            } catch (Exception e) {
+                LOGGER.error(definition, e);
+                return false;
+            }
+        }
+        this.hazelcastInstance.getMap(BenchmarkBase.IMAP_NAME_LATENCY_PERCENTILES);
+        this.hazelcastInstance.getMap(BenchmarkBase.IMAP_NAME_LATENCY_HISTOGRAMS);
+        this.hazelcastInstance.getMap(BenchmarkBase.IMAP_NAME_WARM_UPS);
+        this.hazelcastInstance.getMap(BenchmarkBase.IMAP_NAME_LATENCY_CURVES);
+        this.hazelcastInstance.getMap(BenchmarkBase.IMAP_NAME_KNEES);
+        this.hazelcastInstance.getMap(BenchmarkBase.IMAP_NAME_SERIALIZATION_COSTS);
+        return true;
+    }
+
     private boolean defineMappingAndView(String mapName, String mappingBody, String viewBody) {
         String mapping = "CREATE OR REPLACE MAPPING \"" + mapName + "\" " + mappingBody;
         String view = "CREATE OR REPLACE VIEW \"" + mapName + "_VIEW\" " + viewBody
@@ -165,7 +287,11 @@ public class ApplicationRunner {
      * So run the webapp once to start and once again to stop the
      * default job.
      * </p>
+     * <p>Q05 is the default, but any of the queries can be selected
+     * by "{@code my.autostart.kind}".
+     * </p>
      */
+    @SuppressFBWarnings(value = "REC_CATCH_EXCEPTION", justification = "Class.forName() can throw exceptions")
     private void autostart() {
         LOGGER.debug("@@@@@@@");
         LOGGER.debug("@@@@@@@ <====>");
@@ -189,7 +315,15 @@ public class ApplicationRunner {
         }
 
         if (cancelled.get() == 0) {
-            Q05HotItems q05HotItems = new Q05HotItems();
+            BenchmarkBase benchmark;
+            try {
+                String pkgName = BenchmarkBase.class.getPackage().getName();
+                benchmark = (BenchmarkBase)
+                        Class.forName(pkgName + '.' + this.myAutostartKind).getDeclaredConstructor().newInstance();
+            } catch (Exception e) {
+                LOGGER.error("Exception for " + this.myAutostartKind, e);
+                return;
+            }
 
             Map<String, Long> params = new TreeMap<>();
             params.put(BenchmarkBase.PROP_EVENTS_PER_SECOND, Long.parseLong(this.myAutostartQ05));
@@ -202,7 +336,7 @@ public class ApplicationRunner {
 
             ProcessingGuarantee processingGuarantee = ProcessingGuarantee.NONE;
 
-            Job job = q05HotItems.run(this.hazelcastInstance, jobNameSuffix, now, params, processingGuarantee);
+            Job job = benchmark.run(this.hazelcastInstance, jobNameSuffix, now, params, processingGuarantee);
             LOGGER.info("STARTED JOB '{}' WITH '{}'=={}", job, BenchmarkBase.PROP_EVENTS_PER_SECOND,
                     String.format("%,d", params.get(BenchmarkBase.PROP_EVENTS_PER_SECOND)));
         }
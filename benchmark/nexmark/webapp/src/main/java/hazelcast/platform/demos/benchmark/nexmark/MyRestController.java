@@ -16,15 +16,21 @@
 
 package hazelcast.platform.demos.benchmark.nexmark;
 
+import java.util.Arrays;
 import java.util.Locale;
 import java.util.Map;
 import java.util.TreeMap;
 
+import org.HdrHistogram.Histogram;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -33,6 +39,8 @@ import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.jet.Job;
 import com.hazelcast.jet.config.ProcessingGuarantee;
 import com.hazelcast.platform.demos.utils.UtilsFormatter;
+import com.hazelcast.sql.SqlResult;
+import com.hazelcast.sql.SqlRow;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
@@ -57,6 +65,17 @@ public class MyRestController {
      * @param numDistinctKeys
      * @param slideBy
      * @param windowSizeMillis
+     * @param warmUpMillis Fixed warm-up, or upper bound if steady state detection
+     * @param warmUpCvPercent Zero for fixed warm-up, otherwise steady state threshold
+     * @param rateProfile Name of {@link RateProfile.Shape}, constant if omitted
+     * @param ratePeriodMillis Staircase step, sinusoid period, burst interval or trace interval
+     * @param ratePercent Staircase step, sinusoid amplitude or burst height
+     * @param rateSteps Staircase steps before holding
+     * @param rateBurstMillis Burst duration
+     * @param rateTraceId Trace to replay, see {@link #trace}
+     * @param latencySloMillis p99 target for the staircase knee
+     * @param eventModel Name of {@link EventModel}, object if omitted
+     * @param singleStage Shuffle events rather than partial aggregates, where the query allows
      * @return
      */
     @GetMapping(value = "/submit", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -67,7 +86,18 @@ public class MyRestController {
             @RequestParam(BenchmarkBase.PROP_EVENTS_PER_SECOND) long eventsPerSecond,
             @RequestParam(BenchmarkBase.PROP_NUM_DISTINCT_KEYS) long numDistinctKeys,
             @RequestParam(BenchmarkBase.PROP_SLIDING_STEP_MILLIS) long slideBy,
-            @RequestParam(BenchmarkBase.PROP_WINDOW_SIZE_MILLIS) long windowSizeMillis
+            @RequestParam(BenchmarkBase.PROP_WINDOW_SIZE_MILLIS) long windowSizeMillis,
+            @RequestParam(name = BenchmarkBase.PROP_WARM_UP_MILLIS, required = false) Long warmUpMillis,
+            @RequestParam(name = BenchmarkBase.PROP_WARM_UP_CV_PERCENT, required = false) Long warmUpCvPercent,
+            @RequestParam(name = BenchmarkBase.PROP_RATE_PROFILE, required = false) String rateProfile,
+            @RequestParam(name = BenchmarkBase.PROP_RATE_PERIOD_MILLIS, required = false) Long ratePeriodMillis,
+            @RequestParam(name = BenchmarkBase.PROP_RATE_PERCENT, required = false) Long ratePercent,
+            @RequestParam(name = BenchmarkBase.PROP_RATE_STEPS, required = false) Long rateSteps,
+            @RequestParam(name = BenchmarkBase.PROP_RATE_BURST_MILLIS, required = false) Long rateBurstMillis,
+            @RequestParam(name = BenchmarkBase.PROP_RATE_TRACE_ID, required = false) Long rateTraceId,
+            @RequestParam(name = BenchmarkBase.PROP_LATENCY_SLO_MILLIS, required = false) Long latencySloMillis,
+            @RequestParam(name = BenchmarkBase.PROP_EVENT_MODEL, required = false) String eventModel,
+            @RequestParam(name = BenchmarkBase.PROP_SINGLE_STAGE, required = false) Boolean singleStage
             ) {
 
         Map<String, Long> params = new TreeMap<>();
@@ -75,6 +105,39 @@ public class MyRestController {
         params.put(BenchmarkBase.PROP_NUM_DISTINCT_KEYS, numDistinctKeys);
         params.put(BenchmarkBase.PROP_SLIDING_STEP_MILLIS, slideBy);
         params.put(BenchmarkBase.PROP_WINDOW_SIZE_MILLIS, windowSizeMillis);
+        if (warmUpMillis != null) {
+            params.put(BenchmarkBase.PROP_WARM_UP_MILLIS, warmUpMillis);
+        }
+        if (warmUpCvPercent != null) {
+            params.put(BenchmarkBase.PROP_WARM_UP_CV_PERCENT, warmUpCvPercent);
+        }
+        if (rateProfile != null && !rateProfile.isBlank()) {
+            params.put(BenchmarkBase.PROP_RATE_PROFILE, (long) RateProfile.Shape.fromName(rateProfile).ordinal());
+        }
+        if (ratePeriodMillis != null) {
+            params.put(BenchmarkBase.PROP_RATE_PERIOD_MILLIS, ratePeriodMillis);
+        }
+        if (ratePercent != null) {
+            params.put(BenchmarkBase.PROP_RATE_PERCENT, ratePercent);
+        }
+        if (rateSteps != null) {
+            params.put(BenchmarkBase.PROP_RATE_STEPS, rateSteps);
+        }
+        if (rateBurstMillis != null) {
+            params.put(BenchmarkBase.PROP_RATE_BURST_MILLIS, rateBurstMillis);
+        }
+        if (rateTraceId != null) {
+            params.put(BenchmarkBase.PROP_RATE_TRACE_ID, rateTraceId);
+        }
+        if (latencySloMillis != null) {
+            params.put(BenchmarkBase.PROP_LATENCY_SLO_MILLIS, latencySloMillis);
+        }
+        if (eventModel != null && !eventModel.isBlank()) {
+            params.put(BenchmarkBase.PROP_EVENT_MODEL, (long) EventModel.fromName(eventModel).ordinal());
+        }
+        if (Boolean.TRUE.equals(singleStage)) {
+            params.put(BenchmarkBase.PROP_SINGLE_STAGE, 1L);
+        }
 
         LOGGER.info("submit(kind=='{}'", kind);
         LOGGER.info(" processingGuarantee=='{}'", processingGuaranteeStr);
@@ -114,4 +177,83 @@ public class MyRestController {
         return stringBuilder.toString();
     }
 
+    /**
+     * <p>Download the latency histograms for a job run, in HdrHistogram log format,
+     * for merging and plotting offline.
+     * </p>
+     *
+     * @param kind Job kind, eg. "{@code Q05HotItems}"
+     * @param startTimestamp From the latency maps, identifies the run
+     * @return HdrHistogram log, or an error status if it can't be formed
+     */
+    @GetMapping(value = "/histograms", produces = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<String> histograms(
+            @RequestParam(BenchmarkBase.PROP_KIND) String kind,
+            @RequestParam("start_timestamp") long startTimestamp
+            ) {
+        LOGGER.info("histograms(kind=='{}', start_timestamp=={})", kind, startTimestamp);
+
+        String sql = "SELECT \"timestamp\", \"histogram\" FROM \"" + BenchmarkBase.IMAP_NAME_LATENCY_HISTOGRAMS + "\""
+                + " WHERE \"kind\" = ? AND \"start_timestamp\" = ?";
+
+        Map<Long, Histogram> histograms = new TreeMap<>();
+        try (SqlResult sqlResult = this.hazelcastInstance.getSql().execute(sql, kind, startTimestamp)) {
+            for (SqlRow sqlRow : sqlResult) {
+                Long timestamp = sqlRow.getObject("timestamp");
+                String histogram = sqlRow.getObject("histogram");
+                histograms.put(timestamp, LatencyHistograms.decode(histogram));
+            }
+            return ResponseEntity.ok(LatencyHistograms.toLog(startTimestamp, histograms.values()));
+        } catch (Exception e) {
+            LOGGER.error("histograms(): " + kind, e);
+            // A partial log would look like a complete one
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("histograms(): " + kind + ", " + e.getMessage());
+        }
+    }
+
+    /**
+     * <p>Upload an arrival trace for the trace {@link RateProfile}. The body is
+     * the event counts for consecutive intervals, separated by commas or whitespace.
+     * Only relative sizes matter, the job scales to the requested rate.
+     * </p>
+     *
+     * @param rateTraceId To select in {@link #submit}
+     * @param counts Event counts
+     * @return Number of intervals, or an error
+     */
+    @PostMapping(value = "/trace", produces = MediaType.APPLICATION_JSON_VALUE)
+    public String trace(
+            @RequestParam(BenchmarkBase.PROP_RATE_TRACE_ID) long rateTraceId,
+            @RequestBody String counts
+            ) {
+        LOGGER.info("trace(rate_trace_id=={})", rateTraceId);
+
+        StringBuilder stringBuilder = new StringBuilder();
+        stringBuilder.append("{");
+        stringBuilder.append(" \"" + BenchmarkBase.PROP_RATE_TRACE_ID + "\" : ").append(rateTraceId);
+
+        try {
+            long[] trace = Arrays.stream(counts.trim().split("[,\\s]+"))
+                    .mapToLong(Long::parseLong)
+                    .toArray();
+            if (Arrays.stream(trace).anyMatch(count -> count < 0)) {
+                throw new IllegalArgumentException("Negative count in trace");
+            }
+            this.hazelcastInstance.<Long, long[]>getMap(RateProfile.IMAP_NAME_RATE_TRACES).set(rateTraceId, trace);
+
+            stringBuilder.append(", \"intervals\": " + trace.length);
+            stringBuilder.append(", \"error\": " + false);
+            stringBuilder.append(", \"error_message\": \"\"");
+        } catch (Exception e) {
+            stringBuilder.append(", \"intervals\": 0");
+            stringBuilder.append(", \"error\": " + true);
+            stringBuilder.append(", \"error_message\": \"" + UtilsFormatter.safeForJsonStr(e.getMessage()) + "\"");
+            LOGGER.error("trace(): " + rateTraceId, e);
+        }
+
+        stringBuilder.append(" }");
+        return stringBuilder.toString();
+    }
+
 }
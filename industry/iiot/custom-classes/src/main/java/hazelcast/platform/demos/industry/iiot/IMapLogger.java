@@ -16,9 +16,13 @@
 
 package hazelcast.platform.demos.industry.iiot;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 import org.slf4j.Logger;
 import org.slf4j.Marker;
 import org.slf4j.event.Level;
+import org.slf4j.helpers.FormattingTuple;
+import org.slf4j.helpers.MessageFormatter;
 
 import com.hazelcast.core.HazelcastJsonValue;
 import com.hazelcast.map.IMap;
@@ -28,21 +32,35 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 /**
  * <p>A logger that saves to {@link com.hazelcast.map.IMap IMap}.
  * </p>
+ * <p>Messages are formatted with the usual "<code>{}</code>" placeholders. Markers
+ * are ignored.
+ * </p>
+ * <p>The key is the member address, timestamp and a sequence number, as several
+ * lines can be logged in the same millisecond.
+ * </p>
+ * <p>If given an {@link IMapLoggerBuffer} the write is asynchronous and batched,
+ * otherwise the caller waits for each write.
+ * </p>
  */
 @SuppressWarnings("checkstyle:methodcount")
 public class IMapLogger implements Logger {
+    // One per JVM, shared by all loggers, so unique per member address
+    private static final AtomicLong SEQUENCE = new AtomicLong();
 
     private final String name;
     private final IMap<HazelcastJsonValue, HazelcastJsonValue> logMap;
     private final String memberAddress;
     private final Level level;
+    private final IMapLoggerBuffer iMapLoggerBuffer;
 
     @SuppressFBWarnings(value = "EI_EXPOSE_REP2", justification = "threadsafe proxy")
-    public IMapLogger(String arg0, IMap<HazelcastJsonValue, HazelcastJsonValue> arg1, String arg2, Level arg3) {
+    public IMapLogger(String arg0, IMap<HazelcastJsonValue, HazelcastJsonValue> arg1, String arg2, Level arg3,
+            IMapLoggerBuffer arg4) {
         this.name = arg0;
         this.logMap = arg1;
         this.memberAddress = arg2;
         this.level = arg3;
+        this.iMapLoggerBuffer = arg4;
     }
 
     @Override
@@ -50,6 +68,19 @@ public class IMapLogger implements Logger {
         return this.name;
     }
 
+    /**
+     * <p>Apply "<code>{}</code>" substitution, and append any trailing exception's
+     * message as for the "{@code (String, Throwable)}" methods.
+     * </p>
+     */
+    private static String format(FormattingTuple formattingTuple) {
+        if (formattingTuple.getThrowable() == null) {
+            return formattingTuple.getMessage();
+        } else {
+            return formattingTuple.getMessage() + ":" + formattingTuple.getThrowable().getMessage();
+        }
+    }
+
     /**
      * <p>Does most of the work
      * </p>
@@ -59,6 +90,7 @@ public class IMapLogger implements Logger {
         keyStringBuffer.append("{");
         keyStringBuffer.append(" \"" + MyConstants.LOGGING_FIELD_MEMBER_ADDRESS + "\" : \"" + this.memberAddress + "\"");
         keyStringBuffer.append(", \"" + MyConstants.LOGGING_FIELD_TIMESTAMP + "\" : " + System.currentTimeMillis());
+        keyStringBuffer.append(", \"" + MyConstants.LOGGING_FIELD_SEQUENCE + "\" : " + SEQUENCE.incrementAndGet());
         keyStringBuffer.append("}");
 
         StringBuffer valueStringBuffer = new StringBuffer();
@@ -70,8 +102,13 @@ public class IMapLogger implements Logger {
         valueStringBuffer.append(", \"" + MyConstants.LOGGING_FIELD_MESSAGE + "\" : \"" + msg + "\"");
         valueStringBuffer.append("}");
 
-        this.logMap.set(new HazelcastJsonValue(keyStringBuffer.toString()),
-                new HazelcastJsonValue(valueStringBuffer.toString()));
+        HazelcastJsonValue key = new HazelcastJsonValue(keyStringBuffer.toString());
+        HazelcastJsonValue value = new HazelcastJsonValue(valueStringBuffer.toString());
+        if (this.iMapLoggerBuffer != null) {
+            this.iMapLoggerBuffer.offer(key, value);
+        } else {
+            this.logMap.set(key, value);
+        }
     }
 
     @Override
@@ -88,20 +125,23 @@ public class IMapLogger implements Logger {
 
     @Override
     public void trace(String format, Object arg) {
-        // TODO Auto-generated method stub
-
+        if (this.isTraceEnabled()) {
+            this.saveToHazelcast(Level.TRACE, format(MessageFormatter.format(format, arg)));
+        }
     }
 
     @Override
     public void trace(String format, Object arg1, Object arg2) {
-        // TODO Auto-generated method stub
-
+        if (this.isTraceEnabled()) {
+            this.saveToHazelcast(Level.TRACE, format(MessageFormatter.format(format, arg1, arg2)));
+        }
     }
 
     @Override
     public void trace(String format, Object... arguments) {
-        // TODO Auto-generated method stub
-
+        if (this.isTraceEnabled()) {
+            this.saveToHazelcast(Level.TRACE, format(MessageFormatter.arrayFormat(format, arguments)));
+        }
     }
 
     @Override
@@ -113,38 +153,32 @@ public class IMapLogger implements Logger {
 
     @Override
     public boolean isTraceEnabled(Marker marker) {
-        // TODO Auto-generated method stub
-        return false;
+        return this.isTraceEnabled();
     }
 
     @Override
     public void trace(Marker marker, String msg) {
-        // TODO Auto-generated method stub
-
+        this.trace(msg);
     }
 
     @Override
     public void trace(Marker marker, String format, Object arg) {
-        // TODO Auto-generated method stub
-
+        this.trace(format, arg);
     }
 
     @Override
     public void trace(Marker marker, String format, Object arg1, Object arg2) {
-        // TODO Auto-generated method stub
-
+        this.trace(format, arg1, arg2);
     }
 
     @Override
-    public void trace(Marker marker, String format, Object... argArray) {
-        // TODO Auto-generated method stub
-
+    public void trace(Marker marker, String format, Object... arguments) {
+        this.trace(format, arguments);
     }
 
     @Override
     public void trace(Marker marker, String msg, Throwable t) {
-        // TODO Auto-generated method stub
-
+        this.trace(msg, t);
     }
 
     @Override
@@ -161,20 +195,23 @@ public class IMapLogger implements Logger {
 
     @Override
     public void debug(String format, Object arg) {
-        // TODO Auto-generated method stub
-
+        if (this.isDebugEnabled()) {
+            this.saveToHazelcast(Level.DEBUG, format(MessageFormatter.format(format, arg)));
+        }
     }
 
     @Override
     public void debug(String format, Object arg1, Object arg2) {
-        // TODO Auto-generated method stub
-
+        if (this.isDebugEnabled()) {
+            this.saveToHazelcast(Level.DEBUG, format(MessageFormatter.format(format, arg1, arg2)));
+        }
     }
 
     @Override
     public void debug(String format, Object... arguments) {
-        // TODO Auto-generated method stub
-
+        if (this.isDebugEnabled()) {
+            this.saveToHazelcast(Level.DEBUG, format(MessageFormatter.arrayFormat(format, arguments)));
+        }
     }
 
     @Override
@@ -186,38 +223,32 @@ public class IMapLogger implements Logger {
 
     @Override
     public boolean isDebugEnabled(Marker marker) {
-        // TODO Auto-generated method stub
-        return false;
+        return this.isDebugEnabled();
     }
 
     @Override
     public void debug(Marker marker, String msg) {
-        // TODO Auto-generated method stub
-
+        this.debug(msg);
     }
 
     @Override
     public void debug(Marker marker, String format, Object arg) {
-        // TODO Auto-generated method stub
-
+        this.debug(format, arg);
     }
 
     @Override
     public void debug(Marker marker, String format, Object arg1, Object arg2) {
-        // TODO Auto-generated method stub
-
+        this.debug(format, arg1, arg2);
     }
 
     @Override
     public void debug(Marker marker, String format, Object... arguments) {
-        // TODO Auto-generated method stub
-
+        this.debug(format, arguments);
     }
 
     @Override
     public void debug(Marker marker, String msg, Throwable t) {
-        // TODO Auto-generated method stub
-
+        this.debug(msg, t);
     }
 
     @Override
@@ -234,20 +265,23 @@ public class IMapLogger implements Logger {
 
     @Override
     public void info(String format, Object arg) {
-        // TODO Auto-generated method stub
-
+        if (this.isInfoEnabled()) {
+            this.saveToHazelcast(Level.INFO, format(MessageFormatter.format(format, arg)));
+        }
     }
 
     @Override
     public void info(String format, Object arg1, Object arg2) {
-        // TODO Auto-generated method stub
-
+        if (this.isInfoEnabled()) {
+            this.saveToHazelcast(Level.INFO, format(MessageFormatter.format(format, arg1, arg2)));
+        }
     }
 
     @Override
     public void info(String format, Object... arguments) {
-        // TODO Auto-generated method stub
-
+        if (this.isInfoEnabled()) {
+            this.saveToHazelcast(Level.INFO, format(MessageFormatter.arrayFormat(format, arguments)));
+        }
     }
 
     @Override
@@ -259,38 +293,32 @@ public class IMapLogger implements Logger {
 
     @Override
     public boolean isInfoEnabled(Marker marker) {
-        // TODO Auto-generated method stub
-        return false;
+        return this.isInfoEnabled();
     }
 
     @Override
     public void info(Marker marker, String msg) {
-        // TODO Auto-generated method stub
-
+        this.info(msg);
     }
 
     @Override
     public void info(Marker marker, String format, Object arg) {
-        // TODO Auto-generated method stub
-
+        this.info(format, arg);
     }
 
     @Override
     public void info(Marker marker, String format, Object arg1, Object arg2) {
-        // TODO Auto-generated method stub
-
+        this.info(format, arg1, arg2);
     }
 
     @Override
     public void info(Marker marker, String format, Object... arguments) {
-        // TODO Auto-generated method stub
-
+        this.info(format, arguments);
     }
 
     @Override
     public void info(Marker marker, String msg, Throwable t) {
-        // TODO Auto-generated method stub
-
+        this.info(msg, t);
     }
 
     @Override
@@ -307,17 +335,23 @@ public class IMapLogger implements Logger {
 
     @Override
     public void warn(String format, Object arg) {
-        // TODO Auto-generated method stub
+        if (this.isWarnEnabled()) {
+            this.saveToHazelcast(Level.WARN, format(MessageFormatter.format(format, arg)));
+        }
     }
 
     @Override
-    public void warn(String format, Object... arguments) {
-        // TODO Auto-generated method stub
+    public void warn(String format, Object arg1, Object arg2) {
+        if (this.isWarnEnabled()) {
+            this.saveToHazelcast(Level.WARN, format(MessageFormatter.format(format, arg1, arg2)));
+        }
     }
 
     @Override
-    public void warn(String format, Object arg1, Object arg2) {
-        // TODO Auto-generated method stub
+    public void warn(String format, Object... arguments) {
+        if (this.isWarnEnabled()) {
+            this.saveToHazelcast(Level.WARN, format(MessageFormatter.arrayFormat(format, arguments)));
+        }
     }
 
     @Override
@@ -329,41 +363,36 @@ public class IMapLogger implements Logger {
 
     @Override
     public boolean isWarnEnabled(Marker marker) {
-        // TODO Auto-generated method stub
-        return false;
+        return this.isWarnEnabled();
     }
 
     @Override
     public void warn(Marker marker, String msg) {
-        // TODO Auto-generated method stub
-
+        this.warn(msg);
     }
 
     @Override
     public void warn(Marker marker, String format, Object arg) {
-        // TODO Auto-generated method stub
-
+        this.warn(format, arg);
     }
 
     @Override
     public void warn(Marker marker, String format, Object arg1, Object arg2) {
-        // TODO Auto-generated method stub
-
+        this.warn(format, arg1, arg2);
     }
 
     @Override
     public void warn(Marker marker, String format, Object... arguments) {
-        // TODO Auto-generated method stub
-
+        this.warn(format, arguments);
     }
 
     @Override
     public void warn(Marker marker, String msg, Throwable t) {
-        // TODO Auto-generated method stub
-
+        this.warn(msg, t);
     }
 
     // See https://github.com/qos-ch/slf4j/blob/master/slf4j-api/src/main/java/org/slf4j/spi/LocationAwareLogger.java#L44
+
     @Override
     public boolean isErrorEnabled() {
         return this.level.toInt() <= Level.ERROR.toInt();
@@ -378,20 +407,23 @@ public class IMapLogger implements Logger {
 
     @Override
     public void error(String format, Object arg) {
-        // TODO Auto-generated method stub
-
+        if (this.isErrorEnabled()) {
+            this.saveToHazelcast(Level.ERROR, format(MessageFormatter.format(format, arg)));
+        }
     }
 
     @Override
     public void error(String format, Object arg1, Object arg2) {
-        // TODO Auto-generated method stub
-
+        if (this.isErrorEnabled()) {
+            this.saveToHazelcast(Level.ERROR, format(MessageFormatter.format(format, arg1, arg2)));
+        }
     }
 
     @Override
     public void error(String format, Object... arguments) {
-        // TODO Auto-generated method stub
-
+        if (this.isErrorEnabled()) {
+            this.saveToHazelcast(Level.ERROR, format(MessageFormatter.arrayFormat(format, arguments)));
+        }
     }
 
     @Override
@@ -403,38 +435,32 @@ public class IMapLogger implements Logger {
 
     @Override
     public boolean isErrorEnabled(Marker marker) {
-        // TODO Auto-generated method stub
-        return false;
+        return this.isErrorEnabled();
     }
 
     @Override
     public void error(Marker marker, String msg) {
-        // TODO Auto-generated method stub
-
+        this.error(msg);
     }
 
     @Override
     public void error(Marker marker, String format, Object arg) {
-        // TODO Auto-generated method stub
-
+        this.error(format, arg);
     }
 
     @Override
     public void error(Marker marker, String format, Object arg1, Object arg2) {
-        // TODO Auto-generated method stub
-
+        this.error(format, arg1, arg2);
     }
 
     @Override
     public void error(Marker marker, String format, Object... arguments) {
-        // TODO Auto-generated method stub
-
+        this.error(format, arguments);
     }
 
     @Override
     public void error(Marker marker, String msg, Throwable t) {
-        // TODO Auto-generated method stub
-
+        this.error(msg, t);
     }
 
 }
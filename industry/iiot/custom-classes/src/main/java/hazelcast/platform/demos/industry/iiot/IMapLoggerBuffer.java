@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package hazelcast.platform.demos.industry.iiot;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.HazelcastJsonValue;
+import com.hazelcast.core.LifecycleEvent.LifecycleState;
+import com.hazelcast.map.IMap;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+/**
+ * <p>A bounded buffer between {@link IMapLogger} and the logging {@link IMap},
+ * so a log call costs a queue insert rather than a network round trip.
+ * </p>
+ * <p>A background thread drains the buffer and writes batches with
+ * {@link IMap#putAllAsync(Map)}, waiting for each batch before the next
+ * so only one is in flight.
+ * </p>
+ * <p>When the buffer is full, log lines are dropped and counted, or if
+ * configured to block the caller waits for space.
+ * </p>
+ */
+public class IMapLoggerBuffer implements Runnable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(IMapLoggerBuffer.class);
+    private static final int CAPACITY = 8_192;
+    private static final int BATCH_SIZE = 512;
+    private static final long POLL_MILLIS = 100L;
+    private static final long PUT_ALL_TIMEOUT_SECONDS = 30L;
+    private static final long STOP_TIMEOUT_MILLIS = 5_000L;
+
+    private final IMap<HazelcastJsonValue, HazelcastJsonValue> logMap;
+    private final boolean block;
+    private final BlockingQueue<Entry<HazelcastJsonValue, HazelcastJsonValue>> queue =
+            new ArrayBlockingQueue<>(CAPACITY);
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    @SuppressFBWarnings(value = {"EI_EXPOSE_REP2", "SC_START_IN_CTOR"},
+            justification = "threadsafe proxy, thread only uses final fields")
+    public IMapLoggerBuffer(HazelcastInstance arg0, IMap<HazelcastJsonValue, HazelcastJsonValue> arg1,
+            boolean arg2) {
+        this.logMap = arg1;
+        this.block = arg2;
+        this.thread = new Thread(this, this.getClass().getSimpleName());
+        this.thread.setDaemon(true);
+        this.thread.start();
+
+        // Drain while the instance can still accept the writes
+        arg0.getLifecycleService().addLifecycleListener(event -> {
+            if (event.getState() == LifecycleState.SHUTTING_DOWN) {
+                this.stop();
+            }
+        });
+    }
+
+    /**
+     * <p>Called on the logging thread, so must be fast.
+     * </p>
+     *
+     * @param key Member address and timestamp
+     * @param value Log line
+     */
+    public void offer(HazelcastJsonValue key, HazelcastJsonValue value) {
+        if (!this.running) {
+            this.dropped.incrementAndGet();
+            return;
+        }
+        Entry<HazelcastJsonValue, HazelcastJsonValue> entry = new SimpleImmutableEntry<>(key, value);
+        if (this.block) {
+            try {
+                this.queue.put(entry);
+            } catch (InterruptedException e) {
+                this.dropped.incrementAndGet();
+                Thread.currentThread().interrupt();
+            }
+        } else {
+            if (!this.queue.offer(entry)) {
+                this.dropped.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * <p>Write batches until stopped and the buffer is empty.
+     * </p>
+     */
+    @Override
+    public void run() {
+        List<Entry<HazelcastJsonValue, HazelcastJsonValue>> batch = new ArrayList<>(BATCH_SIZE);
+        while (this.running || !this.queue.isEmpty()) {
+            try {
+                Entry<HazelcastJsonValue, HazelcastJsonValue> first = this.queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    this.queue.drainTo(batch, BATCH_SIZE - 1);
+                    this.write(batch);
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        LOGGER.info("END: written {}, dropped {}, failed {}", this.written.get(), this.dropped.get(),
+                this.failed.get());
+    }
+
+    /**
+     * <p>Write a batch, counting it as failed rather than retrying, as logging
+     * should not build up a backlog if the cluster is in difficulty. Lines with
+     * the same key as another in the batch overwrite it, so are counted as dropped.
+     * </p>
+     *
+     * @param batch
+     * @throws InterruptedException
+     */
+    private void write(List<Entry<HazelcastJsonValue, HazelcastJsonValue>> batch) throws InterruptedException {
+        try {
+            Map<HazelcastJsonValue, HazelcastJsonValue> entries = new HashMap<>();
+            for (Entry<HazelcastJsonValue, HazelcastJsonValue> entry : batch) {
+                entries.put(entry.getKey(), entry.getValue());
+            }
+            this.logMap.putAllAsync(entries).toCompletableFuture().get(PUT_ALL_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            this.written.addAndGet(entries.size());
+            this.dropped.addAndGet(batch.size() - entries.size());
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            if (this.failed.getAndAdd(batch.size()) == 0) {
+                // First only, as subsequent are likely the same cause
+                LOGGER.error("write(), batch of " + batch.size(), e);
+            }
+        }
+    }
+
+    /**
+     * <p>Stop accepting, and wait briefly for the buffer to be written.
+     * </p>
+     */
+    public void stop() {
+        this.running = false;
+        try {
+            this.thread.join(STOP_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public long getDropped() {
+        return this.dropped.get();
+    }
+
+    public long getFailed() {
+        return this.failed.get();
+    }
+
+    public long getWritten() {
+        return this.written.get();
+    }
+}
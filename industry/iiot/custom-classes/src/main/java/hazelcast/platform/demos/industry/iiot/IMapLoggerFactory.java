@@ -30,12 +30,18 @@ import com.hazelcast.map.IMap;
 /**
  * <p>Returns IMap logger instances.
  * </p>
+ * <p>Unless "{@code -Dmy.imap.logger.async=false}", loggers share one
+ * {@link IMapLoggerBuffer} so logging does not wait on the cluster. When the
+ * buffer is full lines are dropped, or with "{@code -Dmy.imap.logger.block=true}"
+ * the caller waits.
+ * </p>
  */
 public class IMapLoggerFactory implements ILoggerFactory {
 
     private static IMap<HazelcastJsonValue, HazelcastJsonValue> logMap;
     private static String memberAddress;
     private static Level level = Level.INFO;
+    private static IMapLoggerBuffer iMapLoggerBuffer;
 
     public static synchronized Logger getLogger(Class<?> klass) {
         if (logMap == null) {
@@ -43,8 +49,12 @@ public class IMapLoggerFactory implements ILoggerFactory {
             logMap = hazelcastInstance.getMap(MyConstants.IMAP_NAME_SYS_LOGGING);
             Address address = hazelcastInstance.getCluster().getLocalMember().getAddress();
             memberAddress = address.getHost() + ":" + address.getPort();
+            if (Boolean.parseBoolean(System.getProperty(MyConstants.IMAP_LOGGER_ASYNC_KEY, "true"))) {
+                iMapLoggerBuffer = new IMapLoggerBuffer(hazelcastInstance, logMap,
+                        Boolean.getBoolean(MyConstants.IMAP_LOGGER_BLOCK_KEY));
+            }
         }
-        return new IMapLogger(klass.getName(), logMap, memberAddress, level);
+        return new IMapLogger(klass.getName(), logMap, memberAddress, level, iMapLoggerBuffer);
     }
 
     public static void setLevel(Level arg0) {
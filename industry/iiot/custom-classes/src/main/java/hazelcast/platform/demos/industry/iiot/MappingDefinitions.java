@@ -94,6 +94,7 @@ public class MappingDefinitions {
                 + " ("
                 + "    \"memberAddress\" VARCHAR EXTERNAL NAME \"__key.memberAddress\","
                 + "    \"timestamp\" BIGINT EXTERNAL NAME \"__key.timestamp\","
+                + "    \"sequence\" BIGINT EXTERNAL NAME \"__key.sequence\","
                 + "    \"level\" VARCHAR EXTERNAL NAME \"this.level\","
                 + "    \"message\" VARCHAR EXTERNAL NAME \"this.message\","
                 + "    \"threadName\" VARCHAR EXTERNAL NAME \"this.threadName\","
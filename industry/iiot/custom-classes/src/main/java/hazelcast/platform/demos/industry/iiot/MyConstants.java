@@ -42,10 +42,14 @@ public class MyConstants {
     // For Slf4j to IMap
     public static final String LOGGING_FIELD_MEMBER_ADDRESS = "memberAddress";
     public static final String LOGGING_FIELD_TIMESTAMP = "timestamp";
+    public static final String LOGGING_FIELD_SEQUENCE = "sequence";
     public static final String LOGGING_FIELD_LOGGER_NAME = "loggerName";
     public static final String LOGGING_FIELD_THREAD_NAME = "threadName";
     public static final String LOGGING_FIELD_LEVEL = "level";
     public static final String LOGGING_FIELD_MESSAGE = "message";
+    // IMapLogger writes via a buffer unless "false", full buffer drops lines unless block is "true"
+    public static final String IMAP_LOGGER_ASYNC_KEY = "my.imap.logger.async";
+    public static final String IMAP_LOGGER_BLOCK_KEY = "my.imap.logger.block";
 
     public static final String MARIA_PREFIX = "maria.";
     public static final String MARIA_HOST = MARIA_PREFIX + "host";